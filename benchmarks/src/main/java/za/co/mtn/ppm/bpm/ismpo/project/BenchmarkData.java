@@ -0,0 +1,127 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Class creating the synthetic IT Project, Feature and Milestone datasets used by the benchmarks.
+ * The Feature columns are the IS PMO Testing Feature column set, the IT Project is an IS PMO IT-EPMO Project.
+ */
+final class BenchmarkData {
+    // IT Project Request Type of the synthetic IT Project
+    static final String IT_PROJECT_REQUEST_TYPE = "IS PMO IT-EPMO Project";
+    // IS PMO Testing Feature columns (the widest Feature column set)
+    static final String[] FEATURE_COLUMNS = {"FEATURE_REQ_ID", "DESCRIPTION", "ISPMO_PRJ_RAG", "ISPMO_PM", "ISPMO_PRJ_SHORT_DESC",
+            "ISPMO_EPMO_PM", "ISPMO_EPMO_BU_PRIORITY", "ISPMO_EPMO_ORG_PRIORITY", "ISPM_EPMO_BUSINESS_UNIT", "ISPMO_EPMO_SUB_AREA",
+            "ISPMO_INCL_RETAIL_BUILD", "ISPMO_INCL_CHARG_SYS", "ISPMO_INCL_WHOLSAL_REL", "ISPMO_INCL_SIYA_REL", "ISPMO_INCL_ILULA_REL",
+            "ISPMO_INCL_SIEBEL_REL", "ISPMO_FUNC_TEST_AUTO", "ISPMO_PERF_TEST", "ISPMO_SERV_VIRTUAL", "ISPMO_MILESTONES"};
+    // IT Project columns of the IS PMO IT-EPMO Project query
+    static final String[] IT_PROJECT_COLUMNS = {"ISPMO_PRJ_NUM", "DESCRIPTION", "EPMO_PROJECT_NUM", "ISPMO_PM", "ISPMO_PRJ_RAG",
+            "ISPM_EPMO_BUSINESS_UNIT", "ISPMO_EPMO_SUB_AREA", "ISPMO_EPMO_BU_PRIORITY", "ISPMO_EPMO_ORG_PRIORITY", "ISPMO_PRJ_SHORT_DESC",
+            "ISPMO_INCL_RETAIL_BUILD", "ISPMO_INCL_CHARG_SYS", "ISPMO_INCL_WHOLSAL_REL", "ISPMO_INCL_SIYA_REL", "ISPMO_INCL_ILULA_REL",
+            "ISPMO_INCL_SIEBEL_REL", "ISPMO_EPMO_PM", "ISPMO_FUNC_TEST_AUTO", "ISPMO_PERF_TEST", "ISPMO_SERV_VIRTUAL"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create a synthetic SQL Runner response with the IS PMO Testing Feature column set
+     *
+     * @param features Number of Feature rows
+     * @return UTF-8 response bytes
+     */
+    static byte[] createSqlRunnerResponse(int features) {
+        StringBuilder json = new StringBuilder(features * 512);
+        json.append("{\"columnHeaders\":[");
+        for (int i = 0; i < FEATURE_COLUMNS.length; i++) {
+            json.append(i == 0 ? "" : ",").append('"').append(FEATURE_COLUMNS[i]).append('"');
+        }
+        json.append("],\"results\":[");
+        for (int row = 0; row < features; row++) {
+            json.append(row == 0 ? "" : ",").append("{\"values\":[");
+            json.append('"').append(100000 + row).append("\",\"(IS 4711) Network modernisation \\\"phase ").append(row).append("\\\"\"");
+            for (int column = 2; column < FEATURE_COLUMNS.length; column++) {
+                if (column % 5 == 0) {
+                    json.append(",null");
+                } else {
+                    json.append(",\"Value ").append(column).append(" for feature ").append(row).append('"');
+                }
+            }
+            json.append("]}");
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Create the synthetic IT Project row
+     *
+     * @return IT Project Field Data row
+     */
+    static SqlRunnerRow createItProjectRow() {
+        SqlRunnerResult itProjectResult = new SqlRunnerResult(IT_PROJECT_COLUMNS);
+        String[] values = new String[IT_PROJECT_COLUMNS.length];
+        values[0] = "4711";
+        values[1] = "Network modernisation";
+        values[2] = "815";
+        for (int column = 3; column < values.length; column++) {
+            values[column] = "Project value " + column;
+        }
+        return itProjectResult.addRow(values);
+    }
+
+    /**
+     * Create the synthetic Feature rows. Every third Feature is already in line with the IT Project, the others
+     * differ in a few fields so the payloads have a realistic mix of changed fields.
+     *
+     * @param features Number of Feature rows
+     * @return Feature SQL Runner result
+     */
+    static SqlRunnerResult createFeatureResult(int features) {
+        SqlRunnerResult featureResult = new SqlRunnerResult(FEATURE_COLUMNS);
+        for (int row = 0; row < features; row++) {
+            String[] values = new String[FEATURE_COLUMNS.length];
+            values[0] = String.valueOf(100000 + row);
+            values[1] = row % 3 == 0 ? "(IS 4711) Network modernisation (EPMO 815)" : "Old description " + row;
+            for (int column = 2; column < values.length - 1; column++) {
+                values[column] = row % 3 == 0 || column % 4 != 0 ? "Project value " + column : "Feature value " + column;
+            }
+            values[values.length - 1] = null;
+            featureResult.addRow(values);
+        }
+        return featureResult;
+    }
+
+    /**
+     * Create the synthetic IT Project Milestones
+     *
+     * @param milestones Number of Milestones
+     * @return IT Project Milestone list
+     */
+    static ArrayList<ProjectMilestoneValues> createMilestones(int milestones) {
+        ArrayList<ProjectMilestoneValues> projectMilestones = new ArrayList<>(milestones);
+        for (int i = 0; i < milestones; i++) {
+            final String scheduledFinish = String.format("2024-%02d-%02d 00:00:00.0", 1 + i % 12, 1 + i % 28);
+            final String actualFinish = i % 2 == 0 ? String.format("2024-%02d-%02d 17:30:00.0", 1 + i % 12, 1 + (i + 3) % 28) : null;
+            projectMilestones.add(new ProjectMilestoneValues("Milestone " + i + " - Delivery gate", scheduledFinish, actualFinish, i % 2 == 0 ? "Completed" : "In Progress"));
+        }
+        return projectMilestones;
+    }
+
+    /**
+     * Method to silence the processor console logging during the measurements
+     */
+    static void silenceConsole() {
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+    }
+}
@@ -0,0 +1,96 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the Feature update payloads of one IT Project with both JSON codecs: the payloads with a new
+ * ProjectPayloadTemplate per Feature (IS PMO Features with the IT Project Milestones, Octane Initiated Features without)
+ * and the payloads assembled from one ProjectPayloadTemplate per IT Project, as UpdateAllFeatureFields does.
+ * Every payload is written to the UTF-8 bytes of the PUT Request Body. One operation builds the payloads of all the Features.
+ * <p>
+ * Usage: java -jar benchmarks/target/benchmarks.jar FeaturePayloadBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeaturePayloadBenchmark {
+    @Param({"streaming", "json-lib"})
+    public String codec;
+    @Param({"10", "100", "1000"})
+    public int features;
+    @Param({"5", "50", "500"})
+    public int milestones;
+    private IspmoItProjectProcessor processor;
+    private SqlRunnerRow itProjectRow;
+    private List<SqlRunnerRow> featureRows;
+    private ArrayList<ProjectMilestoneValues> projectMilestones;
+
+    /**
+     * Create the processor with the codec and the synthetic IT Project, Features and Milestones
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkData.silenceConsole();
+        processor = new IspmoItProjectProcessor(new PpmRestClient(), null, PpmJsonCodec.forName(codec));
+        itProjectRow = BenchmarkData.createItProjectRow();
+        featureRows = BenchmarkData.createFeatureResult(features).getRows();
+        projectMilestones = BenchmarkData.createMilestones(milestones);
+    }
+
+    /**
+     * IS PMO Feature payloads including the IT Project Milestones, with a new payload template per Feature
+     *
+     * @param blackhole JMH Blackhole consuming the payload bytes
+     */
+    @Benchmark
+    public void featurePayloadsWithMilestones(Blackhole blackhole) {
+        for (SqlRunnerRow featureRow : featureRows) {
+            ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectRow, projectMilestones, BenchmarkData.IT_PROJECT_REQUEST_TYPE);
+            blackhole.consume(processor.writeFeatureRequestUpdatePayload(payloadTemplate, featureRow));
+        }
+    }
+
+    /**
+     * Octane Initiated Feature payloads excluding the IT Project Milestones, with a new payload template per Feature
+     *
+     * @param blackhole JMH Blackhole consuming the payload bytes
+     */
+    @Benchmark
+    public void octaneFeaturePayloads(Blackhole blackhole) {
+        for (SqlRunnerRow featureRow : featureRows) {
+            ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectRow, null, BenchmarkData.IT_PROJECT_REQUEST_TYPE);
+            blackhole.consume(processor.writeFeatureRequestUpdatePayload(payloadTemplate, featureRow));
+        }
+    }
+
+    /**
+     * IS PMO Feature payloads assembled from one IT Project payload template
+     *
+     * @param blackhole JMH Blackhole consuming the payload bytes
+     */
+    @Benchmark
+    public void templatedFeaturePayloads(Blackhole blackhole) {
+        ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectRow, projectMilestones, BenchmarkData.IT_PROJECT_REQUEST_TYPE);
+        for (SqlRunnerRow featureRow : featureRows) {
+            blackhole.consume(processor.writeFeatureRequestUpdatePayload(payloadTemplate, featureRow));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the Status and Phase updates of the Features of one IT Project against the local PpmStandInServer:
+ * the sequential loop, the fixed Feature Update Engine worker pool and one virtual thread per Feature update capped by
+ * the in-flight semaphore, and the batched propagation sending the payload serialized once to all the Features through
+ * the OkHttp dispatcher. One operation updates all the Features of the IT Project.
+ * <p>
+ * The threadPerTask mode needs Java 21 or later: on older JVMs the engine falls back to the fixed worker pool and the
+ * mode measures the same as the pool mode.
+ * <p>
+ * Usage: java -jar benchmarks/target/benchmarks.jar FeatureUpdateConcurrencyBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureUpdateConcurrencyBenchmark {
+    // Stand-in latency of every PPM REST API call in milliseconds
+    private static final int LATENCY_MILLIS = 20;
+    @Param({"sequential", "pool", "threadPerTask", "batched"})
+    public String mode;
+    @Param({"100", "500"})
+    public int features;
+    @Param({"16", "128"})
+    public int maxInFlight;
+    private PpmStandInServer standInServer;
+    private IspmoItProjectProcessor processor;
+    private FeatureUpdateEngine updateEngine;
+
+    /**
+     * Start the stand-in server and create the processor and engine of the mode
+     *
+     * @throws IOException when the stand-in server cannot be started
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData.silenceConsole();
+        System.setProperty("ispmo.checkpoint.enabled", "false");
+        standInServer = new PpmStandInServer(LATENCY_MILLIS, 0, 0.0, 0.0, features, 0, 24, 512);
+        standInServer.start(0);
+        // Enough idle connections to keep every in-flight update on a reused connection
+        processor = new IspmoItProjectProcessor(new PpmRestClient(maxInFlight, 5, maxInFlight));
+        updateEngine = mode.equals("pool") || mode.equals("threadPerTask") ? new FeatureUpdateEngine(maxInFlight, mode.equals("threadPerTask")) : null;
+    }
+
+    /**
+     * Stop the engine and the stand-in server
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (updateEngine != null) {
+            updateEngine.shutdown();
+        }
+        standInServer.stop();
+    }
+
+    /**
+     * Update the Status and Phase of all the Features of one IT Project
+     *
+     * @return Summary of the Feature updates
+     */
+    @Benchmark
+    public FeatureUpdateSummary updatePhaseStatus() {
+        if (mode.equals("batched")) {
+            LinkedHashMap<String, String[]> linkedFeatures = processor.getFeatureIdsLinkedToItProject(standInServer.getBaseUrl(), "benchmark", "benchmark",
+                    "rest2/sqlRunner/runSqlQuery", "30000");
+            return UpdatePhaseStatusFeatureFields.updatePhaseStatusFeatureFieldsBatched(processor, standInServer.getBaseUrl(), "benchmark", "benchmark", "30000",
+                    new ArrayList<>(linkedFeatures.keySet()), Collections.emptySet(), "Active", "Build");
+        }
+        return UpdatePhaseStatusFeatureFields.updatePhaseStatusFeatureFields(processor, updateEngine, standInServer.getBaseUrl(), "benchmark", "benchmark",
+                "30000", "Active", "Build");
+    }
+}
@@ -0,0 +1,108 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the PPM JSON codecs on identical documents: reading the same SQL Runner Feature response into a
+ * SqlRunnerResult, reading it as the members and compact text of a JSON object response (as the failure messages and
+ * PUT responses are read for the log), and writing the SQL Runner query payload.
+ * <p>
+ * Usage: java -jar benchmarks/target/benchmarks.jar JsonCodecBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+    @Param({"streaming", "json-lib"})
+    public String codec;
+    @Param({"10", "100", "1000"})
+    public int features;
+    private PpmJsonCodec jsonCodec;
+    private byte[] response;
+    private String querySql;
+
+    /**
+     * Create the codec, the synthetic SQL Runner response and the SQL Runner query of the IT Project Features
+     *
+     * @throws IOException when the SQL Runner query payload cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkData.silenceConsole();
+        jsonCodec = PpmJsonCodec.forName(codec);
+        response = BenchmarkData.createSqlRunnerResponse(features);
+        // The SQL String of the combined Feature query, taken from the payload of the streaming codec
+        byte[] sqlPayload = new IspmoItProjectProcessor(new PpmRestClient(), null, new StreamingJsonCodec()).setAllFeatureRequestSql("4711");
+        querySql = new SqlRunnerResultReader(new StringReader(new String(sqlPayload, StandardCharsets.UTF_8))).readObjectMembers().get("querySql");
+    }
+
+    /**
+     * Read the SQL Runner response into a SQL Runner result
+     *
+     * @return SQL Runner result
+     * @throws IOException when the response cannot be read
+     */
+    @Benchmark
+    public SqlRunnerResult readSqlRunnerResult() throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8)) {
+            return jsonCodec.readSqlRunnerResult(reader);
+        }
+    }
+
+    /**
+     * Read the members of the response as a JSON object response
+     *
+     * @return Members of the response
+     * @throws IOException when the response cannot be read
+     */
+    @Benchmark
+    public Map<String, String> readObjectMembers() throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8)) {
+            return jsonCodec.readObjectMembers(reader);
+        }
+    }
+
+    /**
+     * Read the compact JSON text of the response
+     *
+     * @return JSON text of the response
+     * @throws IOException when the response cannot be read
+     */
+    @Benchmark
+    public String readObjectText() throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8)) {
+            return jsonCodec.readObjectText(reader);
+        }
+    }
+
+    /**
+     * Write the SQL Runner query payload
+     *
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Benchmark
+    public byte[] writeSqlQuery() {
+        return jsonCodec.writeSqlQuery(querySql);
+    }
+}
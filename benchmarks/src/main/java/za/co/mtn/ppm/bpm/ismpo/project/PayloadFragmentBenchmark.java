@@ -0,0 +1,80 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the per IT Project payload fragments: the IT Project Milestone HTML (setProjectMilestoneHtml)
+ * and the Feature Description (both setFeatureDescription overloads).
+ * <p>
+ * Usage: java -jar benchmarks/target/benchmarks.jar PayloadFragmentBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFragmentBenchmark {
+    @Param({"5", "50", "500"})
+    public int milestones;
+    private IspmoItProjectProcessor processor;
+    private ArrayList<ProjectMilestoneValues> projectMilestones;
+    private ArrayList<ProjectMilestoneValues> otherProjectMilestones;
+    private boolean otherProject;
+
+    /**
+     * Create the synthetic Milestones of two IT Projects
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkData.silenceConsole();
+        processor = new IspmoItProjectProcessor();
+        projectMilestones = BenchmarkData.createMilestones(milestones);
+        otherProjectMilestones = BenchmarkData.createMilestones(milestones);
+    }
+
+    /**
+     * Milestone HTML of a new IT Project on every call (alternating between two IT Projects so the table is
+     * rendered every time and not reused from the previous call)
+     *
+     * @return Milestone HTML
+     */
+    @Benchmark
+    public String milestoneHtml() {
+        otherProject = !otherProject;
+        return processor.setProjectMilestoneHtml(otherProject ? otherProjectMilestones : projectMilestones);
+    }
+
+    /**
+     * Feature Description of an IS PMO IT-EPMO Project
+     *
+     * @return Feature Description
+     */
+    @Benchmark
+    public String epmoFeatureDescription() {
+        return processor.setFeatureDescription("4711", "Network modernisation", "815");
+    }
+
+    /**
+     * Feature Description of an IS PMO IT Project
+     *
+     * @return Feature Description
+     */
+    @Benchmark
+    public String featureDescription() {
+        return processor.setFeatureDescription("4711", "Network modernisation");
+    }
+}
@@ -0,0 +1,48 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the payload timestamp of a new SimpleDateFormat and Date per payload (as the payload builders did)
+ * with the shared PayloadTimestamp, which formats the current second at most once.
+ * <p>
+ * Usage: java -jar benchmarks/target/benchmarks.jar PayloadTimestampBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadTimestampBenchmark {
+
+    /**
+     * Format the timestamp the way the payload builders did: a new SimpleDateFormat and Date per payload
+     *
+     * @return Current date and time in "yyyy-MM-dd'T'HH:mm:ss" format
+     */
+    @Benchmark
+    public String simpleDateFormat() {
+        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        return formatter.format(new Date());
+    }
+
+    /**
+     * Get the shared payload timestamp
+     *
+     * @return Current date and time in "yyyy-MM-dd'T'HH:mm:ss" format
+     */
+    @Benchmark
+    public String payloadTimestamp() {
+        return PayloadTimestamp.now();
+    }
+}
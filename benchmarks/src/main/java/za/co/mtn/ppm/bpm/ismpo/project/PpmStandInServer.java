@@ -0,0 +1,581 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import net.sf.json.JSONSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for the PPM REST API used by the processor, for load and latency testing without a PPM environment:
+ * <ul>
+ *     <li>POST rest2/sqlRunner/runSqlQuery: answers with the recorded response shape (columnHeaders, results[].values).
+ *     The column headers are taken from the SELECT list of the query and the rows are synthetic, per IT Project ID of
+ *     the query filter (= id or IN ( ... )).</li>
+ *     <li>PUT rest2/dm/requests/{id}: accepts the Feature update payload. The IT Project Status and Phase of the
+ *     payload are kept and returned in the ISPMO_PRJ_STATUS and ISPMO_PRJ_PHASE columns of the Feature IDs query, so a
+ *     repeated Status and Phase run finds the Features up to date.</li>
+ * </ul>
+ * Response Bodies from ppm.standin.gzipMinBytes (default 1024) are gzip compressed when the Request accepts gzip, unless
+ * disabled with -Dppm.standin.gzipResponses=false, and gzip compressed Request Bodies are accepted, as a PPM server behind
+ * a compressing proxy does. The body bytes and the encoded body bytes on the wire are counted.
+ * <p>
+ * The latency, error rates and response sizes are set with ppm.standin.* system properties (see the constructor).
+ * SQL Runner errors are off by default because the processor stops the run on a failed SQL Runner query.
+ */
+public class PpmStandInServer {
+    private static final String SQL_RUNNER_PATH = "/rest2/sqlRunner/runSqlQuery";
+    private static final String REQUESTS_PATH = "/rest2/dm/requests/";
+    private static final String[] FEATURE_REQUEST_TYPES = {"IS PMO Feature", "IS PMO Testing Feature", "Octane Initiated Feature"};
+    // IT Project ID filter of the processor queries: "request_id = 123" or "request_id IN ( 1, 2 )"
+    private static final Pattern PROJECT_FILTER = Pattern.compile("request_id (?:= (\\d+)|IN \\(([\\d ,]+)\\))");
+    private final int latencyMillis;
+    private final int latencyJitterMillis;
+    private final double putErrorRate;
+    private final double sqlErrorRate;
+    private final int featuresPerProject;
+    private final int milestonesPerProject;
+    private final int valueLength;
+    private final int threads;
+    private final boolean gzipResponses = Boolean.parseBoolean(System.getProperty("ppm.standin.gzipResponses", "true"));
+    private final int gzipMinBytes = Integer.getInteger("ppm.standin.gzipMinBytes", 1024);
+    private final AtomicLong sqlRequests = new AtomicLong();
+    private final AtomicLong putRequests = new AtomicLong();
+    private final AtomicLong errorResponses = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseWireBytes = new AtomicLong();
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong requestWireBytes = new AtomicLong();
+    // IT Project Status and Phase last PUT per Feature Request ID
+    private final ConcurrentHashMap<String, String[]> featureStatusPhase = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    static {
+        // Without TCP_NODELAY the small PUT responses wait for the delayed ACK (about 40 ms) and hide the configured latency
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Constructor method for the stand-in server using the ppm.standin.* system properties:
+     * latencyMillis (default 20), latencyJitterMillis (default 10), putErrorRate (default 0.0), sqlErrorRate (default 0.0),
+     * featuresPerProject (default 30), milestonesPerProject (default 20), valueLength (default 24) and threads (default 64)
+     */
+    public PpmStandInServer() {
+        this(Integer.getInteger("ppm.standin.latencyMillis", 20),
+                Integer.getInteger("ppm.standin.latencyJitterMillis", 10),
+                Double.parseDouble(System.getProperty("ppm.standin.putErrorRate", "0.0")),
+                Double.parseDouble(System.getProperty("ppm.standin.sqlErrorRate", "0.0")),
+                Integer.getInteger("ppm.standin.featuresPerProject", 30),
+                Integer.getInteger("ppm.standin.milestonesPerProject", 20),
+                Integer.getInteger("ppm.standin.valueLength", 24),
+                Integer.getInteger("ppm.standin.threads", 64));
+    }
+
+    /**
+     * Constructor method for the stand-in server
+     *
+     * @param latencyMillis        Minimum latency of every response in milliseconds
+     * @param latencyJitterMillis  Random extra latency (0 to jitter) in milliseconds
+     * @param putErrorRate         Share of the PUT Requests answered with HTTP 500 (0.0 - 1.0)
+     * @param sqlErrorRate         Share of the SQL Runner Requests answered with HTTP 500 (0.0 - 1.0)
+     * @param featuresPerProject   Number of Features linked to every IT Project (spread over the Feature Request Types)
+     * @param milestonesPerProject Number of Milestones of every IT Project
+     * @param valueLength          Minimum length of the synthetic column values (response size)
+     * @param threads              Number of server threads (concurrent requests)
+     */
+    public PpmStandInServer(int latencyMillis, int latencyJitterMillis, double putErrorRate, double sqlErrorRate, int featuresPerProject,
+                            int milestonesPerProject, int valueLength, int threads) {
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.latencyJitterMillis = Math.max(0, latencyJitterMillis);
+        this.putErrorRate = putErrorRate;
+        this.sqlErrorRate = sqlErrorRate;
+        this.featuresPerProject = Math.max(0, featuresPerProject);
+        this.milestonesPerProject = Math.max(0, milestonesPerProject);
+        this.valueLength = Math.max(0, valueLength);
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Main method to run the stand-in server until the process is stopped
+     *
+     * @param args Optional port (default 8089)
+     * @throws IOException when the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        PpmStandInServer standInServer = new PpmStandInServer();
+        standInServer.start(args.length > 0 ? Integer.parseInt(args[0]) : 8089);
+        System.out.println("PPM stand-in server listening on " + standInServer.getBaseUrl() + " (" + standInServer.getSettings() + ")");
+    }
+
+    /**
+     * Method to start the server
+     *
+     * @param port TCP port (0 for any free port)
+     * @throws IOException when the server cannot be started
+     */
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Method to stop the server
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Get method for the PPM Base URL of the server (with the trailing /)
+     *
+     * @return PPM Base URL
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Get method for the server settings
+     *
+     * @return Settings string
+     */
+    public String getSettings() {
+        return "latency " + latencyMillis + "+" + latencyJitterMillis + " ms, PUT error rate " + putErrorRate + ", SQL error rate " + sqlErrorRate
+                + ", " + featuresPerProject + " features and " + milestonesPerProject + " milestones per project, value length " + valueLength
+                + ", " + threads + " threads, gzip responses " + (gzipResponses ? "from " + gzipMinBytes + " bytes" : "off");
+    }
+
+    /**
+     * Get method for the number of SQL Runner Requests served
+     *
+     * @return Number of SQL Runner Requests
+     */
+    public long getSqlRequests() {
+        return sqlRequests.get();
+    }
+
+    /**
+     * Get method for the number of PUT Requests served
+     *
+     * @return Number of PUT Requests
+     */
+    public long getPutRequests() {
+        return putRequests.get();
+    }
+
+    /**
+     * Get method for the number of HTTP 500 responses
+     *
+     * @return Number of error responses
+     */
+    public long getErrorResponses() {
+        return errorResponses.get();
+    }
+
+    /**
+     * Get method for the response body bytes sent
+     *
+     * @return Response body bytes
+     */
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    /**
+     * Get method for the encoded response body bytes sent on the wire
+     *
+     * @return Response body bytes after the gzip content encoding
+     */
+    public long getResponseWireBytes() {
+        return responseWireBytes.get();
+    }
+
+    /**
+     * Get method for the request body bytes received
+     *
+     * @return Request body bytes
+     */
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    /**
+     * Get method for the encoded request body bytes received on the wire
+     *
+     * @return Request body bytes before the gzip content decoding
+     */
+    public long getRequestWireBytes() {
+        return requestWireBytes.get();
+    }
+
+    /**
+     * Method to handle one request
+     *
+     * @param exchange HTTP exchange
+     * @throws IOException when the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            final String path = exchange.getRequestURI().getPath();
+            final String body = readBody(exchange);
+            sleepLatency();
+            if (path.equals(SQL_RUNNER_PATH) && exchange.getRequestMethod().equals("POST")) {
+                sqlRequests.incrementAndGet();
+                if (isError(sqlErrorRate)) {
+                    sendError(exchange, "SQL Runner stand-in error");
+                } else {
+                    send(exchange, 200, createSqlRunnerResponse(((JSONObject) JSONSerializer.toJSON(body)).getString("querySql")));
+                }
+            } else if (path.startsWith(REQUESTS_PATH) && exchange.getRequestMethod().equals("PUT")) {
+                putRequests.incrementAndGet();
+                if (isError(putErrorRate)) {
+                    sendError(exchange, "Request update stand-in error");
+                } else {
+                    storeStatusPhase(path.substring(REQUESTS_PATH.length()), body);
+                    send(exchange, 200, "{\"id\":\"" + path.substring(REQUESTS_PATH.length()) + "\",\"status\":\"updated\"}");
+                }
+            } else {
+                send(exchange, 404, "{\"errorMessage\":\"Unknown stand-in resource " + path + "\"}");
+            }
+        } catch (RuntimeException e) {
+            sendError(exchange, e.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Method to create the SQL Runner response for the query. The query type is recognised from the processor SQL.
+     *
+     * @param querySql SQL query of the request
+     * @return SQL Runner response JSON string
+     */
+    private String createSqlRunnerResponse(String querySql) {
+        final List<String> columns = getSelectColumns(querySql);
+        final List<String> projectIds = getProjectIds(querySql);
+        StringBuilder json = new StringBuilder(256 + projectIds.size() * featuresPerProject * columns.size() * (valueLength + 8));
+        json.append("{\"columnHeaders\":[");
+        for (int i = 0; i < columns.size(); i++) {
+            json.append(i == 0 ? "\"" : ",\"").append(columns.get(i)).append('"');
+        }
+        json.append("],\"results\":[");
+        boolean firstRow = true;
+        for (String projectId : projectIds) {
+            if (columns.contains("ISPMO_PRJ_NUM")) {
+                // IT Project Data: one row per IT Project
+                firstRow = appendRow(json, firstRow, columns, projectId, null, null, 0);
+            } else if (columns.contains("NAME") && columns.contains("STATE_NAME")) {
+                // IT Project Milestones
+                for (int milestone = 0; milestone < milestonesPerProject; milestone++) {
+                    firstRow = appendRow(json, firstRow, columns, projectId, null, null, milestone);
+                }
+            } else {
+                // Feature Data or Feature IDs, the Feature Request Type is the column value or recognised from the query
+                final String queryFeatureRequestType = querySql.contains("OCTANE") ? FEATURE_REQUEST_TYPES[2]
+                        : querySql.contains("IS_PMO_TESTING_FEATURE") ? FEATURE_REQUEST_TYPES[1] : FEATURE_REQUEST_TYPES[0];
+                final boolean allTypes = columns.contains("FEATURE_REQUEST_TYPE") || !columns.contains("FEATURE_REQ_ID");
+                for (int feature = 0; feature < featuresPerProject; feature++) {
+                    final String featureRequestType = FEATURE_REQUEST_TYPES[feature % FEATURE_REQUEST_TYPES.length];
+                    if (allTypes || featureRequestType.equals(queryFeatureRequestType)) {
+                        firstRow = appendRow(json, firstRow, columns, projectId, featureRequestType, getFeatureId(projectId, feature), feature);
+                    }
+                }
+            }
+        }
+        json.append("]}");
+        return json.toString();
+    }
+
+    /**
+     * Method to keep the IT Project Status and Phase of a Feature update payload
+     *
+     * @param featureId Feature Request ID
+     * @param payload   PUT payload
+     */
+    private void storeStatusPhase(String featureId, String payload) {
+        if (!payload.contains("ISPMO_PRJ_STATUS")) {
+            return;
+        }
+        String[] statusPhase = new String[2];
+        for (Object field : ((JSONObject) JSONSerializer.toJSON(payload)).getJSONObject("fields").getJSONArray("field")) {
+            final String token = ((JSONObject) field).getString("token");
+            final JSONArray stringValue = ((JSONObject) field).optJSONArray("stringValue");
+            if (stringValue != null && token.endsWith("ISPMO_PRJ_STATUS")) {
+                statusPhase[0] = stringValue.getString(0);
+            } else if (stringValue != null && token.endsWith("ISPMO_PRJ_PHASE")) {
+                statusPhase[1] = stringValue.getString(0);
+            }
+        }
+        featureStatusPhase.put(featureId, statusPhase);
+    }
+
+    /**
+     * Method to append one synthetic row
+     *
+     * @param json               Response JSON buffer
+     * @param firstRow           True for the first row of the response
+     * @param columns            Column headers
+     * @param projectId          IT Project ID of the row
+     * @param featureRequestType Feature Request Type of the row (null for IT Project rows)
+     * @param featureId          Feature Request ID of the row (null for IT Project rows)
+     * @param index              Index of the Feature or Milestone within the IT Project
+     * @return False (the next row is not the first row)
+     */
+    private boolean appendRow(StringBuilder json, boolean firstRow, List<String> columns, String projectId, String featureRequestType,
+                              String featureId, int index) {
+        json.append(firstRow ? "{\"values\":[" : ",{\"values\":[");
+        for (int i = 0; i < columns.size(); i++) {
+            final String column = columns.get(i);
+            final String value;
+            if (column.equals("ISPMO_PRJ_NUM") || column.equals("PRJ_REQUEST_ID") || column.equals("PFM_REQUEST_ID")) {
+                value = projectId;
+            } else if (column.equals("FEATURE_REQ_ID") || column.equals("REQUEST_ID")) {
+                value = featureId;
+            } else if (column.equals("FEATURE_REQUEST_TYPE")) {
+                value = featureRequestType;
+            } else if (column.equals("ISPMO_PRJ_STATUS") || column.equals("ISPMO_PRJ_PHASE")) {
+                // Status and Phase of the last PUT, null before the first Status and Phase update
+                final String[] statusPhase = featureId == null ? null : featureStatusPhase.get(featureId);
+                value = statusPhase == null ? null : statusPhase[column.equals("ISPMO_PRJ_STATUS") ? 0 : 1];
+            } else if (column.equals("SCHED_FINISH_DATE") || column.equals("ACT_FINISH_DATE")) {
+                value = column.equals("ACT_FINISH_DATE") && index % 2 == 1 ? null
+                        : String.format(Locale.ENGLISH, "2024-%02d-%02d 00:00:00.0", 1 + index % 12, 1 + index % 28);
+            } else {
+                // Feature values differ from the IT Project values, so every Feature is updated
+                value = pad((featureId != null ? "Feature " + featureId : "Project " + projectId) + " " + column.toLowerCase(Locale.ENGLISH) + " " + index);
+            }
+            json.append(i == 0 ? "" : ",");
+            if (value == null) {
+                json.append("null");
+            } else {
+                json.append('"').append(value).append('"');
+            }
+        }
+        json.append("]}");
+        return false;
+    }
+
+    /**
+     * Method to pad a synthetic value to the configured value length
+     *
+     * @param value Value string
+     * @return Padded value string
+     */
+    private String pad(String value) {
+        StringBuilder padded = new StringBuilder(Math.max(value.length(), valueLength)).append(value);
+        while (padded.length() < valueLength) {
+            padded.append('.');
+        }
+        return padded.toString();
+    }
+
+    /**
+     * Method to get the column headers from the SELECT list of the (first) query: the column alias or column name in upper case
+     *
+     * @param querySql SQL query
+     * @return Column headers
+     */
+    static List<String> getSelectColumns(String querySql) {
+        final int selectStart = querySql.indexOf("SELECT ") + "SELECT ".length();
+        final int selectEnd = querySql.indexOf(" FROM ", selectStart);
+        final String selectList = querySql.substring(selectStart, selectEnd);
+        List<String> columns = new ArrayList<>();
+        int depth = 0;
+        int columnStart = 0;
+        for (int i = 0; i <= selectList.length(); i++) {
+            final char c = i < selectList.length() ? selectList.charAt(i) : ',';
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                final String expression = selectList.substring(columnStart, i).trim();
+                final int alias = expression.toUpperCase(Locale.ENGLISH).lastIndexOf(" AS ");
+                String column = alias >= 0 ? expression.substring(alias + 4) : expression.substring(expression.lastIndexOf('.') + 1);
+                columns.add(column.trim().toUpperCase(Locale.ENGLISH));
+                columnStart = i + 1;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Method to get the IT Project IDs of the query filter
+     *
+     * @param querySql SQL query
+     * @return IT Project IDs
+     */
+    static List<String> getProjectIds(String querySql) {
+        List<String> projectIds = new ArrayList<>();
+        Matcher matcher = PROJECT_FILTER.matcher(querySql);
+        if (matcher.find()) {
+            if (matcher.group(1) != null) {
+                projectIds.add(matcher.group(1));
+            } else {
+                for (String projectId : matcher.group(2).split(",")) {
+                    projectIds.add(projectId.trim());
+                }
+            }
+        }
+        return projectIds;
+    }
+
+    /**
+     * Method to get the synthetic Feature Request ID of a Feature of the IT Project
+     *
+     * @param projectId IT Project ID
+     * @param feature   Index of the Feature within the IT Project
+     * @return Feature Request ID
+     */
+    static String getFeatureId(String projectId, int feature) {
+        return String.valueOf(Long.parseLong(projectId) * 10000L + feature);
+    }
+
+    /**
+     * Method to wait the configured latency
+     */
+    private void sleepLatency() {
+        final long latency = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextInt(latencyJitterMillis + 1) : 0);
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Method to decide if a request is answered with an error
+     *
+     * @param errorRate Share of the requests answered with an error
+     * @return Boolean (True or False)
+     */
+    private static boolean isError(double errorRate) {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    /**
+     * Method to send an HTTP 500 response with a PPM style failure body
+     *
+     * @param exchange HTTP exchange
+     * @param message  Failure message
+     * @throws IOException when the response cannot be written
+     */
+    private void sendError(HttpExchange exchange, String message) throws IOException {
+        errorResponses.incrementAndGet();
+        send(exchange, 500, "{\"errorCode\":\"STANDIN-500\",\"errorMessage\":\"" + message.replace('"', '\'') + "\"}");
+    }
+
+    /**
+     * Method to send a JSON response
+     *
+     * @param exchange   HTTP exchange
+     * @param statusCode HTTP status code
+     * @param json       JSON response body
+     * @throws IOException when the response cannot be written
+     */
+    private void send(HttpExchange exchange, int statusCode, String json) throws IOException {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        byte[] wireBytes = bytes;
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (gzipResponses && bytes.length >= gzipMinBytes && isGzipAccepted(exchange)) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+                gzipStream.write(bytes);
+            }
+            wireBytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(statusCode, wireBytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(wireBytes);
+        }
+        responseBytes.addAndGet(bytes.length);
+        responseWireBytes.addAndGet(wireBytes.length);
+    }
+
+    /**
+     * Method to check if the Request accepts a gzip compressed Response Body
+     *
+     * @param exchange HTTP exchange
+     * @return Boolean (True or False)
+     */
+    private static boolean isGzipAccepted(HttpExchange exchange) {
+        final List<String> acceptEncodings = exchange.getRequestHeaders().get("Accept-Encoding");
+        if (acceptEncodings != null) {
+            for (String acceptEncoding : acceptEncodings) {
+                if (acceptEncoding.toLowerCase(Locale.ENGLISH).contains("gzip")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to read the request body, decompressing a gzip Content-Encoding
+     *
+     * @param exchange HTTP exchange
+     * @return Request body string
+     * @throws IOException when the body cannot be read
+     */
+    private String readBody(HttpExchange exchange) throws IOException {
+        final byte[] wireBytes = readBytes(exchange.getRequestBody());
+        byte[] bytes = wireBytes;
+        if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(wireBytes))) {
+                bytes = readBytes(gzipStream);
+            }
+        }
+        requestWireBytes.addAndGet(wireBytes.length);
+        requestBytes.addAndGet(bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to read all the bytes of a stream
+     *
+     * @param inputStream Input stream
+     * @return Bytes of the stream
+     * @throws IOException when the stream cannot be read
+     */
+    private static byte[] readBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import net.sf.json.JSONSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the SQL Runner Feature response parsing: the json-lib tree with a HashMap per row (the original
+ * getPpmFeatureRequestData row-to-map conversion) and the columnar SqlRunnerResult used by the processor.
+ * <p>
+ * Usage: java -jar benchmarks/target/benchmarks.jar SqlRunnerParserBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlRunnerParserBenchmark {
+    @Param({"10", "100", "1000"})
+    public int features;
+    private byte[] response;
+
+    /**
+     * Create the synthetic SQL Runner response
+     */
+    @Setup
+    public void setUp() {
+        response = BenchmarkData.createSqlRunnerResponse(features);
+    }
+
+    /**
+     * Parse the response the way the processor did with json-lib: body String, JSON object tree and a HashMap per row
+     *
+     * @return Feature HashMap
+     */
+    @Benchmark
+    public HashMap<String, HashMap<String, String>> jsonLibFeatureMap() {
+        HashMap<String, HashMap<String, String>> result = new HashMap<>();
+        JSONObject jsonSqlObj = (JSONObject) JSONSerializer.toJSON(new String(response, StandardCharsets.UTF_8));
+        JSONArray jsonColumnHeadersArray = jsonSqlObj.getJSONArray("columnHeaders");
+        JSONArray jsonResultsArray = jsonSqlObj.getJSONArray("results");
+        for (Object jsonResultObject : jsonResultsArray) {
+            JSONArray jsonColumnValuesArray = ((JSONObject) jsonResultObject).getJSONArray("values");
+            HashMap<String, String> innerHashMap = new HashMap<>();
+            String featureRequestId = null;
+            for (int i = 0; i < jsonColumnHeadersArray.size(); i++) {
+                innerHashMap.put(jsonColumnHeadersArray.getString(i), jsonColumnValuesArray.get(i).toString());
+                if (jsonColumnHeadersArray.getString(i).equalsIgnoreCase("FEATURE_REQ_ID")) {
+                    featureRequestId = jsonColumnValuesArray.get(i).toString();
+                }
+            }
+            result.put(featureRequestId, innerHashMap);
+        }
+        return result;
+    }
+
+    /**
+     * Parse the response into the columnar SqlRunnerResult, as getPpmFeatureRequestData does
+     *
+     * @return SQL Runner result
+     * @throws IOException when the streaming reader fails
+     */
+    @Benchmark
+    public SqlRunnerResult sqlRunnerResult() throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8)) {
+            return SqlRunnerResult.read(reader);
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * End-to-end throughput harness driving UpdateAllFeatureFields and UpdatePhaseStatusFeatureFields against the local
+ * PpmStandInServer. The IT Projects are processed one after the other with one shared PPM REST Client, processor and
+ * Feature Update Engine (as the BulkProjectRunner does) and the Feature throughput and update latency are reported.
+ * The stand-in is configured with the ppm.standin.* system properties and the processor with the usual ispmo.* ones.
+ * <p>
+ * Usage: ThroughputHarness [PROJECTS] [IT_PROJECT_REQUEST_TYPE] (default 20 "IS PMO IT-EPMO Project")
+ */
+public class ThroughputHarness {
+    // First synthetic IT Project ID
+    private static final int FIRST_PROJECT_ID = 30000;
+
+    /**
+     * Main method to run the harness
+     *
+     * @param args Number of IT Projects and IT Project Request Type
+     * @throws IOException when the stand-in server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        final int projects = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        final String projectRequestType = args.length > 1 ? args[1] : "IS PMO IT-EPMO Project";
+        PpmStandInServer standInServer = new PpmStandInServer();
+        standInServer.start(0);
+        // Every harness run measures all the Feature updates, unless a checkpoint resume is measured on purpose
+        if (System.getProperty("ispmo.checkpoint.enabled") == null) {
+            System.setProperty("ispmo.checkpoint.enabled", "false");
+        }
+        final PrintStream console = System.out;
+        console.println("PPM stand-in: " + standInServer.getSettings());
+        console.println("IT Projects: " + projects + " (" + projectRequestType + "), Feature Update Engine: "
+                + Integer.getInteger("ispmo.feature.maxInFlight", 4) + " in flight");
+        // The processor logs every request and payload, only the harness report is written out
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+        PpmRestClient restClient = new PpmRestClient();
+        console.println("PPM REST Client: gzip responses " + restClient.isGzipResponses() + ", gzip requests " + restClient.isGzipRequests());
+        // No Feature Payload Cache, every run PUTs all the changed Features
+        IspmoItProjectProcessor processor = new IspmoItProjectProcessor(restClient);
+        FeatureUpdateEngine updateEngine = new FeatureUpdateEngine();
+        final String ppmBaseUrl = standInServer.getBaseUrl();
+        int failedProjects = 0;
+        try {
+            List<FeatureUpdateResult> updateAllResults = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int project = 0; project < projects; project++) {
+                final String requestId = String.valueOf(FIRST_PROJECT_ID + project);
+                try {
+                    updateAllResults.addAll((UpdateAllFeatureFields.ASYNC_PIPELINE
+                            ? UpdateAllFeatureFields.updateAllFeatureFieldsAsync(processor, ppmBaseUrl, "harness", "harness", requestId, projectRequestType).join()
+                            : UpdateAllFeatureFields.updateAllFeatureFields(processor, updateEngine, ppmBaseUrl, "harness", "harness",
+                            requestId, projectRequestType)).getResults());
+                } catch (RuntimeException e) {
+                    // Count the IT Project as failed and carry on, as the BulkProjectRunner does
+                    failedProjects++;
+                }
+            }
+            report(console, "UPDATE_ALL", updateAllResults, System.nanoTime() - start);
+
+            // The second Status and Phase pass repeats the same workflow step, as a re-entrant IT Project workflow does
+            for (String phaseStatusMode : new String[]{"PHASE_STATUS", "PHASE_REPEAT"}) {
+                List<FeatureUpdateResult> phaseStatusResults = new ArrayList<>();
+                start = System.nanoTime();
+                for (int project = 0; project < projects; project++) {
+                    final String requestId = String.valueOf(FIRST_PROJECT_ID + project);
+                    try {
+                        phaseStatusResults.addAll(UpdatePhaseStatusFeatureFields.updatePhaseStatusFeatureFields(processor,
+                                FeatureUpdateEngine.THREAD_PER_TASK ? updateEngine : null, ppmBaseUrl, "harness", "harness",
+                                requestId, "Active", "Build").getResults());
+                    } catch (RuntimeException e) {
+                        failedProjects++;
+                    }
+                }
+                report(console, phaseStatusMode, phaseStatusResults, System.nanoTime() - start);
+            }
+        } finally {
+            updateEngine.shutdown();
+            restClient.close();
+            System.setOut(console);
+            standInServer.stop();
+        }
+        // Call metrics per PPM REST API operation as seen by the processor
+        restClient.getCallMetrics().log();
+        restClient.getCallResilience().log();
+        console.println("IT Projects failed before the Feature updates: " + failedProjects);
+        console.println("Stand-in requests: " + standInServer.getSqlRequests() + " SQL Runner, " + standInServer.getPutRequests() + " PUT, "
+                + standInServer.getErrorResponses() + " errors, " + standInServer.getRequestBytes() / 1024 + " KB requests ("
+                + standInServer.getRequestWireBytes() / 1024 + " KB on the wire), " + standInServer.getResponseBytes() / 1024 + " KB responses ("
+                + standInServer.getResponseWireBytes() / 1024 + " KB on the wire)");
+    }
+
+    /**
+     * Method to write out the throughput and latency of one mode
+     *
+     * @param console      Console stream
+     * @param mode         Harness mode
+     * @param results      Feature update results
+     * @param elapsedNanos Wall clock time of the mode in nanoseconds
+     */
+    private static void report(PrintStream console, String mode, List<FeatureUpdateResult> results, long elapsedNanos) {
+        List<Long> latencies = new ArrayList<>(results.size());
+        int failed = 0;
+        int skipped = 0;
+        for (FeatureUpdateResult result : results) {
+            latencies.add(result.getElapsedMillis());
+            if (result.getStatus() == FeatureUpdateResult.Status.FAILED) {
+                failed++;
+            } else if (result.getStatus() == FeatureUpdateResult.Status.SKIPPED) {
+                skipped++;
+            }
+        }
+        Collections.sort(latencies);
+        final double seconds = elapsedNanos / 1_000_000_000.0;
+        console.printf("%-12s %6d features in %7.2f s = %8.1f features/s | p50 %4d ms | p99 %4d ms | max %4d ms | %d skipped | %d failed%n",
+                mode, results.size(), seconds, results.size() / seconds, percentile(latencies, 50), percentile(latencies, 99),
+                latencies.isEmpty() ? 0 : latencies.get(latencies.size() - 1), skipped, failed);
+    }
+
+    /**
+     * Method to get a percentile of sorted latencies (nearest rank)
+     *
+     * @param sortedLatencies Sorted latencies in milliseconds
+     * @param percentile      Percentile (1 - 100)
+     * @return Latency in milliseconds (0 when there are no latencies)
+     */
+    static long percentile(List<Long> sortedLatencies, int percentile) {
+        if (sortedLatencies.isEmpty()) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.size());
+        return sortedLatencies.get(Math.max(0, rank - 1));
+    }
+}
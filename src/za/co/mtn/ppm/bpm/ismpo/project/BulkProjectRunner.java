@@ -0,0 +1,356 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Class to process many IT Projects in one JVM for the nightly reconciliation.
+ * The IT Projects are read from a file or from standard input, one IT Project per line:
+ * <ul>
+ *     <li>UPDATE_ALL,&lt;PRJ_REQUEST_ID&gt;,&lt;IT_PROJECT_REQUEST_TYPE&gt; (same as UpdateAllFeatureFields)</li>
+ *     <li>PHASE_STATUS,&lt;PRJ_REQUEST_ID&gt;,&lt;PRJ_STATUS&gt;,&lt;PRJ_PHASE&gt; (same as UpdatePhaseStatusFeatureFields)</li>
+ * </ul>
+ * Blank lines and lines starting with # are ignored. The PPM REST Client, Feature Payload Cache, processor and
+ * Feature Update Engine are created once and reused for all the IT Projects. The IT Project and Feature data is queried
+ * for a chunk of IT Projects at a time with IN (...) lists (disable with -Dispmo.bulk.setBasedQueries=false).
+ */
+public class BulkProjectRunner {
+    // Bulk run modes
+    private static final String MODE_UPDATE_ALL = "UPDATE_ALL";
+    private static final String MODE_PHASE_STATUS = "PHASE_STATUS";
+    // Variable to set the REST API URL
+    private static final String SQL_REST_URL = "rest2/sqlRunner/runSqlQuery";
+    // Query the data of a chunk of IT Projects with one SQL Runner query (disable with -Dispmo.bulk.setBasedQueries=false)
+    private static final boolean SET_BASED_QUERIES = Boolean.parseBoolean(System.getProperty("ispmo.bulk.setBasedQueries", "true"));
+
+    /**
+     * Class for storing the outcome of one IT Project in the bulk run
+     */
+    private static final class ProjectRun {
+        private final String mode;
+        private final String requestId;
+        private final FeatureUpdateSummary summary;
+        private final String error;
+        private final long elapsedMillis;
+
+        /**
+         * Constructor method for the outcome of one IT Project
+         *
+         * @param mode          Bulk run mode
+         * @param requestId     IT Project Request ID
+         * @param summary       Feature update summary (null when the IT Project failed before the updates)
+         * @param error         Failure message (null when the IT Project was processed)
+         * @param elapsedMillis Time taken for the IT Project in milliseconds
+         */
+        private ProjectRun(String mode, String requestId, FeatureUpdateSummary summary, String error, long elapsedMillis) {
+            this.mode = mode;
+            this.requestId = requestId;
+            this.summary = summary;
+            this.error = error;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Method to check if the IT Project or any of its Feature updates failed
+         *
+         * @return Boolean (True or False)
+         */
+        private boolean hasFailures() {
+            return error != null || summary.hasFailures();
+        }
+    }
+
+    /**
+     * Main method to this class passing specific arguments
+     *
+     * @param args List of Arguments:<ul>
+     *             <li>ENV_BASE_URL: args[0] (PPM Base URL)</li>
+     *             <li>REST_USERNAME: args[1] (PPM System User - ppmsysuser)</li>
+     *             <li>REST_USER_PASSWORD: args[2] (PPM System User Password)</li>
+     *             <li>PROJECT_LIST_FILE: args[3] (Optional IT Project list file, standard input when missing or -)</li>
+     *             </ul>
+     */
+    public static void main(String[] args) {
+        // Verify that all Command Line Arguments has been submitted
+        if (args.length < 3) {
+            log("The Class Command Line Arguments is incorrect!");
+            printCommandLineArguments();
+            System.exit(1);
+        }
+        // Assign parameters to variables for usage in methods
+        log("**** Class Command Line Arguments****");
+        // Base URL for PPM
+        log("ENV_BASE_URL: " + args[0]);
+        // REST API Username
+        log("REST_USERNAME: " + args[1]);
+        // IT Project list
+        final String projectListFile = args.length > 3 ? args[3] : "-";
+        log("PROJECT_LIST_FILE: " + projectListFile);
+        log("**** End of Class Command Line Arguments****");
+
+        final String ppmBaseUrl = args[0];
+        final String username = args[1];
+        final String password = args[2];
+        final List<String[]> projectLines = readProjectLines(projectListFile);
+        log("IT Projects to process: " + projectLines.size());
+
+        // Create the shared PPM REST Client, Feature Payload Cache, processor and engine once for all the IT Projects
+        PpmRestClient restClient = new PpmRestClient();
+        FeaturePayloadCache payloadCache = UpdateAllFeatureFields.PAYLOAD_CACHE_ENABLED ? new FeaturePayloadCache() : null;
+        IspmoItProjectProcessor processor = new IspmoItProjectProcessor(restClient, payloadCache);
+        FeatureUpdateEngine updateEngine = new FeatureUpdateEngine();
+        // The Status and Phase updates only share the engine when every update runs on its own virtual thread
+        final FeatureUpdateEngine phaseStatusEngine = FeatureUpdateEngine.THREAD_PER_TASK ? updateEngine : null;
+        boolean hasFailures;
+        try {
+            List<ProjectRun> projectRuns = new ArrayList<>(projectLines.size());
+            if (SET_BASED_QUERIES) {
+                // Group the IT Projects by mode and IT Project Request Type, every group is queried in chunks
+                LinkedHashMap<String, List<String[]>> projectGroups = new LinkedHashMap<>();
+                for (String[] projectLine : projectLines) {
+                    final String groupKey = projectLine[0].equals(MODE_UPDATE_ALL) ? MODE_UPDATE_ALL + "," + projectLine[2] : MODE_PHASE_STATUS;
+                    projectGroups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(projectLine);
+                }
+                for (List<String[]> projectGroup : projectGroups.values()) {
+                    runProjectGroup(processor, updateEngine, ppmBaseUrl, username, password, projectGroup, projectRuns);
+                }
+            } else {
+                for (String[] projectLine : projectLines) {
+                    projectRuns.add(runProject(projectLine, () -> projectLine[0].equals(MODE_UPDATE_ALL)
+                            ? (UpdateAllFeatureFields.ASYNC_PIPELINE
+                            ? UpdateAllFeatureFields.updateAllFeatureFieldsAsync(processor, ppmBaseUrl, username, password, projectLine[1], projectLine[2]).join()
+                            : UpdateAllFeatureFields.updateAllFeatureFields(processor, updateEngine, ppmBaseUrl, username, password, projectLine[1], projectLine[2]))
+                            : UpdatePhaseStatusFeatureFields.updatePhaseStatusFeatureFields(processor, phaseStatusEngine, ppmBaseUrl, username, password,
+                            projectLine[1], projectLine[2], projectLine[3])));
+                }
+            }
+            updateEngine.shutdown();
+            // Store the payloads PUT in this run for the next runs
+            if (payloadCache != null) {
+                payloadCache.save();
+            }
+            hasFailures = logProjectRuns(projectRuns);
+            // Report the connection reuse of the shared PPM REST Client
+            restClient.logConnectionReuse();
+            // Write the call metrics of every PPM REST API operation
+            restClient.getCallResilience().log();
+            restClient.getCallMetrics().save();
+        } finally {
+            // Stop the OkHttp dispatcher threads and close the pooled connections, so the JVM exits at once
+            restClient.close();
+        }
+        // Exit with a failure only after all the IT Projects were processed
+        if (hasFailures) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method to process a group of IT Project lines with the same mode (and IT Project Request Type for UPDATE_ALL).
+     * The IT Project and Feature data of every chunk of IT Projects is queried first, then the chunk IT Projects are updated.
+     *
+     * @param processor    IT Project processor shared by all the IT Projects
+     * @param updateEngine Engine running the Feature Request updates
+     * @param ppmBaseUrl   PPM Base URL for identifying the PPM environment
+     * @param username     PPM User for access to the PPM entities.
+     * @param password     PPM User password
+     * @param projectGroup IT Project lines of the group
+     * @param projectRuns  List receiving the outcome of every IT Project
+     */
+    private static void runProjectGroup(IspmoItProjectProcessor processor, FeatureUpdateEngine updateEngine, String ppmBaseUrl, String username,
+                                        String password, List<String[]> projectGroup, List<ProjectRun> projectRuns) {
+        final boolean updateAll = projectGroup.get(0)[0].equals(MODE_UPDATE_ALL);
+        final String projectRequestType = updateAll ? projectGroup.get(0)[2] : null;
+        final FeatureUpdateEngine phaseStatusEngine = FeatureUpdateEngine.THREAD_PER_TASK ? updateEngine : null;
+        List<String> requestIds = new ArrayList<>(projectGroup.size());
+        for (String[] projectLine : projectGroup) {
+            requestIds.add(projectLine[1]);
+        }
+        for (List<String> chunk : IspmoItProjectProcessor.getProjectIdChunks(requestIds)) {
+            log("<<-- Bulk Run " + projectGroup.get(0)[0] + " query for " + chunk.size() + " IT Projects -->>");
+            HashMap<String, SqlRunnerRow> itProjectData = null;
+            HashMap<String, ArrayList<ProjectMilestoneValues>> milestoneData = null;
+            HashMap<String, HashMap<String, SqlRunnerResult>> featureData = null;
+            HashMap<String, LinkedHashMap<String, String[]>> featureIds = null;
+            String queryError = null;
+            try {
+                if (updateAll) {
+                    // Issue the three chunk queries concurrently
+                    SqlQueryFanOut queryFanOut = new SqlQueryFanOut();
+                    CompletableFuture<HashMap<String, SqlRunnerRow>> itProjectQuery = queryFanOut.submit("IT Project Data (" + chunk.size() + " IT Projects)",
+                            () -> processor.getItProjectDataForProjects(ppmBaseUrl, username, password, SQL_REST_URL, chunk, projectRequestType));
+                    CompletableFuture<HashMap<String, ArrayList<ProjectMilestoneValues>>> milestoneQuery = queryFanOut.submit("IT Project Milestones (" + chunk.size() + " IT Projects)",
+                            () -> processor.getItProjectMilestoneDataForProjects(ppmBaseUrl, username, password, SQL_REST_URL, chunk));
+                    CompletableFuture<HashMap<String, HashMap<String, SqlRunnerResult>>> featureQuery = queryFanOut.submit("All Feature Data (" + chunk.size() + " IT Projects)",
+                            () -> processor.getAllPpmFeatureRequestDataForProjects(ppmBaseUrl, username, password, SQL_REST_URL, chunk));
+                    try {
+                        queryFanOut.awaitAll();
+                    } finally {
+                        queryFanOut.shutdown();
+                    }
+                    itProjectData = itProjectQuery.join();
+                    milestoneData = milestoneQuery.join();
+                    featureData = featureQuery.join();
+                } else {
+                    featureIds = processor.getFeatureIdsLinkedToItProjects(ppmBaseUrl, username, password, SQL_REST_URL, chunk);
+                }
+            } catch (RuntimeException e) {
+                // All the IT Projects of the chunk are recorded as failed
+                log("Bulk Run query failure for " + chunk.size() + " IT Projects: " + e);
+                queryError = e.toString();
+            }
+            for (String[] projectLine : projectGroup) {
+                final String requestId = projectLine[1].trim();
+                if (!chunk.contains(requestId)) {
+                    continue;
+                }
+                if (queryError != null) {
+                    projectRuns.add(new ProjectRun(projectLine[0], requestId, null, queryError, 0));
+                } else if (updateAll) {
+                    final SqlRunnerRow itProjectInformation = itProjectData.get(requestId);
+                    final ArrayList<ProjectMilestoneValues> projectMilestones = milestoneData.get(requestId);
+                    final HashMap<String, SqlRunnerResult> featureInformation = featureData.get(requestId);
+                    projectRuns.add(runProject(projectLine, () -> UpdateAllFeatureFields.ASYNC_PIPELINE
+                            ? UpdateAllFeatureFields.updateAllFeatureFieldsAsync(processor, ppmBaseUrl, username, password,
+                            requestId, projectRequestType, itProjectInformation, projectMilestones, featureInformation).join()
+                            : UpdateAllFeatureFields.updateAllFeatureFields(processor, updateEngine, ppmBaseUrl, username, password,
+                            requestId, projectRequestType, itProjectInformation, projectMilestones, featureInformation)));
+                } else {
+                    final LinkedHashMap<String, String[]> projectFeatures = featureIds.get(requestId);
+                    projectRuns.add(runProject(projectLine, () -> UpdatePhaseStatusFeatureFields.updatePhaseStatusFeatureFields(processor, phaseStatusEngine, ppmBaseUrl,
+                            username, password, requestId, projectFeatures, projectLine[2], projectLine[3])));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to process one IT Project line of the bulk run
+     *
+     * @param projectLine IT Project line values (mode, IT Project Request ID and the mode arguments)
+     * @param projectWork Update of the IT Project Features
+     * @return Outcome of the IT Project
+     */
+    private static ProjectRun runProject(String[] projectLine, Supplier<FeatureUpdateSummary> projectWork) {
+        final String mode = projectLine[0];
+        final String requestId = projectLine[1];
+        log("<<-- Bulk Run " + mode + " IT Project #" + requestId + " -->>");
+        long start = System.nanoTime();
+        try {
+            FeatureUpdateSummary summary = projectWork.get();
+            summary.log();
+            return new ProjectRun(mode, requestId, summary, null, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Record the failure and continue with the next IT Project
+            log("Bulk Run failure for IT Project #" + requestId + ": " + e);
+            return new ProjectRun(mode, requestId, null, e.toString(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Method to read and validate the IT Project lines from the file or standard input
+     *
+     * @param projectListFile IT Project list file path or - for standard input
+     * @return List of IT Project line values
+     */
+    private static List<String[]> readProjectLines(String projectListFile) {
+        List<String[]> projectLines = new ArrayList<>();
+        try (BufferedReader reader = projectListFile.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(projectListFile), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                // Skip blank and comment lines
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] values = line.split(",", 4);
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = values[i].trim();
+                }
+                values[0] = values[0].toUpperCase();
+                if ((values[0].equals(MODE_UPDATE_ALL) && values.length >= 3) || (values[0].equals(MODE_PHASE_STATUS) && values.length == 4)) {
+                    projectLines.add(values);
+                } else {
+                    log("Ignoring invalid IT Project line " + lineNumber + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            log("Reading the IT Project list IO Exception Failure");
+            throw new RuntimeException("Reading the IT Project list IO Exception Failure: " + e);
+        }
+        return projectLines;
+    }
+
+    /**
+     * Method to write out the per IT Project summary of the bulk run
+     *
+     * @param projectRuns Outcome of every IT Project
+     * @return Boolean (True when any IT Project or Feature update failed)
+     */
+    private static boolean logProjectRuns(List<ProjectRun> projectRuns) {
+        boolean hasFailures = false;
+        log("<<- Bulk Run Summary: " + projectRuns.size() + " IT Projects ->>");
+        for (ProjectRun projectRun : projectRuns) {
+            hasFailures |= projectRun.hasFailures();
+            if (projectRun.error != null) {
+                log("- " + projectRun.mode + " IT Project #" + projectRun.requestId + ": FAILED after " + projectRun.elapsedMillis + " ms | " + projectRun.error);
+            } else {
+                FeatureUpdateSummary summary = projectRun.summary;
+                log("- " + projectRun.mode + " IT Project #" + projectRun.requestId + ": "
+                        + summary.getResults().size() + " features, "
+                        + summary.getCount(FeatureUpdateResult.Status.UPDATED) + " updated, "
+                        + summary.getCount(FeatureUpdateResult.Status.SKIPPED) + " skipped, "
+                        + summary.getCount(FeatureUpdateResult.Status.FAILED) + " failed in " + projectRun.elapsedMillis + " ms");
+            }
+        }
+        return hasFailures;
+    }
+
+    /**
+     * Method to write out the Command Line Arguments for this class
+     */
+    private static void printCommandLineArguments() {
+        log("Command Line Arguments Layout: sc_it_project_bulk_update_feature <ENV_BASE_URL> <REST_USERNAME> <REST_USER_PASSWORD> [PROJECT_LIST_FILE]");
+        log("ENV_BASE_URL: args[0] (PPM Base URL)");
+        log("REST_USERNAME: args[1] (PPM System User - ppmsysuser)");
+        log("REST_USER_PASSWORD: args[2] (PPM System User Password)");
+        log("PROJECT_LIST_FILE: args[3] (Optional IT Project list file, standard input when missing or -)");
+        log("IT Project line layout: UPDATE_ALL,<PRJ_REQUEST_ID>,<IT_PROJECT_REQUEST_TYPE>");
+        log("IT Project line layout: PHASE_STATUS,<PRJ_REQUEST_ID>,<PRJ_STATUS>,<PRJ_PHASE>");
+        log("Optional JVM setting: -Dispmo.bulk.setBasedQueries=false (Query every IT Project separately, default true)");
+        log("Optional JVM setting: -Dispmo.sql.inListChunkSize=<n> (IT Project IDs per IN list query, default 500)");
+        log("Optional JVM setting: -Dispmo.feature.virtualThreads=true (Update every Feature on its own virtual thread on Java 21+, capped by -Dispmo.feature.maxInFlight, default false)");
+        log("Optional JVM setting: -Dispmo.statusPhase.batched=true (Send the Status and Phase payload to all the Features of an IT Project concurrently, default false)");
+        log("Optional JVM setting: -Dispmo.statusPhaseColumns.<ispmoFeature|ispmoTestingFeature|octaneInitiatedFeature>=<visible_parameterN,visible_parameterM> (Skips up to date Features, without it all the Features are updated)");
+        log("Optional JVM setting: -Dispmo.milestonesColumn.<ispmoFeature|ispmoTestingFeature>=<visible_parameterN> (Skips unchanged Milestones, without it the Milestone HTML is sent to all the Features)");
+        log("Optional JVM setting: -Dispmo.json.codec=json-lib (Read the PPM responses and build the payloads with json-lib instead of the streaming codec, default streaming)");
+        log("Optional JVM setting: -Dispmo.http.gzipResponses=false (Do not ask the PPM server for gzip compressed responses, default true)");
+        log("Optional JVM setting: -Dispmo.http.gzipRequests=true (Send gzip compressed Request Bodies, the PPM server has to accept them, default false)");
+        log("Optional JVM setting: -Dispmo.http.gzipRequestMinBytes=<n> (Minimum Request Body size to compress, default 1024)");
+        log("Optional JVM setting: -Dispmo.metrics.enabled=false (Do not write the PPM REST API call metrics files, default true)");
+        log("Optional JVM setting: -Dispmo.metrics.file=<path> (Base name of the .json and .prom call metrics files, default ispmo-metrics)");
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+}
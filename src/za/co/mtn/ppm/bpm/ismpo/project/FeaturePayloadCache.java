@@ -0,0 +1,210 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class for storing the hash of the last payload successfully PUT for every PPM Feature Request.
+ * The cache is kept in a properties file (Feature Request ID = epoch millis:payload hash) so later runs of the
+ * processor can skip Features whose payload did not change. Entries older than the maximum age are evicted.
+ * <p>
+ * The processor only uses the cache for the payload fields it cannot compare with the current Feature values (the
+ * IT Project Milestone HTML when the Feature Milestone HTML column is not queried). The cache only saves PUT Requests,
+ * so a cache file that cannot be read or written is logged and the run goes on without it.
+ */
+public class FeaturePayloadCache {
+    // Default cache file in the working directory (can be overridden with -Dispmo.cache.file)
+    private static final String DEFAULT_CACHE_FILE = "ispmo-feature-payload-cache.properties";
+    // Default maximum age of a cache entry in hours (can be overridden with -Dispmo.cache.maxAgeHours)
+    private static final int DEFAULT_MAX_AGE_HOURS = 24;
+    private final Path cacheFile;
+    private final long maxAgeMillis;
+    private final ConcurrentHashMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private volatile boolean modified;
+
+    /**
+     * Class for storing the payload hash and the time it was PUT
+     */
+    private static final class CacheEntry {
+        private final String payloadHash;
+        private final long updatedMillis;
+
+        /**
+         * Constructor method for a cache entry
+         *
+         * @param payloadHash   Hash of the payload
+         * @param updatedMillis Time the payload was PUT in epoch milliseconds
+         */
+        private CacheEntry(String payloadHash, long updatedMillis) {
+            this.payloadHash = payloadHash;
+            this.updatedMillis = updatedMillis;
+        }
+    }
+
+    /**
+     * Constructor method for the cache using the ispmo.cache.file and ispmo.cache.maxAgeHours system properties
+     */
+    public FeaturePayloadCache() {
+        this(Paths.get(System.getProperty("ispmo.cache.file", DEFAULT_CACHE_FILE)),
+                Integer.getInteger("ispmo.cache.maxAgeHours", DEFAULT_MAX_AGE_HOURS));
+    }
+
+    /**
+     * Constructor method for the cache. The existing cache file is loaded and the expired entries are evicted.
+     *
+     * @param cacheFile   Properties file storing the cache
+     * @param maxAgeHours Maximum age of a cache entry in hours
+     */
+    public FeaturePayloadCache(Path cacheFile, int maxAgeHours) {
+        this.cacheFile = cacheFile;
+        this.maxAgeMillis = TimeUnit.HOURS.toMillis(Math.max(0, maxAgeHours));
+        load();
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to calculate the hash of a payload (SHA-256, Base64 encoded)
+     *
+     * @param payload Payload string without the values that change on every run
+     * @return Hash of the payload
+     */
+    protected static String hashPayload(String payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 Message Digest not available: " + e);
+        }
+    }
+
+    /**
+     * Method to check if the payload hash is the same as the last payload PUT for the Feature Request
+     *
+     * @param featureRequestId PPM Feature Request ID
+     * @param payloadHash      Hash of the payload
+     * @return Boolean (True when the same payload was PUT within the maximum age)
+     */
+    protected boolean isUnchanged(String featureRequestId, String payloadHash) {
+        CacheEntry entry = entries.get(featureRequestId);
+        return entry != null && !isExpired(entry, System.currentTimeMillis()) && entry.payloadHash.equals(payloadHash);
+    }
+
+    /**
+     * Method to store the hash of a payload successfully PUT for the Feature Request
+     *
+     * @param featureRequestId PPM Feature Request ID
+     * @param payloadHash      Hash of the payload
+     */
+    protected void put(String featureRequestId, String payloadHash) {
+        entries.put(featureRequestId, new CacheEntry(payloadHash, System.currentTimeMillis()));
+        modified = true;
+    }
+
+    /**
+     * Get method for the number of cache entries
+     *
+     * @return Number of Feature Requests in the cache
+     */
+    protected int size() {
+        return entries.size();
+    }
+
+    /**
+     * Method to check if a cache entry is older than the maximum age
+     *
+     * @param entry       Cache entry
+     * @param currentTime Current time in epoch milliseconds
+     * @return Boolean (True or False)
+     */
+    private boolean isExpired(CacheEntry entry, long currentTime) {
+        return currentTime - entry.updatedMillis > maxAgeMillis;
+    }
+
+    /**
+     * Method to load the cache file and evict the expired entries
+     */
+    private void load() {
+        if (!Files.exists(cacheFile)) {
+            log("Feature Payload Cache file not found, starting with an empty cache: " + cacheFile.toAbsolutePath());
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            log("Feature Payload Cache file could not be read, starting with an empty cache: " + e);
+            return;
+        }
+        final long currentTime = System.currentTimeMillis();
+        int evicted = 0;
+        for (String featureRequestId : properties.stringPropertyNames()) {
+            final String value = properties.getProperty(featureRequestId);
+            final int separator = value.indexOf(':');
+            try {
+                CacheEntry entry = new CacheEntry(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+                if (isExpired(entry, currentTime)) {
+                    evicted++;
+                } else {
+                    entries.put(featureRequestId, entry);
+                }
+            } catch (RuntimeException e) {
+                evicted++;
+            }
+        }
+        modified = evicted > 0;
+        log("Feature Payload Cache loaded " + entries.size() + " entries (" + evicted + " evicted) from: " + cacheFile.toAbsolutePath());
+    }
+
+    /**
+     * Method to write the cache file when the cache changed. Expired entries are not written.
+     * The file is written to a temporary file first and then moved over the cache file.
+     */
+    protected void save() {
+        if (!modified) {
+            return;
+        }
+        final long currentTime = System.currentTimeMillis();
+        Properties properties = new Properties();
+        for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+            if (!isExpired(entry.getValue(), currentTime)) {
+                properties.setProperty(entry.getKey(), entry.getValue().updatedMillis + ":" + entry.getValue().payloadHash);
+            }
+        }
+        try {
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Path tempFile = Files.createTempFile(directory, "ispmo-feature-payload-cache", ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                properties.store(outputStream, "IS PMO Feature payload hashes (Feature Request ID = epoch millis:SHA-256)");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+            log("Feature Payload Cache saved " + properties.size() + " entries to: " + cacheFile.toAbsolutePath());
+        } catch (IOException e) {
+            log("Feature Payload Cache file could not be written: " + e);
+        }
+    }
+}
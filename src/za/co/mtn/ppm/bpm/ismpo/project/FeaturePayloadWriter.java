@@ -0,0 +1,332 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class writing the PPM Request Fields update payload {"fields":{"field":[...]}} straight into a reusable UTF-8 byte
+ * buffer, without a json-lib object tree and without an intermediate String. Only the PPM Request Field schema is
+ * written: a token with a dateValue, or a token with a single element stringValue array (and the single member
+ * SQL Runner query payload).
+ * <p>
+ * The strings are escaped the way the json-lib JSONObject.toString() escapes them (including the "\/" after a "&lt;").
+ * Every string value is written as a JSON string, unlike json-lib, which writes string values that look like JSON
+ * (for example "null", "[1]", "{}" or "function(){}") as raw JSON (see JsonLibCodec). A writer is not thread-safe,
+ * every thread reuses its own writer and buffer (see get()).
+ */
+public class FeaturePayloadWriter {
+    // Initial buffer size, enough for a payload with the IT Project Milestone HTML table
+    private static final int INITIAL_CAPACITY = 8192;
+    private static final byte[] PAYLOAD_START = "{\"fields\":{\"field\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAYLOAD_END = "]}}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOKEN_START = "{\"token\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATE_VALUE = ",\"dateValue\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STRING_VALUE = ",\"stringValue\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_VALUE = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    // Writer of every thread, the buffer grows to the largest payload of the thread and is reused
+    private static final ThreadLocal<FeaturePayloadWriter> THREAD_WRITER = ThreadLocal.withInitial(FeaturePayloadWriter::new);
+    private byte[] buffer;
+    private int size;
+    private int fieldCount;
+
+    /**
+     * Constructor method for a payload writer with the initial buffer size
+     */
+    protected FeaturePayloadWriter() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor method for a payload writer
+     *
+     * @param capacity Initial buffer size in bytes
+     */
+    private FeaturePayloadWriter(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Method to get the payload writer of the current thread
+     *
+     * @return Payload writer started with begin()
+     */
+    protected static FeaturePayloadWriter get() {
+        return THREAD_WRITER.get().begin();
+    }
+
+    /**
+     * Method to encode a single date field, so fragments shared by many payloads are only escaped and encoded once
+     *
+     * @param token     Token of the Request Field
+     * @param dateValue Date Value in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @return UTF-8 bytes of the field
+     */
+    protected static byte[] encodeDateField(String token, String dateValue) {
+        FeaturePayloadWriter writer = new FeaturePayloadWriter();
+        writer.writeDateField(token, dateValue);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Method to encode a single string field, so fragments shared by many payloads are only escaped and encoded once
+     *
+     * @param token       Token of the Request Field
+     * @param stringValue String Value
+     * @return UTF-8 bytes of the field
+     */
+    protected static byte[] encodeStringField(String token, String stringValue) {
+        FeaturePayloadWriter writer = new FeaturePayloadWriter();
+        writer.writeStringField(token, stringValue);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Method to encode a JSON object with a single string member, e.g. the SQL Runner query payload {"querySql":"..."}
+     *
+     * @param name  Member name
+     * @param value String value
+     * @return UTF-8 bytes of the JSON object
+     */
+    protected static byte[] encodeStringMember(String name, String value) {
+        FeaturePayloadWriter writer = new FeaturePayloadWriter(value.length() + name.length() + 16);
+        writer.writeByte('{');
+        writer.writeString(name);
+        writer.writeByte(':');
+        writer.writeString(value);
+        writer.writeByte('}');
+        return writer.toByteArray();
+    }
+
+    /**
+     * Method to start a new payload, the buffer of the previous payload is reused
+     *
+     * @return This writer
+     */
+    protected FeaturePayloadWriter begin() {
+        size = 0;
+        fieldCount = 0;
+        write(PAYLOAD_START);
+        return this;
+    }
+
+    /**
+     * Method to add a Request Field with a date value
+     *
+     * @param token     Token of the Request Field
+     * @param dateValue Date Value in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @return This writer
+     */
+    protected FeaturePayloadWriter addDateField(String token, String dateValue) {
+        startField();
+        writeDateField(token, dateValue);
+        return this;
+    }
+
+    /**
+     * Method to add a Request Field with a string value
+     *
+     * @param token       Token of the Request Field
+     * @param stringValue String Value
+     * @return This writer
+     */
+    protected FeaturePayloadWriter addStringField(String token, String stringValue) {
+        startField();
+        writeStringField(token, stringValue);
+        return this;
+    }
+
+    /**
+     * Method to add a Request Field encoded with encodeDateField or encodeStringField
+     *
+     * @param encodedField UTF-8 bytes of the field
+     * @return This writer
+     */
+    protected FeaturePayloadWriter addEncodedField(byte[] encodedField) {
+        startField();
+        write(encodedField);
+        return this;
+    }
+
+    /**
+     * Method to end the payload
+     *
+     * @return This writer
+     */
+    protected FeaturePayloadWriter end() {
+        write(PAYLOAD_END);
+        return this;
+    }
+
+    /**
+     * Get method for the payload size
+     *
+     * @return Size of the payload in bytes
+     */
+    protected int size() {
+        return size;
+    }
+
+    /**
+     * Method to copy the payload out of the reusable buffer
+     *
+     * @return UTF-8 bytes of the payload
+     */
+    protected byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Method to decode the payload
+     *
+     * @return Payload string
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to start a new field with the separator after the previous field
+     */
+    private void startField() {
+        if (fieldCount++ > 0) {
+            writeByte(',');
+        }
+    }
+
+    /**
+     * Method to write a date field: {"token":"...","dateValue":"..."}
+     *
+     * @param token     Token of the Request Field
+     * @param dateValue Date Value
+     */
+    private void writeDateField(String token, String dateValue) {
+        write(TOKEN_START);
+        writeString(token);
+        write(DATE_VALUE);
+        writeString(dateValue);
+        writeByte('}');
+    }
+
+    /**
+     * Method to write a string field: {"token":"...","stringValue":["..."]}
+     *
+     * @param token       Token of the Request Field
+     * @param stringValue String Value
+     */
+    private void writeStringField(String token, String stringValue) {
+        write(TOKEN_START);
+        writeString(token);
+        write(STRING_VALUE);
+        writeString(stringValue);
+        writeByte(']');
+        writeByte('}');
+    }
+
+    /**
+     * Method to write a quoted and escaped JSON string encoded in UTF-8 (null is written as a JSON null)
+     *
+     * @param value String value
+     */
+    private void writeString(String value) {
+        if (value == null) {
+            write(NULL_VALUE);
+            return;
+        }
+        final int length = value.length();
+        // Worst case of 6 bytes (\\uXXXX) per char and the quotes
+        ensureCapacity(length * 6 + 2);
+        final byte[] bytes = buffer;
+        int position = size;
+        bytes[position++] = '"';
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, replaced the way String.getBytes(UTF-8) replaces it
+                    bytes[position++] = '?';
+                } else if (c < 0x800) {
+                    bytes[position++] = (byte) (0xC0 | (c >> 6));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                } else {
+                    bytes[position++] = (byte) (0xE0 | (c >> 12));
+                    bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            } else if (c == '"' || c == '\\' || (c == '/' && previous == '<')) {
+                bytes[position++] = '\\';
+                bytes[position++] = (byte) c;
+            } else if (c >= ' ') {
+                bytes[position++] = (byte) c;
+            } else {
+                bytes[position++] = '\\';
+                switch (c) {
+                    case '\b':
+                        bytes[position++] = 'b';
+                        break;
+                    case '\t':
+                        bytes[position++] = 't';
+                        break;
+                    case '\n':
+                        bytes[position++] = 'n';
+                        break;
+                    case '\f':
+                        bytes[position++] = 'f';
+                        break;
+                    case '\r':
+                        bytes[position++] = 'r';
+                        break;
+                    default:
+                        bytes[position++] = 'u';
+                        bytes[position++] = '0';
+                        bytes[position++] = '0';
+                        bytes[position++] = HEX_DIGITS[c >> 4];
+                        bytes[position++] = HEX_DIGITS[c & 0xF];
+                }
+            }
+            previous = c;
+        }
+        bytes[position++] = '"';
+        size = position;
+    }
+
+    /**
+     * Method to write bytes to the buffer
+     *
+     * @param bytes Bytes to write
+     */
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Method to write an ASCII character to the buffer
+     *
+     * @param c ASCII character
+     */
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    /**
+     * Method to grow the buffer for the next bytes
+     *
+     * @param extra Number of bytes to write
+     */
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class for the checkpoint journal of the Feature updates of one IT Project run.
+ * Every Feature update that succeeded is appended to the journal file (IT Project ID and run ID in the file name) as
+ * soon as it is done. When a run dies midway, a rerun with the same run ID resumes with the Features that were not
+ * processed yet. The journal is deleted once the run completes without failures, so the next run starts from scratch.
+ * <p>
+ * The run ID is the -Dispmo.checkpoint.runId system property, or otherwise derived from the run arguments
+ * (mode, IT Project Request Type or IT Project Status and Phase) so rerunning the same command resumes the same run.
+ * <p>
+ * The journal header records a hash of the IT Project state the Feature payloads were built from (IT Project row and
+ * Milestone HTML, or IT Project Status and Phase). A journal of another IT Project state is discarded, so a later run
+ * after the IT Project changed updates all the Features again. A journal that cannot be read or written is logged
+ * and the run continues, since it only costs the repeated PUT Requests on a rerun.
+ */
+public class FeatureUpdateCheckpoint {
+    // Checkpoint journals are kept unless disabled with -Dispmo.checkpoint.enabled=false
+    protected static final boolean CHECKPOINT_ENABLED = Boolean.parseBoolean(System.getProperty("ispmo.checkpoint.enabled", "true"));
+    // Default journal directory in the working directory (can be overridden with -Dispmo.checkpoint.dir)
+    private static final String DEFAULT_CHECKPOINT_DIR = "ispmo-checkpoints";
+    // Default maximum age of a journal to resume in hours (can be overridden with -Dispmo.checkpoint.maxAgeHours)
+    private static final int DEFAULT_MAX_AGE_HOURS = 24;
+    private final String requestId;
+    private final String runId;
+    private final String projectStateHash;
+    private final Path journalFile;
+    private final Set<String> completedFeatureIds = ConcurrentHashMap.newKeySet();
+    // Journal writer, opened with the first completed Feature (guarded by this)
+    private BufferedWriter writer;
+
+    /**
+     * Constructor method for the checkpoint journal of an IT Project run
+     *
+     * @param requestId        IT Project ID
+     * @param runId            Run ID
+     * @param projectStateHash Hash of the IT Project state of the run
+     * @param journalFile      Journal file (null when the checkpoints are disabled)
+     */
+    protected FeatureUpdateCheckpoint(String requestId, String runId, String projectStateHash, Path journalFile) {
+        this.requestId = requestId;
+        this.runId = runId;
+        this.projectStateHash = projectStateHash;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Method to open the checkpoint journal of an IT Project run using the ispmo.checkpoint.* system properties.
+     * The Features of an existing journal of the same run are loaded, unless the journal is older than the maximum age
+     * or was written for another IT Project state.
+     *
+     * @param requestId    IT Project ID
+     * @param runArgs      Run arguments identifying the run when no run ID is set (e.g. UPDATE_ALL,IS PMO IT-EPMO Project)
+     * @param projectState IT Project values the Feature payloads of the run are built from
+     * @return Checkpoint journal (doing nothing when the checkpoints are disabled)
+     */
+    protected static FeatureUpdateCheckpoint open(String requestId, String runArgs, String projectState) {
+        final String runId = System.getProperty("ispmo.checkpoint.runId",
+                UUID.nameUUIDFromBytes(runArgs.getBytes(StandardCharsets.UTF_8)).toString().substring(0, 8));
+        final String projectStateHash = FeaturePayloadCache.hashPayload(projectState);
+        if (!CHECKPOINT_ENABLED) {
+            return new FeatureUpdateCheckpoint(requestId, runId, projectStateHash, null);
+        }
+        Path journalFile = Paths.get(System.getProperty("ispmo.checkpoint.dir", DEFAULT_CHECKPOINT_DIR),
+                requestId.replaceAll("[^A-Za-z0-9_-]", "_") + "-" + runId.replaceAll("[^A-Za-z0-9_-]", "_") + ".journal");
+        FeatureUpdateCheckpoint checkpoint = new FeatureUpdateCheckpoint(requestId, runId, projectStateHash, journalFile);
+        checkpoint.load(TimeUnit.HOURS.toMillis(Integer.getInteger("ispmo.checkpoint.maxAgeHours", DEFAULT_MAX_AGE_HOURS)));
+        return checkpoint;
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to load the Features of the journal left by an earlier attempt of the run
+     *
+     * @param maxAgeMillis Maximum age of the journal in milliseconds
+     */
+    private void load(long maxAgeMillis) {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        try {
+            if (System.currentTimeMillis() - Files.getLastModifiedTime(journalFile).toMillis() > maxAgeMillis) {
+                // The IT Project may have changed since, all the Features are updated again
+                log("Checkpoint journal older than the maximum age, starting the run from scratch: " + journalFile.toAbsolutePath());
+                Files.delete(journalFile);
+                return;
+            }
+            boolean sameProjectState = true;
+            try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                String line;
+                while (sameProjectState && (line = reader.readLine()) != null) {
+                    // Journal line: Feature Request ID,Status,Timestamp (a partly written last line is ignored)
+                    final int separator = line.indexOf(',');
+                    if (line.startsWith("#")) {
+                        sameProjectState = line.contains(getStateHeader());
+                    } else if (separator > 0 && line.indexOf(',', separator + 1) > 0) {
+                        completedFeatureIds.add(line.substring(0, separator));
+                    }
+                }
+            }
+            if (!sameProjectState) {
+                // The Features processed by the earlier run got the payloads of the old IT Project values
+                log("Checkpoint journal written for another IT Project state, starting the run from scratch: " + journalFile.toAbsolutePath());
+                completedFeatureIds.clear();
+                Files.delete(journalFile);
+                return;
+            }
+            log("Resuming run " + runId + " of IT Project #" + requestId + ": " + completedFeatureIds.size()
+                    + " Features already processed according to " + journalFile.toAbsolutePath());
+        } catch (IOException e) {
+            log("Checkpoint journal could not be read, starting the run from scratch: " + e);
+            completedFeatureIds.clear();
+        }
+    }
+
+    /**
+     * Method to get the IT Project state part of the journal header
+     *
+     * @return IT Project state header
+     */
+    private String getStateHeader() {
+        return " state " + projectStateHash;
+    }
+
+    /**
+     * Get method for the run ID
+     *
+     * @return Run ID
+     */
+    protected String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Method to check if a Feature was already processed by an earlier attempt of the run
+     *
+     * @param featureRequestId PPM Feature Request ID
+     * @return Boolean (True or False)
+     */
+    protected boolean isCompleted(String featureRequestId) {
+        return completedFeatureIds.contains(featureRequestId);
+    }
+
+    /**
+     * Method to append a processed Feature to the journal. The line is flushed at once so it survives the process dying.
+     *
+     * @param featureRequestId PPM Feature Request ID
+     * @param status           Outcome of the update (UPDATED or SKIPPED)
+     */
+    protected synchronized void markCompleted(String featureRequestId, FeatureUpdateResult.Status status) {
+        if (journalFile == null || !completedFeatureIds.add(featureRequestId)) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                Path directory = journalFile.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                final boolean newJournal = !Files.exists(journalFile);
+                writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                // A resumed journal starts on a new line, in case the last line of the earlier attempt was partly written
+                writer.write((newJournal ? "" : "\n") + "# IT Project #" + requestId + " run " + runId + getStateHeader()
+                        + (newJournal ? " started " : " resumed ") + PayloadTimestamp.now() + "\n");
+            }
+            writer.write(featureRequestId + "," + status + "," + PayloadTimestamp.now() + "\n");
+            writer.flush();
+        } catch (IOException e) {
+            log("Checkpoint journal could not be written for Feature ID " + featureRequestId + ": " + e);
+        }
+    }
+
+    /**
+     * Method to close the journal at the end of the run. The journal is deleted when the run completed without
+     * failures and kept for the rerun otherwise.
+     *
+     * @param summary Outcome of the Feature updates of the run
+     */
+    protected synchronized void finish(FeatureUpdateSummary summary) {
+        if (journalFile == null) {
+            return;
+        }
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            if (!summary.hasFailures()) {
+                Files.deleteIfExists(journalFile);
+            } else {
+                log("Checkpoint journal kept for the rerun of IT Project #" + requestId + " (-Dispmo.checkpoint.runId=" + runId + "): "
+                        + journalFile.toAbsolutePath());
+            }
+        } catch (IOException e) {
+            log("Checkpoint journal could not be closed: " + e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class to run the PPM Feature Request updates (PUT rest2/dm/requests/{id}) concurrently.
+ * The number of updates in flight to the PPM server is bounded by the maximum in-flight limit, and a failing
+ * feature is recorded in the batch summary instead of stopping the other updates.
+ * <p>
+ * By default the updates run on a fixed pool of maxInFlight worker threads. With -Dispmo.feature.virtualThreads=true
+ * every update runs on its own virtual thread and a semaphore caps the updates in flight, so the blocking PUT code
+ * scales to thousands of queued Features without holding a worker thread for each of them. Virtual threads need
+ * Java 21 or later, older JVMs keep the fixed worker pool.
+ */
+public class FeatureUpdateEngine {
+    // Default maximum number of concurrent PUT requests (can be overridden with -Dispmo.feature.maxInFlight)
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    // Run every update on its own (virtual) thread instead of the fixed worker pool (-Dispmo.feature.virtualThreads=true)
+    protected static final boolean THREAD_PER_TASK = Boolean.getBoolean("ispmo.feature.virtualThreads");
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    // Permits for the updates in flight when every update has its own thread (null with the fixed worker pool)
+    private final Semaphore inFlightPermits;
+    private final List<Future<FeatureUpdateResult>> pendingUpdates = new ArrayList<>();
+
+    /**
+     * Task updating a single PPM Feature Request
+     */
+    @FunctionalInterface
+    public interface FeatureUpdateTask {
+        /**
+         * Method to update the PPM Feature Request
+         *
+         * @return Update Status (UPDATED, SKIPPED when nothing changed or FAILED)
+         */
+        FeatureUpdateResult.Status update();
+    }
+
+    /**
+     * Constructor method for the engine using the ispmo.feature.maxInFlight (default 4) and
+     * ispmo.feature.virtualThreads (default false) system properties
+     */
+    public FeatureUpdateEngine() {
+        this(Integer.getInteger("ispmo.feature.maxInFlight", DEFAULT_MAX_IN_FLIGHT), THREAD_PER_TASK);
+    }
+
+    /**
+     * Constructor method for the engine with the fixed worker pool
+     *
+     * @param maxInFlight Maximum number of PPM Feature Request updates in flight at the same time
+     */
+    public FeatureUpdateEngine(int maxInFlight) {
+        this(maxInFlight, false);
+    }
+
+    /**
+     * Constructor method for the engine
+     *
+     * @param maxInFlight   Maximum number of PPM Feature Request updates in flight at the same time
+     * @param threadPerTask Run every update on its own virtual thread, capped by a semaphore, instead of the fixed worker pool
+     */
+    public FeatureUpdateEngine(int maxInFlight, boolean threadPerTask) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "feature-update-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ExecutorService virtualThreadExecutor = threadPerTask ? createVirtualThreadExecutor() : null;
+        if (virtualThreadExecutor != null) {
+            this.executor = virtualThreadExecutor;
+            this.inFlightPermits = new Semaphore(this.maxInFlight, true);
+        } else {
+            this.executor = Executors.newFixedThreadPool(this.maxInFlight, threadFactory);
+            this.inFlightPermits = null;
+        }
+        log("Feature Update Engine maximum in-flight updates: " + this.maxInFlight + (virtualThreadExecutor != null ? " (one virtual thread per update)" : ""));
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to create the executor starting one virtual thread per update. Virtual threads are looked up at runtime
+     * as the processor is built for Java 8.
+     *
+     * @return Executor starting a new virtual thread for every task (null when virtual threads are not available)
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log("Virtual threads need Java 21 or later, running the Feature updates on the fixed worker pool");
+            return null;
+        }
+    }
+
+    /**
+     * Get method for the maximum in-flight updates
+     *
+     * @return Maximum number of concurrent updates
+     */
+    protected int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Method to queue a PPM Feature Request update
+     *
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param featureRequestId   PPM Feature Request ID
+     * @param task               Task doing the update
+     */
+    protected synchronized void submit(String featureRequestType, String featureRequestId, FeatureUpdateTask task) {
+        pendingUpdates.add(executor.submit(() -> runTask(featureRequestType, featureRequestId, task)));
+    }
+
+    /**
+     * Method to run the update task and record the outcome. Exceptions are recorded as failures.
+     *
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param featureRequestId   PPM Feature Request ID
+     * @param task               Task doing the update
+     * @return Outcome of the update
+     */
+    private FeatureUpdateResult runTask(String featureRequestType, String featureRequestId, FeatureUpdateTask task) {
+        if (inFlightPermits != null) {
+            try {
+                // Wait for a free in-flight slot, the waiting threads are cheap when they are virtual threads
+                inFlightPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new FeatureUpdateResult(featureRequestType, featureRequestId, FeatureUpdateResult.Status.FAILED, "Interrupted before the update: " + e, 0);
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            FeatureUpdateResult.Status status = task.update();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (status != FeatureUpdateResult.Status.FAILED) {
+                return new FeatureUpdateResult(featureRequestType, featureRequestId, status, null, elapsedMillis);
+            }
+            return new FeatureUpdateResult(featureRequestType, featureRequestId, FeatureUpdateResult.Status.FAILED, "PPM rejected the update", elapsedMillis);
+        } catch (RuntimeException e) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log("Feature Update Engine failure for " + featureRequestType + " ID " + featureRequestId + ": " + e);
+            return new FeatureUpdateResult(featureRequestType, featureRequestId, FeatureUpdateResult.Status.FAILED, e.toString(), elapsedMillis);
+        } finally {
+            if (inFlightPermits != null) {
+                inFlightPermits.release();
+            }
+        }
+    }
+
+    /**
+     * Method to wait until all queued PPM Feature Request updates are done
+     *
+     * @return Summary with the outcome of every queued update
+     */
+    protected FeatureUpdateSummary awaitCompletion() {
+        List<Future<FeatureUpdateResult>> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pendingUpdates);
+            pendingUpdates.clear();
+        }
+        List<FeatureUpdateResult> results = new ArrayList<>(batch.size());
+        for (Future<FeatureUpdateResult> future : batch) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Feature Update Engine interrupted while waiting for updates: " + e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Feature Update Engine unexpected failure: " + e.getCause());
+            }
+        }
+        return new FeatureUpdateSummary(results);
+    }
+
+    /**
+     * Method to stop the engine worker threads once all updates are done
+     */
+    protected void shutdown() {
+        executor.shutdown();
+    }
+}
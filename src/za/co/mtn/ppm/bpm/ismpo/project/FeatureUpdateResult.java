@@ -0,0 +1,83 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+/**
+ * Class for storing the outcome of a single PPM Feature Request update
+ */
+public class FeatureUpdateResult {
+    /**
+     * Outcome of the PPM Feature Request update
+     */
+    public enum Status {
+        UPDATED,
+        SKIPPED,
+        FAILED
+    }
+
+    private final String featureRequestType;
+    private final String featureRequestId;
+    private final Status status;
+    private final String message;
+    private final long elapsedMillis;
+
+    /**
+     * Constructor method for the class storing the outcome of a PPM Feature Request update.
+     *
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param featureRequestId   PPM Feature Request ID
+     * @param status             Outcome of the update
+     * @param message            Failure message (null when successful)
+     * @param elapsedMillis      Time taken by the update in milliseconds
+     */
+    protected FeatureUpdateResult(String featureRequestType, String featureRequestId, Status status, String message, long elapsedMillis) {
+        this.featureRequestType = featureRequestType;
+        this.featureRequestId = featureRequestId;
+        this.status = status;
+        this.message = message;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Get method for the PPM Feature Request Type Name
+     *
+     * @return Feature Request Type Name string value
+     */
+    protected String getFeatureRequestType() {
+        return featureRequestType;
+    }
+
+    /**
+     * Get method for the PPM Feature Request ID
+     *
+     * @return Feature Request ID string value
+     */
+    protected String getFeatureRequestId() {
+        return featureRequestId;
+    }
+
+    /**
+     * Get method for the outcome of the update
+     *
+     * @return Status of the update
+     */
+    protected Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Get method for the failure message
+     *
+     * @return Failure message string value (null when successful)
+     */
+    protected String getMessage() {
+        return message;
+    }
+
+    /**
+     * Get method for the time taken by the update
+     *
+     * @return Elapsed time in milliseconds
+     */
+    protected long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,91 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class to aggregate the outcome of all PPM Feature Request updates in a batch
+ */
+public class FeatureUpdateSummary {
+    private final List<FeatureUpdateResult> results;
+
+    /**
+     * Constructor method for the batch summary
+     *
+     * @param results Outcome of every PPM Feature Request update in the batch
+     */
+    protected FeatureUpdateSummary(List<FeatureUpdateResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Get method for the outcome of every PPM Feature Request update in the batch
+     *
+     * @return List of Feature Update Results
+     */
+    protected List<FeatureUpdateResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Method to count the PPM Feature Request updates with a specific outcome
+     *
+     * @param status Outcome to count
+     * @return Number of updates with the outcome
+     */
+    protected int getCount(FeatureUpdateResult.Status status) {
+        int count = 0;
+        for (FeatureUpdateResult result : results) {
+            if (result.getStatus() == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method to check if any PPM Feature Request update in the batch failed
+     *
+     * @return Boolean (True or False)
+     */
+    protected boolean hasFailures() {
+        return getCount(FeatureUpdateResult.Status.FAILED) > 0;
+    }
+
+    /**
+     * Method to get the PPM Feature Request updates that failed
+     *
+     * @return List of failed Feature Update Results
+     */
+    protected List<FeatureUpdateResult> getFailures() {
+        List<FeatureUpdateResult> failures = new ArrayList<>();
+        for (FeatureUpdateResult result : results) {
+            if (result.getStatus() == FeatureUpdateResult.Status.FAILED) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Method to write out the batch summary to the console or log file
+     */
+    protected void log() {
+        log("<<- Feature Update Summary: " + results.size() + " features, "
+                + getCount(FeatureUpdateResult.Status.UPDATED) + " updated, "
+                + getCount(FeatureUpdateResult.Status.SKIPPED) + " skipped (unchanged), "
+                + getCount(FeatureUpdateResult.Status.FAILED) + " failed ->>");
+        for (FeatureUpdateResult failure : getFailures()) {
+            log("- Failed " + failure.getFeatureRequestType() + " ID: " + failure.getFeatureRequestId() + " | " + failure.getMessage());
+        }
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+}
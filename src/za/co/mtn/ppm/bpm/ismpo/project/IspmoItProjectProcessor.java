@@ -4,24 +4,115 @@ package za.co.mtn.ppm.bpm.ismpo.project;
 
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
-import net.sf.json.JSONSerializer;
 import okhttp3.*;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.TextStyle;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Class to process all IS PMO IT Project related updates.
+ * <p>
+ * The Async variants of the PPM calls enqueue the Request on the shared OkHttpClient and read the Response on the
+ * OkHttp dispatcher thread, so no thread waits while a call is in flight.
+ * <p>
+ * The PPM Request Details columns of the Feature IT Project Status and Phase fields (tokens ISPMO_PRJ_STATUS and
+ * ISPMO_PRJ_PHASE) differ per PPM environment and are not known to the processor. Only when they are set with
+ * -Dispmo.statusPhaseColumns.ispmoFeature, -Dispmo.statusPhaseColumns.ispmoTestingFeature and
+ * -Dispmo.statusPhaseColumns.octaneInitiatedFeature (for example visible_parameter41,visible_parameter42) are the
+ * current Status and Phase read with the Feature IDs and the Features already up to date skipped. Without these
+ * settings every Feature is updated, which is logged once per run.
+ * <p>
+ * In the same way the Request Details column of the Feature Milestone HTML field (token ISPMO_MILESTONES) is only read
+ * when it is set with -Dispmo.milestonesColumn.ispmoFeature and -Dispmo.milestonesColumn.ispmoTestingFeature (for
+ * example visible_parameter40). Without these settings the Milestone HTML is sent to every Feature that the Feature
+ * Payload Cache does not know to have it, which is logged once per run.
  */
 
 public class IspmoItProjectProcessor {
     private static final int TEXT_AREA_HTML_MAX = 4000;
+    // Columns only returned for IS PMO Testing Features (NULL for the other Feature Request Types in the combined query)
+    private static final List<String> TESTING_FEATURE_ONLY_COLUMNS = Arrays.asList("ISPMO_FUNC_TEST_AUTO", "ISPMO_PERF_TEST", "ISPMO_SERV_VIRTUAL");
+    // Feature Milestone HTML column and the RT Details token updated with the IT Project Milestone HTML table
+    private static final String MILESTONES_COLUMN = "ISPMO_MILESTONES";
+    // IT Project Request ID column added to the multi-project queries to group the rows by IT Project
+    private static final String PROJECT_ID_COLUMN = "PRJ_REQUEST_ID";
+    // Default number of IT Project IDs per IN (...) list (can be overridden with -Dispmo.sql.inListChunkSize, Oracle allows 1000)
+    private static final int DEFAULT_IN_LIST_CHUNK_SIZE = 500;
+    // Set once the missing Feature Status and Phase columns are logged (logged once per run)
+    private static final AtomicBoolean STATUS_PHASE_COLUMNS_LOGGED = new AtomicBoolean();
+    // Set once the missing Feature Milestone HTML columns are logged (logged once per run)
+    private static final AtomicBoolean MILESTONES_COLUMNS_LOGGED = new AtomicBoolean();
+    // json-lib codec building the JSON Objects of the deprecated json-lib payload methods
+    private static final JsonLibCodec JSON_LIB_CODEC = new JsonLibCodec();
+    // Shared PPM REST Client (one connection pool per run)
+    private final PpmRestClient restClient;
+    // Hashes of the last payloads PUT per Feature Request ID (null when the run does not use the cache)
+    private final FeaturePayloadCache payloadCache;
+    // JSON codec reading the responses and writing the payloads
+    private final PpmJsonCodec jsonCodec;
+    // Renderer of the IT Project Milestone HTML table (keeps the last rendered table)
+    private final MilestoneHtmlRenderer milestoneHtmlRenderer = new MilestoneHtmlRenderer(TEXT_AREA_HTML_MAX);
+
+    /**
+     * Constructor method for the processor with its own PPM REST Client
+     */
+    public IspmoItProjectProcessor() {
+        this(new PpmRestClient());
+    }
+
+    /**
+     * Constructor method for the processor sharing the PPM REST Client of the run
+     *
+     * @param restClient PPM REST Client configured once per run
+     */
+    public IspmoItProjectProcessor(PpmRestClient restClient) {
+        this(restClient, null);
+    }
+
+    /**
+     * Constructor method for the processor sharing the PPM REST Client and the Feature Payload Cache of the run
+     *
+     * @param restClient   PPM REST Client configured once per run
+     * @param payloadCache Feature Payload Cache used to skip the Milestone HTML already PUT (null for none)
+     */
+    public IspmoItProjectProcessor(PpmRestClient restClient, FeaturePayloadCache payloadCache) {
+        this(restClient, payloadCache, PpmJsonCodec.fromSystemProperty());
+    }
+
+    /**
+     * Constructor method for the processor sharing the PPM REST Client and the Feature Payload Cache of the run
+     *
+     * @param restClient   PPM REST Client configured once per run
+     * @param payloadCache Feature Payload Cache used to skip the Milestone HTML already PUT (null for none)
+     * @param jsonCodec    JSON codec reading the responses and writing the payloads
+     */
+    public IspmoItProjectProcessor(PpmRestClient restClient, FeaturePayloadCache payloadCache, PpmJsonCodec jsonCodec) {
+        this.restClient = restClient;
+        this.payloadCache = payloadCache;
+        this.jsonCodec = jsonCodec;
+        log("PPM JSON codec: " + jsonCodec.getName());
+    }
+
+    /**
+     * Get method for the PPM REST Client used by the processor
+     *
+     * @return PPM REST Client
+     */
+    protected PpmRestClient getRestClient() {
+        return restClient;
+    }
+
+    /**
+     * Get method for the JSON codec used by the processor
+     *
+     * @return JSON codec
+     */
+    protected PpmJsonCodec getJsonCodec() {
+        return jsonCodec;
+    }
 
     /**
      * Method to check if a String is Blank or Null
@@ -42,13 +133,31 @@ public class IspmoItProjectProcessor {
         System.out.println(str);
     }
 
+    /**
+     * Method to write out a payload to the console or log file, the payload bytes are written as is without decoding them
+     *
+     * @param str     String to print before the payload
+     * @param payload UTF-8 bytes of the payload
+     */
+    private static void log(final String str, final byte[] payload) {
+        // One log line, not interleaved with the log lines of the other threads
+        synchronized (System.out) {
+            System.out.print(str);
+            System.out.write(payload, 0, payload.length);
+            System.out.println();
+        }
+    }
+
     /**
      * Method to get the SQLRunner Results values in a json Array for further processing
      *
      * @param jsonResultsArray The json "results" array
      * @return json Array with only the values of the "values" Object key
+     * @deprecated The SQL Runner responses are read with the JSON codec (PpmJsonCodec.readSqlRunnerResult)
      */
-    private static JSONArray getJsonValuesArray(JSONArray jsonResultsArray) {
+    @Deprecated
+    @SuppressWarnings("unused")
+    static JSONArray getJsonValuesArray(JSONArray jsonResultsArray) {
         JSONObject jsonValuesObj = new JSONObject();
         // Iterate through the jsonResultsArray and get the "values" key from the jsonObject
         for (Object obj : jsonResultsArray) {
@@ -71,10 +180,41 @@ public class IspmoItProjectProcessor {
      * @param restUrl              REST API URL for the method
      * @param requestId            IT Project ID
      * @param itProjectRequestType IT Project Request Type Name
-     * @return HashMap with It Project Tokens and Values
+     * @return SQL Runner row with the IT Project Tokens (column headers) and Values
      */
-    protected HashMap<String, String> getItProjectData(String ppmBaseUrl, String username, String password,
+    protected SqlRunnerRow getItProjectData(String ppmBaseUrl, String username, String password,
                                                        String restUrl, String requestId, String itProjectRequestType) {
+        return readItProjectData(restClient.execute(createItProjectDataRequest(ppmBaseUrl, username, password, restUrl, requestId, itProjectRequestType), "Getting IT Project Data Method"));
+    }
+
+    /**
+     * Method to get the IT Project Data without waiting for the SQL Runner Response
+     *
+     * @param ppmBaseUrl           PPM Base URL for identifying the PPM environment
+     * @param username             PPM User for access to the PPM entities.
+     * @param password             PPM User password
+     * @param restUrl              REST API URL for the method
+     * @param requestId            IT Project ID
+     * @param itProjectRequestType IT Project Request Type Name
+     * @return Future completed with the SQL Runner row with the IT Project Tokens (column headers) and Values
+     */
+    protected CompletableFuture<SqlRunnerRow> getItProjectDataAsync(String ppmBaseUrl, String username, String password, String restUrl, String requestId, String itProjectRequestType) {
+        return restClient.executeAsync(createItProjectDataRequest(ppmBaseUrl, username, password, restUrl, requestId, itProjectRequestType), "Getting IT Project Data Method")
+                .thenApply(this::readItProjectData);
+    }
+
+    /**
+     * Method to create the IT Project Data SQL Runner Request
+     *
+     * @param ppmBaseUrl           PPM Base URL for identifying the PPM environment
+     * @param username             PPM User for access to the PPM entities.
+     * @param password             PPM User password
+     * @param restUrl              REST API URL for the method
+     * @param requestId            IT Project ID
+     * @param itProjectRequestType IT Project Request Type Name
+     * @return POST Request for the SQL Runner
+     */
+    private Request createItProjectDataRequest(String ppmBaseUrl, String username, String password, String restUrl, String requestId, String itProjectRequestType) {
         // REST API URL
         String sqlUrl = ppmBaseUrl + restUrl;
         log("IT Project Data Method POST Request Run SQL Query URL: " + sqlUrl);
@@ -82,89 +222,52 @@ public class IspmoItProjectProcessor {
         final String auth = username + ":" + password;
         String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
         final String authHeader = "Basic " + encoding;
-        // Set the POST Request and all the parameters
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-//                .callTimeout(90,TimeUnit.SECONDS)
-                .build();
         MediaType mediaType = MediaType.parse("application/json");
         // JSON Payload
-        String jsonPayload;
-        switch (itProjectRequestType) {
-            case "IS PMO IT-EPMO Project":
-                jsonPayload = setItEpmoProjectDataSql(requestId).toString();
-                break;
-            case "IS PMO IT-KTLO Project":
-                jsonPayload = setItKtloProjectDataSql(requestId).toString();
-                break;
-            case "IS PMO IT-Reporting and Analytics Project":
-                jsonPayload = setItReportingAnalyticsProjectDataSql(requestId).toString();
-                break;
-            case "IS PMO IT-Infrastructure Project":
-                jsonPayload = setItInfrastructureProjectDataSql(requestId).toString();
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid request type name: " + itProjectRequestType);
-        }
+        byte[] jsonPayload = setItProjectDataSql(itProjectRequestType, getProjectFilter(requestId));
         // POST Request Body
         RequestBody body = RequestBody.create(mediaType, jsonPayload);
         // POST Request
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(sqlUrl).addHeader("Authorization", authHeader)
                 .addHeader("accept", "application/json")
                 .addHeader("Ephemeral", "true")
                 .post(body)
+                .tag(PpmOperation.class, PpmOperation.PROJECT_DATA)
                 .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
-        // Declare HashMap<String, String> result for the return result
-        HashMap<String, String> result = new HashMap<>();
-        try {
-            response = call.execute();
+    }
+
+    /**
+     * Method to read the IT Project Data SQL Runner Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @return SQL Runner row with the IT Project Tokens (column headers) and Values
+     */
+    private SqlRunnerRow readItProjectData(Response httpResponse) {
+        // Declare SqlRunnerResult result for the return result
+        SqlRunnerResult result = new SqlRunnerResult(new String[0]);
+        try (Response response = httpResponse) {
             // Get the Response from server for the GET REST Request done.
             if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonSqlObj;
                 // Check Response Body is not Null
                 if (response.body() != null) {
-                    jsonSqlObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
-                    log("Getting IT Project Data Method JSON SQL Return output: " + jsonSqlObj);
-                    // Set the JSONArray with the "columnHeaders" token Array List
-                    JSONArray jsonColumnHeadersArray = jsonSqlObj.getJSONArray("columnHeaders");
-                    // Set the JSONArray with the "results" token Array List
-                    JSONArray jsonResultsArray = jsonSqlObj.getJSONArray("results");
-                    // Check that jsonResultsArray is not empty
-                    if (!jsonResultsArray.isEmpty()) {
-                        // Set the Object with "values" key and Array set from the "results" key Array
-                        JSONArray jsonColumnValuesArray = getJsonValuesArray(jsonResultsArray);
-
-                        // Add the jsonColumnHeaders as Keys and jsonValue as Values to the HashMap
-                        // Array
-                        for (int i = 0; i < jsonColumnHeadersArray.size(); i++) {
-                            if (isNotBlankString(jsonColumnValuesArray.get(i).toString())) {
-                                result.put(jsonColumnHeadersArray.getString(i), jsonColumnValuesArray.get(i).toString());
-                            }
-                        }
-                    } else {
+                    // Read the SQL Runner rows directly from the Response Body stream
+                    result = jsonCodec.readSqlRunnerResult(response.body().charStream());
+                    log("Getting IT Project Data Method SQL Rows returned: " + result.getRowCount());
+                    // Check that the results are not empty
+                    if (result.isEmpty()) {
                         log("Getting IT Project Data Method Results key is Empty");
                     }
                 } else {
                     log("Getting IT Project Data Method POST Return Body is Empty");
                 }
             } else {
-                // Exit the processing for non-200 status codes
+                // Log the failure for non-200 status codes
                 log("Getting IT Project Data Method Failed : HTTP error code : " + response.code());
                 // Print the Response Body with Failure message
-                JSONObject jsonFailureObj;
                 if (response.body() != null) {
-                    jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    for (Object key : jsonFailureObj.keySet()) {
-                        log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
                     }
                 }
 
@@ -172,16 +275,13 @@ public class IspmoItProjectProcessor {
         } catch (IOException e) {
             log("Getting IT Project Data Method IO Exception Failure");
             throw new RuntimeException("Getting IT Project Data Method IO Exception Failure: " + e);
-        } finally {
-            if (response != null) {
-                response.close();
-                if (!response.isSuccessful()) {
-                    System.exit(1);
-                }
-            }
         }
-        // Return HashMap<String, String>
-        return result;
+        // Stop the method for non-200 status codes, the caller records the failure and carries on with the rest of the run
+        if (!httpResponse.isSuccessful()) {
+            throw new RuntimeException("Getting IT Project Data Method Failed : HTTP error code : " + httpResponse.code());
+        }
+        // Return the IT Project row (only the last row is used for the IT Project Data)
+        return result.getLastRow();
     }
 
     /**
@@ -196,6 +296,35 @@ public class IspmoItProjectProcessor {
      */
     public ArrayList<ProjectMilestoneValues> getItProjectMilestoneData(String ppmBaseUrl, String username, String password,
                                                                        String restUrl, String requestId) {
+        return readItProjectMilestoneData(restClient.execute(createItProjectMilestoneDataRequest(ppmBaseUrl, username, password, restUrl, requestId), "Getting IT Project Milestone Data Method"));
+    }
+
+    /**
+     * Method to get the IT Project Milestone information without waiting for the SQL Runner Response
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestId  IT Project Request ID
+     * @return Future completed with the ArrayList Object with IT Project Milestone data
+     */
+    public CompletableFuture<ArrayList<ProjectMilestoneValues>> getItProjectMilestoneDataAsync(String ppmBaseUrl, String username, String password, String restUrl, String requestId) {
+        return restClient.executeAsync(createItProjectMilestoneDataRequest(ppmBaseUrl, username, password, restUrl, requestId), "Getting IT Project Milestone Data Method")
+                .thenApply(this::readItProjectMilestoneData);
+    }
+
+    /**
+     * Method to create the IT Project Milestone Data SQL Runner Request
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestId  IT Project Request ID
+     * @return POST Request for the SQL Runner
+     */
+    private Request createItProjectMilestoneDataRequest(String ppmBaseUrl, String username, String password, String restUrl, String requestId) {
         // REST API URL
         String sqlUrl = ppmBaseUrl + restUrl;
         log("IT Project Milestone Data Method POST Request Run SQL Query URL: " + sqlUrl);
@@ -203,81 +332,64 @@ public class IspmoItProjectProcessor {
         final String auth = username + ":" + password;
         String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
         final String authHeader = "Basic " + encoding;
-        // Set the POST Request and all the parameters
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-                .build();
         MediaType mediaType = MediaType.parse("application/json");
         // JSON Payload
-        String jsonPayload = setItProjectMilestonesSql(requestId).toString();
+        byte[] jsonPayload = setItProjectMilestonesSql(getProjectFilter(requestId), false);
         // POST Request Body
         RequestBody body = RequestBody.create(mediaType, jsonPayload);
         // POST Request
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(sqlUrl).addHeader("Authorization", authHeader)
                 .addHeader("accept", "application/json")
                 .addHeader("Ephemeral", "true")
                 .post(body)
+                .tag(PpmOperation.class, PpmOperation.MILESTONES)
                 .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
+    }
+
+    /**
+     * Method to read the IT Project Milestone Data SQL Runner Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @return ArrayList Object with IT Project Milestone data
+     */
+    private ArrayList<ProjectMilestoneValues> readItProjectMilestoneData(Response httpResponse) {
         // Declare HashMap<String, String> result for the return result
         ArrayList<ProjectMilestoneValues> result = new ArrayList<>();
-        try {
-            response = call.execute();
+        try (Response response = httpResponse) {
             // Get the Response from server for the GET REST Request done.
             if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonSqlObj;
                 // Check Response Body is not Null
                 if (response.body() != null) {
-                    jsonSqlObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
-                    log("Getting IT Project Milestone Data Method JSON SQL Return output: " + jsonSqlObj.toString());
-                    // Set the JSONArray with the "results" token Array List
-                    JSONArray jsonResultsArray = jsonSqlObj.getJSONArray("results");
-                    // Check that jsonResultsArray is not empty
-                    if (!jsonResultsArray.isEmpty()) {
-                        // Iterate through the jsonResultsArray and get the "values" key from the jsonObject
-                        for (Object jsonResultObject : jsonResultsArray) {
-                            JSONObject jsonValueObject = (JSONObject) jsonResultObject;
-                            // Extract the desired key and its related JSONArray
-                            JSONArray jsonValueArray = jsonValueObject.getJSONArray("values");
+                    // Read the SQL Runner rows directly from the Response Body stream
+                    int rowCount = jsonCodec.readSqlRunnerRows(response.body().charStream(), (columnHeaders, values) ->
                             // Assign the values to the ProjectMilestoneValues class and add to return results Array
-                            result.add(new ProjectMilestoneValues(jsonValueArray.get(0).toString(), jsonValueArray.get(1).toString(), jsonValueArray.get(2).toString(), jsonValueArray.get(3).toString()));
-                        }
-                    } else {
+                            result.add(new ProjectMilestoneValues(values[0], values[1], values[2], values[3])));
+                    log("Getting IT Project Milestone Data Method SQL Rows returned: " + rowCount);
+                    // Check that the results are not empty
+                    if (rowCount == 0) {
                         log("Getting IT Project Milestone Data Method Results key is Empty");
                     }
                 } else {
                     log("Getting IT Project Milestone Data Method POST Return Body is Empty");
                 }
             } else {
-                // Exit the processing for non-200 status codes
+                // Log the failure for non-200 status codes
                 log("Getting IT Project Milestone Data Method Failed : HTTP error code : " + response.code());
                 // Print the Response Body with Failure message
-                JSONObject jsonFailureObj;
                 if (response.body() != null) {
-                    jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    for (Object key : jsonFailureObj.keySet()) {
-                        log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
                     }
                 }
             }
         } catch (IOException e) {
             log("Getting IT Project Milestone Data Method IO Exception Failure");
             throw new RuntimeException("Getting IT Project Milestone Data Method IO Exception Failure: " + e);
-        } finally {
-            if (response != null) {
-                response.close();
-                if (!response.isSuccessful()) {
-                    System.exit(1);
-                }
-            }
+        }
+        // Stop the method for non-200 status codes, the caller records the failure and carries on with the rest of the run
+        if (!httpResponse.isSuccessful()) {
+            throw new RuntimeException("Getting IT Project Milestone Data Method Failed : HTTP error code : " + httpResponse.code());
         }
         // Return HashMap<String, String>
         return result;
@@ -290,10 +402,43 @@ public class IspmoItProjectProcessor {
      * @param username   PPM User for access to the PPM entities.
      * @param password   PPM User password
      * @param restUrl    REST API URL for the method
-     * @return ArrayList Object with IS PMO Features and IS PMO Testing Features
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param itProjectRequestId IT Project Request ID
+     * @return SQL Runner result with a row per Feature of the Feature Request Type
      */
-    protected HashMap<String, HashMap<String, String>> getPpmFeatureRequestData(String ppmBaseUrl, String username, String password,
+    protected SqlRunnerResult getPpmFeatureRequestData(String ppmBaseUrl, String username, String password,
                                                                                 String restUrl, String featureRequestType, String itProjectRequestId) {
+        return readPpmFeatureRequestData(restClient.execute(createPpmFeatureRequestDataRequest(ppmBaseUrl, username, password, restUrl, featureRequestType, itProjectRequestId), "Getting PPM Feature Data Method"));
+    }
+
+    /**
+     * Method to get the Feature Request Data of one Feature Request Type without waiting for the SQL Runner Response
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param itProjectRequestId IT Project Request ID
+     * @return Future completed with the SQL Runner result with a row per Feature of the Feature Request Type
+     */
+    protected CompletableFuture<SqlRunnerResult> getPpmFeatureRequestDataAsync(String ppmBaseUrl, String username, String password, String restUrl, String featureRequestType, String itProjectRequestId) {
+        return restClient.executeAsync(createPpmFeatureRequestDataRequest(ppmBaseUrl, username, password, restUrl, featureRequestType, itProjectRequestId), "Getting PPM Feature Data Method")
+                .thenApply(this::readPpmFeatureRequestData);
+    }
+
+    /**
+     * Method to create the PPM Feature Data SQL Runner Request
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param itProjectRequestId IT Project Request ID
+     * @return POST Request for the SQL Runner
+     */
+    private Request createPpmFeatureRequestDataRequest(String ppmBaseUrl, String username, String password, String restUrl, String featureRequestType, String itProjectRequestId) {
         // REST API URL
         String sqlUrl = ppmBaseUrl + restUrl;
         log("PPM Feature Data Method POST Request Run SQL Query URL: " + sqlUrl);
@@ -301,24 +446,18 @@ public class IspmoItProjectProcessor {
         final String auth = username + ":" + password;
         String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
         final String authHeader = "Basic " + encoding;
-        // Set the POST Request and all the parameters
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-                .build();
         MediaType mediaType = MediaType.parse("application/json");
         // JSON Payload
-        String jsonPayload;
+        byte[] jsonPayload;
         switch (featureRequestType) {
             case "IS PMO Feature":
-                jsonPayload = setIspmoFeatureRequestSql(itProjectRequestId).toString();
+                jsonPayload = setIspmoFeatureRequestSql(itProjectRequestId);
                 break;
             case "IS PMO Testing Feature":
-                jsonPayload = setIspmoTestingFeatureRequestSql(itProjectRequestId).toString();
+                jsonPayload = setIspmoTestingFeatureRequestSql(itProjectRequestId);
                 break;
             case "Octane Initiated Feature":
-                jsonPayload = setOctaneInitiatedFeatureRequestSql(itProjectRequestId).toString();
+                jsonPayload = setOctaneInitiatedFeatureRequestSql(itProjectRequestId);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid request type name: " + featureRequestType);
@@ -326,68 +465,46 @@ public class IspmoItProjectProcessor {
         // POST Request Body
         RequestBody body = RequestBody.create(mediaType, jsonPayload);
         // POST Request
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(sqlUrl).addHeader("Authorization", authHeader)
                 .addHeader("accept", "application/json")
                 .addHeader("Ephemeral", "true")
                 .post(body)
+                .tag(PpmOperation.class, PpmOperation.FEATURE_DATA)
                 .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
-        // Declare HashMap<String, String> result for the return result
-        HashMap<String, HashMap<String, String>> result = new HashMap<>();
-        try {
-            response = call.execute();
+    }
+
+    /**
+     * Method to read the PPM Feature Data SQL Runner Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @return SQL Runner result with a row per Feature of the Feature Request Type
+     */
+    private SqlRunnerResult readPpmFeatureRequestData(Response httpResponse) {
+        // Declare SqlRunnerResult result for the return result
+        SqlRunnerResult result = new SqlRunnerResult(new String[0]);
+        try (Response response = httpResponse) {
             // Get the Response from server for the GET REST Request done.
             if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonSqlObj;
                 // Check Response Body is not Null
                 if (response.body() != null) {
-                    jsonSqlObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
-                    log("Getting PPM Feature Data Method JSON SQL Return output: " + jsonSqlObj);
-                    // Set the JSONArray with the "columnHeaders" token Array List
-                    JSONArray jsonColumnHeadersArray = jsonSqlObj.getJSONArray("columnHeaders");
-                    // Set the JSONArray with the "results" token Array List
-                    JSONArray jsonResultsArray = jsonSqlObj.getJSONArray("results");
-                    // Check that jsonResultsArray is not empty
-                    HashMap<String, String> innerHashMap = new HashMap<>();
-                    if (!jsonResultsArray.isEmpty()) {
-                        // Iterate through the jsonResultsArray and get the "values" key from the jsonObject
-                        for (Object jsonResultObject : jsonResultsArray) {
-                            JSONObject jsonValueObject = (JSONObject) jsonResultObject;
-                            // Extract the desired key and its related JSONArray
-                            JSONArray jsonColumnValuesArray = jsonValueObject.getJSONArray("values");
-                            // Assign Variable to store the "FEATURE_REQ_ID" for the outer HsahMap
-                            String featureRequestId = null;
-                            // Assign the values to the ProjectMilestoneValues class and add to return results Array
-                            for (int i = 0; i < jsonColumnHeadersArray.size(); i++) {
-                                innerHashMap.put(jsonColumnHeadersArray.getString(i), jsonColumnValuesArray.get(i).toString());
-                                // Check Header Columns for "FEATURE_REQ_ID" and assign the Column value to featureRequestId variable
-                                if (jsonColumnHeadersArray.getString(i).equalsIgnoreCase("FEATURE_REQ_ID")) {
-                                    featureRequestId = jsonColumnValuesArray.get(i).toString();
-                                }
-                            }
-                            result.put(featureRequestId, innerHashMap);
-                        }
-                    } else {
+                    // Read the SQL Runner rows directly from the Response Body stream
+                    result = jsonCodec.readSqlRunnerResult(response.body().charStream());
+                    log("Getting PPM Feature Data Method SQL Rows returned: " + result.getRowCount());
+                    // Check that the results are not empty
+                    if (result.isEmpty()) {
                         log("Getting PPM Feature Data Method Results key is Empty");
                     }
                 } else {
                     log("Getting PPM Feature Method POST Return Body is Empty");
                 }
             } else {
-                // Exit the processing for non-200 status codes
+                // Log the failure for non-200 status codes
                 log("Getting PPM Feature Data Method Failed : HTTP error code : " + response.code());
                 // Print the Response Body with Failure message
-                JSONObject jsonFailureObj;
                 if (response.body() != null) {
-                    jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    for (Object key : jsonFailureObj.keySet()) {
-                        log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
                     }
                 }
 
@@ -395,326 +512,1021 @@ public class IspmoItProjectProcessor {
         } catch (IOException e) {
             log("Getting IPPM Feature Data Method IO Exception Failure");
             throw new RuntimeException("Getting PPM Feature Data Method IO Exception Failure: " + e);
-        } finally {
-            if (response != null) {
-                response.close();
-                if (!response.isSuccessful()) {
-                    System.exit(1);
-                }
-            }
         }
-        // Return HashMap<String, String>
+        // Stop the method for non-200 status codes, the caller records the failure and carries on with the rest of the run
+        if (!httpResponse.isSuccessful()) {
+            throw new RuntimeException("Getting PPM Feature Data Method Failed : HTTP error code : " + httpResponse.code());
+        }
+        // Return SqlRunnerResult with the Feature rows
         return result;
     }
 
     /**
-     * Method to get all the PPM Feature that is linked to the IT Project
+     * Method to get the Feature Request Data of all Feature Request Types linked to the IT Project with one SQL query
+     * and split the rows into one Feature HashMap per Request Type
      *
-     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
-     * @param username   PPM User for access to the PPM entities.
-     * @param password   PPM User password
-     * @param restUrl    REST API URL for the method
-     * @param requestId  IT Project Request ID
-     * @return ArrayList Object with IT Project Milestone data
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param restUrl            REST API URL for the method
+     * @param itProjectRequestId IT Project Request ID
+     * @return HashMap with the Feature Request Type Name as Key and the SQL Runner result with the Feature rows as Value
+     */
+    protected HashMap<String, SqlRunnerResult> getAllPpmFeatureRequestData(String ppmBaseUrl, String username, String password,
+                                                                          String restUrl, String itProjectRequestId) {
+        return readAllPpmFeatureRequestData(restClient.execute(createAllPpmFeatureRequestDataRequest(ppmBaseUrl, username, password, restUrl, itProjectRequestId), "Getting All PPM Feature Data Method"));
+    }
+
+    /**
+     * Method to get the Feature Request Data of all Feature Request Types without waiting for the SQL Runner Response
+     *
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param restUrl            REST API URL for the method
+     * @param itProjectRequestId IT Project Request ID
+     * @return Future completed with the HashMap with the Feature Request Type Name as Key and the SQL Runner result with the Feature rows as Value
+     */
+    protected CompletableFuture<HashMap<String, SqlRunnerResult>> getAllPpmFeatureRequestDataAsync(String ppmBaseUrl, String username, String password, String restUrl, String itProjectRequestId) {
+        return restClient.executeAsync(createAllPpmFeatureRequestDataRequest(ppmBaseUrl, username, password, restUrl, itProjectRequestId), "Getting All PPM Feature Data Method")
+                .thenApply(this::readAllPpmFeatureRequestData);
+    }
+
+    /**
+     * Method to create the All PPM Feature Data SQL Runner Request
+     *
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param restUrl            REST API URL for the method
+     * @param itProjectRequestId IT Project Request ID
+     * @return POST Request for the SQL Runner
      */
-    protected ArrayList<String> getFeatureIdsLinkedToItProject(String ppmBaseUrl, String username, String password, String restUrl, String requestId) {
+    private Request createAllPpmFeatureRequestDataRequest(String ppmBaseUrl, String username, String password, String restUrl, String itProjectRequestId) {
         // REST API URL
         String sqlUrl = ppmBaseUrl + restUrl;
-        log("Feature IDs linked to IT Project Method POST Request Run SQL Query URL: " + sqlUrl);
+        log("All PPM Feature Data Method POST Request Run SQL Query URL: " + sqlUrl);
         // Encode the Username and Password. Using Admin user to ensure
         final String auth = username + ":" + password;
         String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
         final String authHeader = "Basic " + encoding;
-        // Set the POST Request and all the parameters
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-                .build();
         MediaType mediaType = MediaType.parse("application/json");
         // JSON Payload
-        String jsonPayload = setAllFeatureIdsSql(requestId).toString();
+        byte[] jsonPayload = setAllFeatureRequestSql(itProjectRequestId);
         // POST Request Body
         RequestBody body = RequestBody.create(mediaType, jsonPayload);
         // POST Request
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(sqlUrl).addHeader("Authorization", authHeader)
                 .addHeader("accept", "application/json")
                 .addHeader("Ephemeral", "true")
                 .post(body)
+                .tag(PpmOperation.class, PpmOperation.FEATURE_DATA)
                 .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
-        // Declare HashMap<String, String> result for the return result
-        ArrayList<String> result = new ArrayList<>();
-        try {
-            response = call.execute();
+    }
+
+    /**
+     * Method to read the All PPM Feature Data SQL Runner Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @return HashMap with the Feature Request Type Name as Key and the SQL Runner result with the Feature rows as Value
+     */
+    private HashMap<String, SqlRunnerResult> readAllPpmFeatureRequestData(Response httpResponse) {
+        // Declare the result with a SQL Runner result for every Feature Request Type
+        HashMap<String, SqlRunnerResult> result = new HashMap<>();
+        try (Response response = httpResponse) {
             // Get the Response from server for the GET REST Request done.
             if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonSqlObj;
                 // Check Response Body is not Null
                 if (response.body() != null) {
-                    jsonSqlObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
-                    log("Getting Feature IDs linked to IT Project Method JSON SQL Return output: " + jsonSqlObj.toString());
-                    // Set the JSONArray with the "results" token Array List
-                    JSONArray jsonResultsArray = jsonSqlObj.getJSONArray("results");
-                    // Check that jsonResultsArray is not empty
-                    if (!jsonResultsArray.isEmpty()) {
-                        // Iterate through the jsonResultsArray and get the "values" key from the jsonObject
-                        for (Object jsonResultObject : jsonResultsArray) {
-                            JSONObject jsonValueObject = (JSONObject) jsonResultObject;
-                            // Extract the desired key and its related JSONArray
-                            JSONArray jsonValueArray = jsonValueObject.getJSONArray("values");
-                            // Assign the values to ArrayList<String>
-                            result.add(jsonValueArray.get(0).toString());
-                        }
-                    } else {
-                        log("Getting Feature IDs linked to IT Project Method Results key is Empty");
+                    // Read the SQL Runner rows directly from the Response Body stream
+                    SqlRunnerResult allFeatureResult = jsonCodec.readSqlRunnerResult(response.body().charStream());
+                    log("Getting All PPM Feature Data Method SQL Rows returned: " + allFeatureResult.getRowCount());
+                    // Split the rows into a SQL Runner result per Feature Request Type
+                    splitFeatureRequestTypeRows(allFeatureResult, result);
+                    // Check that the results are not empty
+                    if (allFeatureResult.isEmpty()) {
+                        log("Getting All PPM Feature Data Method Results key is Empty");
                     }
                 } else {
-                    log("Getting Feature IDs linked to IT Project Method POST Return Body is Empty");
+                    log("Getting All PPM Feature Method POST Return Body is Empty");
                 }
             } else {
-                // Exit the processing for non-200 status codes
-                log("Getting Feature IDs linked to IT Project Method Failed : HTTP error code : " + response.code());
+                // Log the failure for non-200 status codes
+                log("Getting All PPM Feature Data Method Failed : HTTP error code : " + response.code());
                 // Print the Response Body with Failure message
-                JSONObject jsonFailureObj;
                 if (response.body() != null) {
-                    jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    for (Object key : jsonFailureObj.keySet()) {
-                        log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
                     }
                 }
             }
         } catch (IOException e) {
-            log("Getting Feature IDs linked to IT Project Method IO Exception Failure");
-            throw new RuntimeException("Getting Feature IDs linked to IT Project Method IO Exception Failure: " + e);
-        } finally {
-            if (response != null) {
-                response.close();
-                if (!response.isSuccessful()) {
-                    System.exit(1);
-                }
-            }
+            log("Getting All PPM Feature Data Method IO Exception Failure");
+            throw new RuntimeException("Getting All PPM Feature Data Method IO Exception Failure: " + e);
         }
-        // Return HashMap<String, String>
+        // Stop the method for non-200 status codes, the caller records the failure and carries on with the rest of the run
+        if (!httpResponse.isSuccessful()) {
+            throw new RuntimeException("Getting All PPM Feature Data Method Failed : HTTP error code : " + httpResponse.code());
+        }
+        // Return HashMap with the Feature Data per Feature Request Type
         return result;
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for IS PMO IT-EPMO Project data
+     * Method to split the combined Feature SQL Runner result into a SQL Runner result per Feature Request Type.
+     * The FEATURE_REQUEST_TYPE and PRJ_REQUEST_ID columns are removed from all rows and the NULL aligned IS PMO Testing Feature only
+     * columns and ISPMO_MILESTONES column are removed from the Feature Request Types without these columns.
      *
-     * @param projectRequestId IT Project Request ID
-     * @return JSON Object with the SQL String
+     * @param allFeatureResult SQL Runner result of the combined Feature query
+     * @param result           HashMap to fill with the Feature Request Type Name as Key and the SQL Runner result as Value
      */
-    private JSONObject setItEpmoProjectDataSql(String projectRequestId) {
-        // Create the sql string
-        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, krd1.visible_parameter3 AS epmo_project_num, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_business_unit, krhd.visible_parameter1 AS ispmo_epmo_sub_area, krhd.visible_parameter2 AS ispmo_epmo_bu_priority, krhd.visible_parameter3 AS ispmo_epmo_org_priority, kr.description AS ispmo_prj_short_desc, krd1.visible_parameter11 AS ispmo_incl_retail_build, krd1.visible_parameter12 AS ispmo_incl_charg_sys, krd1.visible_parameter13 AS ispmo_incl_wholsal_rel, krd1.visible_parameter14 AS ispmo_incl_siya_rel, krd1.visible_parameter15 AS ispmo_incl_ilula_rel, krd1.visible_parameter20 AS ispmo_incl_siebel_rel, krd3.visible_parameter16 AS ispmo_epmo_pm, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
-        sql = sql.concat(getItProjectFromWhereClauses(projectRequestId));
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+    private void splitFeatureRequestTypeRows(SqlRunnerResult allFeatureResult, HashMap<String, SqlRunnerResult> result) {
+        final String[] featureRequestTypes = {"IS PMO Feature", "IS PMO Testing Feature", "Octane Initiated Feature"};
+        final int requestTypeOrdinal = allFeatureResult.getColumnOrdinal("FEATURE_REQUEST_TYPE");
+        final String[] allColumnHeaders = allFeatureResult.getColumnHeaders();
+        for (String featureRequestType : featureRequestTypes) {
+            // Set the column ordinals (of the combined result) kept for the Feature Request Type
+            final boolean hasMilestonesColumn = getFeatureMilestonesColumn(featureRequestType) != null;
+            int[] keptOrdinals = new int[allColumnHeaders.length];
+            int keptCount = 0;
+            for (int i = 0; i < allColumnHeaders.length; i++) {
+                final String columnHeader = allColumnHeaders[i];
+                if (i != requestTypeOrdinal && !columnHeader.equals(PROJECT_ID_COLUMN) && (featureRequestType.equals("IS PMO Testing Feature") || !TESTING_FEATURE_ONLY_COLUMNS.contains(columnHeader))
+                        && (hasMilestonesColumn || !columnHeader.equals(MILESTONES_COLUMN))) {
+                    keptOrdinals[keptCount++] = i;
+                }
+            }
+            String[] columnHeaders = new String[keptCount];
+            for (int i = 0; i < keptCount; i++) {
+                columnHeaders[i] = allColumnHeaders[keptOrdinals[i]];
+            }
+            SqlRunnerResult featureTypeResult = new SqlRunnerResult(columnHeaders);
+            // Copy the rows of the Feature Request Type
+            for (SqlRunnerRow row : allFeatureResult.getRows()) {
+                final String rowRequestType = row.get(requestTypeOrdinal);
+                if (rowRequestType != null && rowRequestType.trim().equals(featureRequestType)) {
+                    String[] values = new String[keptCount];
+                    for (int i = 0; i < keptCount; i++) {
+                        values[i] = row.get(keptOrdinals[i]);
+                    }
+                    featureTypeResult.addRow(values);
+                }
+            }
+            result.put(featureRequestType, featureTypeResult);
+        }
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for IS PMO IT-KTLO Project data
+     * Method to run a SQL Runner query and read all the rows of the response
      *
-     * @param projectRequestId IT Project Request ID
-     * @return JSON Object with the SQL String
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param sqlPayload UTF-8 bytes of the JSON payload with the SQL String
+     * @param queryName  Query name used in the log
+     * @param operation  PPM REST API operation recorded in the call metrics
+     * @return SQL Runner result with all the rows of the response
      */
-    private JSONObject setItKtloProjectDataSql(String projectRequestId) {
-        // Create the sql string
-        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_business_unit, krhd.visible_parameter1 AS ispmo_epmo_sub_area, kr.description AS ispmo_prj_short_desc, krd1.visible_parameter11 AS ispmo_incl_retail_build, krd1.visible_parameter12 AS ispmo_incl_charg_sys, krd1.visible_parameter13 AS ispmo_incl_wholsal_rel, krd1.visible_parameter14 AS ispmo_incl_siya_rel, krd1.visible_parameter15 AS ispmo_incl_ilula_rel, krd1.visible_parameter20 AS ispmo_incl_siebel_rel, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
-        sql = sql.concat(getItProjectFromWhereClauses(projectRequestId));
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+    protected SqlRunnerResult runSqlRunnerQuery(String ppmBaseUrl, String username, String password, String restUrl, byte[] sqlPayload, String queryName,
+                                                PpmOperation operation) {
+        return readSqlRunnerQuery(restClient.execute(createSqlRunnerQueryRequest(ppmBaseUrl, username, password, restUrl, sqlPayload, queryName, operation), queryName + " Method"), queryName);
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for IS PMO IT-Infrastructure Project data
+     * Method to run a SQL Runner query without waiting for the Response
      *
-     * @param projectRequestId IT Project Request ID
-     * @return JSON Object with the SQL String
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param sqlPayload UTF-8 bytes of the JSON payload with the SQL String
+     * @param queryName  Query name used in the log
+     * @param operation  PPM REST API operation recorded in the call metrics
+     * @return Future completed with the SQL Runner result with all the rows of the response
      */
-    private JSONObject setItInfrastructureProjectDataSql(String projectRequestId) {
-        // Create the sql string
-        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, krd1.visible_parameter3 AS epmo_project_num, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_busi krhd.visible_parameter1 AS ispmo_epmo_sub_area, kr.description AS ispmo_prj_short_desc, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
-        sql = sql.concat(getItProjectFromWhereClauses(projectRequestId));
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+    protected CompletableFuture<SqlRunnerResult> runSqlRunnerQueryAsync(String ppmBaseUrl, String username, String password, String restUrl, byte[] sqlPayload, String queryName, PpmOperation operation) {
+        return restClient.executeAsync(createSqlRunnerQueryRequest(ppmBaseUrl, username, password, restUrl, sqlPayload, queryName, operation), queryName + " Method")
+                .thenApply(response -> readSqlRunnerQuery(response, queryName));
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for IS PMO IT-Reporting and Analytics Project data
+     * Method to create the SQL Runner query Request
      *
-     * @param projectRequestId IT Project Request ID
-     * @return JSON Object with the SQL String
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param sqlPayload UTF-8 bytes of the JSON payload with the SQL String
+     * @param queryName  Query name used in the log
+     * @param operation  PPM REST API operation recorded in the call metrics
+     * @return POST Request for the SQL Runner
      */
-    private JSONObject setItReportingAnalyticsProjectDataSql(String projectRequestId) {
-        // Create the sql string
-        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_busi, krhd.visible_parameter1 AS ispmo_epmo_sub_area, kr.description AS ispmo_prj_short_desc, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
-        sql = sql.concat(getItProjectFromWhereClauses(projectRequestId));
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+    private Request createSqlRunnerQueryRequest(String ppmBaseUrl, String username, String password, String restUrl, byte[] sqlPayload, String queryName, PpmOperation operation) {
+        // REST API URL
+        String sqlUrl = ppmBaseUrl + restUrl;
+        log(queryName + " Method POST Request Run SQL Query URL: " + sqlUrl);
+        // Encode the Username and Password. Using Admin user to ensure
+        final String auth = username + ":" + password;
+        String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
+        final String authHeader = "Basic " + encoding;
+        MediaType mediaType = MediaType.parse("application/json");
+        // POST Request Body
+        RequestBody body = RequestBody.create(mediaType, sqlPayload);
+        // POST Request
+        return new Request.Builder()
+                .url(sqlUrl).addHeader("Authorization", authHeader)
+                .addHeader("accept", "application/json")
+                .addHeader("Ephemeral", "true")
+                .post(body)
+                .tag(PpmOperation.class, operation)
+                .build();
     }
 
     /**
-     * Method that set the IT Project SQL FROM and WHERE clauses
+     * Method to read the SQL Runner query Response and close it
      *
-     * @param reqId IT Prohect Request ID
-     * @return String with FROM and WHERE clauses
+     * @param httpResponse Response from the PPM server
+     * @param queryName Query name used in the log
+     * @return SQL Runner result with all the rows of the response
      */
-    private String getItProjectFromWhereClauses(String reqId) {
-        return " FROM kcrt_fg_pfm_project kfpp"
-                .concat(" INNER JOIN kcrt_request_types krt ON kfpp.request_type_id = krt.request_type_id")
-                .concat(" INNER JOIN kcrt_requests kr ON kfpp.request_id = kr.request_id")
-                .concat(" INNER JOIN kcrt_statuses ks ON kr.status_id = ks.status_id")
-                .concat(" INNER JOIN kcrt_req_header_details krhd ON kr.request_id = krhd.request_id")
-                .concat(" INNER JOIN kcrt_request_details krd1 ON kr.request_id = krd1.request_id AND krd1.batch_number = 1")
-                .concat(" INNER JOIN kcrt_request_details krd3 ON kr.request_id = krd3.request_id AND krd3.batch_number = 3")
-                .concat(" INNER JOIN pm_projects pp ON kr.request_id = pp.pfm_request_id")
-                .concat(" INNER JOIN pm_project_rollup ppr ON pp.rollup_id = ppr.rollup_id")
-                .concat(" WHERE kfpp.request_id = ").concat(reqId);
+    private SqlRunnerResult readSqlRunnerQuery(Response httpResponse, String queryName) {
+        // Declare SqlRunnerResult result for the return result
+        SqlRunnerResult result = new SqlRunnerResult(new String[0]);
+        try (Response response = httpResponse) {
+            // Get the Response from server for the GET REST Request done.
+            if (response.isSuccessful()) {
+                // Check Response Body is not Null
+                if (response.body() != null) {
+                    // Read the SQL Runner rows directly from the Response Body stream
+                    result = jsonCodec.readSqlRunnerResult(response.body().charStream());
+                    log(queryName + " Method SQL Rows returned: " + result.getRowCount());
+                } else {
+                    log(queryName + " Method POST Return Body is Empty");
+                }
+            } else {
+                // Log the failure for non-200 status codes
+                log(queryName + " Method Failed : HTTP error code : " + response.code());
+                // Print the Response Body with Failure message
+                if (response.body() != null) {
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log(queryName + " Method IO Exception Failure");
+            throw new RuntimeException(queryName + " Method IO Exception Failure: " + e);
+        }
+        // Stop the method for non-200 status codes, the caller records the failure and carries on with the rest of the run
+        if (!httpResponse.isSuccessful()) {
+            throw new RuntimeException(queryName + " Method Failed : HTTP error code : " + httpResponse.code());
+        }
+        return result;
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for the IT Project Milestones data
+     * Method to get the IT Project Data of many IT Projects of the same IT Project Request Type.
+     * One SQL Runner query is done per IN list chunk of IT Project Request IDs.
      *
-     * @param reqId IT Project Request ID (Project Number)
-     * @return JSON Object with the SQL String
+     * @param ppmBaseUrl           PPM Base URL for identifying the PPM environment
+     * @param username             PPM User for access to the PPM entities.
+     * @param password             PPM User password
+     * @param restUrl              REST API URL for the method
+     * @param requestIds           IT Project IDs
+     * @param itProjectRequestType IT Project Request Type Name
+     * @return HashMap with the IT Project ID as Key and the IT Project row as Value (empty row when the IT Project was not found)
      */
-    private JSONObject setItProjectMilestonesSql(String reqId) {
-        // Create the sql String
-        String sql = "SELECT wti.name, wts.sched_finish_date, wta.act_finish_date, ks.state_name";
-        sql = sql.concat(" FROM pm_projects pp")
-                .concat(" INNER JOIN pm_work_plans pwp ON pp.project_id = pwp.project_id")
-                .concat(" INNER JOIN wp_tasks wt ON pwp.work_plan_id = wt.work_plan_id")
-                .concat(" INNER JOIN wp_task_info wti ON wt.task_info_id = wti.task_info_id AND wti.task_type_code = 'M'")
-                .concat(" INNER JOIN wp_task_schedule wts ON wt.task_schedule_id = wts.task_schedule_id")
-                .concat(" INNER JOIN wp_task_actuals wta ON wt.task_actuals_id = wta.actuals_id")
+    protected HashMap<String, SqlRunnerRow> getItProjectDataForProjects(String ppmBaseUrl, String username, String password, String restUrl,
+                                                                        Collection<String> requestIds, String itProjectRequestType) {
+        HashMap<String, SqlRunnerRow> result = new HashMap<>();
+        for (List<String> chunk : getProjectIdChunks(requestIds)) {
+            SqlRunnerResult chunkResult = runSqlRunnerQuery(ppmBaseUrl, username, password, restUrl,
+                    setItProjectDataSql(itProjectRequestType, getProjectFilter(chunk)), "Getting IT Project Data for " + chunk.size() + " IT Projects",
+                    PpmOperation.PROJECT_DATA);
+            HashMap<String, SqlRunnerResult> projectResults = chunkResult.groupBy("ISPMO_PRJ_NUM");
+            for (String requestId : chunk) {
+                // Only the last row is used for the IT Project Data
+                SqlRunnerResult projectResult = projectResults.get(requestId);
+                result.put(requestId, projectResult != null ? projectResult.getLastRow() : chunkResult.getEmptyRow());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the IT Project Milestone information of many IT Projects.
+     * One SQL Runner query is done per IN list chunk of IT Project Request IDs.
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestIds IT Project IDs
+     * @return HashMap with the IT Project ID as Key and the IT Project Milestones as Value (empty when the IT Project has no Milestones)
+     */
+    protected HashMap<String, ArrayList<ProjectMilestoneValues>> getItProjectMilestoneDataForProjects(String ppmBaseUrl, String username, String password,
+                                                                                                    String restUrl, Collection<String> requestIds) {
+        HashMap<String, ArrayList<ProjectMilestoneValues>> result = new HashMap<>();
+        for (List<String> chunk : getProjectIdChunks(requestIds)) {
+            for (String requestId : chunk) {
+                result.put(requestId, new ArrayList<>());
+            }
+            SqlRunnerResult chunkResult = runSqlRunnerQuery(ppmBaseUrl, username, password, restUrl,
+                    setItProjectMilestonesSql(getProjectFilter(chunk), true), "Getting IT Project Milestone Data for " + chunk.size() + " IT Projects",
+                    PpmOperation.MILESTONES);
+            for (SqlRunnerRow row : chunkResult.getRows()) {
+                // The first column is the IT Project ID, followed by the Milestone columns in the single IT Project order
+                ArrayList<ProjectMilestoneValues> projectMilestones = result.get(row.get(0));
+                if (projectMilestones != null) {
+                    projectMilestones.add(new ProjectMilestoneValues(row.get(1), row.get(2), row.get(3), row.get(4)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get the All types of Feature Request Data linked to many IT Projects.
+     * One SQL Runner query is done per IN list chunk of IT Project Request IDs.
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestIds IT Project IDs
+     * @return HashMap with the IT Project ID as Key and the Feature Data per Feature Request Type as Value
+     */
+    protected HashMap<String, HashMap<String, SqlRunnerResult>> getAllPpmFeatureRequestDataForProjects(String ppmBaseUrl, String username, String password,
+                                                                                                     String restUrl, Collection<String> requestIds) {
+        HashMap<String, HashMap<String, SqlRunnerResult>> result = new HashMap<>();
+        for (List<String> chunk : getProjectIdChunks(requestIds)) {
+            SqlRunnerResult chunkResult = runSqlRunnerQuery(ppmBaseUrl, username, password, restUrl,
+                    setAllFeatureRequestSql(getProjectFilter(chunk), true), "Getting All PPM Feature Data for " + chunk.size() + " IT Projects",
+                    PpmOperation.FEATURE_DATA);
+            HashMap<String, SqlRunnerResult> projectResults = chunkResult.groupBy(PROJECT_ID_COLUMN);
+            for (String requestId : chunk) {
+                SqlRunnerResult projectResult = projectResults.get(requestId);
+                HashMap<String, SqlRunnerResult> featureTypeResults = new HashMap<>();
+                splitFeatureRequestTypeRows(projectResult != null ? projectResult : chunkResult.getEmptyResult(), featureTypeResults);
+                result.put(requestId, featureTypeResults);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get all the PPM Features linked to many IT Projects.
+     * One SQL Runner query is done per IN list chunk of IT Project Request IDs.
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestIds IT Project IDs
+     * @return HashMap with the IT Project ID as Key and the linked PPM Features (see getFeatureIdsLinkedToItProject) as Value
+     */
+    protected HashMap<String, LinkedHashMap<String, String[]>> getFeatureIdsLinkedToItProjects(String ppmBaseUrl, String username, String password, String restUrl,
+                                                                                               Collection<String> requestIds) {
+        HashMap<String, LinkedHashMap<String, String[]>> result = new HashMap<>();
+        for (List<String> chunk : getProjectIdChunks(requestIds)) {
+            for (String requestId : chunk) {
+                result.put(requestId, new LinkedHashMap<>());
+            }
+            SqlRunnerResult chunkResult = runSqlRunnerQuery(ppmBaseUrl, username, password, restUrl,
+                    setAllFeatureIdsSql(getProjectFilter(chunk), true), "Getting Feature IDs linked to " + chunk.size() + " IT Projects",
+                    PpmOperation.FEATURE_IDS);
+            final int statusColumn = chunkResult.getColumnOrdinal("ISPMO_PRJ_STATUS");
+            final int phaseColumn = chunkResult.getColumnOrdinal("ISPMO_PRJ_PHASE");
+            for (SqlRunnerRow row : chunkResult.getRows()) {
+                // The first column is the Feature ID and the second column the IT Project ID
+                LinkedHashMap<String, String[]> projectFeatures = result.get(row.get(1));
+                if (projectFeatures != null) {
+                    projectFeatures.put(row.get(0), statusColumn >= 0 && phaseColumn >= 0 ? new String[]{row.get(statusColumn), row.get(phaseColumn)} : null);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method to get all the PPM Feature that is linked to the IT Project, with the current IT Project Status and Phase of
+     * every Feature when the Status and Phase columns are set (-Dispmo.statusPhaseColumns.*)
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestId  IT Project Request ID
+     * @return LinkedHashMap with the PPM Feature ID as Key and the current IT Project Status and Phase as Value (null when not queried)
+     */
+    protected LinkedHashMap<String, String[]> getFeatureIdsLinkedToItProject(String ppmBaseUrl, String username, String password, String restUrl, String requestId) {
+        return readFeatureIdsLinkedToItProject(restClient.execute(createFeatureIdsLinkedToItProjectRequest(ppmBaseUrl, username, password, restUrl, requestId), "Getting Feature IDs linked to IT Project Method"));
+    }
+
+    /**
+     * Method to get the PPM Features linked to the IT Project without waiting for the SQL Runner Response
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestId  IT Project Request ID
+     * @return Future completed with the PPM Feature IDs and their current IT Project Status and Phase
+     */
+    protected CompletableFuture<LinkedHashMap<String, String[]>> getFeatureIdsLinkedToItProjectAsync(String ppmBaseUrl, String username, String password, String restUrl, String requestId) {
+        return restClient.executeAsync(createFeatureIdsLinkedToItProjectRequest(ppmBaseUrl, username, password, restUrl, requestId), "Getting Feature IDs linked to IT Project Method")
+                .thenApply(this::readFeatureIdsLinkedToItProject);
+    }
+
+    /**
+     * Method to create the Feature IDs linked to IT Project SQL Runner Request
+     *
+     * @param ppmBaseUrl PPM Base URL for identifying the PPM environment
+     * @param username   PPM User for access to the PPM entities.
+     * @param password   PPM User password
+     * @param restUrl    REST API URL for the method
+     * @param requestId  IT Project Request ID
+     * @return POST Request for the SQL Runner
+     */
+    private Request createFeatureIdsLinkedToItProjectRequest(String ppmBaseUrl, String username, String password, String restUrl, String requestId) {
+        // REST API URL
+        String sqlUrl = ppmBaseUrl + restUrl;
+        log("Feature IDs linked to IT Project Method POST Request Run SQL Query URL: " + sqlUrl);
+        // Encode the Username and Password. Using Admin user to ensure
+        final String auth = username + ":" + password;
+        String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
+        final String authHeader = "Basic " + encoding;
+        MediaType mediaType = MediaType.parse("application/json");
+        // JSON Payload
+        byte[] jsonPayload = setAllFeatureIdsSql(getProjectFilter(requestId), false);
+        // POST Request Body
+        RequestBody body = RequestBody.create(mediaType, jsonPayload);
+        // POST Request
+        return new Request.Builder()
+                .url(sqlUrl).addHeader("Authorization", authHeader)
+                .addHeader("accept", "application/json")
+                .addHeader("Ephemeral", "true")
+                .post(body)
+                .tag(PpmOperation.class, PpmOperation.FEATURE_IDS)
+                .build();
+    }
+
+    /**
+     * Method to read the Feature IDs linked to IT Project SQL Runner Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @return LinkedHashMap with the PPM Feature ID as Key and the current IT Project Status and Phase as Value (null when not queried)
+     */
+    private LinkedHashMap<String, String[]> readFeatureIdsLinkedToItProject(Response httpResponse) {
+        // Declare LinkedHashMap<String, String[]> result for the return result
+        LinkedHashMap<String, String[]> result = new LinkedHashMap<>();
+        try (Response response = httpResponse) {
+            // Get the Response from server for the GET REST Request done.
+            if (response.isSuccessful()) {
+                // Check Response Body is not Null
+                if (response.body() != null) {
+                    // Read the SQL Runner rows directly from the Response Body stream
+                    int rowCount = jsonCodec.readSqlRunnerRows(response.body().charStream(), (columnHeaders, values) ->
+                            // The Feature ID is the first column, the Status and Phase columns are the last two columns when they are queried
+                            result.put(values[0], columnHeaders.length >= 3 && "ISPMO_PRJ_PHASE".equalsIgnoreCase(columnHeaders[columnHeaders.length - 1])
+                                    ? new String[]{values[columnHeaders.length - 2], values[columnHeaders.length - 1]} : null));
+                    log("Getting Feature IDs linked to IT Project Method SQL Rows returned: " + rowCount);
+                    // Check that the results are not empty
+                    if (rowCount == 0) {
+                        log("Getting Feature IDs linked to IT Project Method Results key is Empty");
+                    }
+                } else {
+                    log("Getting Feature IDs linked to IT Project Method POST Return Body is Empty");
+                }
+            } else {
+                // Log the failure for non-200 status codes
+                log("Getting Feature IDs linked to IT Project Method Failed : HTTP error code : " + response.code());
+                // Print the Response Body with Failure message
+                if (response.body() != null) {
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log("Getting Feature IDs linked to IT Project Method IO Exception Failure");
+            throw new RuntimeException("Getting Feature IDs linked to IT Project Method IO Exception Failure: " + e);
+        }
+        // Stop the method for non-200 status codes, the caller records the failure and carries on with the rest of the run
+        if (!httpResponse.isSuccessful()) {
+            throw new RuntimeException("Getting Feature IDs linked to IT Project Method Failed : HTTP error code : " + httpResponse.code());
+        }
+        // Return HashMap<String, String>
+        return result;
+    }
+
+    /**
+     * Method to check if a Feature already has the IT Project Status and Phase. Features without current values (Feature
+     * Request Types without the -Dispmo.statusPhaseColumns.* columns) are never up to date, so they are always updated.
+     *
+     * @param currentStatusPhase Current IT Project Status and Phase of the Feature (null when not queried)
+     * @param itProjectStatus    IT Project Status
+     * @param itProjectPhase     IT Project Phase
+     * @return Boolean (True when the Feature is up to date)
+     */
+    protected static boolean hasFeatureStatusPhase(String[] currentStatusPhase, String itProjectStatus, String itProjectPhase) {
+        if (currentStatusPhase == null || currentStatusPhase[0] == null || currentStatusPhase[1] == null) {
+            return false;
+        }
+        return isSameFieldValue(itProjectStatus, currentStatusPhase[0]) && isSameFieldValue(itProjectPhase, currentStatusPhase[1]);
+    }
+
+    /**
+     * Method to get the PPM Request Details columns holding the current IT Project Status and IT Project Phase of the
+     * Feature Request Type. The columns are set with the -Dispmo.statusPhaseColumns.* JVM settings as a comma separated
+     * pair (for example visible_parameter41,visible_parameter42).
+     *
+     * @param featureRequestType PPM Feature Request Type Name
+     * @return Status and Phase column names or null when the columns are not set
+     */
+    private static String[] getFeatureStatusPhaseColumns(String featureRequestType) {
+        String columns;
+        switch (featureRequestType) {
+            case "IS PMO Feature":
+                columns = System.getProperty("ispmo.statusPhaseColumns.ispmoFeature");
+                break;
+            case "IS PMO Testing Feature":
+                columns = System.getProperty("ispmo.statusPhaseColumns.ispmoTestingFeature");
+                break;
+            case "Octane Initiated Feature":
+                columns = System.getProperty("ispmo.statusPhaseColumns.octaneInitiatedFeature");
+                break;
+            default:
+                columns = null;
+        }
+        if (columns == null) {
+            return null;
+        }
+        final String[] statusPhaseColumns = columns.trim().toLowerCase(Locale.ENGLISH).split("\\s*,\\s*");
+        // Only plain Request Details parameter columns are added to the SQL
+        if (statusPhaseColumns.length != 2 || !statusPhaseColumns[0].matches("(visible_)?parameter\\d+") || !statusPhaseColumns[1].matches("(visible_)?parameter\\d+")) {
+            log("Ignoring invalid Status and Phase columns for " + featureRequestType + ": " + columns);
+            return null;
+        }
+        return statusPhaseColumns;
+    }
+
+    /**
+     * Method to check if the Status and Phase columns are set for at least one Feature Request Type
+     *
+     * @return Boolean (True or False)
+     */
+    protected static boolean hasFeatureStatusPhaseColumns() {
+        return getFeatureStatusPhaseColumns("IS PMO Feature") != null || getFeatureStatusPhaseColumns("IS PMO Testing Feature") != null
+                || getFeatureStatusPhaseColumns("Octane Initiated Feature") != null;
+    }
+
+    /**
+     * Method that set the ISPMO_PRJ_STATUS and ISPMO_PRJ_PHASE select columns of the Feature IDs query for the Feature
+     * Request Types of one UNION ALL branch. The columns of the Feature Request Types without Status and Phase columns
+     * are NULL.
+     *
+     * @param referenceCodes Feature Request Type reference codes and names of the branch ({reference code, name} pairs)
+     * @return String with the columns or an empty String when no Status and Phase columns are set
+     */
+    private static String getFeatureStatusPhaseSelectColumns(String[][] referenceCodes) {
+        if (!hasFeatureStatusPhaseColumns()) {
+            if (STATUS_PHASE_COLUMNS_LOGGED.compareAndSet(false, true)) {
+                log("Feature Status and Phase columns not set (-Dispmo.statusPhaseColumns.*), all the Features are updated without checking their current Status and Phase");
+            }
+            return "";
+        }
+        StringBuilder selectColumns = new StringBuilder();
+        final String[] aliases = {"ispmo_prj_status", "ispmo_prj_phase"};
+        for (int columnIndex = 0; columnIndex < aliases.length; columnIndex++) {
+            StringBuilder caseExpression = new StringBuilder();
+            for (String[] referenceCode : referenceCodes) {
+                final String[] columns = getFeatureStatusPhaseColumns(referenceCode[1]);
+                if (columns != null) {
+                    caseExpression.append(" WHEN '").append(referenceCode[0]).append("' THEN krd.").append(columns[columnIndex]);
+                }
+            }
+            selectColumns.append(", ").append(caseExpression.length() == 0 ? "NULL" : "CASE krt.reference_code" + caseExpression + " END")
+                    .append(" AS ").append(aliases[columnIndex]);
+        }
+        return selectColumns.toString();
+    }
+
+    /**
+     * Method to set the IT Project Request ID filter for a single IT Project
+     *
+     * @param reqId IT Project Request ID
+     * @return SQL filter String (= ID)
+     */
+    private static String getProjectFilter(String reqId) {
+        return "= ".concat(reqId);
+    }
+
+    /**
+     * Method to set the IT Project Request ID filter for a set of IT Projects.
+     * Only numeric IT Project Request IDs are accepted, because the IDs are added to the SQL String.
+     *
+     * @param reqIds IT Project Request IDs (at most one IN list chunk)
+     * @return SQL filter String (IN list)
+     */
+    private static String getProjectFilter(List<String> reqIds) {
+        StringBuilder projectFilter = new StringBuilder("IN ( ");
+        for (int i = 0; i < reqIds.size(); i++) {
+            final String reqId = reqIds.get(i).trim();
+            if (reqId.isEmpty() || !reqId.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("Invalid IT Project Request ID: " + reqId);
+            }
+            projectFilter.append(i == 0 ? "" : ", ").append(reqId);
+        }
+        return projectFilter.append(" )").toString();
+    }
+
+    /**
+     * Method to split the IT Project Request IDs into IN list chunks (-Dispmo.sql.inListChunkSize, default 500)
+     *
+     * @param reqIds IT Project Request IDs
+     * @return List of IT Project Request ID chunks without duplicate IDs
+     */
+    protected static List<List<String>> getProjectIdChunks(Collection<String> reqIds) {
+        final int chunkSize = Math.max(1, Math.min(1000, Integer.getInteger("ispmo.sql.inListChunkSize", DEFAULT_IN_LIST_CHUNK_SIZE)));
+        LinkedHashSet<String> trimmedIds = new LinkedHashSet<>();
+        for (String reqId : reqIds) {
+            trimmedIds.add(reqId.trim());
+        }
+        List<String> uniqueIds = new ArrayList<>(trimmedIds);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < uniqueIds.size(); i += chunkSize) {
+            chunks.add(uniqueIds.subList(i, Math.min(uniqueIds.size(), i + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for the IT Project data of the IT Project Request Type
+     *
+     * @param itProjectRequestType IT Project Request Type Name
+     * @param projectFilter        IT Project Request ID filter (= ID or IN list)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setItProjectDataSql(String itProjectRequestType, String projectFilter) {
+        switch (itProjectRequestType) {
+            case "IS PMO IT-EPMO Project":
+                return setItEpmoProjectDataSql(projectFilter);
+            case "IS PMO IT-KTLO Project":
+                return setItKtloProjectDataSql(projectFilter);
+            case "IS PMO IT-Reporting and Analytics Project":
+                return setItReportingAnalyticsProjectDataSql(projectFilter);
+            case "IS PMO IT-Infrastructure Project":
+                return setItInfrastructureProjectDataSql(projectFilter);
+            default:
+                throw new IllegalArgumentException("Invalid request type name: " + itProjectRequestType);
+        }
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for IS PMO IT-EPMO Project data
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setItEpmoProjectDataSql(String projectFilter) {
+        // Create the sql string
+        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, krd1.visible_parameter3 AS epmo_project_num, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_business_unit, krhd.visible_parameter1 AS ispmo_epmo_sub_area, krhd.visible_parameter2 AS ispmo_epmo_bu_priority, krhd.visible_parameter3 AS ispmo_epmo_org_priority, kr.description AS ispmo_prj_short_desc, krd1.visible_parameter11 AS ispmo_incl_retail_build, krd1.visible_parameter12 AS ispmo_incl_charg_sys, krd1.visible_parameter13 AS ispmo_incl_wholsal_rel, krd1.visible_parameter14 AS ispmo_incl_siya_rel, krd1.visible_parameter15 AS ispmo_incl_ilula_rel, krd1.visible_parameter20 AS ispmo_incl_siebel_rel, krd3.visible_parameter16 AS ispmo_epmo_pm, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
+        sql = sql.concat(getItProjectFromWhereClauses(projectFilter));
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for IS PMO IT-KTLO Project data
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setItKtloProjectDataSql(String projectFilter) {
+        // Create the sql string
+        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_business_unit, krhd.visible_parameter1 AS ispmo_epmo_sub_area, kr.description AS ispmo_prj_short_desc, krd1.visible_parameter11 AS ispmo_incl_retail_build, krd1.visible_parameter12 AS ispmo_incl_charg_sys, krd1.visible_parameter13 AS ispmo_incl_wholsal_rel, krd1.visible_parameter14 AS ispmo_incl_siya_rel, krd1.visible_parameter15 AS ispmo_incl_ilula_rel, krd1.visible_parameter20 AS ispmo_incl_siebel_rel, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
+        sql = sql.concat(getItProjectFromWhereClauses(projectFilter));
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for IS PMO IT-Infrastructure Project data
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setItInfrastructureProjectDataSql(String projectFilter) {
+        // Create the sql string
+        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, krd1.visible_parameter3 AS epmo_project_num, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_busi krhd.visible_parameter1 AS ispmo_epmo_sub_area, kr.description AS ispmo_prj_short_desc, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
+        sql = sql.concat(getItProjectFromWhereClauses(projectFilter));
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for IS PMO IT-Reporting and Analytics Project data
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setItReportingAnalyticsProjectDataSql(String projectFilter) {
+        // Create the sql string
+        String sql = "SELECT kfpp.request_id AS ispmo_prj_num, kfpp.project_name AS description, replace(kfpp.prj_project_manager_username, '#@#', '; ') AS ispmo_pm, initcap(ppr.overall_health_indicator) AS ispmo_prj_rag, kfpp.prj_business_unit_meaning AS ispm_epmo_busi, krhd.visible_parameter1 AS ispmo_epmo_sub_area, kr.description AS ispmo_prj_short_desc, krhd.visible_parameter25 AS ispmo_func_test_auto, krhd.visible_parameter26 AS ispmo_perf_test, krhd.visible_parameter27 AS ispmo_serv_virtual";
+        sql = sql.concat(getItProjectFromWhereClauses(projectFilter));
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method that set the IT Project SQL FROM and WHERE clauses
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return String with FROM and WHERE clauses
+     */
+    private String getItProjectFromWhereClauses(String projectFilter) {
+        return " FROM kcrt_fg_pfm_project kfpp"
+                .concat(" INNER JOIN kcrt_request_types krt ON kfpp.request_type_id = krt.request_type_id")
+                .concat(" INNER JOIN kcrt_requests kr ON kfpp.request_id = kr.request_id")
+                .concat(" INNER JOIN kcrt_statuses ks ON kr.status_id = ks.status_id")
+                .concat(" INNER JOIN kcrt_req_header_details krhd ON kr.request_id = krhd.request_id")
+                .concat(" INNER JOIN kcrt_request_details krd1 ON kr.request_id = krd1.request_id AND krd1.batch_number = 1")
+                .concat(" INNER JOIN kcrt_request_details krd3 ON kr.request_id = krd3.request_id AND krd3.batch_number = 3")
+                .concat(" INNER JOIN pm_projects pp ON kr.request_id = pp.pfm_request_id")
+                .concat(" INNER JOIN pm_project_rollup ppr ON pp.rollup_id = ppr.rollup_id")
+                .concat(" WHERE kfpp.request_id ").concat(projectFilter);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for the IT Project Milestones data
+     *
+     * @param projectFilter  IT Project Request ID filter (= ID or IN list)
+     * @param groupByProject Add the PRJ_REQUEST_ID column (first column) to group the rows of many IT Projects
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setItProjectMilestonesSql(String projectFilter, boolean groupByProject) {
+        // Create the sql String
+        String sql = groupByProject ? "SELECT pp.pfm_request_id AS prj_request_id, " : "SELECT ";
+        sql = sql.concat("wti.name, wts.sched_finish_date, wta.act_finish_date, ks.state_name");
+        sql = sql.concat(" FROM pm_projects pp")
+                .concat(" INNER JOIN pm_work_plans pwp ON pp.project_id = pwp.project_id")
+                .concat(" INNER JOIN wp_tasks wt ON pwp.work_plan_id = wt.work_plan_id")
+                .concat(" INNER JOIN wp_task_info wti ON wt.task_info_id = wti.task_info_id AND wti.task_type_code = 'M'")
+                .concat(" INNER JOIN wp_task_schedule wts ON wt.task_schedule_id = wts.task_schedule_id")
+                .concat(" INNER JOIN wp_task_actuals wta ON wt.task_actuals_id = wta.actuals_id")
                 .concat(" INNER JOIN wp_milestones wm ON wt.milestone_id = wm.milestone_id AND wm.major = 'Y'")
                 .concat(" INNER JOIN kdrv_states ks ON wti.status = ks.state_id");
-        sql = sql.concat(" WHERE pwp.entity_type = 'WORK_PLAN'").concat(" AND pp.pfm_request_id = ").concat(reqId);
-        sql = sql.concat(" ORDER BY wt.sequence_number ASC");
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+        sql = sql.concat(" WHERE pwp.entity_type = 'WORK_PLAN'").concat(" AND pp.pfm_request_id ").concat(projectFilter);
+        sql = sql.concat(groupByProject ? " ORDER BY pp.pfm_request_id ASC, wt.sequence_number ASC" : " ORDER BY wt.sequence_number ASC");
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for IS PMO Features Request data
+     * Method to set the SQL Statement JSON payload for IS PMO Features Request data
      *
      * @param reqId IT Project Request ID (Project Number)
-     * @return JSON Object with the SQL String
+     * @return UTF-8 bytes of the JSON payload with the SQL String
      */
-    protected JSONObject setIspmoFeatureRequestSql(String reqId) {
+    protected byte[] setIspmoFeatureRequestSql(String reqId) {
         // Create the sql string
-        String sql = "SELECT kr.request_id AS feature_req_id, kr.description AS description, krd.visible_parameter15 AS ispmo_prj_rag, krd.visible_parameter5 AS ispmo_pm, krd.visible_parameter34 AS ispmo_prj_short_desc, krd.visible_parameter4 AS ispmo_epmo_pm, krd.visible_parameter8 AS ispmo_epmo_bu_priority, krd.visible_parameter9 AS ispmo_epmo_org_priority, krd.visible_parameter3 AS ispm_epmo_business_unit, krd.visible_parameter2 AS ispmo_epmo_sub_area, krd.visible_parameter16 AS ispmo_incl_retail_build, krd.visible_parameter17 AS ispmo_incl_charg_sys, krd.visible_parameter18 AS ispmo_incl_wholsal_rel, krd.visible_parameter19 AS ispmo_incl_siya_rel, krd.visible_parameter20 AS ispmo_incl_ilula_rel, krd.visible_parameter25 AS ispmo_incl_siebel_rel";
-        sql = sql.concat(" FROM pm_projects pp")
+        String sql = "SELECT ".concat(getIspmoFeatureSelectColumns()).concat(getFeatureMilestonesSelectColumn("IS PMO Feature", false));
+        sql = sql.concat(getIspmoFeatureFromWhereClauses(getProjectFilter(reqId)));
+        sql = sql.concat(" ORDER BY kr.request_id ASC");
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for IS PMO Testing Features Request data
+     *
+     * @param reqId IT Project Request ID (Project Number)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    protected byte[] setIspmoTestingFeatureRequestSql(String reqId) {
+        // Create the sql string
+        String sql = "SELECT ".concat(getIspmoTestingFeatureSelectColumns()).concat(getFeatureMilestonesSelectColumn("IS PMO Testing Feature", false));
+        sql = sql.concat(getIspmoTestingFeatureFromWhereClauses(getProjectFilter(reqId)));
+        sql = sql.concat(" ORDER BY kr.request_id ASC");
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for Octane Initiated Features Request data
+     *
+     * @param reqId IT Project Request ID (Project Number)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    protected byte[] setOctaneInitiatedFeatureRequestSql(String reqId) {
+        // Create the sql string
+        String sql = "SELECT ".concat(getOctaneInitiatedFeatureSelectColumns());
+        sql = sql.concat(getOctaneInitiatedFeatureFromWhereClauses(getProjectFilter(reqId)));
+        sql = sql.concat(" ORDER BY kr.request_id ASC");
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for all Feature Request Types linked to the IT Project in one query:
+     * IS PMO Feature, IS PMO Testing Feature and Octane Initiated Feature.
+     * The FEATURE_REQUEST_TYPE column identifies the Request Type of every row and the IS PMO Testing Feature only
+     * columns are returned as NULL for the other Request Types. The ISPMO_MILESTONES column is returned as NULL for
+     * the Request Types without a configured Milestone HTML column.
+     *
+     * @param reqId IT Project Request ID (Project Number)
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    protected byte[] setAllFeatureRequestSql(String reqId) {
+        return setAllFeatureRequestSql(getProjectFilter(reqId), false);
+    }
+
+    /**
+     * Method to set the SQL Statement JSON payload for all Feature Request Types linked to one or many IT Projects
+     *
+     * @param projectFilter  IT Project Request ID filter (= ID or IN list)
+     * @param groupByProject Add the PRJ_REQUEST_ID column (last column) to group the rows of many IT Projects
+     * @return UTF-8 bytes of the JSON payload with the SQL String
+     */
+    private byte[] setAllFeatureRequestSql(String projectFilter, boolean groupByProject) {
+        // IT Project Request ID column for the multi-project query
+        final String projectIdColumn = groupByProject ? ", pp.pfm_request_id AS prj_request_id" : "";
+        // Null columns to align the IS PMO Feature and Octane Initiated Feature rows with the IS PMO Testing Feature rows
+        final String testingFeatureNullColumns = ", NULL AS ispmo_func_test_auto, NULL AS ispmo_perf_test, NULL AS ispmo_serv_virtual";
+        // Create the sql string starting with the IS PMO Feature rows
+        String sql = "SELECT 'IS PMO Feature' AS feature_request_type, ".concat(getIspmoFeatureSelectColumns()).concat(testingFeatureNullColumns).concat(getFeatureMilestonesSelectColumn("IS PMO Feature", true)).concat(projectIdColumn);
+        sql = sql.concat(getIspmoFeatureFromWhereClauses(projectFilter));
+        // Add the IS PMO Testing Feature rows
+        sql = sql.concat(" UNION ALL SELECT 'IS PMO Testing Feature' AS feature_request_type, ").concat(getIspmoTestingFeatureSelectColumns()).concat(getFeatureMilestonesSelectColumn("IS PMO Testing Feature", true)).concat(projectIdColumn);
+        sql = sql.concat(getIspmoTestingFeatureFromWhereClauses(projectFilter));
+        // Add the Octane Initiated Feature rows
+        sql = sql.concat(" UNION ALL SELECT 'Octane Initiated Feature' AS feature_request_type, ").concat(getOctaneInitiatedFeatureSelectColumns()).concat(testingFeatureNullColumns).concat(getFeatureMilestonesSelectColumn("Octane Initiated Feature", true)).concat(projectIdColumn);
+        sql = sql.concat(getOctaneInitiatedFeatureFromWhereClauses(projectFilter));
+        // Order by Request Type and Feature Request ID
+        sql = sql.concat(" ORDER BY 1 ASC, 2 ASC");
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
+    }
+
+    /**
+     * Method to get the PPM Request Details column holding the current Milestone HTML of the Feature Request Type.
+     * The column is set with the -Dispmo.milestonesColumn.ispmoFeature and -Dispmo.milestonesColumn.ispmoTestingFeature
+     * JVM settings (for example visible_parameter40). Octane Initiated Features do not have Milestones.
+     *
+     * @param featureRequestType PPM Feature Request Type Name
+     * @return Request Details column name or null when the column is not set
+     */
+    private static String getFeatureMilestonesColumn(String featureRequestType) {
+        String column;
+        switch (featureRequestType) {
+            case "IS PMO Feature":
+                column = System.getProperty("ispmo.milestonesColumn.ispmoFeature");
+                break;
+            case "IS PMO Testing Feature":
+                column = System.getProperty("ispmo.milestonesColumn.ispmoTestingFeature");
+                break;
+            default:
+                column = null;
+        }
+        // Only plain Request Details parameter columns are added to the SQL
+        if (column != null && !column.trim().toLowerCase(Locale.ENGLISH).matches("visible_parameter\\d+")) {
+            log("Ignoring invalid Milestone HTML column for " + featureRequestType + ": " + column);
+            column = null;
+        }
+        return column == null ? null : column.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Method that set the ISPMO_MILESTONES select column for the Feature Request Type
+     *
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param alignWithNull      Return a NULL column when the Milestone HTML column is not set (used for UNION ALL queries)
+     * @return String with the column or an empty String
+     */
+    private String getFeatureMilestonesSelectColumn(String featureRequestType, boolean alignWithNull) {
+        final String column = getFeatureMilestonesColumn(featureRequestType);
+        if (column != null) {
+            return ", krd.".concat(column).concat(" AS ispmo_milestones");
+        }
+        if (!featureRequestType.equals("Octane Initiated Feature") && MILESTONES_COLUMNS_LOGGED.compareAndSet(false, true)) {
+            log("Feature Milestone HTML columns not set (-Dispmo.milestonesColumn.*), the IT Project Milestone HTML is sent to the Features without checking their current Milestone HTML");
+        }
+        return alignWithNull ? ", NULL AS ispmo_milestones" : "";
+    }
+
+    /**
+     * Method that set the IS PMO Feature SELECT column list
+     *
+     * @return String with the column list
+     */
+    private String getIspmoFeatureSelectColumns() {
+        return "kr.request_id AS feature_req_id, kr.description AS description, krd.visible_parameter15 AS ispmo_prj_rag, krd.visible_parameter5 AS ispmo_pm, krd.visible_parameter34 AS ispmo_prj_short_desc, krd.visible_parameter4 AS ispmo_epmo_pm, krd.visible_parameter8 AS ispmo_epmo_bu_priority, krd.visible_parameter9 AS ispmo_epmo_org_priority, krd.visible_parameter3 AS ispm_epmo_business_unit, krd.visible_parameter2 AS ispmo_epmo_sub_area, krd.visible_parameter16 AS ispmo_incl_retail_build, krd.visible_parameter17 AS ispmo_incl_charg_sys, krd.visible_parameter18 AS ispmo_incl_wholsal_rel, krd.visible_parameter19 AS ispmo_incl_siya_rel, krd.visible_parameter20 AS ispmo_incl_ilula_rel, krd.visible_parameter25 AS ispmo_incl_siebel_rel";
+    }
+
+    /**
+     * Method that set the IS PMO Feature SQL FROM and WHERE clauses
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return String with FROM and WHERE clauses
+     */
+    private String getIspmoFeatureFromWhereClauses(String projectFilter) {
+        return " FROM pm_projects pp"
                 .concat(" INNER JOIN kcrt_fg_master_proj_ref kfpr ON pp.project_id = kfpr.ref_master_project_id")
                 .concat(" INNER JOIN kcrt_request_types krt ON kfpr.request_type_id = krt.request_type_id AND krt.reference_code = 'IS_PMO_FEATURE'")
                 .concat(" INNER JOIN kcrt_requests kr ON kfpr.request_id = kr.request_id")
                 .concat(" INNER JOIN kcrt_request_details krd ON kr.request_id = krd.request_id AND krd.batch_number = 1")
-                .concat(" INNER JOIN kcrt_fg_agile_info kfai ON kfpr.request_id = kfai.request_id");
-        sql = sql.concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
-                .concat(" AND pp.pfm_request_id = ").concat(reqId);
-        sql = sql.concat(" ORDER BY kr.request_id ASC");
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+                .concat(" INNER JOIN kcrt_fg_agile_info kfai ON kfpr.request_id = kfai.request_id")
+                .concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
+                .concat(" AND pp.pfm_request_id ").concat(projectFilter);
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for IS PMO Testing Features Request data
+     * Method that set the IS PMO Testing Feature SELECT column list
      *
-     * @param reqId IT Project Request ID (Project Number)
-     * @return JSON Object with the SQL String
+     * @return String with the column list
      */
-    protected JSONObject setIspmoTestingFeatureRequestSql(String reqId) {
-        // Create the sql string
-        String sql = "SELECT kr.request_id AS feature_req_id, kr.description AS description, krd.visible_parameter7 AS ispmo_prj_rag, krd.visible_parameter6 AS ispmo_pm, krd.visible_parameter16 AS ispmo_prj_short_desc, krd.visible_parameter22 AS ispmo_epmo_pm, krd.visible_parameter12 AS ispmo_epmo_bu_priority, krd.visible_parameter13 AS ispmo_epmo_org_priority, krd.visible_parameter8 AS ispm_epmo_business_unit, krd.visible_parameter11 AS ispmo_epmo_sub_area, krd.visible_parameter26 AS ispmo_incl_retail_build, krd.visible_parameter27 AS ispmo_incl_charg_sys, krd.visible_parameter28 AS ispmo_incl_wholsal_rel, krd.visible_parameter29 AS ispmo_incl_siya_rel, krd.visible_parameter30 AS ispmo_incl_ilula_rel, krd.visible_parameter31 AS ispmo_incl_siebel_rel, krd.visible_parameter37 AS ispmo_func_test_auto, krd.visible_parameter38 AS ispmo_perf_test, krd.visible_parameter39 AS ispmo_serv_virtual";
-        sql = sql.concat(" FROM pm_projects pp")
+    private String getIspmoTestingFeatureSelectColumns() {
+        return "kr.request_id AS feature_req_id, kr.description AS description, krd.visible_parameter7 AS ispmo_prj_rag, krd.visible_parameter6 AS ispmo_pm, krd.visible_parameter16 AS ispmo_prj_short_desc, krd.visible_parameter22 AS ispmo_epmo_pm, krd.visible_parameter12 AS ispmo_epmo_bu_priority, krd.visible_parameter13 AS ispmo_epmo_org_priority, krd.visible_parameter8 AS ispm_epmo_business_unit, krd.visible_parameter11 AS ispmo_epmo_sub_area, krd.visible_parameter26 AS ispmo_incl_retail_build, krd.visible_parameter27 AS ispmo_incl_charg_sys, krd.visible_parameter28 AS ispmo_incl_wholsal_rel, krd.visible_parameter29 AS ispmo_incl_siya_rel, krd.visible_parameter30 AS ispmo_incl_ilula_rel, krd.visible_parameter31 AS ispmo_incl_siebel_rel, krd.visible_parameter37 AS ispmo_func_test_auto, krd.visible_parameter38 AS ispmo_perf_test, krd.visible_parameter39 AS ispmo_serv_virtual";
+    }
+
+    /**
+     * Method that set the IS PMO Testing Feature SQL FROM and WHERE clauses
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return String with FROM and WHERE clauses
+     */
+    private String getIspmoTestingFeatureFromWhereClauses(String projectFilter) {
+        return " FROM pm_projects pp"
                 .concat(" INNER JOIN kcrt_fg_master_proj_ref kfpr ON pp.project_id = kfpr.ref_master_project_id")
                 .concat(" INNER JOIN kcrt_request_types krt ON kfpr.request_type_id = krt.request_type_id AND krt.reference_code = 'IS_PMO_TESTING_FEATURE'")
                 .concat(" INNER JOIN kcrt_requests kr ON kfpr.request_id = kr.request_id")
                 .concat(" INNER JOIN kcrt_request_details krd ON kr.request_id = krd.request_id AND krd.batch_number = 1")
-                .concat(" INNER JOIN kcrt_fg_agile_info kfai ON kfpr.request_id = kfai.request_id");
-        sql = sql.concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
-                .concat(" AND pp.pfm_request_id = ").concat(reqId);
-        sql = sql.concat(" ORDER BY kr.request_id ASC");
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+                .concat(" INNER JOIN kcrt_fg_agile_info kfai ON kfpr.request_id = kfai.request_id")
+                .concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
+                .concat(" AND pp.pfm_request_id ").concat(projectFilter);
     }
 
     /**
-     * Method to set the SQL Statement JSON Object for Octane Initiated Features Request data
+     * Method that set the Octane Initiated Feature SELECT column list
      *
-     * @param reqId IT Project Request ID (Project Number)
-     * @return JSON Object with the SQL String
+     * @return String with the column list
      */
-    protected JSONObject setOctaneInitiatedFeatureRequestSql(String reqId) {
-        // Create the sql string
-        String sql = "SELECT kr.request_id AS feature_req_id, kr.description AS description, krd.visible_parameter15 AS ispmo_prj_rag, krd.visible_parameter5 AS ispmo_pm, krd.visible_parameter34 AS ispmo_prj_short_desc, krd.visible_parameter4 AS ispmo_epmo_pm, krd.visible_parameter8 AS ispmo_epmo_bu_priority, krd.visible_parameter9 AS ispmo_epmo_org_priority, krd.visible_parameter3 AS ispm_epmo_business_unit, krd.visible_parameter2 AS ispmo_epmo_sub_area, krd.visible_parameter16 AS ispmo_incl_retail_build, krd.visible_parameter17 AS ispmo_incl_charg_sys, krd.visible_parameter18 AS ispmo_incl_wholsal_rel, krd.visible_parameter19 AS ispmo_incl_siya_rel, krd.visible_parameter20 AS ispmo_incl_ilula_rel, krd.visible_parameter25 AS ispmo_incl_siebel_rel";
-        sql = sql.concat(" FROM kcrt_fg_agile_info kfai")
+    private String getOctaneInitiatedFeatureSelectColumns() {
+        return "kr.request_id AS feature_req_id, kr.description AS description, krd.visible_parameter15 AS ispmo_prj_rag, krd.visible_parameter5 AS ispmo_pm, krd.visible_parameter34 AS ispmo_prj_short_desc, krd.visible_parameter4 AS ispmo_epmo_pm, krd.visible_parameter8 AS ispmo_epmo_bu_priority, krd.visible_parameter9 AS ispmo_epmo_org_priority, krd.visible_parameter3 AS ispm_epmo_business_unit, krd.visible_parameter2 AS ispmo_epmo_sub_area, krd.visible_parameter16 AS ispmo_incl_retail_build, krd.visible_parameter17 AS ispmo_incl_charg_sys, krd.visible_parameter18 AS ispmo_incl_wholsal_rel, krd.visible_parameter19 AS ispmo_incl_siya_rel, krd.visible_parameter20 AS ispmo_incl_ilula_rel, krd.visible_parameter25 AS ispmo_incl_siebel_rel";
+    }
+
+    /**
+     * Method that set the Octane Initiated Feature SQL FROM and WHERE clauses
+     *
+     * @param projectFilter IT Project Request ID filter (= ID or IN list)
+     * @return String with FROM and WHERE clauses
+     */
+    private String getOctaneInitiatedFeatureFromWhereClauses(String projectFilter) {
+        return " FROM kcrt_fg_agile_info kfai"
                 .concat(" INNER JOIN kcrt_request_types krt ON kfai.request_type_id = krt.request_type_id AND krt.reference_code = 'OCTANE_INITIATED_FEATURE'")
                 .concat(" INNER JOIN kcrt_requests kr ON kfai.request_id = kr.request_id")
                 .concat(" INNER JOIN kcrt_req_header_details krhd ON kr.request_id = krhd.request_id")
                 .concat(" INNER JOIN kcrt_request_details krd ON krhd.request_id = krd.request_id AND krd.batch_number = 1")
-                .concat(" INNER JOIN pm_projects pp ON krd.visible_parameter11 = pp.pfm_request_id");
-        sql = sql.concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
+                .concat(" INNER JOIN pm_projects pp ON krd.visible_parameter11 = pp.pfm_request_id")
+                .concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
                 .concat(" AND upper(krhd.visible_parameter4) IN ( upper('Functional'), upper('Project Initiated (PPM)'), upper('Testing Feature') )")
-                .concat(" AND pp.pfm_request_id = ").concat(reqId);
-        sql = sql.concat(" ORDER BY kr.request_id ASC");
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+                .concat(" AND pp.pfm_request_id ").concat(projectFilter);
     }
 
     /**
-     * Method to set the SQL string to be used for extracting all the PPM Features linked to the IT Project
+     * Method to set the SQL string to be used for extracting all the PPM Features linked to one or many IT Projects.
+     * When the Status and Phase columns are set (-Dispmo.statusPhaseColumns.*) the current IT Project Status and Phase
+     * of every Feature are added as the ISPMO_PRJ_STATUS and ISPMO_PRJ_PHASE columns (last columns).
      *
-     * @param reqId IT Project Request ID
-     * @return JSON Object with the created SQL statement
+     * @param projectFilter  IT Project Request ID filter (= ID or IN list)
+     * @param groupByProject Add the PRJ_REQUEST_ID column (second column) to group the rows of many IT Projects
+     * @return UTF-8 bytes of the JSON payload with the SQL String
      */
-    private JSONObject setAllFeatureIdsSql(String reqId) {
+    private byte[] setAllFeatureIdsSql(String projectFilter, boolean groupByProject) {
+        // IT Project Request ID column for the multi-project query
+        final String projectIdColumn = groupByProject ? ", pp.pfm_request_id AS prj_request_id" : "";
+        // Current IT Project Status and Phase columns (the IS PMO Request Details are only joined when they are selected)
+        final String ispmoStatusPhaseColumns = getFeatureStatusPhaseSelectColumns(new String[][]{{"IS_PMO_FEATURE", "IS PMO Feature"},
+                {"IS_PMO_TESTING_FEATURE", "IS PMO Testing Feature"}});
+        final String octaneStatusPhaseColumns = getFeatureStatusPhaseSelectColumns(new String[][]{{"OCTANE_INITIATED_FEATURE", "Octane Initiated Feature"}});
         // Create the sql string starting with IS PMO Feature and IS PMO Testing Feature Request IDs
-        String sql = "SELECT kfai.request_id";
+        String sql = "SELECT kfai.request_id".concat(projectIdColumn).concat(ispmoStatusPhaseColumns);
         sql = sql.concat(" FROM pm_projects pp")
                 .concat(" INNER JOIN kcrt_fg_master_proj_ref kfpr ON pp.project_id = kfpr.ref_master_project_id")
                 .concat(" INNER JOIN kcrt_request_types krt ON kfpr.request_type_id = krt.request_type_id AND krt.reference_code IN ( 'IS_PMO_FEATURE', 'IS_PMO_TESTING_FEATURE' )")
                 .concat(" INNER JOIN kcrt_fg_agile_info kfai ON kfpr.request_id = kfai.request_id")
                 .concat(" INNER JOIN kcrt_requests kr ON kfai.request_id = kr.request_id")
+                .concat(ispmoStatusPhaseColumns.isEmpty() ? "" : " INNER JOIN kcrt_request_details krd ON kr.request_id = krd.request_id AND krd.batch_number = 1")
                 .concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
-                .concat(" AND pp.pfm_request_id = ")
-                .concat(reqId);
+                .concat(" AND pp.pfm_request_id ")
+                .concat(projectFilter);
         // Add the UNION to SQL Query
         sql = sql.concat(" UNION ALL");
         // Add the Octane Initiated SQL Query
-        sql = sql.concat(" SELECT kr.request_id")
+        sql = sql.concat(" SELECT kr.request_id").concat(projectIdColumn).concat(octaneStatusPhaseColumns)
                 .concat(" FROM kcrt_fg_agile_info kfai")
                 .concat(" INNER JOIN kcrt_request_types krt ON kfai.request_type_id = krt.request_type_id AND krt.reference_code = 'OCTANE_INITIATED_FEATURE'")
                 .concat(" INNER JOIN kcrt_requests kr ON kfai.request_id = kr.request_id")
@@ -723,20 +1535,17 @@ public class IspmoItProjectProcessor {
                 .concat(" INNER JOIN pm_projects pp ON krd.visible_parameter11 = pp.pfm_request_id")
                 .concat(" WHERE kr.status_code IN ( 'NEW', 'IN_PROGRESS' )")
                 .concat(" AND upper(krhd.visible_parameter4) IN ( upper('Functional'), upper('Project Initiated (PPM)'), upper('Testing Feature') )")
-                .concat(" AND pp.pfm_request_id = ")
-                .concat(reqId);
+                .concat(" AND pp.pfm_request_id ")
+                .concat(projectFilter);
         // Ass ORDER BY clause to SQL Query
         sql = sql.concat(" ORDER BY 1 ASC");
-        // Create a JSON Object for the SQL Runner REST Request
-        JSONObject jsonObj = new JSONObject();
-        // Adding key-value pairs
-        jsonObj.put("querySql", sql);
-        return jsonObj;
+        // Create the JSON payload for the SQL Runner REST Request
+        return jsonCodec.writeSqlQuery(sql);
     }
 
     /**
-     * Method to update the Octane Initiated Feature Request Fields from the IT Project
-     * Excluding the IT Project Milestones for both request types
+     * Method to update the IS PMO Feature and IS PMO Testing Feature Request Fields from the IT Project
+     * Including the IT Project Milestones for both request types
      *
      * @param ppmBaseUrl                     PPM Base URL for identifying the PPM environment
      * @param username                       PPM User for access to the PPM entities.
@@ -744,107 +1553,158 @@ public class IspmoItProjectProcessor {
      * @param restUrl                        REST API URL for the method
      * @param featureReqId                   IS PMO Feature or IS PMO Testing Feature Request Id
      * @param projectMilestoneValuesObjArray IT Project Milestones Array
-     * @param projectFieldsObj               IT Project Fields Object data
-     * @param ppmFeatureFieldsObj            PPM Feature Field Object data
+     * @param projectFieldsObj               IT Project Fields row
+     * @param ppmFeatureFieldsObj            PPM Feature Fields row
      * @param projectRequestType             IT Project Request Type Name
+     * @return Update Status (UPDATED, SKIPPED when no PPM Feature Field changed, FAILED for non-200 status codes)
      */
-    protected void updateFeatureRequestFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, ArrayList<ProjectMilestoneValues> projectMilestoneValuesObjArray, HashMap<String, String> projectFieldsObj, HashMap<String, String> ppmFeatureFieldsObj, String projectRequestType) {
-        // REST API URL
-        String requestUrl = ppmBaseUrl + restUrl + "/" + featureReqId;
-        log("<p stryle=\"margin-left:1px\">");
-        log("PUT Feature Request Fields Update RT URL: " + requestUrl);
-        log("</p><br>");
-        // Encode the Username and Password. Using Admin user to ensure
-        final String auth = username + ":" + password;
-        String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
-        final String authHeader = "Basic " + encoding;
-        // Set the PUT Request with all the required parameters and timeouts
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-                .build();
-        MediaType mediaType = MediaType.parse("application/json");
+    protected FeatureUpdateResult.Status updateFeatureRequestFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, ArrayList<ProjectMilestoneValues> projectMilestoneValuesObjArray, SqlRunnerRow projectFieldsObj, SqlRunnerRow ppmFeatureFieldsObj, String projectRequestType) {
+        return updateFeatureRequestFields(ppmBaseUrl, username, password, restUrl, featureReqId,
+                createProjectPayloadTemplate(projectFieldsObj, projectMilestoneValuesObjArray, projectRequestType), ppmFeatureFieldsObj);
+    }
+
+    /**
+     * Method to update the Octane Initiated Feature Request Fields from the IT Project
+     * Excluding the IT Project Milestones for both request types
+     *
+     * @param ppmBaseUrl          PPM Base URL for identifying the PPM environment
+     * @param username            PPM User for access to the PPM entities.
+     * @param password            PPM User password
+     * @param restUrl             REST API URL for the method
+     * @param featureReqId        IS PMO Feature or IS PMO Testing Feature Request Id
+     * @param projectFieldsObj    IT Project Fields row
+     * @param ppmFeatureFieldsObj PPM Feature Fields row
+     * @param projectRequestType  IT Project Request Type Name
+     * @return Update Status (UPDATED, SKIPPED when no PPM Feature Field changed, FAILED for non-200 status codes)
+     */
+    protected FeatureUpdateResult.Status updateFeatureRequestFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, SqlRunnerRow projectFieldsObj, SqlRunnerRow ppmFeatureFieldsObj, String projectRequestType) {
+        return updateFeatureRequestFields(ppmBaseUrl, username, password, restUrl, featureReqId,
+                createProjectPayloadTemplate(projectFieldsObj, null, projectRequestType), ppmFeatureFieldsObj);
+    }
+
+    /**
+     * Method to update the Feature Request Fields from the IT Project payload template.
+     * The IT Project Milestones are included when the template has the Milestone HTML field.
+     *
+     * @param ppmBaseUrl          PPM Base URL for identifying the PPM environment
+     * @param username            PPM User for access to the PPM entities.
+     * @param password            PPM User password
+     * @param restUrl             REST API URL for the method
+     * @param featureReqId        IS PMO Feature, IS PMO Testing Feature or Octane Initiated Feature Request Id
+     * @param payloadTemplate     IT Project payload template (shared by all the Features of the IT Project)
+     * @param ppmFeatureFieldsObj PPM Feature Fields row
+     * @return Update Status (UPDATED, SKIPPED when no PPM Feature Field changed, FAILED for non-200 status codes)
+     */
+    protected FeatureUpdateResult.Status updateFeatureRequestFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, ProjectPayloadTemplate payloadTemplate, SqlRunnerRow ppmFeatureFieldsObj) {
         // JSON Payload
-        String jsonPayload = setJsonObjectUpdateFeatureRequestTypeFields(projectMilestoneValuesObjArray, projectFieldsObj, ppmFeatureFieldsObj, projectRequestType).toString();
-        log("<p stryle=\"margin-left:1px\">");
-        log("Created PPM Feature Pay Load: " + jsonPayload);
-        log("<hr></p><br>");
-        // POST Request Body
-        RequestBody body = RequestBody.create(mediaType, jsonPayload);
-        // POST Request
-        Request request = new Request.Builder()
-                .url(requestUrl).addHeader("Authorization", authHeader)
-                .addHeader("accept", "application/json")
-                .addHeader("Ephemeral", "true")
-                .put(body)
-                .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
-        try {
-            response = call.execute();
-            // Get the Response from server for the GET REST Request done.
-            if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonPutRequestObj;
-                // Check Response Body is not Null
-                if (response.body() != null) {
-                    jsonPutRequestObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
-                    log("<p stryle=\"margin-left:1px\">");
-                    log("Successful PUT response output Updating RT: " + jsonPutRequestObj);
-                    log("<hr></p><br>");
-                }
-            }
-        } catch (IOException e) {
-            log("Getting PPM Feature Request Update Method IO Exception Failure" + e);
-            throw new RuntimeException(e);
-        } finally {
-            if (response != null) {
-                if (!response.isSuccessful()) {
-                    // Exit the processing for non-200 status codes
-                    log("Getting PPM Feature Request Update Method Failed : HTTP error code : " + response.code());
-                    // Print the Response Body with Failure message
-                    JSONObject jsonFailureObj;
-                    if (response.body() != null) {
-                        try {
-                            jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                            // Print to console all the failures in this response body
-                            for (Object key : jsonFailureObj.keySet()) {
-                                log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
-                            }
-                        } catch (IOException e) {
-                            log("Getting PPM Feature Request Update Response Body Method IO Exception Failure" + e);
-                            throw new RuntimeException(e);
-                        }
-                    }
-                    // Close the Response connection
-                    response.close();
-                    System.exit(1);
-                }
-                // Close the Response connection
-                response.close();
-            }
+        FeatureRequestUpdatePayload payload = createFeatureRequestUpdatePayload(featureReqId, payloadTemplate, ppmFeatureFieldsObj);
+        if (payload == null) {
+            return FeatureUpdateResult.Status.SKIPPED;
+        }
+        return readFeatureRequestUpdate(restClient.execute(createFeatureRequestUpdateRequest(ppmBaseUrl, username, password, restUrl, featureReqId, payload.body),
+                "Getting PPM Feature Request Update Method"), featureReqId, payload.payloadHash);
+    }
+
+    /**
+     * Method to update the PPM Feature Request fields without waiting for the PUT Response
+     *
+     * @param ppmBaseUrl          PPM Base URL for identifying the PPM environment
+     * @param username            PPM User for access to the PPM entities.
+     * @param password            PPM User password
+     * @param restUrl             REST API URL for the method
+     * @param featureReqId        IS PMO Feature, IS PMO Testing Feature or Octane Initiated Feature Request Id
+     * @param payloadTemplate     IT Project payload template (shared by all the Features of the IT Project)
+     * @param ppmFeatureFieldsObj PPM Feature Fields row
+     * @return Future completed with the Update Status (UPDATED, SKIPPED when no PPM Feature Field changed, FAILED for non-200 status codes)
+     */
+    protected CompletableFuture<FeatureUpdateResult.Status> updateFeatureRequestFieldsAsync(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId,
+                                                                                           ProjectPayloadTemplate payloadTemplate, SqlRunnerRow ppmFeatureFieldsObj) {
+        // JSON Payload
+        FeatureRequestUpdatePayload payload = createFeatureRequestUpdatePayload(featureReqId, payloadTemplate, ppmFeatureFieldsObj);
+        if (payload == null) {
+            return CompletableFuture.completedFuture(FeatureUpdateResult.Status.SKIPPED);
         }
+        return restClient.executeAsync(createFeatureRequestUpdateRequest(ppmBaseUrl, username, password, restUrl, featureReqId, payload.body),
+                "Getting PPM Feature Request Update Method").thenApply(response -> readFeatureRequestUpdate(response, featureReqId, payload.payloadHash));
+    }
+
+    /**
+     * Class for storing the Feature Request update PUT Request Body with the hash of its payload fields
+     */
+    private static final class FeatureRequestUpdatePayload {
+        private final RequestBody body;
+        private final String payloadHash;
 
+        /**
+         * Constructor method for the Feature Request update payload
+         *
+         * @param body        PUT Request Body
+         * @param payloadHash Hash of the payload fields
+         */
+        private FeatureRequestUpdatePayload(RequestBody body, String payloadHash) {
+            this.body = body;
+            this.payloadHash = payloadHash;
+        }
     }
 
     /**
-     * Method to update the Octane Initiated Feature Request Fields from the IT Project
-     * Excluding the IT Project Milestones for both request types
+     * Method to create the Feature Request update payload from the IT Project payload template, written by the JSON codec
      *
-     * @param ppmBaseUrl          PPM Base URL for identifying the PPM environment
-     * @param username            PPM User for access to the PPM entities.
-     * @param password            PPM User password
-     * @param restUrl             REST API URL for the method
-     * @param featureReqId        IS PMO Feature or IS PMO Testing Feature Request Id
-     * @param projectFieldsObj    IT Project Fields Object data
-     * @param ppmFeatureFieldsObj PPM Feature Field Object data
-     * @param projectRequestType  IT Project Request Type Name
+     * @param featureReqId        PPM Feature Request Id
+     * @param payloadTemplate     IT Project payload template (shared by all the Features of the IT Project)
+     * @param ppmFeatureFieldsObj PPM Feature Fields row
+     * @return Feature Request update payload, null when the PUT Request is skipped
+     */
+    private FeatureRequestUpdatePayload createFeatureRequestUpdatePayload(String featureReqId, ProjectPayloadTemplate payloadTemplate, SqlRunnerRow ppmFeatureFieldsObj) {
+        final boolean milestoneFieldChange = hasMilestoneFieldChange(payloadTemplate, ppmFeatureFieldsObj);
+        final int[] changedFeatureOrdinals = getChangedFeatureFieldOrdinals(payloadTemplate, ppmFeatureFieldsObj);
+        // Skip the PUT Request when no PPM Feature Field differs from the IT Project
+        if (!milestoneFieldChange && changedFeatureOrdinals.length == 0) {
+            log("No PPM Feature Field changes for Feature ID " + featureReqId + ", PUT Request skipped");
+            return null;
+        }
+        final String payloadHash = getFeatureRequestUpdateCacheHash(payloadTemplate, ppmFeatureFieldsObj);
+        // Skip the PUT Request when the only change is the Milestone HTML that was already PUT for the Feature by an earlier run
+        if (changedFeatureOrdinals.length == 0 && payloadHash != null && payloadCache != null && payloadCache.isUnchanged(featureReqId, payloadHash)) {
+            log("Same IT Project Milestone HTML already PUT for Feature ID " + featureReqId + ", PUT Request skipped");
+            return null;
+        }
+        final byte[] jsonPayload = writeFeatureRequestUpdatePayload(payloadTemplate, ppmFeatureFieldsObj, milestoneFieldChange, changedFeatureOrdinals);
+        log("<p stryle=\"margin-left:1px\">");
+        log("Created PPM Feature Pay Load: ", jsonPayload);
+        log("<hr></p><br>");
+        return new FeatureRequestUpdatePayload(RequestBody.create(MediaType.parse("application/json"), jsonPayload), payloadHash);
+    }
+
+    /**
+     * Method to get the Feature Payload Cache hash of a Feature Request update payload. Only the IT Project Milestone
+     * HTML field is sent without comparing it with the Feature (when the Feature Milestone HTML column is not queried),
+     * every other field is only sent when the current Feature value differs. A payload with such a field corrects a
+     * Feature changed since the last PUT and is never skipped by the cache.
+     *
+     * @param payloadTemplate     IT Project payload template
+     * @param ppmFeatureFieldsObj PPM Feature Fields row
+     * @return Hash of the Milestone HTML field, null when the payload has no Milestone HTML sent without comparison
+     */
+    private static String getFeatureRequestUpdateCacheHash(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow ppmFeatureFieldsObj) {
+        if (payloadTemplate.getMilestoneHtml() == null || ppmFeatureFieldsObj.getResult().getColumnOrdinal(MILESTONES_COLUMN) >= 0) {
+            return null;
+        }
+        return payloadTemplate.getMilestoneFieldHash();
+    }
+
+    /**
+     * Method to create the Feature Request Fields update PUT Request
+     *
+     * @param ppmBaseUrl     PPM Base URL for identifying the PPM environment
+     * @param username       PPM User for access to the PPM entities.
+     * @param password       PPM User password
+     * @param restUrl        REST API URL for the method
+     * @param featureReqId   PPM Feature Request Id
+     * @param body           Feature Request update payload body
+     * @return PUT Request for the Feature Request
      */
-    protected void updateFeatureRequestFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, HashMap<String, String> projectFieldsObj, HashMap<String, String> ppmFeatureFieldsObj, String projectRequestType) {
+    private Request createFeatureRequestUpdateRequest(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, RequestBody body) {
         // REST API URL
         String requestUrl = ppmBaseUrl + restUrl + "/" + featureReqId;
         log("<p stryle=\"margin-left:1px\">");
@@ -854,77 +1714,56 @@ public class IspmoItProjectProcessor {
         final String auth = username + ":" + password;
         String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
         final String authHeader = "Basic " + encoding;
-        // Set the PUT Request with all the required parameters and timeouts
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-                .build();
-        MediaType mediaType = MediaType.parse("application/json");
-        // JSON Payload
-        String jsonPayload = setJsonObjectUpdateFeatureRequestTypeFields(projectFieldsObj, ppmFeatureFieldsObj, projectRequestType).toString();
-        log("<p stryle=\"margin-left:1px\">");
-        log("Created PPM Feature Pay Load: " + jsonPayload);
-        log("<hr></p><br>");
-        // POST Request Body
-        RequestBody body = RequestBody.create(mediaType, jsonPayload);
         // POST Request
-        Request request = new Request.Builder()
+        return new Request.Builder()
                 .url(requestUrl).addHeader("Authorization", authHeader)
                 .addHeader("accept", "application/json")
                 .addHeader("Ephemeral", "true")
                 .put(body)
+                .tag(PpmOperation.class, PpmOperation.FEATURE_UPDATE)
                 .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
-        try {
-            response = call.execute();
+    }
+
+    /**
+     * Method to read the Feature Request Fields update Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @param featureReqId PPM Feature Request Id
+     * @param payloadHash  Feature Payload Cache hash of the payload PUT (null when the payload is not cached)
+     * @return Update Status (UPDATED or FAILED for non-200 status codes)
+     */
+    private FeatureUpdateResult.Status readFeatureRequestUpdate(Response httpResponse, String featureReqId, String payloadHash) {
+        try (Response response = httpResponse) {
             // Get the Response from server for the GET REST Request done.
             if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonPutRequestObj;
                 // Check Response Body is not Null
                 if (response.body() != null) {
-                    jsonPutRequestObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
+                    // Read the JSON text of the Response Body
+                    final String jsonPutResponse = jsonCodec.readObjectText(response.body().charStream());
                     log("<p stryle=\"margin-left:1px\">");
-                    log("Successful PUT response output Updating RT: " + jsonPutRequestObj);
+                    log("Successful PUT response output Updating RT: " + jsonPutResponse);
                     log("<hr></p><br>");
                 }
-            }
-        } catch (IOException e) {
-            log("Getting PPM Feature Request Update Method IO Exception Failure");
-            throw new RuntimeException(e);
-        } finally {
-            if (response != null) {
-                if (!response.isSuccessful()) {
-                    // Exit the processing for non-200 status codes
-                    log("Getting PPM Feature Request Update Method Failed : HTTP error code : " + response.code());
-                    // Print the Response Body with Failure message
-                    JSONObject jsonFailureObj;
-                    if (response.body() != null) {
-                        try {
-                            jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                            // Print to console all the failures in this response body
-                            for (Object key : jsonFailureObj.keySet()) {
-                                log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
-                            }
-                        } catch (IOException e) {
-                            log("Getting PPM Feature Request Update Response Body Method IO Exception Failure" + e);
-                            throw new RuntimeException(e);
-                        }
+                // Remember the Milestone HTML PUT for the next runs
+                if (payloadCache != null && payloadHash != null) {
+                    payloadCache.put(featureReqId, payloadHash);
+                }
+            } else {
+                // Log the failure for non-200 status codes
+                log("Getting PPM Feature Request Update Method Failed : HTTP error code : " + response.code());
+                // Print the Response Body with Failure message
+                if (response.body() != null) {
+                    // Print to console all the failures in this response body
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
                     }
-                    // Close the Response connection
-                    response.close();
-                    System.exit(1);
                 }
-                // Close the Response connection
-                response.close();
             }
+        } catch (IOException e) {
+            log("Getting PPM Feature Request Update Method IO Exception Failure" + e);
+            throw new RuntimeException(e);
         }
-
+        return httpResponse.isSuccessful() ? FeatureUpdateResult.Status.UPDATED : FeatureUpdateResult.Status.FAILED;
     }
 
     /**
@@ -939,8 +1778,94 @@ public class IspmoItProjectProcessor {
      * @param featureReqId    IS PMO Feature or IS PMO Testing Feature Request Id
      * @param itProjectStatus IT Project Status
      * @param itProjectPhase  IT Project Phase
+     * @return Boolean (True when PPM accepted the update, False for non-200 status codes)
+     */
+    protected boolean updateFeatureRequestStatusPhaseFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, String itProjectStatus, String itProjectPhase) {
+        return readFeatureRequestStatusPhaseUpdate(restClient.execute(createFeatureRequestStatusPhaseRequest(ppmBaseUrl, username, password, restUrl, featureReqId, itProjectStatus, itProjectPhase),
+                "Getting Feature Request Status and Phase Fields Method"));
+    }
+
+    /**
+     * Method to update the PPM Feature Request Status and Phase without waiting for the PUT Response
+     *
+     * @param ppmBaseUrl      PPM Base URL for identifying the PPM environment
+     * @param username        PPM User for access to the PPM entities.
+     * @param password        PPM User password
+     * @param restUrl         REST API URL for the method
+     * @param featureReqId    IS PMO Feature or IS PMO Testing Feature Request Id
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return Future completed with True when PPM accepted the update, False for non-200 status codes
      */
-    protected void updateFeatureRequestStatusPhaseFields(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, String itProjectStatus, String itProjectPhase) {
+    protected CompletableFuture<Boolean> updateFeatureRequestStatusPhaseFieldsAsync(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId,
+                                                                                   String itProjectStatus, String itProjectPhase) {
+        return restClient.executeAsync(createFeatureRequestStatusPhaseRequest(ppmBaseUrl, username, password, restUrl, featureReqId, itProjectStatus, itProjectPhase),
+                "Getting Feature Request Status and Phase Fields Method").thenApply(this::readFeatureRequestStatusPhaseUpdate);
+    }
+
+    /**
+     * Async variant of updateFeatureRequestStatusPhaseFields sending a payload body created once with
+     * createFeatureRequestStatusPhaseBody, so the payload of many Features is only built and serialized once
+     *
+     * @param ppmBaseUrl   PPM Base URL for identifying the PPM environment
+     * @param username     PPM User for access to the PPM entities.
+     * @param password     PPM User password
+     * @param restUrl      REST API URL for the method
+     * @param featureReqId IS PMO Feature or IS PMO Testing Feature Request Id
+     * @param payloadBody  Status and Phase payload body shared by the Features
+     * @return Future completed with True when PPM accepted the update, False for non-200 status codes
+     */
+    protected CompletableFuture<Boolean> updateFeatureRequestStatusPhaseFieldsAsync(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId,
+                                                                                   RequestBody payloadBody) {
+        return restClient.executeAsync(createFeatureRequestStatusPhaseRequest(ppmBaseUrl, username, password, restUrl, featureReqId, payloadBody),
+                "Getting Feature Request Status and Phase Fields Method").thenApply(this::readFeatureRequestStatusPhaseUpdate);
+    }
+
+    /**
+     * Method to create the Feature Request Status and Phase Fields update payload body.
+     * The payload is serialized to bytes once, the body can be sent in the PUT Requests of many Features.
+     *
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return PUT Request Body
+     */
+    protected RequestBody createFeatureRequestStatusPhaseBody(String itProjectStatus, String itProjectPhase) {
+        // JSON Payload
+        final byte[] jsonPayload = writeFeatureProjectStatusPhasePayload(itProjectStatus, itProjectPhase);
+        log("<p stryle=\"margin-left:1px\">");
+        log("Created Feature Request Status and Phase Fields Pay Load: ", jsonPayload);
+        log("<hr></p><br>");
+        return RequestBody.create(MediaType.parse("application/json"), jsonPayload);
+    }
+
+    /**
+     * Method to create the Feature Request Status and Phase Fields update PUT Request
+     *
+     * @param ppmBaseUrl      PPM Base URL for identifying the PPM environment
+     * @param username        PPM User for access to the PPM entities.
+     * @param password        PPM User password
+     * @param restUrl         REST API URL for the method
+     * @param featureReqId    IS PMO Feature or IS PMO Testing Feature Request Id
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return PUT Request for the Feature Request
+     */
+    private Request createFeatureRequestStatusPhaseRequest(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, String itProjectStatus, String itProjectPhase) {
+        return createFeatureRequestStatusPhaseRequest(ppmBaseUrl, username, password, restUrl, featureReqId, createFeatureRequestStatusPhaseBody(itProjectStatus, itProjectPhase));
+    }
+
+    /**
+     * Method to create the Feature Request Status and Phase Fields update PUT Request with the payload body
+     *
+     * @param ppmBaseUrl   PPM Base URL for identifying the PPM environment
+     * @param username     PPM User for access to the PPM entities.
+     * @param password     PPM User password
+     * @param restUrl      REST API URL for the method
+     * @param featureReqId IS PMO Feature or IS PMO Testing Feature Request Id
+     * @param body         Status and Phase payload body
+     * @return PUT Request for the Feature Request
+     */
+    private Request createFeatureRequestStatusPhaseRequest(String ppmBaseUrl, String username, String password, String restUrl, String featureReqId, RequestBody body) {
         // REST API URL
         String requestUrl = ppmBaseUrl + restUrl + "/" + featureReqId;
         log("<p stryle=\"margin-left:1px\">");
@@ -950,242 +1875,284 @@ public class IspmoItProjectProcessor {
         final String auth = username + ":" + password;
         String encoding = Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.ISO_8859_1));
         final String authHeader = "Basic " + encoding;
-        // Set the PUT Request with all the required parameters and timeouts
-        OkHttpClient client = new OkHttpClient().newBuilder()
-                .connectTimeout(20, TimeUnit.SECONDS)
-                .writeTimeout(20, TimeUnit.SECONDS)
-                .readTimeout(20, TimeUnit.SECONDS)
-                .build();
-        MediaType mediaType = MediaType.parse("application/json");
-        // JSON Payload
-        String jsonPayload = setJsonObjectUpdateFeatureProjectStatusPhaseFields(itProjectStatus, itProjectPhase).toString();
-        log("<p stryle=\"margin-left:1px\">");
-        log("Created Feature Request Status and Phase Fields Pay Load: " + jsonPayload);
-        log("<hr></p><br>");
-        // POST Request Body
-        RequestBody body = RequestBody.create(mediaType, jsonPayload);
-        // POST Request
-        Request request = new Request.Builder()
+        // PUT Request
+        return new Request.Builder()
                 .url(requestUrl).addHeader("Authorization", authHeader)
                 .addHeader("accept", "application/json")
                 .addHeader("Ephemeral", "true")
                 .put(body)
+                .tag(PpmOperation.class, PpmOperation.STATUS_PHASE_UPDATE)
                 .build();
-        Call call = client.newCall(request);
-        // Execute the POST Request
-        Response response = null;
-        try {
-            response = call.execute();
+    }
+
+    /**
+     * Method to read the Feature Request Status and Phase Fields update Response and close it
+     *
+     * @param httpResponse Response from the PPM server
+     * @return Boolean (True when PPM accepted the update, False for non-200 status codes)
+     */
+    private boolean readFeatureRequestStatusPhaseUpdate(Response httpResponse) {
+        try (Response response = httpResponse) {
             // Get the Response from server for the GET REST Request done.
             if (response.isSuccessful()) {
-                // Set the JSONObject from the Response Body
-                JSONObject jsonPutRequestObj;
                 // Check Response Body is not Null
                 if (response.body() != null) {
-                    jsonPutRequestObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                    // close connection when done with assigning the response to the JSON Object
-                    response.close();
+                    // Read the JSON text of the Response Body
+                    final String jsonPutResponse = jsonCodec.readObjectText(response.body().charStream());
                     log("<p stryle=\"margin-left:1px\">");
-                    log("Successful PUT Feature Request Status and Phase Fields response output Updating RT: " + jsonPutRequestObj);
+                    log("Successful PUT Feature Request Status and Phase Fields response output Updating RT: " + jsonPutResponse);
                     log("<hr></p><br>");
                 }
+            } else {
+                // Log the failure for non-200 status codes
+                log("Getting Feature Request Status and Phase Fields Method Failed : HTTP error code : " + response.code());
+                // Print the Response Body with Failure message
+                if (response.body() != null) {
+                    // Print to console all the failures in this response body
+                    for (Map.Entry<String, String> failureMember : jsonCodec.readObjectMembers(response.body().charStream()).entrySet()) {
+                        log("Failure Key: " + failureMember.getKey() + " | Value: " + failureMember.getValue());
+                    }
+                }
             }
         } catch (IOException e) {
             log("Getting Feature Request Status and Phase Fields Method IO Exception Failure" + e);
             throw new RuntimeException(e);
-        } finally {
-            if (response != null) {
-                if (!response.isSuccessful()) {
-                    // Exit the processing for non-200 status codes
-                    log("Getting Feature Request Status and Phase Fields Method Failed : HTTP error code : " + response.code());
-                    // Print the Response Body with Failure message
-                    JSONObject jsonFailureObj;
-                    if (response.body() != null) {
-                        try {
-                            jsonFailureObj = (JSONObject) JSONSerializer.toJSON(response.body().string());
-                            // Print to console all the failures in this response body
-                            for (Object key : jsonFailureObj.keySet()) {
-                                log("Failure Key: " + key.toString() + " | Value: " + jsonFailureObj.get(key));
-                            }
-                        } catch (IOException e) {
-                            log("Getting Feature Request Status and Phase Fields Response Body Method IO Exception Failure" + e);
-                            throw new RuntimeException(e);
-                        }
-                    }
-                    // Close the response connection
-                    response.close();
-                    System.exit(1);
-                }
-                // Close the response connection
-                response.close();
+        }
+        return httpResponse.isSuccessful();
+    }
+
+    /**
+     * Method to create the payload template with the fragments shared by all the PPM Features of the IT Project:
+     * the Last Update Date, the Feature Description and the IT Project Milestone HTML field
+     *
+     * @param itProjectFields            IT Project Field Data row
+     * @param itProjectMilestoneObjArray IT Project Milestone Object Array (null to exclude the Milestones, Octane Initiated Features)
+     * @param itProjectRequestType       IT Project Request Type
+     * @return IT Project payload template
+     */
+    protected ProjectPayloadTemplate createProjectPayloadTemplate(SqlRunnerRow itProjectFields, ArrayList<ProjectMilestoneValues> itProjectMilestoneObjArray, String itProjectRequestType) {
+        // Set the Token Prefix variables (RT Details)
+        final String detailsFieldPrefix = "REQD.";
+        // Get the current date and time in "yyyy-MM-dd'T'HH:mm:ss" format (shared formatted second)
+        final String processingDate = PayloadTimestamp.now();
+        // Feature Description derived from the IT Project (only when the IT Project has a Description)
+        String descriptionValue = null;
+        final String projectDescription = itProjectFields.get("DESCRIPTION");
+        if (isNotBlankString(projectDescription)) {
+            // Check if the IT Project Request type is equal to "IS PMO IT-EPMO Project"
+            if (itProjectRequestType.equalsIgnoreCase("IS PMO IT-EPMO Project")) {
+                descriptionValue = setFeatureDescription(itProjectFields.get("ISPMO_PRJ_NUM"), projectDescription, itProjectFields.get("EPMO_PROJECT_NUM"));
+            } else {
+                descriptionValue = setFeatureDescription(itProjectFields.get("ISPMO_PRJ_NUM"), projectDescription);
+            }
+        }
+        // IT Project Milestone HTML field
+        String milestoneToken = null;
+        String milestoneHtml = null;
+        if (itProjectMilestoneObjArray != null) {
+            milestoneToken = detailsFieldPrefix + MILESTONES_COLUMN;
+            milestoneHtml = setProjectMilestoneHtml(itProjectMilestoneObjArray);
+            if (milestoneHtml == null) {
+                milestoneHtml = "<p>No Milestones for the IT Project available</p>";
             }
         }
+        return new ProjectPayloadTemplate(itProjectFields, itProjectRequestType, processingDate, descriptionValue, milestoneToken, milestoneHtml, jsonCodec);
+    }
 
+    /**
+     * Method to write the Payload for updating a PPM Feature from the IT Project payload template.
+     * The shared fragments of the template are added as is, only the Feature Field differences are worked out per Feature.
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param featureFields   PPM Feature Field Data row
+     * @return UTF-8 bytes of the JSON payload
+     */
+    protected byte[] writeFeatureRequestUpdatePayload(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow featureFields) {
+        return writeFeatureRequestUpdatePayload(payloadTemplate, featureFields, hasMilestoneFieldChange(payloadTemplate, featureFields),
+                getChangedFeatureFieldOrdinals(payloadTemplate, featureFields));
     }
 
     /**
-     * Method to populate the JSON Object with the Payload for updating IS PMO PPM Features and IS PMO Testing PPM Features
-     * Including IT Project Milestone Information
+     * Method to write the Payload for updating a PPM Feature from the IT Project payload template and the Feature Field
+     * differences already worked out
      *
-     * @param itProjectMilestoneObjArray IT Project Milestone Object Array
-     * @param itProjectFieldsObj         IT Project Field Data Object
-     * @param featureFieldsObj           PPM Feature Field Data Object
-     * @param itProjectRequestType       IT Project Request Type
-     * @return Json Object with the payload
+     * @param payloadTemplate        IT Project payload template
+     * @param featureFields          PPM Feature Field Data row
+     * @param milestoneFieldChange   Boolean (True when the Milestone HTML field is part of the payload)
+     * @param changedFeatureOrdinals Feature column ordinals of the changed Fields
+     * @return UTF-8 bytes of the JSON payload
      */
-    protected JSONObject setJsonObjectUpdateFeatureRequestTypeFields(ArrayList<ProjectMilestoneValues> itProjectMilestoneObjArray, HashMap<String, String> itProjectFieldsObj, HashMap<String, String> featureFieldsObj, String itProjectRequestType) {
+    private byte[] writeFeatureRequestUpdatePayload(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow featureFields,
+                                                    boolean milestoneFieldChange, int[] changedFeatureOrdinals) {
+        final String[][] changedFields = getChangedFeatureFields(payloadTemplate, featureFields, changedFeatureOrdinals);
+        return jsonCodec.writeFeatureUpdatePayload(payloadTemplate, milestoneFieldChange, changedFields[0], changedFields[1]);
+    }
+
+    /**
+     * Method to set the Tokens and Values of the changed PPM Feature Fields
+     *
+     * @param payloadTemplate        IT Project payload template
+     * @param featureFields          PPM Feature Field Data row
+     * @param changedFeatureOrdinals Feature column ordinals of the changed Fields
+     * @return Array with the Field Tokens (index 0) and the Field Values (index 1)
+     */
+    private static String[][] getChangedFeatureFields(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow featureFields, int[] changedFeatureOrdinals) {
         // Set the Token Prefix variables (RT Header or RT Details)
         final String headerFieldPrefix = "REQ.";
         final String detailsFieldPrefix = "REQD.";
-        // Get the current date and time in "yyyy-MM-dd'T'HH:mm:ss" format" No need to
-        // include the micro seconds and timezone
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-        // Date of processing
-        Date date = new Date();
-        // Start with the required fields to create the IS POMO Feature
-        // RT Token: LAST_UPDATE_DATE
-        JSONObject tokensLastUpdateDateObj = new JSONObject();
-        tokensLastUpdateDateObj.put("token", "REQ.LAST_UPDATE_DATE");
-        tokensLastUpdateDateObj.put("dateValue", formatter.format(date));
-        // RT Token: ENTITY_LAST_UPDATE_DATE
-        JSONObject tokenEntityLastUpdateDateObj = new JSONObject();
-        tokenEntityLastUpdateDateObj.put("token", "REQ.ENTITY_LAST_UPDATE_DATE");
-        tokenEntityLastUpdateDateObj.put("dateValue", formatter.format(date));
-        // Set the Field Array for the IS PMO Feature Request dynamically depending on the data
-        JSONArray fieldArray = new JSONArray();
-        fieldArray.add(tokensLastUpdateDateObj);
-        fieldArray.add(tokenEntityLastUpdateDateObj);
-        // Set the HTML Field Array for the IT Project Milestone
-        fieldArray.add(setProjectMilestoneHtmlJson(itProjectMilestoneObjArray, detailsFieldPrefix, "ISPMO_MILESTONES"));
+        // Set the PPM Feature Request Field Tokens that differ from the IT Project Field Tokens
+        final SqlRunnerResult featureResult = featureFields.getResult();
+        final int[] projectOrdinals = featureResult.getColumnMapping(payloadTemplate.getItProjectFields().getResult());
+        final int descriptionOrdinal = featureResult.getColumnOrdinal("DESCRIPTION");
+        String[] fieldTokens = new String[changedFeatureOrdinals.length];
+        String[] fieldValues = new String[changedFeatureOrdinals.length];
+        for (int i = 0; i < changedFeatureOrdinals.length; i++) {
+            final int featureOrdinal = changedFeatureOrdinals[i];
+            if (featureOrdinal == descriptionOrdinal) {
+                // Feature Description derived from the IT Project
+                fieldTokens[i] = headerFieldPrefix + "DESCRIPTION";
+                fieldValues[i] = payloadTemplate.getDescriptionValue();
+            } else {
+                fieldTokens[i] = detailsFieldPrefix + featureResult.getColumnHeaders()[featureOrdinal];
+                // Blank/Null IT Project values are sent as empty values to clear the Feature Field
+                final String projectFieldValue = payloadTemplate.getItProjectFields().get(projectOrdinals[featureOrdinal]);
+                fieldValues[i] = isNotBlankString(projectFieldValue) ? projectFieldValue : "";
+            }
+        }
+        return new String[][]{fieldTokens, fieldValues};
+    }
+
+    /**
+     * Method to check if the IT Project Milestone HTML field is part of the Feature payload
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param featureFields   PPM Feature Field Data row
+     * @return Boolean (True when the template has the Milestone HTML and the Feature Milestone HTML is not known or differs)
+     */
+    private static boolean hasMilestoneFieldChange(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow featureFields) {
+        // The Feature Milestone HTML is not known (column not queried) or differs
+        return payloadTemplate.getMilestoneHtml() != null
+                && (featureFields.getResult().getColumnOrdinal(MILESTONES_COLUMN) < 0
+                || !isSameFieldValue(payloadTemplate.getMilestoneHtml(), featureFields.get(MILESTONES_COLUMN)));
+    }
+
+    /**
+     * Method to compare a new Field value with the current PPM Feature Field value.
+     * Blank and Null values are treated as the same (empty) value.
+     *
+     * @param newValue     New Field value
+     * @param currentValue Current PPM Feature Field value
+     * @return Boolean (True or False)
+     */
+    private static boolean isSameFieldValue(String newValue, String currentValue) {
+        final String newFieldValue = isNotBlankString(newValue) ? newValue : "";
+        final String currentFieldValue = isNotBlankString(currentValue) ? currentValue : "";
+        return newFieldValue.equals(currentFieldValue);
+    }
+
+    /**
+     * Method to get the PPM Feature Request Fields that differ from the IT Project Fields.
+     * The Feature columns are compared with the IT Project columns by column ordinal, only Feature columns that the
+     * IT Project also has are compared. A Blank/Null IT Project value differs from a non-blank Feature value, so clearing
+     * the Field on the IT Project clears it on the Features.
+     *
+     * @param payloadTemplate IT Project payload template with the IT Project Field Data row and Feature Description
+     * @param featureFields   PPM Feature Field Data row
+     * @return Feature column ordinals of the changed Fields (the Description ordinal stands for the template Feature Description)
+     */
+    private int[] getChangedFeatureFieldOrdinals(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow featureFields) {
+        final SqlRunnerRow itProjectFields = payloadTemplate.getItProjectFields();
+        final SqlRunnerResult featureResult = featureFields.getResult();
+        final String[] featureColumnHeaders = featureResult.getColumnHeaders();
+        // IT Project column ordinal for every PPM Feature column ordinal (the same for all Features of the IT Project)
+        final int[] projectOrdinals = featureResult.getColumnMapping(itProjectFields.getResult());
+        final int descriptionOrdinal = featureResult.getColumnOrdinal("DESCRIPTION");
+        int[] changedOrdinals = new int[featureColumnHeaders.length];
+        int changedCount = 0;
         // Iterate through the PPM Feature Request Field Tokens
-        for (Map.Entry<String, String> featureFieldSet : featureFieldsObj.entrySet()) {
+        for (int featureOrdinal = 0; featureOrdinal < featureColumnHeaders.length; featureOrdinal++) {
             // Check if IT Project Key(token) exist for the relevant PPM Feature Key (token)
-            if (itProjectFieldsObj.containsKey(featureFieldSet.getKey())) {
-                // Set the Feature Key and Value Variables
-                final String featureKey = featureFieldSet.getKey();
-                final String featureFieldValue = featureFieldSet.getValue();
+            if (projectOrdinals[featureOrdinal] >= 0) {
+                // Set the IT Project and Feature Value Variables
+                final String projectFieldValue = itProjectFields.get(projectOrdinals[featureOrdinal]);
+                final String featureFieldValue = featureFields.get(featureOrdinal);
                 // PPM Feature Description Field update
-                if (featureKey.equalsIgnoreCase("DESCRIPTION")) {
-                    // JSON Object Variable for the Feature description
-                    JSONObject descriptionFieldObject;
-                    // Check if the IT Project Request type is equal to "IS PMO IT-EPMO Project"
-                    if (itProjectRequestType.equalsIgnoreCase("IS PMO IT-EPMO Project")) {
-                        // JSON Object Variable for the Feature description
-                        descriptionFieldObject = setFeatureDescription(headerFieldPrefix, "DESCRIPTION", itProjectFieldsObj.get("ISPMO_PRJ_NUM"), itProjectFieldsObj.get("DESCRIPTION"), itProjectFieldsObj.get("EPMO_PROJECT_NUM"));
-                    } else {
-                        descriptionFieldObject = setFeatureDescription(headerFieldPrefix, "DESCRIPTION", itProjectFieldsObj.get("ISPMO_PRJ_NUM"), itProjectFieldsObj.get("DESCRIPTION"));
+                if (featureOrdinal == descriptionOrdinal) {
+                    // check if Feature description and the derived Feature description (from the template) is different
+                    if (payloadTemplate.getDescriptionValue() != null && !payloadTemplate.getDescriptionValue().equalsIgnoreCase(featureFieldValue)) {
+                        changedOrdinals[changedCount++] = featureOrdinal;
                     }
-                    // check if Feature description a derived Feature description is different
-                    if (!featureFieldValue.equalsIgnoreCase(descriptionFieldObject.get("stringValue").toString())) {
-                        // Set the fiedArray for the Feature Description
-                        fieldArray.add(descriptionFieldObject);
-                    }
-                } else {
-                    /* All Other Feature Field updates
-                     * Set the IT Project Field Value Variable */
-                    final String projectFieldValue = itProjectFieldsObj.get(featureKey);
-                    // Check if the Feature Value is blank/null
-                    if (isNotBlankString(featureFieldValue)) {
-                        // Not Blank/Null then Compare the Feature Value with the IT Project Value
-                        if (!featureFieldValue.equalsIgnoreCase(projectFieldValue)) {
-                            // Process the Feature Value with the IT Value when Feature value is Not Blank/Null
-                            fieldArray.add(setRequestFieldJsonObj(detailsFieldPrefix + featureKey, projectFieldValue));
-                        }
-                    } else {
-                        // Process the Feature Value with the IT Value when Feature value is Blank/Null
-                        fieldArray.add(setRequestFieldJsonObj(detailsFieldPrefix + featureKey, projectFieldValue));
+                } else if (isNotBlankString(projectFieldValue)) {
+                    // Process the Feature Value with the IT Value when Feature value is Blank/Null or differs from the IT Project Value
+                    if (!isNotBlankString(featureFieldValue) || !featureFieldValue.equalsIgnoreCase(projectFieldValue)) {
+                        changedOrdinals[changedCount++] = featureOrdinal;
                     }
+                } else if (isNotBlankString(featureFieldValue)) {
+                    // Clear the Feature Value when the IT Project Value was cleared (Blank/Null)
+                    changedOrdinals[changedCount++] = featureOrdinal;
                 }
             }
         }
-        // Set the Field Object
-        JSONObject fieldObj = new JSONObject();
-        fieldObj.put("field", fieldArray);
-        // Full JSON Object - Top Level
-        JSONObject jsonObj = new JSONObject();
-        jsonObj.put("fields", fieldObj);
-        return jsonObj;
+        return Arrays.copyOf(changedOrdinals, changedCount);
+    }
+
+    /**
+     * Method to write the payload to update the IS PMO Feature, IS PMO Testing Feature and Octane Initiated Feature Request
+     * Type Fields with the IT Project Status and IT Project Phase
+     *
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return UTF-8 bytes of the JSON payload
+     */
+    protected byte[] writeFeatureProjectStatusPhasePayload(String itProjectStatus, String itProjectPhase) {
+        // Get the current date and time in "yyyy-MM-dd'T'HH:mm:ss" format (shared formatted second)
+        return jsonCodec.writeStatusPhasePayload(PayloadTimestamp.now(), itProjectStatus, itProjectPhase);
+    }
+
+    /**
+     * Method to populate the JSON Object with the Payload for updating IS PMO PPM Features and IS PMO Testing PPM Features
+     * Including IT Project Milestone Information
+     *
+     * @param itProjectMilestoneObjArray IT Project Milestone Object Array
+     * @param itProjectFields            IT Project Field Data row
+     * @param featureFields              PPM Feature Field Data row
+     * @param itProjectRequestType       IT Project Request Type
+     * @return Json Object with the payload
+     * @deprecated Use createProjectPayloadTemplate and writeFeatureRequestUpdatePayload, the payload is written by the JSON codec
+     */
+    @Deprecated
+    protected JSONObject setJsonObjectUpdateFeatureRequestTypeFields(ArrayList<ProjectMilestoneValues> itProjectMilestoneObjArray, SqlRunnerRow itProjectFields, SqlRunnerRow featureFields, String itProjectRequestType) {
+        return setJsonObjectUpdateFeatureRequestTypeFields(createProjectPayloadTemplate(itProjectFields, itProjectMilestoneObjArray, itProjectRequestType), featureFields);
     }
 
     /**
      * Method to populate the JSON Object with the Payload for updating Octane Initiated PPM Features
      * Excluding IT Project Milestone Information
      *
-     * @param itProjectFieldsObj   IT Project Field Data Object
-     * @param featureFieldsObj     PPM Feature Field Data Object
+     * @param itProjectFields      IT Project Field Data row
+     * @param featureFields        PPM Feature Field Data row
      * @param itProjectRequestType IT Project Request Type
      * @return Json Object with the payload
+     * @deprecated Use createProjectPayloadTemplate and writeFeatureRequestUpdatePayload, the payload is written by the JSON codec
      */
-    protected JSONObject setJsonObjectUpdateFeatureRequestTypeFields(HashMap<String, String> itProjectFieldsObj, HashMap<String, String> featureFieldsObj, String itProjectRequestType) {
-        // Set the Token Prefix variables (RT Header or RT Details)
-        final String headerFieldPrefix = "REQ.";
-        final String detailsFieldPrefix = "REQD.";
-        // Get the current date and time in "yyyy-MM-dd'T'HH:mm:ss" format" No need to
-        // include the micro seconds and timezone
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-        // Date of processing
-        Date date = new Date();
-        // Start with the required fields to create the IS POMO Feature
-        // RT Token: LAST_UPDATE_DATE
-        JSONObject tokensLastUpdateDateObj = new JSONObject();
-        tokensLastUpdateDateObj.put("token", "REQ.LAST_UPDATE_DATE");
-        tokensLastUpdateDateObj.put("dateValue", formatter.format(date));
-        // RT Token: ENTITY_LAST_UPDATE_DATE
-        JSONObject tokenEntityLastUpdateDateObj = new JSONObject();
-        tokenEntityLastUpdateDateObj.put("token", "REQ.ENTITY_LAST_UPDATE_DATE");
-        tokenEntityLastUpdateDateObj.put("dateValue", formatter.format(date));
-        // Set the Field Array for the IS PMO Feature Request dynamically depending on the data
-        JSONArray fieldArray = new JSONArray();
-        fieldArray.add(tokensLastUpdateDateObj);
-        fieldArray.add(tokenEntityLastUpdateDateObj);
-        // Iterate through the PPM Feature Request Field Tokens
-        for (Map.Entry<String, String> featureFieldSet : featureFieldsObj.entrySet()) {
-            // Check if IT Project Key(token) exist for the relevant PPM Feature Key (token)
-            if (itProjectFieldsObj.containsKey(featureFieldSet.getKey())) {
-                // Set the Feature Key and Value Variables
-                final String featureKey = featureFieldSet.getKey();
-                final String featureFieldValue = featureFieldSet.getValue();
-                // PPM Feature Description Field update
-                if (featureKey.equalsIgnoreCase("DESCRIPTION")) {
-                    // JSON Object Variable for the Feature description
-                    JSONObject descriptionFieldObject;
-                    // Check if the IT Project Request type is equal to "IS PMO IT-EPMO Project"
-                    if (itProjectRequestType.equalsIgnoreCase("IS PMO IT-EPMO Project")) {
-                        // JSON Object Variable for the Feature description
-                        descriptionFieldObject = setFeatureDescription(headerFieldPrefix, "DESCRIPTION", itProjectFieldsObj.get("ISPMO_PRJ_NUM"), itProjectFieldsObj.get("DESCRIPTION"), itProjectFieldsObj.get("EPMO_PROJECT_NUM"));
-                    } else {
-                        descriptionFieldObject = setFeatureDescription(headerFieldPrefix, "DESCRIPTION", itProjectFieldsObj.get("ISPMO_PRJ_NUM"), itProjectFieldsObj.get("DESCRIPTION"));
-                    }
-                    // check if Feature description a derived Feature description is different
-                    if (!featureFieldValue.equalsIgnoreCase(descriptionFieldObject.getString(headerFieldPrefix + featureKey))) {
-                        // Set the fiedArray for the Feature Description
-                        fieldArray.add(descriptionFieldObject);
-                    }
-                } else {
-                    /* All Other Feature Field updates
-                     * Set the IT Project Field Value Variable */
-                    final String projectFieldValue = itProjectFieldsObj.get(featureKey);
-                    // Check if the Feature Value is blank/null
-                    if (isNotBlankString(featureFieldValue)) {
-                        // Not Blank/Null then Compare the Feature Value with the IT Project Value
-                        if (!featureFieldValue.equalsIgnoreCase(projectFieldValue)) {
-                            // Process the Feature Value with the IT Value when Feature value is Not Blank/Null
-                            fieldArray.add(setRequestFieldJsonObj(detailsFieldPrefix + featureKey, projectFieldValue));
-                        }
-                    } else {
-                        // Process the Feature Value with the IT Value when Feature value is Blank/Null
-                        fieldArray.add(setRequestFieldJsonObj(detailsFieldPrefix + featureKey, projectFieldValue));
-                    }
-                }
-            }
-        }
-        // Set the Field Object
-        JSONObject fieldObj = new JSONObject();
-        fieldObj.put("field", fieldArray);
-        // Full JSON Object - Top Level
-        JSONObject jsonObj = new JSONObject();
-        jsonObj.put("fields", fieldObj);
-        return jsonObj;
+    @Deprecated
+    protected JSONObject setJsonObjectUpdateFeatureRequestTypeFields(SqlRunnerRow itProjectFields, SqlRunnerRow featureFields, String itProjectRequestType) {
+        return setJsonObjectUpdateFeatureRequestTypeFields(createProjectPayloadTemplate(itProjectFields, null, itProjectRequestType), featureFields);
+    }
+
+    /**
+     * Method to populate the JSON Object with the Payload for updating a PPM Feature from the IT Project payload template.
+     * The JSON Object is built by the json-lib codec from the same Feature Field differences as writeFeatureRequestUpdatePayload.
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param featureFields   PPM Feature Field Data row
+     * @return Json Object with the payload
+     * @deprecated Use writeFeatureRequestUpdatePayload, the payload is written by the JSON codec
+     */
+    @Deprecated
+    protected JSONObject setJsonObjectUpdateFeatureRequestTypeFields(ProjectPayloadTemplate payloadTemplate, SqlRunnerRow featureFields) {
+        final String[][] changedFields = getChangedFeatureFields(payloadTemplate, featureFields, getChangedFeatureFieldOrdinals(payloadTemplate, featureFields));
+        return JSON_LIB_CODEC.createFeatureUpdatePayload(payloadTemplate, hasMilestoneFieldChange(payloadTemplate, featureFields), changedFields[0], changedFields[1]);
     }
 
     /**
@@ -1195,39 +2162,12 @@ public class IspmoItProjectProcessor {
      * @param itProjectStatus IT Project Status
      * @param itProjectPhase  IT Project Phase
      * @return JSONObject with the JSON Payload
+     * @deprecated Use writeFeatureProjectStatusPhasePayload, the payload is written by the JSON codec
      */
+    @Deprecated
     protected JSONObject setJsonObjectUpdateFeatureProjectStatusPhaseFields(String itProjectStatus, String itProjectPhase) {
-        // Set the Token Prefix variables (RT Header or RT Details)
-        final String detailsFieldPrefix = "REQD.";
-        // Get the current date and time in "yyyy-MM-dd'T'HH:mm:ss" format" No need to
-        // include the micro seconds and timezone
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-        // Date of processing
-        Date date = new Date();
-        // Start with the required fields to create the IS POMO Feature
-        // RT Token: LAST_UPDATE_DATE
-        JSONObject tokensLastUpdateDateObj = new JSONObject();
-        tokensLastUpdateDateObj.put("token", "REQ.LAST_UPDATE_DATE");
-        tokensLastUpdateDateObj.put("dateValue", formatter.format(date));
-        // RT Token: ENTITY_LAST_UPDATE_DATE
-        JSONObject tokenEntityLastUpdateDateObj = new JSONObject();
-        tokenEntityLastUpdateDateObj.put("token", "REQ.ENTITY_LAST_UPDATE_DATE");
-        tokenEntityLastUpdateDateObj.put("dateValue", formatter.format(date));
-        // Set the Field Array for the IS PMO Feature Request dynamically depending on the data
-        JSONArray fieldArray = new JSONArray();
-        fieldArray.add(tokensLastUpdateDateObj);
-        fieldArray.add(tokenEntityLastUpdateDateObj);
-        // Add ISPMO_PRJ_STATUS tohen and string value
-        fieldArray.add(setRequestFieldJsonObj(detailsFieldPrefix + "ISPMO_PRJ_STATUS", itProjectStatus));
-        // Add ISPMO_PRJ_PHASE tohen and string value
-        fieldArray.add(setRequestFieldJsonObj(detailsFieldPrefix + "ISPMO_PRJ_PHASE", itProjectPhase));
-        // Set the Field Object
-        JSONObject fieldObj = new JSONObject();
-        fieldObj.put("field", fieldArray);
-        // Full JSON Object - Top Level
-        JSONObject jsonObj = new JSONObject();
-        jsonObj.put("fields", fieldObj);
-        return jsonObj;
+        // Get the current date and time in "yyyy-MM-dd'T'HH:mm:ss" format (shared formatted second)
+        return JsonLibCodec.createStatusPhasePayload(PayloadTimestamp.now(), itProjectStatus, itProjectPhase);
     }
 
     /**
@@ -1236,194 +2176,27 @@ public class IspmoItProjectProcessor {
      * @param strToken Token of the Request Field
      * @param strValue String Value Array
      * @return the JSONObject for the Request Field Object
+     * @deprecated The Request Fields are written by the JSON codec (PpmJsonCodec)
      */
+    @Deprecated
     public JSONObject setRequestFieldJsonObj(String strToken, String strValue) {
-        // Declare the Request Field Object
-        JSONObject requestFieldObj = new JSONObject();
-        requestFieldObj.put("token", strToken);
-        // Declare and Instantiate the strValue Array
-        JSONArray stringValueArray = new JSONArray();
-        stringValueArray.add(strValue);
-        requestFieldObj.put("stringValue", stringValueArray);
-        return requestFieldObj;
+        return JsonLibCodec.setRequestFieldJsonObj(strToken, strValue);
     }
 
     /**
-     * Method to set the HTML for the IT Project Milestones
+     * Method to set the HTML for the IT Project Milestones.
+     * The HTML is rendered once per IT Project Milestone list and shared by all the Features of the IT Project.
      *
      * @param projectMilestoneObj IT Project Major Milestone value array list
      * @param prefix              PPM Request Field Token Prefix
      * @param fieldToken          PPM Request Field Token
      * @return JSONObject with the HTML for the IT Project Milestone table
+     * @deprecated Use setProjectMilestoneHtml, the Milestone HTML field is written by the JSON codec
      */
+    @Deprecated
     public JSONObject setProjectMilestoneHtmlJson(ArrayList<ProjectMilestoneValues> projectMilestoneObj, String prefix, String fieldToken) {
-        // Set the HTML String
-        String result;
-        // Result String Length indicator
-        int stringLength = 0;
-        // Final Table string
-        final String endHtmlTable = "</table>";
-        // Set Json Object Vairable
-        JSONObject milestoneJsonObject = new JSONObject();
-        // Build the string with HTML tags for a table
-        if (!projectMilestoneObj.isEmpty()) {
-            // Header Table string
-            String headerHtmlTable;
-            // Add header of the html table
-            headerHtmlTable = "<table style=\"border: 1px solid black; border-collapse: collapse; width: 98%;\">";
-            headerHtmlTable = headerHtmlTable.concat("<tr>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold; width: 40%;\">Milestone</td>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold; width: 20%;\">Scheduled Finish</td>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold; width: 20%;\">Actual Finish</td>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold;\">Status</td>");
-            headerHtmlTable = headerHtmlTable.concat("</tr>");
-            // Assign the Header Table string to the Return Result string
-            result = headerHtmlTable;
-            // Set the Result String Length indicator after HTML Header was created
-            stringLength = stringLength + headerHtmlTable.length();
-            // Iterate through the Domain Involvement Object
-            for (ProjectMilestoneValues projectMilestoneValues : projectMilestoneObj) {
-                // Inner Table string
-                String innerHtmlTable;
-                // Create the Row in the table body
-                innerHtmlTable = "<tr>";
-                // Milestone
-                innerHtmlTable = innerHtmlTable.concat("<td>").concat(projectMilestoneValues.getMilestoneTaskName()).concat("</td>");
-                // Scheduled Finish
-                String milestoneScheduledFinishDate = projectMilestoneValues.getMilestoneScheduledFinishDate();
-                if (isNotBlankString(milestoneScheduledFinishDate)) {
-                    // Format the Date String to "dd MMM yyyy" format
-                    LocalDate scheduleFinishDate = LocalDate.parse(milestoneScheduledFinishDate.substring(0, 10), DateTimeFormatter.ISO_DATE);
-                    String outputScheduleFinishDate = scheduleFinishDate.getDayOfMonth() + " " + scheduleFinishDate.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + scheduleFinishDate.getYear();
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat(outputScheduleFinishDate).concat("</td>");
-                } else {
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat("-").concat("</td>");
-                }
-                // Actual Finish
-                String milestoneActualFinishDate = projectMilestoneValues.getMilestoneActualFinishDate();
-                if (isNotBlankString(milestoneActualFinishDate)) {
-                    // Format the Date String to "dd MMM yyyy" format
-                    LocalDate actualFinishDate = LocalDate.parse(milestoneActualFinishDate.substring(0, 10), DateTimeFormatter.ISO_DATE);
-                    String outputActualFinishDate = actualFinishDate.getDayOfMonth() + " " + actualFinishDate.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + actualFinishDate.getYear();
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat(outputActualFinishDate).concat("</td>");
-                } else {
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat("-").concat("</td>");
-                }
-                // Status
-                innerHtmlTable = innerHtmlTable.concat("<td>").concat(projectMilestoneValues.getMilestoneTaskStatus()).concat("</td>");
-                innerHtmlTable = innerHtmlTable.concat("</tr>");
-                // Check if the Cumulative Result String Length indicator plus Inner Table string length is less than the HTML Text Area Maximum Character length
-                if ((stringLength + innerHtmlTable.length() + endHtmlTable.length()) <= TEXT_AREA_HTML_MAX) {
-                    // Assign the Inner Table string to the Return Result string
-                    result = result.concat(innerHtmlTable);
-                    // Set the Result String Length indicator after each iteration was created and less than HTML Text Area Maximum Character length
-                    stringLength = stringLength + innerHtmlTable.length();
-                } else {
-                    // Break out of the loop if greater or equal to HTML Text Area Maximum Character length
-                    break;
-                }
-            }
-            // Assign the Final Table string to the Return Result string
-            result = result.concat(endHtmlTable);
-            // Set the Result String Length indicator after Final Table string was added
-            stringLength = stringLength + endHtmlTable.length();
-            log("IT Project Milestone HTML Table String length: " + stringLength);
-        } else {
-            result = "<p>No Milestones for the IT Project available</p>";
-        }
-        // Add token to Json Object
-        milestoneJsonObject.put("token", prefix + fieldToken);
-        // Declare and Instantiate the strValue Array
-        JSONArray stringValueArray = new JSONArray();
-        stringValueArray.add(result);
-        // Add string value to the json object
-        milestoneJsonObject.put("stringValue", stringValueArray);
-        // Return the JSONObject
-        return milestoneJsonObject;
-    }
-
-    /**
-     * Method to set the HTML for the IT Project Milestones
-     * Interim usage by ImpactAssessmentProcessor class
-     *
-     * @param projectMilestoneObj IT Project Major Milestone value array list
-     * @return HTML string
-     */
-    @SuppressWarnings("unused")
-    public String setProjectMilestoneHtml(ArrayList<ProjectMilestoneValues> projectMilestoneObj) {
-        // Return String result
-        String result = null;
-        // Result String Length indicator
-        int stringLength = 0;
-        // Final Table string
-        final String endHtmlTable = "</table>";
-        // Format the date for display in HTML table
-        SimpleDateFormat formatter = new SimpleDateFormat("dd MMM yyyy", Locale.ENGLISH);
-        // Build the string with HTML tags for a table
-        if (!projectMilestoneObj.isEmpty()) {
-            // Header Table string
-            String headerHtmlTable;
-            // Add header of the html table
-            headerHtmlTable = "<table style=\"border: 1px solid black; border-collapse: collapse; width: 98%;\">";
-            headerHtmlTable = headerHtmlTable.concat("<tr>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold; width: 40%;\">Milestone</td>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold; width: 20%;\">Scheduled Finish</td>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold; width: 20%;\">Actual Finish</td>");
-            headerHtmlTable = headerHtmlTable.concat("<td style=\"font-weight: bold;\">Status</td>");
-            headerHtmlTable = headerHtmlTable.concat("</tr>");
-            // Assign the Header Table string to the Return Result string
-            result = headerHtmlTable;
-            // Set the Result String Length indicator after HTML Header was created
-            stringLength = stringLength + headerHtmlTable.length();
-            // Iterate through the Domain Involvement Object
-            for (ProjectMilestoneValues projectMilestoneValues : projectMilestoneObj) {
-                // Inner Table string
-                String innerHtmlTable;
-                // Create the Row in the table body
-                innerHtmlTable = "<tr>";
-                // Milestone
-                innerHtmlTable = innerHtmlTable.concat("<td>").concat(projectMilestoneValues.getMilestoneTaskName()).concat("</td>");
-                // Scheduled Finish
-                String milestoneScheduledFinishDate = projectMilestoneValues.getMilestoneScheduledFinishDate();
-                if (isNotBlankString(milestoneScheduledFinishDate)) {
-                    // Format the Date String to "dd MMM yyyy" format
-                    LocalDate scheduleFinishDate = LocalDate.parse(milestoneScheduledFinishDate.substring(0, 10), DateTimeFormatter.ISO_DATE);
-                    String outputScheduleFinishDate = scheduleFinishDate.getDayOfMonth() + " " + scheduleFinishDate.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + scheduleFinishDate.getYear();
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat(outputScheduleFinishDate).concat("</td>");
-                } else {
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat("-").concat("</td>");
-                }
-                // Actual Finish
-                String milestoneActualFinishDate = projectMilestoneValues.getMilestoneActualFinishDate();
-                if (isNotBlankString(milestoneActualFinishDate)) {
-                    // Format the Date String to "dd MMM yyyy" format
-                    LocalDate actualFinishDate = LocalDate.parse(milestoneActualFinishDate.substring(0, 10), DateTimeFormatter.ISO_DATE);
-                    String outputActualFinishDate = actualFinishDate.getDayOfMonth() + " " + actualFinishDate.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + actualFinishDate.getYear();
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat(outputActualFinishDate).concat("</td>");
-                } else {
-                    innerHtmlTable = innerHtmlTable.concat("<td>").concat("-").concat("</td>");
-                }
-                // Status
-                innerHtmlTable = innerHtmlTable.concat("<td>").concat(projectMilestoneValues.getMilestoneTaskStatus()).concat("</td>");
-                innerHtmlTable = innerHtmlTable.concat("</tr>");
-                // Check if the Cumulative Result String Length indicator plus Inner Table string length is less than the HTML Text Area Maximum Character length
-                if ((stringLength + innerHtmlTable.length() + endHtmlTable.length()) <= TEXT_AREA_HTML_MAX) {
-                    // Assign the Inner Table string to the Return Result string
-                    result = result.concat(innerHtmlTable);
-                    // Set the Result String Length indicator after each iteration was created and less than HTML Text Area Maximum Character length
-                    stringLength = stringLength + innerHtmlTable.length();
-                } else {
-                    // Break out of the loop if greater or equal to HTML Text Area Maximum Character length
-                    break;
-                }
-            }
-            // Assign the Final Table string to the Return Result string
-            result = result.concat(endHtmlTable);
-            // Set the Result String Length indicator after Final Table string was added
-            stringLength = stringLength + endHtmlTable.length();
-            log("IT Project Milestone HTML Table String length: " + stringLength);
-        }
-        return result;
+        final String milestoneHtml = setProjectMilestoneHtml(projectMilestoneObj);
+        return JsonLibCodec.setRequestFieldJsonObj(prefix + fieldToken, milestoneHtml != null ? milestoneHtml : "<p>No Milestones for the IT Project available</p>");
     }
 
     /**
@@ -1436,27 +2209,11 @@ public class IspmoItProjectProcessor {
      * @param itProjectName     IS PMO Project Name
      * @param epmoProjectNumber EPMO Project Number (Request ID)
      * @return JSONObject with the full PPM Feature Description
+     * @deprecated Use setFeatureDescription(itProjectNumber, itProjectName, epmoProjectNumber), the Description field is written by the JSON codec
      */
+    @Deprecated
     public JSONObject setFeatureDescription(String prefix, String fieldToken, String itProjectNumber, String itProjectName, String epmoProjectNumber) {
-        // Example: (IS 12345) IT Project Name (EPMO 12345)
-        String result;
-        result = "(IS "
-                .concat(itProjectNumber)
-                .concat(") ")
-                .concat(itProjectName)
-                .concat(" (EPMO ")
-                .concat(epmoProjectNumber).concat(")");
-        // Set Json Object Vairable
-        JSONObject descriptionFieldJsonObject = new JSONObject();
-        // Add token to description object
-        descriptionFieldJsonObject.put("token", prefix + fieldToken);
-        // Declare and Instantiate the strValue Array
-        JSONArray stringValueArray = new JSONArray();
-        stringValueArray.add(result);
-        // Add stringValue array to description object
-        descriptionFieldJsonObject.put("stringValue", stringValueArray);
-        // Return the JSONObject
-        return descriptionFieldJsonObject;
+        return JsonLibCodec.setRequestFieldJsonObj(prefix + fieldToken, setFeatureDescription(itProjectNumber, itProjectName, epmoProjectNumber));
     }
 
     /**
@@ -1468,25 +2225,23 @@ public class IspmoItProjectProcessor {
      * @param itProjectNumber IS PMO Project number (Request ID)
      * @param itProjectName   IS PMO Project Name
      * @return JSONObject with the full PPM Feature Description
+     * @deprecated Use setFeatureDescription(itProjectNumber, itProjectName), the Description field is written by the JSON codec
      */
+    @Deprecated
     public JSONObject setFeatureDescription(String prefix, String fieldToken, String itProjectNumber, String itProjectName) {
-        // Example: (IS 12345) IT Project Name (EPMO 12345)
-        String result;
-        result = "(IS "
-                .concat(itProjectNumber)
-                .concat(") ")
-                .concat(itProjectName);
-        // Set Json Object Vairable
-        JSONObject descriptionFieldJsonObject = new JSONObject();
-        // Add token to description object
-        descriptionFieldJsonObject.put("token", prefix + fieldToken);
-        // Declare and Instantiate the strValue Array
-        JSONArray stringValueArray = new JSONArray();
-        stringValueArray.add(result);
-        // Add stringValue array to description object
-        descriptionFieldJsonObject.put("stringValue", stringValueArray);
-        // Return the JSONObject
-        return descriptionFieldJsonObject;
+        return JsonLibCodec.setRequestFieldJsonObj(prefix + fieldToken, setFeatureDescription(itProjectNumber, itProjectName));
+    }
+
+    /**
+     * Method to set the HTML for the IT Project Milestones
+     * Interim usage by ImpactAssessmentProcessor class
+     *
+     * @param projectMilestoneObj IT Project Major Milestone value array list
+     * @return HTML string
+     */
+    @SuppressWarnings("unused")
+    public String setProjectMilestoneHtml(ArrayList<ProjectMilestoneValues> projectMilestoneObj) {
+        return milestoneHtmlRenderer.getHtml(projectMilestoneObj);
     }
 
     /**
@@ -0,0 +1,332 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import net.sf.json.JSONSerializer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class for the json-lib JSON codec: the responses are read into a String and parsed into a json-lib object tree,
+ * and the payloads are built as json-lib JSON Objects and serialized through their JSON text. Kept to compare with
+ * the StreamingJsonCodec (-Dispmo.json.codec=json-lib). The codec has no state and is shared by all the threads.
+ * <p>
+ * json-lib converts string values that look like JSON when they are added to a JSON Array or Object: "null" is written
+ * as a JSON null, "[1]", "{}" and "[\"A\"]" as a nested array or object and "function(){}" as raw text. Quoting the
+ * value first (JSONUtils.quote) or adding it as a JSONString does not keep all these values as strings either. The
+ * payloads of this codec therefore only match the StreamingJsonCodec payloads for values that do not look like JSON,
+ * the StreamingJsonCodec writes every value as a JSON string.
+ */
+public class JsonLibCodec implements PpmJsonCodec {
+    protected static final String NAME = "json-lib";
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Get method for the codec name
+     *
+     * @return Codec name
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Method to read a SQL Runner response into a SQL Runner result
+     *
+     * @param reader Character stream of the SQL Runner response body
+     * @return SQL Runner result with all the rows of the response
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public SqlRunnerResult readSqlRunnerResult(Reader reader) throws IOException {
+        JSONObject jsonSqlObj = readObject(reader);
+        SqlRunnerResult result = new SqlRunnerResult(getColumnHeaders(jsonSqlObj));
+        readRows(jsonSqlObj, (columnHeaders, values) -> result.addRow(values));
+        return result;
+    }
+
+    /**
+     * Method to read a SQL Runner response and hand every row to the handler
+     *
+     * @param reader  Character stream of the SQL Runner response body
+     * @param handler Handler receiving the rows
+     * @return Number of rows read
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public int readSqlRunnerRows(Reader reader, SqlRunnerResultReader.RowHandler handler) throws IOException {
+        return readRows(readObject(reader), handler);
+    }
+
+    /**
+     * Method to read the members of a JSON object response
+     *
+     * @param reader Character stream of the response body
+     * @return Members of the JSON object
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public Map<String, String> readObjectMembers(Reader reader) throws IOException {
+        JSONObject jsonObj = readObject(reader);
+        Map<String, String> members = new LinkedHashMap<>();
+        for (Object key : jsonObj.keySet()) {
+            members.put(key.toString(), String.valueOf(jsonObj.get(key)));
+        }
+        return members;
+    }
+
+    /**
+     * Method to read a JSON object response as its compact JSON text
+     *
+     * @param reader Character stream of the response body
+     * @return JSON text of the response
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public String readObjectText(Reader reader) throws IOException {
+        return readObject(reader).toString();
+    }
+
+    /**
+     * Method to write the SQL Runner query payload {"querySql":"..."}
+     *
+     * @param querySql SQL String
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Override
+    public byte[] writeSqlQuery(String querySql) {
+        // Create a JSON Object for the SQL Runner REST Request
+        JSONObject jsonObj = new JSONObject();
+        // Adding key-value pairs
+        jsonObj.put("querySql", querySql);
+        return jsonObj.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to build the JSON Objects of the IT Project payload template fields once per IT Project
+     *
+     * @param processingDate Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param milestoneToken Token of the IT Project Milestone HTML field (null when the Milestones are not part of the payload)
+     * @param milestoneHtml  IT Project Milestone HTML
+     * @return Template fields as JSON Objects
+     */
+    @Override
+    public TemplateFields encodeTemplateFields(String processingDate, String milestoneToken, String milestoneHtml) {
+        return new JsonTemplateFields(setDateFieldJsonObj(LAST_UPDATE_DATE_TOKEN, processingDate),
+                setDateFieldJsonObj(ENTITY_LAST_UPDATE_DATE_TOKEN, processingDate),
+                milestoneToken != null ? setRequestFieldJsonObj(milestoneToken, milestoneHtml) : null);
+    }
+
+    /**
+     * Method to write the Feature update payload from the template JSON Objects and the changed Feature fields
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param milestoneField  Boolean (True when the Milestone HTML field is part of the payload)
+     * @param fieldTokens     Tokens of the changed Feature fields
+     * @param fieldValues     String values of the changed Feature fields
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Override
+    public byte[] writeFeatureUpdatePayload(ProjectPayloadTemplate payloadTemplate, boolean milestoneField, String[] fieldTokens, String[] fieldValues) {
+        return createFeatureUpdatePayload(payloadTemplate, milestoneField, fieldTokens, fieldValues).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to create the JSON Object of the Feature update payload from the template JSON Objects and the changed
+     * Feature fields
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param milestoneField  Boolean (True when the Milestone HTML field is part of the payload)
+     * @param fieldTokens     Tokens of the changed Feature fields
+     * @param fieldValues     String values of the changed Feature fields
+     * @return JSON Object of the payload
+     */
+    protected JSONObject createFeatureUpdatePayload(ProjectPayloadTemplate payloadTemplate, boolean milestoneField, String[] fieldTokens, String[] fieldValues) {
+        JsonTemplateFields templateFields = payloadTemplate.getEncodedFields() instanceof JsonTemplateFields
+                ? (JsonTemplateFields) payloadTemplate.getEncodedFields()
+                : (JsonTemplateFields) encodeTemplateFields(payloadTemplate.getProcessingDate(), payloadTemplate.getMilestoneToken(), payloadTemplate.getMilestoneHtml());
+        // Start with the required fields to update the PPM Feature
+        JSONArray fieldArray = new JSONArray();
+        fieldArray.add(templateFields.lastUpdateDateField);
+        fieldArray.add(templateFields.entityLastUpdateDateField);
+        if (milestoneField) {
+            fieldArray.add(templateFields.milestoneField);
+        }
+        for (int i = 0; i < fieldTokens.length; i++) {
+            fieldArray.add(setRequestFieldJsonObj(fieldTokens[i], fieldValues[i]));
+        }
+        return setFieldsJsonObj(fieldArray);
+    }
+
+    /**
+     * Method to write the IT Project Status and Phase update payload
+     *
+     * @param processingDate  Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Override
+    public byte[] writeStatusPhasePayload(String processingDate, String itProjectStatus, String itProjectPhase) {
+        return createStatusPhasePayload(processingDate, itProjectStatus, itProjectPhase).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to create the JSON Object of the IT Project Status and Phase update payload
+     *
+     * @param processingDate  Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return JSON Object of the payload
+     */
+    protected static JSONObject createStatusPhasePayload(String processingDate, String itProjectStatus, String itProjectPhase) {
+        JSONArray fieldArray = new JSONArray();
+        fieldArray.add(setDateFieldJsonObj(LAST_UPDATE_DATE_TOKEN, processingDate));
+        fieldArray.add(setDateFieldJsonObj(ENTITY_LAST_UPDATE_DATE_TOKEN, processingDate));
+        fieldArray.add(setRequestFieldJsonObj(STATUS_TOKEN, itProjectStatus));
+        fieldArray.add(setRequestFieldJsonObj(PHASE_TOKEN, itProjectPhase));
+        return setFieldsJsonObj(fieldArray);
+    }
+
+    /**
+     * Method to set the JSON Request Field Object for Date Values
+     *
+     * @param token     Token of the Request Field
+     * @param dateValue Date Value in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @return JSON Object of the Request Field
+     */
+    private static JSONObject setDateFieldJsonObj(String token, String dateValue) {
+        JSONObject requestFieldObj = new JSONObject();
+        requestFieldObj.put("token", token);
+        requestFieldObj.put("dateValue", dateValue);
+        return requestFieldObj;
+    }
+
+    /**
+     * Method to set the JSON Request Field Object for String Values
+     *
+     * @param token       Token of the Request Field
+     * @param stringValue String Value
+     * @return JSON Object of the Request Field
+     */
+    protected static JSONObject setRequestFieldJsonObj(String token, String stringValue) {
+        JSONObject requestFieldObj = new JSONObject();
+        requestFieldObj.put("token", token);
+        // Single element stringValue array
+        JSONArray stringValueArray = new JSONArray();
+        stringValueArray.add(stringValue);
+        requestFieldObj.put("stringValue", stringValueArray);
+        return requestFieldObj;
+    }
+
+    /**
+     * Method to set the top level JSON Object {"fields":{"field":[...]}} of a PPM Request update payload
+     *
+     * @param fieldArray JSON Array of the Request Fields
+     * @return JSON Object of the payload
+     */
+    private static JSONObject setFieldsJsonObj(JSONArray fieldArray) {
+        JSONObject fieldObj = new JSONObject();
+        fieldObj.put("field", fieldArray);
+        JSONObject jsonObj = new JSONObject();
+        jsonObj.put("fields", fieldObj);
+        return jsonObj;
+    }
+
+    /**
+     * Method to read the response body into a json-lib JSON Object
+     *
+     * @param reader Character stream of the response body
+     * @return JSON Object of the response
+     * @throws IOException when the response cannot be read or is not a JSON object
+     */
+    private static JSONObject readObject(Reader reader) throws IOException {
+        StringBuilder body = new StringBuilder(BUFFER_SIZE);
+        char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) > 0) {
+            body.append(buffer, 0, read);
+        }
+        Object json = JSONSerializer.toJSON(body.toString());
+        if (!(json instanceof JSONObject)) {
+            throw new IOException("PPM response is not a JSON object");
+        }
+        return (JSONObject) json;
+    }
+
+    /**
+     * Method to get the column headers of the SQL Runner response
+     *
+     * @param jsonSqlObj JSON Object of the SQL Runner response
+     * @return Column headers (empty array when the response has no "columnHeaders" key)
+     */
+    private static String[] getColumnHeaders(JSONObject jsonSqlObj) {
+        JSONArray jsonColumnHeadersArray = jsonSqlObj.optJSONArray("columnHeaders");
+        if (jsonColumnHeadersArray == null) {
+            return new String[0];
+        }
+        String[] columnHeaders = new String[jsonColumnHeadersArray.size()];
+        for (int i = 0; i < columnHeaders.length; i++) {
+            columnHeaders[i] = jsonColumnHeadersArray.get(i).toString();
+        }
+        return columnHeaders;
+    }
+
+    /**
+     * Method to hand the rows of the "results" array to the handler
+     *
+     * @param jsonSqlObj JSON Object of the SQL Runner response
+     * @param handler    Handler receiving the rows
+     * @return Number of rows
+     */
+    private static int readRows(JSONObject jsonSqlObj, SqlRunnerResultReader.RowHandler handler) {
+        final String[] columnHeaders = getColumnHeaders(jsonSqlObj);
+        JSONArray jsonResultsArray = jsonSqlObj.optJSONArray("results");
+        if (jsonResultsArray == null) {
+            return 0;
+        }
+        int rowCount = 0;
+        for (Object jsonResultObject : jsonResultsArray) {
+            JSONArray jsonColumnValuesArray = ((JSONObject) jsonResultObject).optJSONArray("values");
+            if (jsonColumnValuesArray == null) {
+                continue;
+            }
+            String[] values = new String[jsonColumnValuesArray.size()];
+            for (int i = 0; i < values.length; i++) {
+                // Nested objects and arrays are returned as "null", the same as the SqlRunnerResultReader
+                Object value = jsonColumnValuesArray.get(i);
+                values[i] = value instanceof JSONObject || value instanceof JSONArray ? "null" : value.toString();
+            }
+            handler.onRow(columnHeaders, values);
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    /**
+     * Class for the template fields as json-lib JSON Objects, added as is to every Feature payload of the IT Project
+     */
+    private static final class JsonTemplateFields implements TemplateFields {
+        private final JSONObject lastUpdateDateField;
+        private final JSONObject entityLastUpdateDateField;
+        private final JSONObject milestoneField;
+
+        /**
+         * Constructor method for the json-lib template fields
+         *
+         * @param lastUpdateDateField       REQ.LAST_UPDATE_DATE field
+         * @param entityLastUpdateDateField REQ.ENTITY_LAST_UPDATE_DATE field
+         * @param milestoneField            IT Project Milestone HTML field (null when the Milestones are not part of the payload)
+         */
+        private JsonTemplateFields(JSONObject lastUpdateDateField, JSONObject entityLastUpdateDateField, JSONObject milestoneField) {
+            this.lastUpdateDateField = lastUpdateDateField;
+            this.entityLastUpdateDateField = entityLastUpdateDateField;
+            this.milestoneField = milestoneField;
+        }
+    }
+}
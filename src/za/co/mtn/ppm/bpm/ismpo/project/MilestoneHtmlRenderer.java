@@ -0,0 +1,167 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.time.Month;
+import java.time.Year;
+import java.time.format.TextStyle;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class to render the IT Project Milestone HTML table for the PPM Feature text area.
+ * The table is written in a single pass into a buffer presized to the text area maximum and rows that do not fit are
+ * not added. The last rendered table is kept so all the Features of the same IT Project share one rendering.
+ */
+public class MilestoneHtmlRenderer {
+    // Header of the html table
+    private static final String HEADER_HTML_TABLE = "<table style=\"border: 1px solid black; border-collapse: collapse; width: 98%;\">"
+            + "<tr>"
+            + "<td style=\"font-weight: bold; width: 40%;\">Milestone</td>"
+            + "<td style=\"font-weight: bold; width: 20%;\">Scheduled Finish</td>"
+            + "<td style=\"font-weight: bold; width: 20%;\">Actual Finish</td>"
+            + "<td style=\"font-weight: bold;\">Status</td>"
+            + "</tr>";
+    // Final Table string
+    private static final String END_HTML_TABLE = "</table>";
+    // Full English month names, index 0 is January
+    private static final String[] MONTH_NAMES = new String[12];
+
+    static {
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = month.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+        }
+    }
+
+    private final int maxLength;
+    private volatile RenderedHtml lastRendered;
+
+    /**
+     * Class for storing the rendered HTML of a Milestone list
+     */
+    private static final class RenderedHtml {
+        private final List<ProjectMilestoneValues> projectMilestoneObj;
+        private final String html;
+
+        /**
+         * Constructor method for the rendered HTML
+         *
+         * @param projectMilestoneObj IT Project Major Milestone value list the HTML was rendered from
+         * @param html                HTML string (null when there are no Milestones)
+         */
+        private RenderedHtml(List<ProjectMilestoneValues> projectMilestoneObj, String html) {
+            this.projectMilestoneObj = projectMilestoneObj;
+            this.html = html;
+        }
+    }
+
+    /**
+     * Constructor method for the renderer
+     *
+     * @param maxLength HTML Text Area Maximum Character length
+     */
+    public MilestoneHtmlRenderer(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to get the HTML table for the IT Project Milestones. The table is only rendered again when a different
+     * Milestone list is passed, so the Features of one IT Project (sharing the Milestone list) reuse the same string.
+     *
+     * @param projectMilestoneObj IT Project Major Milestone value list
+     * @return HTML string (null when there are no Milestones)
+     */
+    protected String getHtml(List<ProjectMilestoneValues> projectMilestoneObj) {
+        RenderedHtml rendered = lastRendered;
+        if (rendered == null || rendered.projectMilestoneObj != projectMilestoneObj) {
+            rendered = new RenderedHtml(projectMilestoneObj, render(projectMilestoneObj));
+            lastRendered = rendered;
+        }
+        return rendered.html;
+    }
+
+    /**
+     * Method to render the HTML table for the IT Project Milestones
+     *
+     * @param projectMilestoneObj IT Project Major Milestone value list
+     * @return HTML string (null when there are no Milestones)
+     */
+    protected String render(List<ProjectMilestoneValues> projectMilestoneObj) {
+        if (projectMilestoneObj.isEmpty()) {
+            return null;
+        }
+        StringBuilder html = new StringBuilder(maxLength);
+        html.append(HEADER_HTML_TABLE);
+        // Iterate through the Milestones until the next row does not fit the HTML Text Area Maximum Character length
+        for (ProjectMilestoneValues projectMilestoneValues : projectMilestoneObj) {
+            final int rowStart = html.length();
+            // Milestone
+            html.append("<tr><td>").append(projectMilestoneValues.getMilestoneTaskName()).append("</td><td>");
+            // Scheduled Finish
+            appendDate(html, projectMilestoneValues.getMilestoneScheduledFinishDate());
+            html.append("</td><td>");
+            // Actual Finish
+            appendDate(html, projectMilestoneValues.getMilestoneActualFinishDate());
+            // Status
+            html.append("</td><td>").append(projectMilestoneValues.getMilestoneTaskStatus()).append("</td></tr>");
+            if (html.length() + END_HTML_TABLE.length() > maxLength) {
+                // Drop the row that does not fit and stop
+                html.setLength(rowStart);
+                break;
+            }
+        }
+        html.append(END_HTML_TABLE);
+        log("IT Project Milestone HTML Table String length: " + html.length());
+        return html.toString();
+    }
+
+    /**
+     * Method to append a PPM date (yyyy-MM-dd...) in "d MMMM yyyy" format, or - when the date is blank
+     *
+     * @param html    HTML buffer
+     * @param ppmDate PPM date string
+     */
+    private static void appendDate(StringBuilder html, String ppmDate) {
+        if (ppmDate == null || ppmDate.trim().isEmpty() || ppmDate.equalsIgnoreCase("null")) {
+            html.append('-');
+            return;
+        }
+        final int year = parseDigits(ppmDate, 0, 4);
+        final int month = parseDigits(ppmDate, 5, 7);
+        final int day = parseDigits(ppmDate, 8, 10);
+        if (ppmDate.charAt(4) != '-' || ppmDate.charAt(7) != '-' || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            throw new IllegalArgumentException("Invalid Milestone date: " + ppmDate);
+        }
+        html.append(day).append(' ').append(MONTH_NAMES[month - 1]).append(' ').append(year);
+    }
+
+    /**
+     * Method to parse the decimal digits of a part of a string
+     *
+     * @param value String value
+     * @param start Start index (inclusive)
+     * @param end   End index (exclusive)
+     * @return Integer value of the digits
+     */
+    private static int parseDigits(String value, int start, int end) {
+        if (value.length() < end) {
+            throw new IllegalArgumentException("Invalid Milestone date: " + value);
+        }
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid Milestone date: " + value);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class for the "yyyy-MM-dd'T'HH:mm:ss" timestamp of the REQ.LAST_UPDATE_DATE and REQ.ENTITY_LAST_UPDATE_DATE payload tokens.
+ * The payload timestamp has a resolution of one second, so the formatted string is computed at most once per second
+ * and shared by all the payloads and threads. The java.time formatter is immutable and thread-safe.
+ */
+public final class PayloadTimestamp {
+    // Payload date format, no need to include the micro seconds and timezone
+    private static final DateTimeFormatter PAYLOAD_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    // Shared instance using the system default time zone
+    private static final PayloadTimestamp SYSTEM = new PayloadTimestamp(Clock.systemDefaultZone());
+    private final Clock clock;
+    private final DateTimeFormatter formatter;
+    private final AtomicReference<FormattedSecond> lastFormatted = new AtomicReference<>();
+
+    /**
+     * Class for storing the formatted timestamp of one epoch second
+     */
+    private static final class FormattedSecond {
+        private final long epochSecond;
+        private final String formatted;
+
+        /**
+         * Constructor method for the formatted epoch second
+         *
+         * @param epochSecond Epoch second
+         * @param formatted   Formatted timestamp
+         */
+        private FormattedSecond(long epochSecond, String formatted) {
+            this.epochSecond = epochSecond;
+            this.formatted = formatted;
+        }
+    }
+
+    /**
+     * Constructor method for the payload timestamp
+     *
+     * @param clock Clock with the time zone of the payload timestamps
+     */
+    protected PayloadTimestamp(Clock clock) {
+        this.clock = clock;
+        this.formatter = PAYLOAD_DATE_FORMATTER.withZone(clock.getZone());
+    }
+
+    /**
+     * Method to get the current payload timestamp of the system default time zone
+     *
+     * @return Current date and time in "yyyy-MM-dd'T'HH:mm:ss" format
+     */
+    public static String now() {
+        return SYSTEM.format();
+    }
+
+    /**
+     * Method to get the current payload timestamp of the clock. The formatted string is reused within the same second.
+     *
+     * @return Current date and time in "yyyy-MM-dd'T'HH:mm:ss" format
+     */
+    protected String format() {
+        final long epochSecond = Math.floorDiv(clock.millis(), 1000L);
+        FormattedSecond formattedSecond = lastFormatted.get();
+        if (formattedSecond == null || formattedSecond.epochSecond != epochSecond) {
+            // Only one format per second, a thread losing the race formats the same second again
+            formattedSecond = new FormattedSecond(epochSecond, formatter.format(Instant.ofEpochSecond(epochSecond)));
+            lastFormatted.set(formattedSecond);
+        }
+        return formattedSecond.formatted;
+    }
+}
@@ -0,0 +1,453 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Class recording the metrics of every PPM REST API call per operation type (IT Project Data, Milestones, Feature Data,
+ * Feature IDs and the Feature PUT updates): the call count, a latency histogram, the request and response bytes and
+ * the HTTP status codes. The request and response bytes are the JSON body bytes; the wire bytes are the bytes sent and
+ * received on the connection (HTTP headers and bodies after the gzip content encoding, without the TLS overhead), so
+ * the compression of every operation can be seen. The latency of a call is measured from sending the Request until its
+ * Response Body is closed, so it includes reading the streamed SQL Runner rows. At the end of a run the metrics are
+ * written to a JSON file and a Prometheus text file, to find which step of the workflow is slow.
+ */
+public class PpmCallMetrics {
+    // Default base name of the metrics files in the working directory (can be overridden with -Dispmo.metrics.file)
+    private static final String DEFAULT_METRICS_FILE = "ispmo-metrics";
+    // Metrics files are written unless disabled with -Dispmo.metrics.enabled=false
+    protected static final boolean METRICS_ENABLED = Boolean.parseBoolean(System.getProperty("ispmo.metrics.enabled", "true"));
+    // Upper bounds of the latency histogram buckets in milliseconds (the last bucket is +Inf)
+    private static final long[] BUCKET_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 20000};
+    // Status label used for calls that failed without an HTTP Response
+    private static final String IO_ERROR_STATUS = "io_error";
+    private final EnumMap<PpmOperation, OperationMetrics> operations = new EnumMap<>(PpmOperation.class);
+
+    /**
+     * Class holding the metrics of one operation type
+     */
+    private static final class OperationMetrics {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_MILLIS.length + 1);
+        private final LongAdder latencySumNanos = new LongAdder();
+        private final AtomicLong latencyMaxNanos = new AtomicLong();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder requestWireBytes = new LongAdder();
+        private final LongAdder responseWireBytes = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+        /**
+         * Method to record one completed call
+         *
+         * @param latencyNanos Latency of the call in nanoseconds
+         * @param status       HTTP status code or io_error
+         */
+        private void record(long latencyNanos, String status) {
+            count.increment();
+            bucketCounts.incrementAndGet(getBucketIndex(latencyNanos));
+            latencySumNanos.add(latencyNanos);
+            latencyMaxNanos.accumulateAndGet(latencyNanos, Math::max);
+            statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        /**
+         * Method to approximate a latency percentile from the histogram
+         *
+         * @param percentile Percentile (1 - 100)
+         * @return Upper bound of the bucket holding the percentile in milliseconds (maximum latency for the +Inf bucket)
+         */
+        private long getPercentileMillis(int percentile) {
+            final long total = count.sum();
+            if (total == 0) {
+                return 0;
+            }
+            final long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_MILLIS.length; i++) {
+                cumulative += bucketCounts.get(i);
+                if (cumulative >= rank) {
+                    return BUCKET_MILLIS[i];
+                }
+            }
+            return TimeUnit.NANOSECONDS.toMillis(latencyMaxNanos.get());
+        }
+    }
+
+    /**
+     * Constructor method for the metrics with an empty record for every operation type
+     */
+    public PpmCallMetrics() {
+        for (PpmOperation operation : PpmOperation.values()) {
+            operations.put(operation, new OperationMetrics());
+        }
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to get the histogram bucket of a latency
+     *
+     * @param latencyNanos Latency in nanoseconds
+     * @return Bucket index (BUCKET_MILLIS.length for the +Inf bucket)
+     */
+    private static int getBucketIndex(long latencyNanos) {
+        for (int i = 0; i < BUCKET_MILLIS.length; i++) {
+            if (latencyNanos <= TimeUnit.MILLISECONDS.toNanos(BUCKET_MILLIS[i])) {
+                return i;
+            }
+        }
+        return BUCKET_MILLIS.length;
+    }
+
+    /**
+     * Method to record one completed call of an operation
+     *
+     * @param operation    PPM REST API operation
+     * @param latencyNanos Latency of the call in nanoseconds
+     * @param requestBytes Bytes of the Request Body
+     * @param status       HTTP status code or io_error
+     */
+    protected void record(PpmOperation operation, long latencyNanos, long requestBytes, String status) {
+        OperationMetrics metrics = operations.get(operation);
+        metrics.requestBytes.add(Math.max(0, requestBytes));
+        metrics.record(latencyNanos, status);
+    }
+
+    /**
+     * Get method for the number of calls done for an operation
+     *
+     * @param operation PPM REST API operation
+     * @return Number of calls
+     */
+    protected long getCount(PpmOperation operation) {
+        return operations.get(operation).count.sum();
+    }
+
+    /**
+     * Application interceptor recording the metrics of the Requests tagged with a PpmOperation.
+     * The Response Body is wrapped to count the response bytes read and to record the call when it is closed.
+     *
+     * @param chain Interceptor chain for the request
+     * @return Response from the PPM server
+     * @throws IOException when the request fails
+     */
+    protected Response intercept(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        final PpmOperation operation = request.tag(PpmOperation.class);
+        if (operation == null) {
+            return chain.proceed(request);
+        }
+        final long requestBytes = request.body() != null ? request.body().contentLength() : 0;
+        final long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            record(operation, System.nanoTime() - start, requestBytes, IO_ERROR_STATUS);
+            throw e;
+        }
+        final String status = String.valueOf(response.code());
+        ResponseBody body = response.body();
+        if (body == null) {
+            record(operation, System.nanoTime() - start, requestBytes, status);
+            return response;
+        }
+        final AtomicBoolean recorded = new AtomicBoolean();
+        return response.newBuilder()
+                .body(countBytes(body, operations.get(operation).responseBytes, () -> {
+                    // Record the call once, when the Response Body is closed
+                    if (recorded.compareAndSet(false, true)) {
+                        record(operation, System.nanoTime() - start, requestBytes, status);
+                    }
+                }))
+                .build();
+    }
+
+    /**
+     * Network interceptor counting the wire bytes of the Requests tagged with a PpmOperation: the bytes of every
+     * attempt sent to the PPM server, before OkHttp decompresses a gzip Response Body.
+     *
+     * @param chain Interceptor chain for the request
+     * @return Response from the PPM server
+     * @throws IOException when the request fails
+     */
+    protected Response interceptNetwork(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        final PpmOperation operation = request.tag(PpmOperation.class);
+        if (operation == null) {
+            return chain.proceed(request);
+        }
+        final OperationMetrics metrics = operations.get(operation);
+        metrics.requestWireBytes.add(request.headers().byteCount() + (request.body() != null ? Math.max(0, request.body().contentLength()) : 0));
+        Response response = chain.proceed(request);
+        metrics.responseWireBytes.add(response.headers().byteCount());
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .body(countBytes(body, metrics.responseWireBytes, null))
+                .build();
+    }
+
+    /**
+     * Method to wrap a Response Body counting the bytes read from it
+     *
+     * @param body    Response Body
+     * @param counter Counter of the bytes read
+     * @param onClose Action run when the Response Body is closed (or null)
+     * @return Counting Response Body
+     */
+    private static ResponseBody countBytes(ResponseBody body, LongAdder counter, Runnable onClose) {
+        ForwardingSource countingSource = new ForwardingSource(body.source()) {
+            @Override
+            public long read(Buffer sink, long byteCount) throws IOException {
+                long read = super.read(sink, byteCount);
+                if (read > 0) {
+                    counter.add(read);
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (onClose != null) {
+                    onClose.run();
+                }
+                super.close();
+            }
+        };
+        return ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(countingSource));
+    }
+
+    /**
+     * Method to write out the metrics of every operation with calls to the console or log file
+     */
+    protected void log() {
+        log("**** PPM REST API Call Metrics ****");
+        for (Map.Entry<PpmOperation, OperationMetrics> entry : operations.entrySet()) {
+            OperationMetrics metrics = entry.getValue();
+            final long count = metrics.count.sum();
+            if (count == 0) {
+                continue;
+            }
+            log(String.format("%-24s %6d calls | avg %6d ms | p50 <= %5d ms | p99 <= %5d ms | max %6d ms | %8d KB sent (%8d KB wire) | %8d KB received (%8d KB wire) | status %s",
+                    entry.getKey().getDisplayName(), count, TimeUnit.NANOSECONDS.toMillis(metrics.latencySumNanos.sum() / count),
+                    metrics.getPercentileMillis(50), metrics.getPercentileMillis(99), TimeUnit.NANOSECONDS.toMillis(metrics.latencyMaxNanos.get()),
+                    metrics.requestBytes.sum() / 1024, metrics.requestWireBytes.sum() / 1024, metrics.responseBytes.sum() / 1024,
+                    metrics.responseWireBytes.sum() / 1024, getStatusCounts(metrics)));
+        }
+        log(String.format("PPM REST API wire bytes: %d KB sent, %d KB received", getRequestWireBytes() / 1024, getResponseWireBytes() / 1024));
+    }
+
+    /**
+     * Get method for the wire bytes sent to the PPM server for all the operations
+     *
+     * @return Request headers and body bytes sent
+     */
+    protected long getRequestWireBytes() {
+        return getTotal(metrics -> metrics.requestWireBytes.sum());
+    }
+
+    /**
+     * Get method for the wire bytes received from the PPM server for all the operations
+     *
+     * @return Response headers and body bytes received
+     */
+    protected long getResponseWireBytes() {
+        return getTotal(metrics -> metrics.responseWireBytes.sum());
+    }
+
+    /**
+     * Method to sum a value of all the operations
+     *
+     * @param value Value of an operation
+     * @return Sum of the values
+     */
+    private long getTotal(ToLongFunction<OperationMetrics> value) {
+        long total = 0;
+        for (OperationMetrics metrics : operations.values()) {
+            total += value.applyAsLong(metrics);
+        }
+        return total;
+    }
+
+    /**
+     * Method to get the status counts of an operation sorted by status
+     *
+     * @param metrics Operation metrics
+     * @return TreeMap with the HTTP status code (or io_error) as Key and the number of calls as Value
+     */
+    private static TreeMap<String, Long> getStatusCounts(OperationMetrics metrics) {
+        TreeMap<String, Long> statusCounts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> statusEntry : metrics.statusCounts.entrySet()) {
+            statusCounts.put(statusEntry.getKey(), statusEntry.getValue().sum());
+        }
+        return statusCounts;
+    }
+
+    /**
+     * Method to create the JSON summary of the metrics
+     *
+     * @return JSON Object with one entry per operation
+     */
+    protected JSONObject toJson() {
+        JSONObject operationsObj = new JSONObject();
+        for (Map.Entry<PpmOperation, OperationMetrics> entry : operations.entrySet()) {
+            OperationMetrics metrics = entry.getValue();
+            JSONObject operationObj = new JSONObject();
+            operationObj.put("count", metrics.count.sum());
+            operationObj.put("latencySumMillis", TimeUnit.NANOSECONDS.toMillis(metrics.latencySumNanos.sum()));
+            operationObj.put("latencyMaxMillis", TimeUnit.NANOSECONDS.toMillis(metrics.latencyMaxNanos.get()));
+            operationObj.put("latencyP50Millis", metrics.getPercentileMillis(50));
+            operationObj.put("latencyP99Millis", metrics.getPercentileMillis(99));
+            JSONArray bucketsArray = new JSONArray();
+            for (int i = 0; i <= BUCKET_MILLIS.length; i++) {
+                JSONObject bucketObj = new JSONObject();
+                bucketObj.put("le", i < BUCKET_MILLIS.length ? String.valueOf(BUCKET_MILLIS[i]) : "+Inf");
+                bucketObj.put("count", metrics.bucketCounts.get(i));
+                bucketsArray.add(bucketObj);
+            }
+            operationObj.put("latencyHistogramMillis", bucketsArray);
+            operationObj.put("requestBytes", metrics.requestBytes.sum());
+            operationObj.put("responseBytes", metrics.responseBytes.sum());
+            operationObj.put("requestWireBytes", metrics.requestWireBytes.sum());
+            operationObj.put("responseWireBytes", metrics.responseWireBytes.sum());
+            JSONObject statusObj = new JSONObject();
+            for (Map.Entry<String, Long> statusEntry : getStatusCounts(metrics).entrySet()) {
+                statusObj.put(statusEntry.getKey(), statusEntry.getValue());
+            }
+            operationObj.put("status", statusObj);
+            operationsObj.put(entry.getKey().getMetricLabel(), operationObj);
+        }
+        JSONObject metricsObj = new JSONObject();
+        metricsObj.put("timestamp", PayloadTimestamp.now());
+        metricsObj.put("operations", operationsObj);
+        return metricsObj;
+    }
+
+    /**
+     * Method to create the Prometheus text exposition of the metrics
+     *
+     * @return Prometheus text format metrics
+     */
+    protected String toPrometheus() {
+        StringBuilder text = new StringBuilder(4096);
+        text.append("# HELP ispmo_ppm_request_duration_seconds Latency of the PPM REST API calls until the Response Body is closed.\n");
+        text.append("# TYPE ispmo_ppm_request_duration_seconds histogram\n");
+        for (Map.Entry<PpmOperation, OperationMetrics> entry : operations.entrySet()) {
+            final String label = "operation=\"" + entry.getKey().getMetricLabel() + "\"";
+            OperationMetrics metrics = entry.getValue();
+            long cumulative = 0;
+            for (int i = 0; i <= BUCKET_MILLIS.length; i++) {
+                cumulative += metrics.bucketCounts.get(i);
+                final String le = i < BUCKET_MILLIS.length ? String.valueOf(BUCKET_MILLIS[i] / 1000.0) : "+Inf";
+                text.append("ispmo_ppm_request_duration_seconds_bucket{").append(label).append(",le=\"").append(le).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            text.append("ispmo_ppm_request_duration_seconds_sum{").append(label).append("} ")
+                    .append(metrics.latencySumNanos.sum() / 1_000_000_000.0).append('\n');
+            text.append("ispmo_ppm_request_duration_seconds_count{").append(label).append("} ").append(metrics.count.sum()).append('\n');
+        }
+        appendCounter(text, "ispmo_ppm_request_bytes_total", "Bytes of the PPM REST API Request Bodies.", metrics -> metrics.requestBytes.sum());
+        appendCounter(text, "ispmo_ppm_response_bytes_total", "Bytes of the PPM REST API Response Bodies read.", metrics -> metrics.responseBytes.sum());
+        appendCounter(text, "ispmo_ppm_request_wire_bytes_total", "Bytes of the PPM REST API Request headers and encoded bodies sent.",
+                metrics -> metrics.requestWireBytes.sum());
+        appendCounter(text, "ispmo_ppm_response_wire_bytes_total", "Bytes of the PPM REST API Response headers and encoded bodies received.",
+                metrics -> metrics.responseWireBytes.sum());
+        text.append("# HELP ispmo_ppm_responses_total PPM REST API calls by HTTP status code (io_error when no Response was received).\n");
+        text.append("# TYPE ispmo_ppm_responses_total counter\n");
+        for (Map.Entry<PpmOperation, OperationMetrics> entry : operations.entrySet()) {
+            for (Map.Entry<String, Long> statusEntry : getStatusCounts(entry.getValue()).entrySet()) {
+                text.append("ispmo_ppm_responses_total{operation=\"").append(entry.getKey().getMetricLabel()).append("\",status=\"")
+                        .append(statusEntry.getKey()).append("\"} ").append(statusEntry.getValue()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Method to append a byte counter of every operation in Prometheus text format
+     *
+     * @param text  Prometheus text being built
+     * @param name  Metric name
+     * @param help  Metric help text
+     * @param bytes Byte counter of an operation
+     */
+    private void appendCounter(StringBuilder text, String name, String help, ToLongFunction<OperationMetrics> bytes) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(" counter\n");
+        for (Map.Entry<PpmOperation, OperationMetrics> entry : operations.entrySet()) {
+            OperationMetrics metrics = entry.getValue();
+            text.append(name).append("{operation=\"").append(entry.getKey().getMetricLabel()).append("\"} ")
+                    .append(bytes.applyAsLong(metrics)).append('\n');
+        }
+    }
+
+    /**
+     * Method to write out the metrics and save them to the JSON (.json) and Prometheus text (.prom) files named by the
+     * ispmo.metrics.file system property, unless disabled with -Dispmo.metrics.enabled=false
+     */
+    protected void save() {
+        log();
+        if (!METRICS_ENABLED) {
+            return;
+        }
+        final String baseName = System.getProperty("ispmo.metrics.file", DEFAULT_METRICS_FILE);
+        write(Paths.get(baseName + ".json"), toJson().toString() + "\n");
+        write(Paths.get(baseName + ".prom"), toPrometheus());
+    }
+
+    /**
+     * Method to write a metrics file. A failure to write the file does not fail the run.
+     *
+     * @param metricsFile Path of the metrics file
+     * @param content     Content of the metrics file
+     */
+    private static void write(Path metricsFile, String content) {
+        try {
+            Path directory = metricsFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (Writer writer = Files.newBufferedWriter(metricsFile, StandardCharsets.UTF_8)) {
+                writer.write(content);
+            }
+            log("PPM REST API Call Metrics saved to: " + metricsFile.toAbsolutePath());
+        } catch (IOException e) {
+            log("PPM REST API Call Metrics could not be saved to " + metricsFile.toAbsolutePath() + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class making the PPM REST API calls resilient to a degraded PPM server:
+ * <ul>
+ *     <li>Calls failing with a 5xx status code, a timeout or a refused connection are retried with an exponential
+ *     backoff and jitter (or the Retry-After delay sent by the PPM server). Only the Requests tagged with a
+ *     PpmOperation are retried: they are read only SQL Runner queries or PUT updates, so they are idempotent.</li>
+ *     <li>A circuit breaker opens after a number of consecutive failures. While it is open the calls fail at once
+ *     instead of adding load to the PPM server, after the open period a single trial call decides if it closes again.</li>
+ * </ul>
+ */
+public class PpmCallResilience {
+    // Default retry and circuit breaker settings (can be overridden with the -Dispmo.retry.* and -Dispmo.circuit.* system properties)
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final int DEFAULT_BASE_DELAY_MILLIS = 250;
+    private static final int DEFAULT_MAX_DELAY_MILLIS = 8000;
+    private static final int DEFAULT_FAILURE_THRESHOLD = 10;
+    private static final int DEFAULT_OPEN_SECONDS = 30;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int failureThreshold;
+    private final long openNanos;
+    // Circuit breaker state (guarded by this)
+    private CircuitState circuitState = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+    // Resilience statistics
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong circuitOpenCount = new AtomicLong();
+
+    /**
+     * State of the circuit breaker
+     */
+    private enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Constructor method using the retry and circuit breaker settings from the system properties:
+     * <ul>
+     *     <li>ispmo.retry.maxAttempts (default 4, 1 disables the retries)</li>
+     *     <li>ispmo.retry.baseDelayMillis (default 250)</li>
+     *     <li>ispmo.retry.maxDelayMillis (default 8000)</li>
+     *     <li>ispmo.circuit.failureThreshold (default 10 consecutive failures, 0 disables the circuit breaker)</li>
+     *     <li>ispmo.circuit.openSeconds (default 30)</li>
+     * </ul>
+     */
+    public PpmCallResilience() {
+        this(Integer.getInteger("ispmo.retry.maxAttempts", DEFAULT_MAX_ATTEMPTS),
+                Integer.getInteger("ispmo.retry.baseDelayMillis", DEFAULT_BASE_DELAY_MILLIS),
+                Integer.getInteger("ispmo.retry.maxDelayMillis", DEFAULT_MAX_DELAY_MILLIS),
+                Integer.getInteger("ispmo.circuit.failureThreshold", DEFAULT_FAILURE_THRESHOLD),
+                Integer.getInteger("ispmo.circuit.openSeconds", DEFAULT_OPEN_SECONDS));
+    }
+
+    /**
+     * Constructor method for the retry and circuit breaker settings
+     *
+     * @param maxAttempts      Maximum attempts of a call (first call and retries)
+     * @param baseDelayMillis  Backoff delay before the first retry in milliseconds, doubled for every next retry
+     * @param maxDelayMillis   Maximum backoff delay in milliseconds
+     * @param failureThreshold Consecutive failures opening the circuit breaker (0 disables the circuit breaker)
+     * @param openSeconds      Seconds the circuit breaker stays open before a trial call
+     */
+    public PpmCallResilience(int maxAttempts, long baseDelayMillis, long maxDelayMillis, int failureThreshold, int openSeconds) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = Math.max(0, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+        this.failureThreshold = Math.max(0, failureThreshold);
+        this.openNanos = TimeUnit.SECONDS.toNanos(Math.max(0, openSeconds));
+        log("PPM REST Client resilience: maxAttempts=" + this.maxAttempts + ", baseDelayMillis=" + this.baseDelayMillis + ", maxDelayMillis="
+                + this.maxDelayMillis + ", circuitFailureThreshold=" + this.failureThreshold + ", circuitOpenSeconds=" + Math.max(0, openSeconds));
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Application interceptor retrying the failed attempts of the Requests tagged with a PpmOperation
+     *
+     * @param chain Interceptor chain for the request
+     * @return Response from the PPM server (the last attempt's Response when all attempts failed with a 5xx status code)
+     * @throws IOException when the last attempt fails or the circuit breaker is open
+     */
+    protected Response intercept(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        final PpmOperation operation = request.tag(PpmOperation.class);
+        if (operation == null) {
+            return chain.proceed(request);
+        }
+        for (int attempt = 1; ; attempt++) {
+            if (!allowRequest()) {
+                rejectedCount.incrementAndGet();
+                throw new PpmCircuitOpenException("PPM circuit breaker is open, " + operation.getDisplayName() + " call not sent: " + request.url());
+            }
+            Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                recordFailure();
+                if (attempt >= maxAttempts || !isRetryable(chain, e)) {
+                    throw e;
+                }
+                backoff(chain, operation, attempt, e.toString(), -1);
+                continue;
+            }
+            if (response.code() < 500) {
+                recordSuccess();
+                return response;
+            }
+            recordFailure();
+            if (attempt >= maxAttempts) {
+                return response;
+            }
+            final long retryAfterMillis = getRetryAfterMillis(response);
+            // Release the connection of the failed attempt before the retry
+            response.close();
+            backoff(chain, operation, attempt, "HTTP error code " + response.code(), retryAfterMillis);
+        }
+    }
+
+    /**
+     * Method to check if a failed attempt can be retried: timeouts and refused connections, but not cancelled calls
+     *
+     * @param chain Interceptor chain for the request
+     * @param e     Failure of the attempt
+     * @return Boolean (True or False)
+     */
+    private static boolean isRetryable(Interceptor.Chain chain, IOException e) {
+        if (chain.call().isCanceled()) {
+            return false;
+        }
+        return e instanceof InterruptedIOException || e instanceof ConnectException;
+    }
+
+    /**
+     * Method to get the delay asked by the PPM server with the Retry-After header (delay in seconds)
+     *
+     * @param response Failed Response
+     * @return Delay in milliseconds, -1 when the header is missing or not a number of seconds
+     */
+    private static long getRetryAfterMillis(Response response) {
+        final String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Method to wait before the next attempt. The delay is half the exponential backoff plus a random part of up to
+     * the other half, so concurrent calls failing together do not retry together.
+     *
+     * @param chain            Interceptor chain for the request
+     * @param operation        PPM REST API operation
+     * @param attempt          Number of the failed attempt (1 for the first call)
+     * @param failure          Failure of the attempt for the log
+     * @param retryAfterMillis Delay asked by the PPM server in milliseconds (-1 when none)
+     * @throws InterruptedIOException when the thread is interrupted while waiting
+     */
+    private void backoff(Interceptor.Chain chain, PpmOperation operation, int attempt, String failure, long retryAfterMillis) throws InterruptedIOException {
+        final long exponentialMillis = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        long delayMillis = exponentialMillis / 2 + ThreadLocalRandom.current().nextLong(exponentialMillis / 2 + 1);
+        if (retryAfterMillis > delayMillis) {
+            delayMillis = Math.min(maxDelayMillis, retryAfterMillis);
+        }
+        retryCount.incrementAndGet();
+        log(operation.getDisplayName() + " attempt " + attempt + " of " + maxAttempts + " failed (" + failure + "), retry in "
+                + delayMillis + " ms: " + chain.request().url());
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry " + operation.getDisplayName());
+        }
+    }
+
+    /**
+     * Method to check if the circuit breaker lets a call through. When the open period is over a single trial call is let through.
+     *
+     * @return Boolean (True when the call can be sent)
+     */
+    private synchronized boolean allowRequest() {
+        if (circuitState == CircuitState.CLOSED) {
+            return true;
+        }
+        if (circuitState == CircuitState.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            circuitState = CircuitState.HALF_OPEN;
+            log("PPM circuit breaker half open, sending a trial call");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method to record a successful attempt, which closes the circuit breaker
+     */
+    private synchronized void recordSuccess() {
+        if (circuitState != CircuitState.CLOSED) {
+            log("PPM circuit breaker closed, the PPM server is responding again");
+        }
+        circuitState = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Method to record a failed attempt, which opens the circuit breaker after the failure threshold or a failed trial call
+     */
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (failureThreshold == 0 || circuitState == CircuitState.OPEN) {
+            return;
+        }
+        if (circuitState == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            circuitState = CircuitState.OPEN;
+            openUntilNanos = System.nanoTime() + openNanos;
+            circuitOpenCount.incrementAndGet();
+            log("PPM circuit breaker open for " + TimeUnit.NANOSECONDS.toSeconds(openNanos) + " s after " + consecutiveFailures + " consecutive failures");
+        }
+    }
+
+    /**
+     * Get method for the number of retries done
+     *
+     * @return Number of retries
+     */
+    protected long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * Get method for the number of calls not sent because the circuit breaker was open
+     *
+     * @return Number of rejected calls
+     */
+    protected long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Method to write out the retry and circuit breaker statistics to the console or log file
+     */
+    protected void log() {
+        log("PPM REST Client Resilience: " + getRetryCount() + " retries, circuit breaker opened " + circuitOpenCount.get() + " times, "
+                + getRejectedCount() + " calls rejected while open");
+    }
+}
@@ -0,0 +1,20 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown for a PPM REST API call that is not sent because the circuit breaker is open
+ * after too many consecutive failures of the PPM server
+ */
+public class PpmCircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor method for the exception
+     *
+     * @param message Failure message
+     */
+    public PpmCircuitOpenException(String message) {
+        super(message);
+    }
+}
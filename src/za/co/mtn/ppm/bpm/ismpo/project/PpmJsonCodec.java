@@ -0,0 +1,148 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Interface for the JSON handling of the PPM REST API calls: reading the SQL Runner responses, the PUT responses and
+ * the failure messages, and writing the UTF-8 bytes of the SQL Runner query, Feature update and Status and Phase
+ * update payloads. The processor only hands over the tokens and values of the payload fields.
+ * <p>
+ * The codec is selected with the -Dispmo.json.codec system property:
+ * <ul>
+ *     <li>streaming (default): StreamingJsonCodec, reading the responses token by token and writing the payloads
+ *     straight into UTF-8 bytes</li>
+ *     <li>json-lib: JsonLibCodec, the json-lib object trees (JSONSerializer, JSONObject and JSONArray)</li>
+ * </ul>
+ * Both codecs return the same values, so they can be compared on identical SQL Runner responses. The payloads only
+ * differ for string values that look like JSON, which json-lib writes as raw JSON (see JsonLibCodec).
+ */
+public interface PpmJsonCodec {
+    // Default codec (can be overridden with -Dispmo.json.codec)
+    String DEFAULT_CODEC = StreamingJsonCodec.NAME;
+    // Tokens of the fields required in every PPM Request update payload
+    String LAST_UPDATE_DATE_TOKEN = "REQ.LAST_UPDATE_DATE";
+    String ENTITY_LAST_UPDATE_DATE_TOKEN = "REQ.ENTITY_LAST_UPDATE_DATE";
+    // Tokens of the IT Project Status and Phase fields of the PPM Features
+    String STATUS_TOKEN = "REQD.ISPMO_PRJ_STATUS";
+    String PHASE_TOKEN = "REQD.ISPMO_PRJ_PHASE";
+
+    /**
+     * Method to create the codec selected with the -Dispmo.json.codec system property
+     *
+     * @return JSON codec
+     */
+    static PpmJsonCodec fromSystemProperty() {
+        return forName(System.getProperty("ispmo.json.codec", DEFAULT_CODEC));
+    }
+
+    /**
+     * Method to create a codec by name
+     *
+     * @param name Codec name (streaming or json-lib)
+     * @return JSON codec
+     */
+    static PpmJsonCodec forName(String name) {
+        switch (name) {
+            case StreamingJsonCodec.NAME:
+                return new StreamingJsonCodec();
+            case JsonLibCodec.NAME:
+                return new JsonLibCodec();
+            default:
+                throw new IllegalArgumentException("Invalid JSON codec name: " + name);
+        }
+    }
+
+    /**
+     * Get method for the codec name
+     *
+     * @return Codec name
+     */
+    String getName();
+
+    /**
+     * Method to read a SQL Runner response into a SQL Runner result
+     *
+     * @param reader Character stream of the SQL Runner response body
+     * @return SQL Runner result with all the rows of the response
+     * @throws IOException when the response cannot be read
+     */
+    SqlRunnerResult readSqlRunnerResult(Reader reader) throws IOException;
+
+    /**
+     * Method to read a SQL Runner response and hand every row to the handler
+     *
+     * @param reader  Character stream of the SQL Runner response body
+     * @param handler Handler receiving the rows
+     * @return Number of rows read
+     * @throws IOException when the response cannot be read
+     */
+    int readSqlRunnerRows(Reader reader, SqlRunnerResultReader.RowHandler handler) throws IOException;
+
+    /**
+     * Method to read the members of a JSON object response (e.g. the failure message of a PPM REST API call).
+     * Strings are unescaped, the other values are returned as their JSON text.
+     *
+     * @param reader Character stream of the response body
+     * @return Members of the JSON object
+     * @throws IOException when the response cannot be read
+     */
+    Map<String, String> readObjectMembers(Reader reader) throws IOException;
+
+    /**
+     * Method to read a JSON object response as its compact JSON text (e.g. the PUT response for the log)
+     *
+     * @param reader Character stream of the response body
+     * @return JSON text of the response
+     * @throws IOException when the response cannot be read
+     */
+    String readObjectText(Reader reader) throws IOException;
+
+    /**
+     * Method to write the SQL Runner query payload {"querySql":"..."}
+     *
+     * @param querySql SQL String
+     * @return UTF-8 bytes of the JSON payload
+     */
+    byte[] writeSqlQuery(String querySql);
+
+    /**
+     * Method to encode the IT Project payload template fields that are the same for all the Feature payloads of the
+     * IT Project, so they are only encoded once per IT Project
+     *
+     * @param processingDate Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param milestoneToken Token of the IT Project Milestone HTML field (null when the Milestones are not part of the payload)
+     * @param milestoneHtml  IT Project Milestone HTML
+     * @return Encoded template fields
+     */
+    TemplateFields encodeTemplateFields(String processingDate, String milestoneToken, String milestoneHtml);
+
+    /**
+     * Method to write the Feature update payload {"fields":{"field":[...]}}: the Last Update Date fields of the
+     * template, the Milestone HTML field of the template and the changed Feature fields
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param milestoneField  Boolean (True when the Milestone HTML field is part of the payload)
+     * @param fieldTokens     Tokens of the changed Feature fields
+     * @param fieldValues     String values of the changed Feature fields
+     * @return UTF-8 bytes of the JSON payload
+     */
+    byte[] writeFeatureUpdatePayload(ProjectPayloadTemplate payloadTemplate, boolean milestoneField, String[] fieldTokens, String[] fieldValues);
+
+    /**
+     * Method to write the IT Project Status and Phase update payload {"fields":{"field":[...]}}
+     *
+     * @param processingDate  Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return UTF-8 bytes of the JSON payload
+     */
+    byte[] writeStatusPhasePayload(String processingDate, String itProjectStatus, String itProjectPhase);
+
+    /**
+     * Interface for the template fields encoded by a codec (see encodeTemplateFields)
+     */
+    interface TemplateFields {
+    }
+}
@@ -0,0 +1,46 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+/**
+ * Enum with the types of PPM REST API calls done by the processor.
+ * Every Request is tagged with its operation so the PPM REST Client can record the call metrics per operation.
+ */
+public enum PpmOperation {
+    PROJECT_DATA("project_data", "IT Project Data"),
+    MILESTONES("milestones", "IT Project Milestones"),
+    FEATURE_DATA("feature_data", "Feature Data"),
+    FEATURE_IDS("feature_ids", "Feature IDs"),
+    FEATURE_UPDATE("feature_update", "Feature Update PUT"),
+    STATUS_PHASE_UPDATE("status_phase_update", "Status Phase Update PUT");
+
+    private final String metricLabel;
+    private final String displayName;
+
+    /**
+     * Constructor method for the operation
+     *
+     * @param metricLabel Label value used in the metrics files
+     * @param displayName Name used in the console or log file
+     */
+    PpmOperation(String metricLabel, String displayName) {
+        this.metricLabel = metricLabel;
+        this.displayName = displayName;
+    }
+
+    /**
+     * Get method for the label value used in the metrics files
+     *
+     * @return Metric label value
+     */
+    protected String getMetricLabel() {
+        return metricLabel;
+    }
+
+    /**
+     * Get method for the name used in the console or log file
+     *
+     * @return Display name
+     */
+    protected String getDisplayName() {
+        return displayName;
+    }
+}
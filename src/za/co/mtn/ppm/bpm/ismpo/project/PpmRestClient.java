@@ -0,0 +1,316 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import okhttp3.*;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class holding the single OkHttpClient used for all PPM REST API calls during a run.
+ * The client keeps HTTP keep-alive connections in a shared connection pool, so consecutive calls to the
+ * PPM server reuse the same TCP/TLS connection instead of doing a new handshake for every request.
+ * <p>
+ * The client asks for gzip compressed responses (the large SQL Runner responses compress well) and can gzip the
+ * Request Bodies too, for the Feature update payloads with the Milestone HTML table. The PPM server has to accept a
+ * gzip Content-Encoding for the compressed Request Bodies, so that is off by default.
+ */
+public class PpmRestClient {
+    // Default timeouts used by all PPM REST API calls
+    private static final int TIMEOUT_SECONDS = 20;
+    // Connection pool settings (can be overridden with the -Dispmo.http.* system properties)
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 10;
+    private static final int DEFAULT_KEEP_ALIVE_MINUTES = 5;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 10;
+    // Content encoding settings (can be overridden with the -Dispmo.http.gzip* system properties)
+    private static final boolean DEFAULT_GZIP_RESPONSES = true;
+    private static final boolean DEFAULT_GZIP_REQUESTS = false;
+    private static final int DEFAULT_GZIP_REQUEST_MIN_BYTES = 1024;
+    private static final String GZIP_ENCODING = "gzip";
+    private final OkHttpClient httpClient;
+    private final boolean gzipResponses;
+    private final boolean gzipRequests;
+    private final int gzipRequestMinBytes;
+    // Connection reuse statistics
+    private final AtomicLong networkRequestCount = new AtomicLong();
+    private final AtomicLong newConnectionCount = new AtomicLong();
+    private final Set<Connection> seenConnections = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    // Latency and payload size metrics of the calls per PPM REST API operation
+    private final PpmCallMetrics callMetrics = new PpmCallMetrics();
+    // Retries and circuit breaker of the calls (every attempt is recorded in the call metrics)
+    private final PpmCallResilience callResilience = new PpmCallResilience();
+
+    /**
+     * Constructor method for the PPM REST Client using the connection pool settings from the system properties:
+     * <ul>
+     *     <li>ispmo.http.maxIdleConnections (default 10)</li>
+     *     <li>ispmo.http.keepAliveMinutes (default 5)</li>
+     *     <li>ispmo.http.maxRequestsPerHost (default 10)</li>
+     *     <li>ispmo.http.gzipResponses (default true)</li>
+     *     <li>ispmo.http.gzipRequests (default false)</li>
+     *     <li>ispmo.http.gzipRequestMinBytes (default 1024)</li>
+     * </ul>
+     */
+    public PpmRestClient() {
+        this(Integer.getInteger("ispmo.http.maxIdleConnections", DEFAULT_MAX_IDLE_CONNECTIONS),
+                Integer.getInteger("ispmo.http.keepAliveMinutes", DEFAULT_KEEP_ALIVE_MINUTES),
+                Integer.getInteger("ispmo.http.maxRequestsPerHost", DEFAULT_MAX_REQUESTS_PER_HOST),
+                Boolean.parseBoolean(System.getProperty("ispmo.http.gzipResponses", String.valueOf(DEFAULT_GZIP_RESPONSES))),
+                Boolean.getBoolean("ispmo.http.gzipRequests"),
+                Integer.getInteger("ispmo.http.gzipRequestMinBytes", DEFAULT_GZIP_REQUEST_MIN_BYTES));
+    }
+
+    /**
+     * Constructor method for the PPM REST Client with the default content encoding settings
+     *
+     * @param maxIdleConnections Maximum idle connections kept alive in the connection pool
+     * @param keepAliveMinutes   Minutes an idle connection is kept alive in the connection pool
+     * @param maxRequestsPerHost Maximum concurrent requests to the PPM server
+     */
+    public PpmRestClient(int maxIdleConnections, int keepAliveMinutes, int maxRequestsPerHost) {
+        this(maxIdleConnections, keepAliveMinutes, maxRequestsPerHost, DEFAULT_GZIP_RESPONSES, DEFAULT_GZIP_REQUESTS, DEFAULT_GZIP_REQUEST_MIN_BYTES);
+    }
+
+    /**
+     * Constructor method for the PPM REST Client
+     *
+     * @param maxIdleConnections  Maximum idle connections kept alive in the connection pool
+     * @param keepAliveMinutes    Minutes an idle connection is kept alive in the connection pool
+     * @param maxRequestsPerHost  Maximum concurrent requests to the PPM server
+     * @param gzipResponses       Boolean (True to ask for gzip compressed Response Bodies)
+     * @param gzipRequests        Boolean (True to send gzip compressed Request Bodies)
+     * @param gzipRequestMinBytes Minimum size of a Request Body to be compressed
+     */
+    public PpmRestClient(int maxIdleConnections, int keepAliveMinutes, int maxRequestsPerHost, boolean gzipResponses, boolean gzipRequests,
+                         int gzipRequestMinBytes) {
+        this.gzipResponses = gzipResponses;
+        this.gzipRequests = gzipRequests;
+        this.gzipRequestMinBytes = Math.max(0, gzipRequestMinBytes);
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        this.httpClient = new OkHttpClient().newBuilder()
+                .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMinutes, TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(callResilience::intercept)
+                .addInterceptor(callMetrics::intercept)
+                .addInterceptor(this::encodeContent)
+                .addNetworkInterceptor(this::trackConnectionReuse)
+                .addNetworkInterceptor(callMetrics::interceptNetwork)
+                .build();
+        log("PPM REST Client connection pool: maxIdleConnections=" + maxIdleConnections + ", keepAliveMinutes=" + keepAliveMinutes + ", maxRequestsPerHost=" + maxRequestsPerHost);
+        log("PPM REST Client content encoding: gzipResponses=" + gzipResponses + ", gzipRequests=" + gzipRequests + ", gzipRequestMinBytes=" + this.gzipRequestMinBytes);
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to prepare a Call on the shared OkHttpClient
+     *
+     * @param request PPM REST API Request
+     * @return Call ready to be executed
+     */
+    protected Call newCall(Request request) {
+        return httpClient.newCall(request);
+    }
+
+    /**
+     * Method to execute a PPM REST API Request and wait for the Response
+     *
+     * @param request  PPM REST API Request
+     * @param callName Call name used in the log
+     * @return Response from the PPM server (to be closed by the caller)
+     */
+    protected Response execute(Request request, String callName) {
+        try {
+            return newCall(request).execute();
+        } catch (IOException e) {
+            log(callName + " IO Exception Failure");
+            throw new RuntimeException(callName + " IO Exception Failure: " + e);
+        }
+    }
+
+    /**
+     * Method to enqueue a PPM REST API Request without waiting for the Response. The OkHttp dispatcher sends the
+     * Request when a slot is free (maxRequestsPerHost), queued Requests do not hold a thread.
+     *
+     * @param request  PPM REST API Request
+     * @param callName Call name used in the log
+     * @return Future completed on the OkHttp dispatcher thread with the Response (to be closed by the caller)
+     */
+    protected CompletableFuture<Response> executeAsync(Request request, String callName) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log(callName + " IO Exception Failure");
+                future.completeExceptionally(new RuntimeException(callName + " IO Exception Failure: " + e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                future.complete(response);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Application interceptor setting the content encoding of a Request. The gzip Response Bodies are negotiated by
+     * OkHttp itself: it sends "Accept-Encoding: gzip" and decompresses the Response Body when no Accept-Encoding header
+     * is set, so the header is only set to "identity" when the gzip responses are disabled. The Request Body is
+     * compressed here, before the call metrics network interceptor counts the bytes sent.
+     *
+     * @param chain Interceptor chain for the request
+     * @return Response from the PPM server
+     * @throws IOException when the request fails
+     */
+    private Response encodeContent(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!gzipResponses && request.header("Accept-Encoding") == null) {
+            request = request.newBuilder().header("Accept-Encoding", "identity").build();
+        }
+        RequestBody body = request.body();
+        if (gzipRequests && body != null && request.header("Content-Encoding") == null && body.contentLength() >= gzipRequestMinBytes) {
+            request = request.newBuilder()
+                    .header("Content-Encoding", GZIP_ENCODING)
+                    .method(request.method(), gzip(body))
+                    .build();
+        }
+        return chain.proceed(request);
+    }
+
+    /**
+     * Method to compress a Request Body. The compressed body is buffered, so it is sent with a Content-Length and not
+     * chunked, and it can be sent again by a retry.
+     *
+     * @param body Request Body
+     * @return gzip compressed Request Body
+     * @throws IOException when the Request Body cannot be written
+     */
+    private static RequestBody gzip(RequestBody body) throws IOException {
+        Buffer compressed = new Buffer();
+        try (BufferedSink gzipSink = Okio.buffer(new GzipSink(compressed))) {
+            body.writeTo(gzipSink);
+        }
+        return RequestBody.create(body.contentType(), compressed.readByteString());
+    }
+
+    /**
+     * Method to stop the OkHttp dispatcher threads and close the idle pooled connections at the end of a run. The
+     * dispatcher threads of the Async calls are not daemon threads and would keep the JVM alive for a minute.
+     */
+    protected void close() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Network interceptor that counts the requests sent and the new connections opened to the PPM server
+     *
+     * @param chain Interceptor chain for the request
+     * @return Response from the PPM server
+     * @throws IOException when the request fails
+     */
+    private Response trackConnectionReuse(Interceptor.Chain chain) throws IOException {
+        networkRequestCount.incrementAndGet();
+        Connection connection = chain.connection();
+        if (connection != null && seenConnections.add(connection)) {
+            newConnectionCount.incrementAndGet();
+        }
+        return chain.proceed(chain.request());
+    }
+
+    /**
+     * Get method for the number of requests sent to the PPM server
+     *
+     * @return Number of requests sent
+     */
+    protected long getNetworkRequestCount() {
+        return networkRequestCount.get();
+    }
+
+    /**
+     * Get method for the number of new connections (TCP/TLS handshakes) opened to the PPM server
+     *
+     * @return Number of new connections
+     */
+    protected long getNewConnectionCount() {
+        return newConnectionCount.get();
+    }
+
+    /**
+     * Get method for the gzip response setting
+     *
+     * @return Boolean (True when gzip compressed Response Bodies are asked for)
+     */
+    protected boolean isGzipResponses() {
+        return gzipResponses;
+    }
+
+    /**
+     * Get method for the gzip request setting
+     *
+     * @return Boolean (True when the Request Bodies from gzipRequestMinBytes are compressed)
+     */
+    protected boolean isGzipRequests() {
+        return gzipRequests;
+    }
+
+    /**
+     * Get method for the call metrics of the PPM REST API operations done with this client
+     *
+     * @return PPM Call Metrics
+     */
+    protected PpmCallMetrics getCallMetrics() {
+        return callMetrics;
+    }
+
+    /**
+     * Get method for the retries and circuit breaker of the calls done with this client
+     *
+     * @return PPM Call Resilience
+     */
+    protected PpmCallResilience getCallResilience() {
+        return callResilience;
+    }
+
+    /**
+     * Method to calculate the connection reuse rate
+     *
+     * @return Fraction (0.0 to 1.0) of requests that were sent on an already open connection
+     */
+    protected double getConnectionReuseRate() {
+        long requests = getNetworkRequestCount();
+        if (requests == 0) {
+            return 0.0;
+        }
+        return (double) (requests - getNewConnectionCount()) / requests;
+    }
+
+    /**
+     * Method to write out the connection reuse statistics to the console or log file
+     */
+    protected void logConnectionReuse() {
+        log(String.format("PPM REST Client Connections: %d requests, %d new connections, reuse rate %.1f%%",
+                getNetworkRequestCount(), getNewConnectionCount(), getConnectionReuseRate() * 100));
+    }
+}
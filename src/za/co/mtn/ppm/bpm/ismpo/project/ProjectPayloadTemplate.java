@@ -0,0 +1,116 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+/**
+ * Class for storing the payload fragments that are the same for all the PPM Features of one IT Project:
+ * the Last Update Date, the Feature Description and the IT Project Milestone HTML field.
+ * The template is created once per IT Project and every Feature payload is assembled from these fragments and the
+ * Feature's own field differences. The fragments are not changed after creation and the template is shared by the
+ * concurrent Feature updates of the IT Project.
+ * The Last Update Date and Milestone HTML fields are also kept encoded by the JSON codec of the processor, so they are
+ * only escaped and encoded once per IT Project.
+ */
+public class ProjectPayloadTemplate {
+    private final SqlRunnerRow itProjectFields;
+    private final String itProjectRequestType;
+    private final String processingDate;
+    private final String descriptionValue;
+    private final String milestoneToken;
+    private final String milestoneHtml;
+    private final String milestoneFieldHash;
+    private final PpmJsonCodec.TemplateFields encodedFields;
+
+    /**
+     * Constructor method for the IT Project payload template
+     *
+     * @param itProjectFields      IT Project Field Data row
+     * @param itProjectRequestType IT Project Request Type
+     * @param processingDate       Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param descriptionValue     Feature Description (null when the IT Project has no Description)
+     * @param milestoneToken       IT Project Milestone HTML field token (null when the Milestones are not part of the payload)
+     * @param milestoneHtml        IT Project Milestone HTML (null when the Milestones are not part of the payload)
+     * @param jsonCodec            JSON codec encoding the fields shared by the Feature payloads
+     */
+    protected ProjectPayloadTemplate(SqlRunnerRow itProjectFields, String itProjectRequestType, String processingDate, String descriptionValue,
+                                     String milestoneToken, String milestoneHtml, PpmJsonCodec jsonCodec) {
+        this.itProjectFields = itProjectFields;
+        this.itProjectRequestType = itProjectRequestType;
+        this.processingDate = processingDate;
+        this.descriptionValue = descriptionValue;
+        this.milestoneToken = milestoneToken;
+        this.milestoneHtml = milestoneHtml;
+        this.milestoneFieldHash = milestoneHtml != null ? FeaturePayloadCache.hashPayload(milestoneToken + "," + milestoneHtml) : null;
+        this.encodedFields = jsonCodec.encodeTemplateFields(processingDate, milestoneToken, milestoneHtml);
+    }
+
+    /**
+     * Get method for the IT Project Field Data row
+     *
+     * @return IT Project Field Data row
+     */
+    protected SqlRunnerRow getItProjectFields() {
+        return itProjectFields;
+    }
+
+    /**
+     * Get method for the IT Project Request Type
+     *
+     * @return IT Project Request Type
+     */
+    protected String getItProjectRequestType() {
+        return itProjectRequestType;
+    }
+
+    /**
+     * Get method for the Last Update Date of the REQ.LAST_UPDATE_DATE and REQ.ENTITY_LAST_UPDATE_DATE fields
+     *
+     * @return Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     */
+    protected String getProcessingDate() {
+        return processingDate;
+    }
+
+    /**
+     * Get method for the Feature Description value
+     *
+     * @return Feature Description string (null when the IT Project has no Description)
+     */
+    protected String getDescriptionValue() {
+        return descriptionValue;
+    }
+
+    /**
+     * Get method for the IT Project Milestone HTML field token
+     *
+     * @return Milestone HTML field token (null when the Milestones are not part of the payload)
+     */
+    protected String getMilestoneToken() {
+        return milestoneToken;
+    }
+
+    /**
+     * Get method for the IT Project Milestone HTML value
+     *
+     * @return Milestone HTML string (null when the Milestones are not part of the payload)
+     */
+    protected String getMilestoneHtml() {
+        return milestoneHtml;
+    }
+
+    /**
+     * Get method for the Feature Payload Cache hash of the IT Project Milestone HTML field
+     *
+     * @return Hash of the Milestone HTML field (null when the Milestones are not part of the payload)
+     */
+    protected String getMilestoneFieldHash() {
+        return milestoneFieldHash;
+    }
+
+    /**
+     * Get method for the template fields encoded by the JSON codec
+     *
+     * @return Encoded template fields
+     */
+    protected PpmJsonCodec.TemplateFields getEncodedFields() {
+        return encodedFields;
+    }
+}
@@ -0,0 +1,103 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Class to issue independent SQL Runner queries (rest2/sqlRunner/runSqlQuery) concurrently.
+ * The wall-clock time of the fan-out is the time of the slowest query instead of the sum of all the queries,
+ * and the latency of every query is written to the log separately.
+ */
+public class SqlQueryFanOut {
+    // Default number of concurrent SQL Runner queries (can be overridden with -Dispmo.sql.maxInFlight)
+    private static final int DEFAULT_MAX_IN_FLIGHT = 5;
+    private final ExecutorService executor;
+    private final List<CompletableFuture<?>> pendingQueries = new ArrayList<>();
+    private long fanOutStartNanos;
+
+    /**
+     * Constructor method for the fan-out using the ispmo.sql.maxInFlight system property (default 5)
+     */
+    public SqlQueryFanOut() {
+        this(Integer.getInteger("ispmo.sql.maxInFlight", DEFAULT_MAX_IN_FLIGHT));
+    }
+
+    /**
+     * Constructor method for the fan-out
+     *
+     * @param maxInFlight Maximum number of SQL Runner queries in flight at the same time
+     */
+    public SqlQueryFanOut(int maxInFlight) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxInFlight), runnable -> {
+            Thread thread = new Thread(runnable, "sql-query-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method to write out to the console or log file
+     *
+     * @param str String to print to console
+     */
+    private static void log(final String str) {
+        System.out.println(str);
+    }
+
+    /**
+     * Method to start a SQL Runner query without waiting for the result
+     *
+     * @param queryName Name of the query used in the latency log
+     * @param query     Processor call running the query
+     * @param <T>       Result type of the query
+     * @return Future completed with the query result
+     */
+    protected synchronized <T> CompletableFuture<T> submit(String queryName, Supplier<T> query) {
+        if (pendingQueries.isEmpty()) {
+            fanOutStartNanos = System.nanoTime();
+        }
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return query.get();
+            } finally {
+                log("SQL Query Latency [" + queryName + "]: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }
+        }, executor);
+        pendingQueries.add(future);
+        return future;
+    }
+
+    /**
+     * Method to wait until all the submitted queries returned
+     */
+    protected void awaitAll() {
+        CompletableFuture<?>[] batch;
+        long start;
+        synchronized (this) {
+            batch = pendingQueries.toArray(new CompletableFuture<?>[0]);
+            pendingQueries.clear();
+            start = fanOutStartNanos;
+        }
+        try {
+            CompletableFuture.allOf(batch).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        log("SQL Query Fan-out: " + batch.length + " queries returned after " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Method to stop the query threads once all queries are done
+     */
+    protected void shutdown() {
+        executor.shutdown();
+    }
+}
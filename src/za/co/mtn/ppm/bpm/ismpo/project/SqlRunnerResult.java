@@ -0,0 +1,200 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class for storing a SQL Runner result in columnar form.
+ * The column headers and their ordinals are stored once for the result and every row only keeps an array of values
+ * in column header order, so rows can be compared by column ordinal instead of looking up column header keys.
+ */
+public class SqlRunnerResult {
+    private final String[] columnHeaders;
+    private final HashMap<String, Integer> columnOrdinals;
+    private final ArrayList<SqlRunnerRow> rows = new ArrayList<>();
+    // Last column mapping to another result (the IT Project result is the same for all Features of a project)
+    private volatile ColumnMapping columnMapping;
+
+    /**
+     * Class for storing the column ordinals of this result in another result
+     */
+    private static final class ColumnMapping {
+        private final SqlRunnerResult target;
+        private final int[] targetOrdinals;
+
+        private ColumnMapping(SqlRunnerResult target, int[] targetOrdinals) {
+            this.target = target;
+            this.targetOrdinals = targetOrdinals;
+        }
+    }
+
+    /**
+     * Constructor method for an empty SQL Runner result
+     *
+     * @param columnHeaders Column headers of the SQL Runner result
+     */
+    protected SqlRunnerResult(String[] columnHeaders) {
+        this.columnHeaders = columnHeaders;
+        this.columnOrdinals = new HashMap<>(columnHeaders.length * 2);
+        for (int i = 0; i < columnHeaders.length; i++) {
+            columnOrdinals.put(columnHeaders[i].toUpperCase(Locale.ENGLISH), i);
+        }
+    }
+
+    /**
+     * Method to read a SQL Runner response into a SQL Runner result
+     *
+     * @param reader Character stream of the SQL Runner response body
+     * @return SQL Runner result with all the rows of the response
+     * @throws IOException when the response cannot be read
+     */
+    protected static SqlRunnerResult read(Reader reader) throws IOException {
+        SqlRunnerResultReader resultReader = new SqlRunnerResultReader(reader);
+        // The result is created with the column headers of the first row
+        final SqlRunnerResult[] result = new SqlRunnerResult[1];
+        resultReader.read((columnHeaders, values) -> {
+            if (result[0] == null) {
+                result[0] = new SqlRunnerResult(columnHeaders);
+            }
+            result[0].addRow(values);
+        });
+        return result[0] != null ? result[0] : new SqlRunnerResult(resultReader.getColumnHeaders());
+    }
+
+    /**
+     * Method to add a row to the result
+     *
+     * @param values Column values of the row in column header order
+     * @return Added row
+     */
+    protected SqlRunnerRow addRow(String[] values) {
+        SqlRunnerRow row = new SqlRunnerRow(this, values);
+        rows.add(row);
+        return row;
+    }
+
+    /**
+     * Get method for the column headers
+     *
+     * @return Column headers array
+     */
+    protected String[] getColumnHeaders() {
+        return columnHeaders;
+    }
+
+    /**
+     * Get method for the number of columns
+     *
+     * @return Number of columns
+     */
+    protected int getColumnCount() {
+        return columnHeaders.length;
+    }
+
+    /**
+     * Method to get the ordinal of a column (column headers are not case-sensitive)
+     *
+     * @param columnHeader Column header
+     * @return Column ordinal or -1 when the result does not have the column
+     */
+    protected int getColumnOrdinal(String columnHeader) {
+        Integer ordinal = columnOrdinals.get(columnHeader.toUpperCase(Locale.ENGLISH));
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Get method for the rows
+     *
+     * @return List of rows in SQL Runner order
+     */
+    protected List<SqlRunnerRow> getRows() {
+        return rows;
+    }
+
+    /**
+     * Get method for the number of rows
+     *
+     * @return Number of rows
+     */
+    protected int getRowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Method to check if the result has no rows
+     *
+     * @return Boolean (True or False)
+     */
+    protected boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    /**
+     * Method to get the last row of the result, or a row with only null values when the result is empty
+     *
+     * @return Last row of the result
+     */
+    protected SqlRunnerRow getLastRow() {
+        if (rows.isEmpty()) {
+            return getEmptyRow();
+        }
+        return rows.get(rows.size() - 1);
+    }
+
+    /**
+     * Method to get a row with only null values and the column headers of this result
+     *
+     * @return Empty row
+     */
+    protected SqlRunnerRow getEmptyRow() {
+        return new SqlRunnerRow(this, new String[columnHeaders.length]);
+    }
+
+    /**
+     * Method to get an empty result with the column headers of this result
+     *
+     * @return Result without rows
+     */
+    protected SqlRunnerResult getEmptyResult() {
+        return new SqlRunnerResult(columnHeaders);
+    }
+
+    /**
+     * Method to group the rows by the value of a column, keeping the row order within every group
+     *
+     * @param columnHeader Column header to group by
+     * @return HashMap with the column value as Key and a result with the rows of the value as Value
+     */
+    protected HashMap<String, SqlRunnerResult> groupBy(String columnHeader) {
+        final int ordinal = getColumnOrdinal(columnHeader);
+        HashMap<String, SqlRunnerResult> groups = new LinkedHashMap<>();
+        for (SqlRunnerRow row : rows) {
+            groups.computeIfAbsent(row.get(ordinal), key -> new SqlRunnerResult(columnHeaders)).addRow(row.getValues());
+        }
+        return groups;
+    }
+
+    /**
+     * Method to map the column ordinals of this result to the column ordinals of another result with the same column headers
+     *
+     * @param target Result with the column headers to map to
+     * @return Array with the target column ordinal for every column ordinal of this result (-1 when the target does not have the column)
+     */
+    protected int[] getColumnMapping(SqlRunnerResult target) {
+        ColumnMapping mapping = columnMapping;
+        if (mapping == null || mapping.target != target) {
+            int[] targetOrdinals = new int[columnHeaders.length];
+            for (int i = 0; i < columnHeaders.length; i++) {
+                targetOrdinals[i] = target.getColumnOrdinal(columnHeaders[i]);
+            }
+            mapping = new ColumnMapping(target, targetOrdinals);
+            columnMapping = mapping;
+        }
+        return mapping.targetOrdinals;
+    }
+}
@@ -0,0 +1,519 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Class to read a SQL Runner (rest2/sqlRunner/runSqlQuery) response token by token.
+ * The reader walks through the "columnHeaders" array and the "values" array of every "results" object and hands
+ * each row to the RowHandler as soon as it is read, without building the response String or a json-lib object tree.
+ * Values are returned the same way as the json-lib toString() of the value: JSON null as "null" and numbers and
+ * booleans as their literal text.
+ * <p>
+ * The reader also reads the other JSON object responses of the PPM REST API (PUT responses and failure messages) for
+ * the log, see readObjectMembers and readValueText.
+ */
+public class SqlRunnerResultReader {
+    private static final int BUFFER_SIZE = 8192;
+    // JSON number literal (the other literals are true, false and null)
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder stringBuilder = new StringBuilder(64);
+    private int bufferPosition;
+    private int bufferLimit;
+    private String[] columnHeaders;
+    // Rows read before the "columnHeaders" key (only used when the response has the "results" key first)
+    private List<String[]> pendingRows;
+    private int rowCount;
+    // JSON text of the value being read by readValueText (null when not capturing)
+    private StringBuilder valueText;
+
+    /**
+     * Handler receiving every row of the SQL Runner response
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * Method receiving a SQL Runner row
+         *
+         * @param columnHeaders Column headers of the SQL Runner response (same array for every row)
+         * @param values        Column values of the row in column header order
+         */
+        void onRow(String[] columnHeaders, String[] values);
+    }
+
+    /**
+     * Constructor method for the SQL Runner response reader
+     *
+     * @param reader Character stream of the response body
+     */
+    public SqlRunnerResultReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Method to read the full SQL Runner response and hand every row to the handler
+     *
+     * @param handler Handler receiving the rows
+     * @return Number of rows read
+     * @throws IOException when the response cannot be read or is not valid JSON
+     */
+    public int read(RowHandler handler) throws IOException {
+        expect('{');
+        if (peekToken() == '}') {
+            next();
+        } else {
+            do {
+                String key = readString();
+                expect(':');
+                if (key.equals("columnHeaders")) {
+                    readColumnHeaders(handler);
+                } else if (key.equals("results")) {
+                    readResults(handler);
+                } else {
+                    skipValue();
+                }
+            } while (readSeparator('}'));
+        }
+        // Rows without any "columnHeaders" key
+        if (pendingRows != null) {
+            columnHeaders = new String[0];
+            flushPendingRows(handler);
+        }
+        return rowCount;
+    }
+
+    /**
+     * Method to read the members of a JSON object response. Strings are unescaped, the other scalars are returned as
+     * their literal text and nested objects and arrays as their compact JSON text.
+     *
+     * @return Members in response order
+     * @throws IOException when the response cannot be read or is not a valid JSON object
+     */
+    public LinkedHashMap<String, String> readObjectMembers() throws IOException {
+        LinkedHashMap<String, String> members = new LinkedHashMap<>();
+        expect('{');
+        if (peekToken() == '}') {
+            next();
+            return members;
+        }
+        do {
+            String key = readString();
+            expect(':');
+            char c = peekToken();
+            members.put(key, c == '{' || c == '[' ? readValueText() : readScalar());
+        } while (readSeparator('}'));
+        return members;
+    }
+
+    /**
+     * Method to read a value of any type as its compact JSON text (the whitespace between the tokens is dropped)
+     *
+     * @return JSON text of the value
+     * @throws IOException when the value cannot be read
+     */
+    public String readValueText() throws IOException {
+        peekToken();
+        valueText = new StringBuilder(256);
+        try {
+            skipValue();
+            return valueText.toString();
+        } finally {
+            valueText = null;
+        }
+    }
+
+    /**
+     * Get method for the column headers of the response
+     *
+     * @return Column headers (empty array when the response has no "columnHeaders" key)
+     */
+    public String[] getColumnHeaders() {
+        return columnHeaders == null ? new String[0] : columnHeaders;
+    }
+
+    /**
+     * Method to read the "columnHeaders" array
+     *
+     * @param handler Handler receiving rows read before the column headers
+     * @throws IOException when the array cannot be read
+     */
+    private void readColumnHeaders(RowHandler handler) throws IOException {
+        List<String> headers = new ArrayList<>();
+        expect('[');
+        if (peekToken() == ']') {
+            next();
+        } else {
+            do {
+                headers.add(readScalar());
+            } while (readSeparator(']'));
+        }
+        columnHeaders = headers.toArray(new String[0]);
+        flushPendingRows(handler);
+    }
+
+    /**
+     * Method to read the "results" array of row objects
+     *
+     * @param handler Handler receiving the rows
+     * @throws IOException when the array cannot be read
+     */
+    private void readResults(RowHandler handler) throws IOException {
+        expect('[');
+        if (peekToken() == ']') {
+            next();
+            return;
+        }
+        do {
+            expect('{');
+            if (peekToken() == '}') {
+                next();
+                continue;
+            }
+            do {
+                String key = readString();
+                expect(':');
+                if (key.equals("values")) {
+                    emitRow(handler, readValues());
+                } else {
+                    skipValue();
+                }
+            } while (readSeparator('}'));
+        } while (readSeparator(']'));
+    }
+
+    /**
+     * Method to read a "values" array of a row
+     *
+     * @return Row values
+     * @throws IOException when the array cannot be read
+     */
+    private String[] readValues() throws IOException {
+        expect('[');
+        int expectedSize = columnHeaders == null ? 16 : columnHeaders.length;
+        String[] values = new String[expectedSize];
+        int size = 0;
+        if (peekToken() == ']') {
+            next();
+        } else {
+            do {
+                if (size == values.length) {
+                    String[] grown = new String[Math.max(4, size * 2)];
+                    System.arraycopy(values, 0, grown, 0, size);
+                    values = grown;
+                }
+                values[size++] = readScalar();
+            } while (readSeparator(']'));
+        }
+        if (size != values.length) {
+            String[] trimmed = new String[size];
+            System.arraycopy(values, 0, trimmed, 0, size);
+            values = trimmed;
+        }
+        return values;
+    }
+
+    /**
+     * Method to hand a row to the handler, or keep it until the column headers are read
+     *
+     * @param handler Handler receiving the row
+     * @param values  Row values
+     */
+    private void emitRow(RowHandler handler, String[] values) {
+        if (columnHeaders == null) {
+            if (pendingRows == null) {
+                pendingRows = new ArrayList<>();
+            }
+            pendingRows.add(values);
+            return;
+        }
+        rowCount++;
+        handler.onRow(columnHeaders, values);
+    }
+
+    /**
+     * Method to hand the rows kept before the column headers were read to the handler
+     *
+     * @param handler Handler receiving the rows
+     */
+    private void flushPendingRows(RowHandler handler) {
+        if (pendingRows != null) {
+            List<String[]> rows = pendingRows;
+            pendingRows = null;
+            for (String[] values : rows) {
+                emitRow(handler, values);
+            }
+        }
+    }
+
+    /**
+     * Method to read a scalar value (string, number, boolean or null) as String
+     *
+     * @return String value of the scalar (nested objects and arrays are skipped and returned as "null")
+     * @throws IOException when the value cannot be read
+     */
+    private String readScalar() throws IOException {
+        char c = peekToken();
+        switch (c) {
+            case '"':
+                return readString();
+            case '{':
+            case '[':
+                skipValue();
+                return "null";
+            default:
+                return readLiteral();
+        }
+    }
+
+    /**
+     * Method to read a JSON string and resolve the escape sequences
+     *
+     * @return String value
+     * @throws IOException when the string cannot be read
+     */
+    private String readString() throws IOException {
+        expect('"');
+        stringBuilder.setLength(0);
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return stringBuilder.toString();
+            }
+            if (c == '\\') {
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        stringBuilder.append('\n');
+                        break;
+                    case 't':
+                        stringBuilder.append('\t');
+                        break;
+                    case 'r':
+                        stringBuilder.append('\r');
+                        break;
+                    case 'b':
+                        stringBuilder.append('\b');
+                        break;
+                    case 'f':
+                        stringBuilder.append('\f');
+                        break;
+                    case 'u':
+                        int codePoint = 0;
+                        for (int i = 0; i < 4; i++) {
+                            codePoint = (codePoint << 4) | hexValue(next());
+                        }
+                        stringBuilder.append((char) codePoint);
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        stringBuilder.append(escaped);
+                        break;
+                    default:
+                        throw syntaxError("Invalid escape character '" + escaped + "'");
+                }
+            } else {
+                stringBuilder.append(c);
+            }
+        }
+    }
+
+    /**
+     * Method to read a number, boolean or null literal
+     *
+     * @return Literal text ("null" for JSON null)
+     * @throws IOException when the literal cannot be read or is not true, false, null or a number
+     */
+    private String readLiteral() throws IOException {
+        stringBuilder.setLength(0);
+        while (true) {
+            if (bufferPosition == bufferLimit && !fillBuffer()) {
+                break;
+            }
+            char c = buffer[bufferPosition];
+            if (c == ',' || c == ']' || c == '}' || isWhitespace(c)) {
+                break;
+            }
+            stringBuilder.append(c);
+            bufferPosition++;
+        }
+        if (valueText != null) {
+            valueText.append(stringBuilder);
+        }
+        if (stringBuilder.length() == 0) {
+            throw syntaxError("Expected a value");
+        }
+        final String literal = stringBuilder.toString();
+        if (!literal.equals("null") && !literal.equals("true") && !literal.equals("false") && !NUMBER_LITERAL.matcher(literal).matches()) {
+            throw syntaxError("Invalid literal '" + literal + "'");
+        }
+        return literal;
+    }
+
+    /**
+     * Method to skip a value of any type
+     *
+     * @throws IOException when the value cannot be read
+     */
+    private void skipValue() throws IOException {
+        char c = peekToken();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            char close = c == '{' ? '}' : ']';
+            next();
+            if (peekToken() == close) {
+                next();
+                return;
+            }
+            do {
+                if (c == '{') {
+                    readString();
+                    expect(':');
+                }
+                skipValue();
+            } while (readSeparator(close));
+        } else {
+            readLiteral();
+        }
+    }
+
+    /**
+     * Method to read the separator between elements
+     *
+     * @param close Closing character of the current object or array
+     * @return True when a comma was read (more elements follow), False when the closing character was read
+     * @throws IOException when neither a comma nor the closing character follows
+     */
+    private boolean readSeparator(char close) throws IOException {
+        char c = nextToken();
+        if (c == ',') {
+            return true;
+        }
+        if (c == close) {
+            return false;
+        }
+        throw syntaxError("Expected ',' or '" + close + "' but found '" + c + "'");
+    }
+
+    /**
+     * Method to read the next non-whitespace character and verify it
+     *
+     * @param expected Expected character
+     * @throws IOException when another character was found
+     */
+    private void expect(char expected) throws IOException {
+        char c = nextToken();
+        if (c != expected) {
+            throw syntaxError("Expected '" + expected + "' but found '" + c + "'");
+        }
+    }
+
+    /**
+     * Method to return the next non-whitespace character without consuming it
+     *
+     * @return Next non-whitespace character
+     * @throws IOException when the end of the response is reached
+     */
+    private char peekToken() throws IOException {
+        while (true) {
+            if (bufferPosition == bufferLimit && !fillBuffer()) {
+                throw syntaxError("Unexpected end of SQL Runner response");
+            }
+            char c = buffer[bufferPosition];
+            if (!isWhitespace(c)) {
+                return c;
+            }
+            bufferPosition++;
+        }
+    }
+
+    /**
+     * Method to consume the next non-whitespace character
+     *
+     * @return Next non-whitespace character
+     * @throws IOException when the end of the response is reached
+     */
+    private char nextToken() throws IOException {
+        char c = peekToken();
+        bufferPosition++;
+        if (valueText != null) {
+            valueText.append(c);
+        }
+        return c;
+    }
+
+    /**
+     * Method to consume the next character
+     *
+     * @return Next character
+     * @throws IOException when the end of the response is reached
+     */
+    private char next() throws IOException {
+        if (bufferPosition == bufferLimit && !fillBuffer()) {
+            throw syntaxError("Unexpected end of SQL Runner response");
+        }
+        final char c = buffer[bufferPosition++];
+        if (valueText != null) {
+            valueText.append(c);
+        }
+        return c;
+    }
+
+    /**
+     * Method to read the next block of characters from the response
+     *
+     * @return False when the end of the response is reached
+     * @throws IOException when the response cannot be read
+     */
+    private boolean fillBuffer() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        bufferPosition = 0;
+        bufferLimit = read;
+        return true;
+    }
+
+    /**
+     * Method to check for JSON whitespace
+     *
+     * @param c Character to check
+     * @return Boolean (True or False)
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * Method to convert a unicode escape character to its value
+     *
+     * @param c Hexadecimal character
+     * @return Value of the character (0 to 15)
+     * @throws IOException when the character is not hexadecimal
+     */
+    private int hexValue(char c) throws IOException {
+        int value = Character.digit(c, 16);
+        if (value < 0) {
+            throw syntaxError("Invalid unicode escape character '" + c + "'");
+        }
+        return value;
+    }
+
+    /**
+     * Method to create the exception for an invalid SQL Runner response
+     *
+     * @param message Description of the syntax error
+     * @return IOException with the message
+     */
+    private IOException syntaxError(String message) {
+        return new IOException("SQL Runner response JSON syntax error: " + message);
+    }
+}
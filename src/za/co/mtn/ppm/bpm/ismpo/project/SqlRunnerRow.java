@@ -0,0 +1,59 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+/**
+ * Class for storing a single SQL Runner row as an array of values indexed by column ordinal.
+ * The column headers are shared with all the other rows of the SQL Runner result.
+ */
+public class SqlRunnerRow {
+    private final SqlRunnerResult result;
+    private final String[] values;
+
+    /**
+     * Constructor method for a SQL Runner row
+     *
+     * @param result SQL Runner result holding the column headers of the row
+     * @param values Column values in column header order
+     */
+    protected SqlRunnerRow(SqlRunnerResult result, String[] values) {
+        this.result = result;
+        this.values = values;
+    }
+
+    /**
+     * Get method for the SQL Runner result of the row
+     *
+     * @return SQL Runner result with the column headers
+     */
+    protected SqlRunnerResult getResult() {
+        return result;
+    }
+
+    /**
+     * Get method for the column values of the row
+     *
+     * @return Column values in column header order
+     */
+    protected String[] getValues() {
+        return values;
+    }
+
+    /**
+     * Method to get a column value by column ordinal
+     *
+     * @param ordinal Column ordinal
+     * @return Column value string (null when the row has no value for the column)
+     */
+    protected String get(int ordinal) {
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : null;
+    }
+
+    /**
+     * Method to get a column value by column header
+     *
+     * @param columnHeader Column header
+     * @return Column value string (null when the result does not have the column)
+     */
+    protected String get(String columnHeader) {
+        return get(result.getColumnOrdinal(columnHeader));
+    }
+}
@@ -0,0 +1,167 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Class for the streaming JSON codec: the responses are read token by token with the SqlRunnerResultReader, without
+ * building the response String or an object tree, and the Feature update payloads are written straight into UTF-8
+ * bytes with the FeaturePayloadWriter. The codec has no state and is shared by all the threads.
+ */
+public class StreamingJsonCodec implements PpmJsonCodec {
+    protected static final String NAME = "streaming";
+
+    /**
+     * Get method for the codec name
+     *
+     * @return Codec name
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Method to read a SQL Runner response into a SQL Runner result
+     *
+     * @param reader Character stream of the SQL Runner response body
+     * @return SQL Runner result with all the rows of the response
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public SqlRunnerResult readSqlRunnerResult(Reader reader) throws IOException {
+        return SqlRunnerResult.read(reader);
+    }
+
+    /**
+     * Method to read a SQL Runner response and hand every row to the handler
+     *
+     * @param reader  Character stream of the SQL Runner response body
+     * @param handler Handler receiving the rows
+     * @return Number of rows read
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public int readSqlRunnerRows(Reader reader, SqlRunnerResultReader.RowHandler handler) throws IOException {
+        return new SqlRunnerResultReader(reader).read(handler);
+    }
+
+    /**
+     * Method to read the members of a JSON object response
+     *
+     * @param reader Character stream of the response body
+     * @return Members of the JSON object in response order
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public Map<String, String> readObjectMembers(Reader reader) throws IOException {
+        return new SqlRunnerResultReader(reader).readObjectMembers();
+    }
+
+    /**
+     * Method to read a JSON object response as its compact JSON text
+     *
+     * @param reader Character stream of the response body
+     * @return JSON text of the response
+     * @throws IOException when the response cannot be read
+     */
+    @Override
+    public String readObjectText(Reader reader) throws IOException {
+        return new SqlRunnerResultReader(reader).readValueText();
+    }
+
+    /**
+     * Method to write the SQL Runner query payload {"querySql":"..."}
+     *
+     * @param querySql SQL String
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Override
+    public byte[] writeSqlQuery(String querySql) {
+        return FeaturePayloadWriter.encodeStringMember("querySql", querySql);
+    }
+
+    /**
+     * Method to encode the IT Project payload template fields into UTF-8 bytes once per IT Project
+     *
+     * @param processingDate Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param milestoneToken Token of the IT Project Milestone HTML field (null when the Milestones are not part of the payload)
+     * @param milestoneHtml  IT Project Milestone HTML
+     * @return Template fields as UTF-8 bytes
+     */
+    @Override
+    public TemplateFields encodeTemplateFields(String processingDate, String milestoneToken, String milestoneHtml) {
+        return new EncodedTemplateFields(FeaturePayloadWriter.encodeDateField(LAST_UPDATE_DATE_TOKEN, processingDate),
+                FeaturePayloadWriter.encodeDateField(ENTITY_LAST_UPDATE_DATE_TOKEN, processingDate),
+                milestoneToken != null ? FeaturePayloadWriter.encodeStringField(milestoneToken, milestoneHtml) : null);
+    }
+
+    /**
+     * Method to write the Feature update payload from the encoded template fields and the changed Feature fields
+     * straight into the UTF-8 bytes of the PUT Request Body
+     *
+     * @param payloadTemplate IT Project payload template
+     * @param milestoneField  Boolean (True when the Milestone HTML field is part of the payload)
+     * @param fieldTokens     Tokens of the changed Feature fields
+     * @param fieldValues     String values of the changed Feature fields
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Override
+    public byte[] writeFeatureUpdatePayload(ProjectPayloadTemplate payloadTemplate, boolean milestoneField, String[] fieldTokens, String[] fieldValues) {
+        EncodedTemplateFields templateFields = payloadTemplate.getEncodedFields() instanceof EncodedTemplateFields
+                ? (EncodedTemplateFields) payloadTemplate.getEncodedFields()
+                : (EncodedTemplateFields) encodeTemplateFields(payloadTemplate.getProcessingDate(), payloadTemplate.getMilestoneToken(), payloadTemplate.getMilestoneHtml());
+        // Start with the required fields to update the PPM Feature (encoded once per IT Project)
+        FeaturePayloadWriter payloadWriter = FeaturePayloadWriter.get()
+                .addEncodedField(templateFields.lastUpdateDateField)
+                .addEncodedField(templateFields.entityLastUpdateDateField);
+        if (milestoneField) {
+            payloadWriter.addEncodedField(templateFields.milestoneField);
+        }
+        for (int i = 0; i < fieldTokens.length; i++) {
+            payloadWriter.addStringField(fieldTokens[i], fieldValues[i]);
+        }
+        return payloadWriter.end().toByteArray();
+    }
+
+    /**
+     * Method to write the IT Project Status and Phase update payload straight into UTF-8 bytes
+     *
+     * @param processingDate  Last Update Date in "yyyy-MM-dd'T'HH:mm:ss" format
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return UTF-8 bytes of the JSON payload
+     */
+    @Override
+    public byte[] writeStatusPhasePayload(String processingDate, String itProjectStatus, String itProjectPhase) {
+        return FeaturePayloadWriter.get()
+                .addDateField(LAST_UPDATE_DATE_TOKEN, processingDate)
+                .addDateField(ENTITY_LAST_UPDATE_DATE_TOKEN, processingDate)
+                .addStringField(STATUS_TOKEN, itProjectStatus)
+                .addStringField(PHASE_TOKEN, itProjectPhase)
+                .end().toByteArray();
+    }
+
+    /**
+     * Class for the template fields encoded into UTF-8 bytes, copied as is into every Feature payload of the IT Project
+     */
+    private static final class EncodedTemplateFields implements TemplateFields {
+        private final byte[] lastUpdateDateField;
+        private final byte[] entityLastUpdateDateField;
+        private final byte[] milestoneField;
+
+        /**
+         * Constructor method for the encoded template fields
+         *
+         * @param lastUpdateDateField       UTF-8 bytes of the REQ.LAST_UPDATE_DATE field
+         * @param entityLastUpdateDateField UTF-8 bytes of the REQ.ENTITY_LAST_UPDATE_DATE field
+         * @param milestoneField            UTF-8 bytes of the IT Project Milestone HTML field (null when the Milestones are not part of the payload)
+         */
+        private EncodedTemplateFields(byte[] lastUpdateDateField, byte[] entityLastUpdateDateField, byte[] milestoneField) {
+            this.lastUpdateDateField = lastUpdateDateField;
+            this.entityLastUpdateDateField = entityLastUpdateDateField;
+            this.milestoneField = milestoneField;
+        }
+    }
+}
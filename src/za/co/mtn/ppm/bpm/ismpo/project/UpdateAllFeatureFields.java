@@ -2,7 +2,10 @@ package za.co.mtn.ppm.bpm.ismpo.project;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Class to update the following PPM Feature Request Types:
@@ -16,6 +19,12 @@ public class UpdateAllFeatureFields {
     // Variable to set the REST API URL
     private static final String REQ_REST_URL = "rest2/dm/requests";
     private static final String SQL_REST_URL = "rest2/sqlRunner/runSqlQuery";
+    // Get all the Feature Request Types with one combined SQL query (disable with -Dispmo.feature.combinedQuery=false)
+    private static final boolean COMBINED_FEATURE_QUERY = Boolean.parseBoolean(System.getProperty("ispmo.feature.combinedQuery", "true"));
+    // Skip Features whose only change is the Milestone HTML already PUT by an earlier run (disable with -Dispmo.cache.enabled=false)
+    static final boolean PAYLOAD_CACHE_ENABLED = Boolean.parseBoolean(System.getProperty("ispmo.cache.enabled", "true"));
+    // Run the queries and Feature updates as one non-blocking CompletableFuture pipeline (enable with -Dispmo.feature.async=true)
+    static final boolean ASYNC_PIPELINE = Boolean.getBoolean("ispmo.feature.async");
 
     /**
      * Main method to this class passing specific arguments
@@ -52,64 +61,333 @@ public class UpdateAllFeatureFields {
         final String requestId = args[3];
         final String projectRequestType = args[4];
 
-        // Create new instances of IspmoItProjectProcessorOld class
-        IspmoItProjectProcessor processor = new IspmoItProjectProcessor();
+        // Create the shared PPM REST Client and Feature Payload Cache for this run and the IspmoItProjectProcessor class instance using them
+        PpmRestClient restClient = new PpmRestClient();
+        FeaturePayloadCache payloadCache = PAYLOAD_CACHE_ENABLED ? new FeaturePayloadCache() : null;
+        IspmoItProjectProcessor processor = new IspmoItProjectProcessor(restClient, payloadCache);
+        // Engine running the Feature Request updates concurrently (the async pipeline does not need worker threads)
+        FeatureUpdateEngine updateEngine = ASYNC_PIPELINE ? null : new FeatureUpdateEngine();
+        FeatureUpdateSummary updateSummary = null;
+        try {
+            try {
+                updateSummary = ASYNC_PIPELINE
+                        ? updateAllFeatureFieldsAsync(processor, ppmBaseUrl, username, password, requestId, projectRequestType).join()
+                        : updateAllFeatureFields(processor, updateEngine, ppmBaseUrl, username, password, requestId, projectRequestType);
+                updateSummary.log();
+            } catch (RuntimeException e) {
+                // A PPM query failed after the retries, the payload cache and call metrics below are still saved
+                log("Update ALL Feature Fields stopped for IT Project #" + requestId + ": " + (e instanceof CompletionException ? e.getCause() : e));
+            }
+            if (updateEngine != null) {
+                updateEngine.shutdown();
+            }
+            // Store the payloads PUT in this run for the next runs
+            if (payloadCache != null) {
+                payloadCache.save();
+            }
+            // Report the connection reuse of the shared PPM REST Client
+            restClient.logConnectionReuse();
+            // Write the call metrics of every PPM REST API operation
+            restClient.getCallResilience().log();
+            restClient.getCallMetrics().save();
+        } finally {
+            // Stop the OkHttp dispatcher threads and close the pooled connections, so the JVM exits at once
+            restClient.close();
+        }
+        // Exit with a failure only after the whole batch was processed
+        if (updateSummary == null || updateSummary.hasFailures()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method to update all the Feature Request Types linked to one IT Project.
+     * Used by the main method and by the BulkProjectRunner, which reuses the processor and engine for many IT Projects.
+     *
+     * @param processor          IT Project processor (with the shared PPM REST Client)
+     * @param updateEngine       Engine running the Feature Request updates
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param requestId          IT Project Request ID
+     * @param projectRequestType IT Project Request Type Name
+     * @return Summary with the outcome of every Feature Request update of the IT Project
+     */
+    protected static FeatureUpdateSummary updateAllFeatureFields(IspmoItProjectProcessor processor, FeatureUpdateEngine updateEngine, String ppmBaseUrl,
+                                                                 String username, String password, String requestId, String projectRequestType) {
         log("<<-- Start Update ALL Feature Fields -->>");
-        log("<<- Get IT Project Data with SQL Query ->>");
-        HashMap<String, String> itProjectInformation = processor.getItProjectData(ppmBaseUrl, username, password, SQL_REST_URL, requestId, projectRequestType);
-        log("<<- Get IT Project Milestones with SQL Query ->>");
-        ArrayList<ProjectMilestoneValues> projectMilestoneArraylist = processor.getItProjectMilestoneData(ppmBaseUrl, username, password, SQL_REST_URL, requestId);
+        // Issue the independent SQL Runner queries concurrently and wait for all of them before the update phase
+        SqlQueryFanOut queryFanOut = new SqlQueryFanOut();
+        log("<<- Get IT Project Data, IT Project Milestones and linked Feature Data with SQL Queries ->>");
+        CompletableFuture<SqlRunnerRow> itProjectQuery = queryFanOut.submit("IT Project Data", () -> processor.getItProjectData(ppmBaseUrl, username, password, SQL_REST_URL, requestId, projectRequestType));
+        CompletableFuture<ArrayList<ProjectMilestoneValues>> milestoneQuery = queryFanOut.submit("IT Project Milestones", () -> processor.getItProjectMilestoneData(ppmBaseUrl, username, password, SQL_REST_URL, requestId));
+        CompletableFuture<SqlRunnerResult> ispmoFeatureQuery;
+        CompletableFuture<SqlRunnerResult> ispmoTestingFeatureQuery;
+        CompletableFuture<SqlRunnerResult> octaneInitiatedFeatureQuery;
+        if (COMBINED_FEATURE_QUERY) {
+            // One SQL Runner round trip for all the Feature Request Types, split into a result per Request Type
+            CompletableFuture<HashMap<String, SqlRunnerResult>> allFeatureQuery = queryFanOut.submit("All Feature Data", () -> processor.getAllPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, requestId));
+            ispmoFeatureQuery = allFeatureQuery.thenApply(allFeatures -> allFeatures.get("IS PMO Feature"));
+            ispmoTestingFeatureQuery = allFeatureQuery.thenApply(allFeatures -> allFeatures.get("IS PMO Testing Feature"));
+            octaneInitiatedFeatureQuery = allFeatureQuery.thenApply(allFeatures -> allFeatures.get("Octane Initiated Feature"));
+        } else {
+            ispmoFeatureQuery = queryFanOut.submit("IS PMO Feature Data", () -> processor.getPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, "IS PMO Feature", requestId));
+            ispmoTestingFeatureQuery = queryFanOut.submit("IS PMO Testing Feature Data", () -> processor.getPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, "IS PMO Testing Feature", requestId));
+            octaneInitiatedFeatureQuery = queryFanOut.submit("Octane Initiated Feature Data", () -> processor.getPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, "Octane Initiated Feature", requestId));
+        }
+        try {
+            queryFanOut.awaitAll();
+        } finally {
+            queryFanOut.shutdown();
+        }
+        HashMap<String, SqlRunnerResult> featureInformation = new HashMap<>();
+        featureInformation.put("IS PMO Feature", ispmoFeatureQuery.join());
+        featureInformation.put("IS PMO Testing Feature", ispmoTestingFeatureQuery.join());
+        featureInformation.put("Octane Initiated Feature", octaneInitiatedFeatureQuery.join());
+        return updateAllFeatureFields(processor, updateEngine, ppmBaseUrl, username, password, requestId, projectRequestType,
+                itProjectQuery.join(), milestoneQuery.join(), featureInformation);
+    }
 
+    /**
+     * Method to update all the Feature Request Types linked to one IT Project from IT Project and Feature data that was
+     * already queried. Used by the BulkProjectRunner, which queries the data of many IT Projects with one query per chunk.
+     *
+     * @param processor                 IT Project processor (with the shared PPM REST Client)
+     * @param updateEngine              Engine running the Feature Request updates
+     * @param ppmBaseUrl                PPM Base URL for identifying the PPM environment
+     * @param username                  PPM User for access to the PPM entities.
+     * @param password                  PPM User password
+     * @param requestId                 IT Project Request ID
+     * @param projectRequestType        IT Project Request Type Name
+     * @param itProjectInformation      IT Project row
+     * @param projectMilestoneArraylist IT Project Milestones
+     * @param featureInformation        HashMap with the Feature Request Type Name as Key and the Feature rows as Value
+     * @return Summary with the outcome of every Feature Request update of the IT Project
+     */
+    protected static FeatureUpdateSummary updateAllFeatureFields(IspmoItProjectProcessor processor, FeatureUpdateEngine updateEngine, String ppmBaseUrl,
+                                                                 String username, String password, String requestId, String projectRequestType,
+                                                                 SqlRunnerRow itProjectInformation, ArrayList<ProjectMilestoneValues> projectMilestoneArraylist,
+                                                                 HashMap<String, SqlRunnerResult> featureInformation) {
         if (projectMilestoneArraylist.isEmpty()) {
             log("No IT Project Work Plan and Milestones added to the IT Project #" + requestId);
         }
-        log("<<- Get IS PMO Feature Data linked to the IT Project with SQL Query ->>");
-        HashMap<String, HashMap<String, String>> ispmoFeatureInformtation = processor.getPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, "IS PMO Feature", requestId);
+        // Payload fragments shared by all the Features of the IT Project (with and without the IT Project Milestones)
+        final ProjectPayloadTemplate milestonePayloadTemplate = processor.createProjectPayloadTemplate(itProjectInformation, projectMilestoneArraylist, projectRequestType);
+        final ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectInformation, null, projectRequestType);
+        // Journal of the Features processed by this run, a rerun after a failure resumes with the unprocessed Features
+        final FeatureUpdateCheckpoint checkpoint = FeatureUpdateCheckpoint.open(requestId, "UPDATE_ALL," + projectRequestType,
+                getProjectState(itProjectInformation, milestonePayloadTemplate));
+        SqlRunnerResult ispmoFeatureInformtation = featureInformation.get("IS PMO Feature");
         if (ispmoFeatureInformtation.isEmpty()) {
             log("- No IS PMO Feature Data linked to this IT Project");
         } else {
             log("<<-- Update IS PMO Feature Request Fields -->>");
-            int ispmoFeatureCreatedCounter = 1;
-            for (Map.Entry<String, HashMap<String, String>> set : ispmoFeatureInformtation.entrySet()) {
-                // Printing Keys(Request ID) for outer Map
-                log("<strong><<- IS PMO Feature ID: " + set.getKey() + "->></strong>");
-                // Process the update of the Request Type Fields//
-                processor.updateFeatureRequestFields(ppmBaseUrl, username, password, REQ_REST_URL, set.getKey(), projectMilestoneArraylist, itProjectInformation, set.getValue(), projectRequestType);
-                log("<strong><<- End for IS PMO Feature Update process #" + ispmoFeatureCreatedCounter + " ->></strong>");
-                ispmoFeatureCreatedCounter++;
+            for (SqlRunnerRow featureRow : ispmoFeatureInformtation.getRows()) {
+                final String featureRequestId = featureRow.get("FEATURE_REQ_ID");
+                // Queue the update of the Request Type Fields
+                updateEngine.submit("IS PMO Feature", featureRequestId, () -> {
+                    log("<strong><<- IS PMO Feature ID: " + featureRequestId + "->></strong>");
+                    return updateFeature(checkpoint, featureRequestId, () -> processor.updateFeatureRequestFields(ppmBaseUrl, username, password, REQ_REST_URL, featureRequestId, milestonePayloadTemplate, featureRow));
+                });
             }
         }
-        log("<<- Get IS PMO Testing Feature Data linked to the IT Project with SQL Query ->>");
-        HashMap<String, HashMap<String, String>> ispmoTestingFeatureInformtation = processor.getPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, "IS PMO Testing Feature", requestId);
+        SqlRunnerResult ispmoTestingFeatureInformtation = featureInformation.get("IS PMO Testing Feature");
         if (ispmoTestingFeatureInformtation.isEmpty()) {
             log("- No IS PMO Testing Feature Data linked to this IT Project");
         } else {
             log("<<-- Update IS PMO Testing Feature Request Fields -->>");
-            int ispmoTestingFeatureCreateCounter = 1;
-            for (Map.Entry<String, HashMap<String, String>> set : ispmoTestingFeatureInformtation.entrySet()) {
-                // Printing Keys(Request ID) for outer Map
-                log("<strong><<- IS PMO Testing Feature ID: " + set.getKey() + "->>");
-                // Process the update of the Request Type Fields//
-                processor.updateFeatureRequestFields(ppmBaseUrl, username, password, REQ_REST_URL, set.getKey(), projectMilestoneArraylist, itProjectInformation, set.getValue(), projectRequestType);
-                log("<strong><<- End for IS PMO Testing Feature Update process #" + ispmoTestingFeatureCreateCounter + " ->></strong>");
-                ispmoTestingFeatureCreateCounter++;
+            for (SqlRunnerRow featureRow : ispmoTestingFeatureInformtation.getRows()) {
+                final String featureRequestId = featureRow.get("FEATURE_REQ_ID");
+                // Queue the update of the Request Type Fields
+                updateEngine.submit("IS PMO Testing Feature", featureRequestId, () -> {
+                    log("<strong><<- IS PMO Testing Feature ID: " + featureRequestId + "->></strong>");
+                    return updateFeature(checkpoint, featureRequestId, () -> processor.updateFeatureRequestFields(ppmBaseUrl, username, password, REQ_REST_URL, featureRequestId, milestonePayloadTemplate, featureRow));
+                });
             }
         }
-        log("<<- Get Octane Initiated Feature Data linked to the IT Project with SQL Query ->>");
-        HashMap<String, HashMap<String, String>> octaneInitiatedFeatureInformtation = processor.getPpmFeatureRequestData(ppmBaseUrl, username, password, SQL_REST_URL, "Octane Initiated Feature", requestId);
+        SqlRunnerResult octaneInitiatedFeatureInformtation = featureInformation.get("Octane Initiated Feature");
         if (octaneInitiatedFeatureInformtation.isEmpty()) {
             log("- No Octane Initiated Feature Data linked to this IT Project");
         } else {
             log("<<-- Update Octane Initiated Feature Request Fields -->>");
-            int octaneInitiatedFeatureCreateCounter = 1;
-            for (Map.Entry<String, HashMap<String, String>> set : ispmoTestingFeatureInformtation.entrySet()) {
-                log("<strong><<- Octane Initiated Feature ID: " + set.getKey() + "->></strong>");
-                // Process the update of the Request Type Fields//
-                processor.updateFeatureRequestFields(ppmBaseUrl, username, password, REQ_REST_URL, set.getKey(), itProjectInformation, set.getValue(), projectRequestType);
-                log("<strong><<- End for Octane Initiated Feature Update process #" + octaneInitiatedFeatureCreateCounter + " ->></strong>");
-                octaneInitiatedFeatureCreateCounter++;
+            for (SqlRunnerRow featureRow : octaneInitiatedFeatureInformtation.getRows()) {
+                final String featureRequestId = featureRow.get("FEATURE_REQ_ID");
+                // Queue the update of the Request Type Fields
+                updateEngine.submit("Octane Initiated Feature", featureRequestId, () -> {
+                    log("<strong><<- Octane Initiated Feature ID: " + featureRequestId + "->></strong>");
+                    return updateFeature(checkpoint, featureRequestId, () -> processor.updateFeatureRequestFields(ppmBaseUrl, username, password, REQ_REST_URL, featureRequestId, payloadTemplate, featureRow));
+                });
+            }
+        }
+        // Wait for all the queued Feature Request updates
+        FeatureUpdateSummary updateSummary = updateEngine.awaitCompletion();
+        checkpoint.finish(updateSummary);
+        return updateSummary;
+    }
+
+    /**
+     * Async variant of updateAllFeatureFields: the SQL Runner queries are enqueued together and the Feature updates are
+     * enqueued as soon as the queries completed, without a thread waiting per call in flight. The number of calls in
+     * flight to the PPM server is bounded by the OkHttp dispatcher (-Dispmo.http.maxRequestsPerHost).
+     *
+     * @param processor          IT Project processor (with the shared PPM REST Client)
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param requestId          IT Project Request ID
+     * @param projectRequestType IT Project Request Type Name
+     * @return Future completed with the summary of every Feature Request update of the IT Project
+     */
+    protected static CompletableFuture<FeatureUpdateSummary> updateAllFeatureFieldsAsync(IspmoItProjectProcessor processor, String ppmBaseUrl, String username,
+                                                                                        String password, String requestId, String projectRequestType) {
+        log("<<-- Start Update ALL Feature Fields (async) -->>");
+        CompletableFuture<SqlRunnerRow> itProjectQuery = processor.getItProjectDataAsync(ppmBaseUrl, username, password, SQL_REST_URL, requestId, projectRequestType);
+        CompletableFuture<ArrayList<ProjectMilestoneValues>> milestoneQuery = processor.getItProjectMilestoneDataAsync(ppmBaseUrl, username, password, SQL_REST_URL, requestId);
+        CompletableFuture<HashMap<String, SqlRunnerResult>> featureQuery;
+        if (COMBINED_FEATURE_QUERY) {
+            featureQuery = processor.getAllPpmFeatureRequestDataAsync(ppmBaseUrl, username, password, SQL_REST_URL, requestId);
+        } else {
+            CompletableFuture<SqlRunnerResult> ispmoFeatureQuery = processor.getPpmFeatureRequestDataAsync(ppmBaseUrl, username, password, SQL_REST_URL, "IS PMO Feature", requestId);
+            CompletableFuture<SqlRunnerResult> ispmoTestingFeatureQuery = processor.getPpmFeatureRequestDataAsync(ppmBaseUrl, username, password, SQL_REST_URL, "IS PMO Testing Feature", requestId);
+            CompletableFuture<SqlRunnerResult> octaneInitiatedFeatureQuery = processor.getPpmFeatureRequestDataAsync(ppmBaseUrl, username, password, SQL_REST_URL, "Octane Initiated Feature", requestId);
+            featureQuery = CompletableFuture.allOf(ispmoFeatureQuery, ispmoTestingFeatureQuery, octaneInitiatedFeatureQuery).thenApply(ignored -> {
+                HashMap<String, SqlRunnerResult> featureInformation = new HashMap<>();
+                featureInformation.put("IS PMO Feature", ispmoFeatureQuery.join());
+                featureInformation.put("IS PMO Testing Feature", ispmoTestingFeatureQuery.join());
+                featureInformation.put("Octane Initiated Feature", octaneInitiatedFeatureQuery.join());
+                return featureInformation;
+            });
+        }
+        return CompletableFuture.allOf(itProjectQuery, milestoneQuery, featureQuery)
+                .thenCompose(ignored -> updateAllFeatureFieldsAsync(processor, ppmBaseUrl, username, password, requestId, projectRequestType,
+                        itProjectQuery.join(), milestoneQuery.join(), featureQuery.join()));
+    }
+
+    /**
+     * Async variant of updateAllFeatureFields from IT Project and Feature data that was already queried: every Feature
+     * update is enqueued at once and the returned future completes when all of them returned.
+     *
+     * @param processor                 IT Project processor (with the shared PPM REST Client)
+     * @param ppmBaseUrl                PPM Base URL for identifying the PPM environment
+     * @param username                  PPM User for access to the PPM entities.
+     * @param password                  PPM User password
+     * @param requestId                 IT Project Request ID
+     * @param projectRequestType        IT Project Request Type Name
+     * @param itProjectInformation      IT Project row
+     * @param projectMilestoneArraylist IT Project Milestones
+     * @param featureInformation        HashMap with the Feature Request Type Name as Key and the Feature rows as Value
+     * @return Future completed with the summary of every Feature Request update of the IT Project
+     */
+    protected static CompletableFuture<FeatureUpdateSummary> updateAllFeatureFieldsAsync(IspmoItProjectProcessor processor, String ppmBaseUrl, String username,
+                                                                                        String password, String requestId, String projectRequestType,
+                                                                                        SqlRunnerRow itProjectInformation, ArrayList<ProjectMilestoneValues> projectMilestoneArraylist,
+                                                                                        HashMap<String, SqlRunnerResult> featureInformation) {
+        if (projectMilestoneArraylist.isEmpty()) {
+            log("No IT Project Work Plan and Milestones added to the IT Project #" + requestId);
+        }
+        // Payload fragments shared by all the Features of the IT Project (with and without the IT Project Milestones)
+        final ProjectPayloadTemplate milestonePayloadTemplate = processor.createProjectPayloadTemplate(itProjectInformation, projectMilestoneArraylist, projectRequestType);
+        final ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectInformation, null, projectRequestType);
+        // Journal of the Features processed by this run, a rerun after a failure resumes with the unprocessed Features
+        final FeatureUpdateCheckpoint checkpoint = FeatureUpdateCheckpoint.open(requestId, "UPDATE_ALL," + projectRequestType,
+                getProjectState(itProjectInformation, milestonePayloadTemplate));
+        List<CompletableFuture<FeatureUpdateResult>> pendingUpdates = new ArrayList<>();
+        for (String featureRequestType : new String[]{"IS PMO Feature", "IS PMO Testing Feature", "Octane Initiated Feature"}) {
+            SqlRunnerResult featureRows = featureInformation.get(featureRequestType);
+            if (featureRows.isEmpty()) {
+                log("- No " + featureRequestType + " Data linked to this IT Project");
+                continue;
             }
+            // The Octane Initiated Features are updated without the IT Project Milestones
+            final ProjectPayloadTemplate featurePayloadTemplate = featureRequestType.equals("Octane Initiated Feature") ? payloadTemplate : milestonePayloadTemplate;
+            log("<<-- Update " + featureRequestType + " Request Fields -->>");
+            for (SqlRunnerRow featureRow : featureRows.getRows()) {
+                final String featureRequestId = featureRow.get("FEATURE_REQ_ID");
+                pendingUpdates.add(updateFeatureAsync(checkpoint, featureRequestType, featureRequestId,
+                        () -> processor.updateFeatureRequestFieldsAsync(ppmBaseUrl, username, password, REQ_REST_URL, featureRequestId, featurePayloadTemplate, featureRow)));
+            }
+        }
+        return CompletableFuture.allOf(pendingUpdates.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<FeatureUpdateResult> results = new ArrayList<>(pendingUpdates.size());
+            for (CompletableFuture<FeatureUpdateResult> pendingUpdate : pendingUpdates) {
+                results.add(pendingUpdate.join());
+            }
+            FeatureUpdateSummary updateSummary = new FeatureUpdateSummary(results);
+            checkpoint.finish(updateSummary);
+            return updateSummary;
+        });
+    }
+
+    /**
+     * Method to get the IT Project values the Feature payloads are built from, identifying the IT Project state of a
+     * checkpoint journal
+     *
+     * @param itProjectInformation     IT Project row
+     * @param milestonePayloadTemplate Payload template with the IT Project Milestones
+     * @return IT Project state string
+     */
+    private static String getProjectState(SqlRunnerRow itProjectInformation, ProjectPayloadTemplate milestonePayloadTemplate) {
+        return String.join(",", itProjectInformation.getValues()) + "," + milestonePayloadTemplate.getMilestoneHtml();
+    }
+
+    /**
+     * Async variant of updateFeature: the update is started unless an earlier attempt of the run already processed the
+     * Feature, and its outcome (including a failure) is recorded as a Feature Update Result
+     *
+     * @param checkpoint         Checkpoint journal of the IT Project run
+     * @param featureRequestType PPM Feature Request Type Name
+     * @param featureRequestId   PPM Feature Request ID
+     * @param task               Task starting the update
+     * @return Future completed with the outcome of the update (never completed exceptionally)
+     */
+    protected static CompletableFuture<FeatureUpdateResult> updateFeatureAsync(FeatureUpdateCheckpoint checkpoint, String featureRequestType, String featureRequestId,
+                                                                               Supplier<CompletableFuture<FeatureUpdateResult.Status>> task) {
+        if (checkpoint.isCompleted(featureRequestId)) {
+            log("Feature ID " + featureRequestId + " already processed by run " + checkpoint.getRunId() + ", update skipped");
+            return CompletableFuture.completedFuture(new FeatureUpdateResult(featureRequestType, featureRequestId, FeatureUpdateResult.Status.SKIPPED, null, 0));
+        }
+        final long start = System.nanoTime();
+        CompletableFuture<FeatureUpdateResult.Status> update;
+        try {
+            update = task.get();
+        } catch (RuntimeException e) {
+            update = new CompletableFuture<>();
+            update.completeExceptionally(e);
+        }
+        return update.handle((status, error) -> {
+            final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (error != null) {
+                final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                log("Feature update failure for " + featureRequestType + " ID " + featureRequestId + ": " + cause);
+                return new FeatureUpdateResult(featureRequestType, featureRequestId, FeatureUpdateResult.Status.FAILED, cause.toString(), elapsedMillis);
+            }
+            if (status == FeatureUpdateResult.Status.FAILED) {
+                return new FeatureUpdateResult(featureRequestType, featureRequestId, status, "PPM rejected the update", elapsedMillis);
+            }
+            checkpoint.markCompleted(featureRequestId, status);
+            return new FeatureUpdateResult(featureRequestType, featureRequestId, status, null, elapsedMillis);
+        });
+    }
+
+    /**
+     * Method to update a Feature unless an earlier attempt of the run already processed it, and record it in the
+     * checkpoint journal once it is processed
+     *
+     * @param checkpoint       Checkpoint journal of the IT Project run
+     * @param featureRequestId PPM Feature Request ID
+     * @param task             Task doing the update
+     * @return Update Status (SKIPPED when the Feature was already processed)
+     */
+    protected static FeatureUpdateResult.Status updateFeature(FeatureUpdateCheckpoint checkpoint, String featureRequestId, FeatureUpdateEngine.FeatureUpdateTask task) {
+        if (checkpoint.isCompleted(featureRequestId)) {
+            log("Feature ID " + featureRequestId + " already processed by run " + checkpoint.getRunId() + ", update skipped");
+            return FeatureUpdateResult.Status.SKIPPED;
+        }
+        FeatureUpdateResult.Status status = task.update();
+        if (status != FeatureUpdateResult.Status.FAILED) {
+            checkpoint.markCompleted(featureRequestId, status);
         }
+        return status;
     }
 
     /**
@@ -122,6 +400,30 @@ public class UpdateAllFeatureFields {
         log("REST_USER_PASSWORD: args[2] (PPM System User Password)");
         log("PRJ_REQUEST_ID: args[3] (IT Project ID/No)");
         log("IT_PROJECT_REQUEST_TYPE: args[3] (IT Project Request Type Name)");
+        log("Optional JVM setting: -Dispmo.feature.maxInFlight=<n> (Maximum concurrent Feature updates, default 4)");
+        log("Optional JVM setting: -Dispmo.feature.virtualThreads=true (Update every Feature on its own virtual thread on Java 21+, capped by -Dispmo.feature.maxInFlight, default false)");
+        log("Optional JVM setting: -Dispmo.feature.combinedQuery=false (One SQL query per Feature Request Type, default true)");
+        log("Optional JVM setting: -Dispmo.milestonesColumn.ispmoFeature=<visible_parameterN> (IS PMO Feature Milestone HTML column, skips unchanged Milestones, without it the Milestone HTML is sent to all the Features)");
+        log("Optional JVM setting: -Dispmo.milestonesColumn.ispmoTestingFeature=<visible_parameterN> (IS PMO Testing Feature Milestone HTML column)");
+        log("Optional JVM setting: -Dispmo.feature.async=true (Non-blocking query and update pipeline, calls in flight bounded by -Dispmo.http.maxRequestsPerHost, default false)");
+        log("Optional JVM setting: -Dispmo.json.codec=json-lib (Read the PPM responses and build the payloads with json-lib instead of the streaming codec, default streaming)");
+        log("Optional JVM setting: -Dispmo.http.gzipResponses=false (Do not ask the PPM server for gzip compressed responses, default true)");
+        log("Optional JVM setting: -Dispmo.http.gzipRequests=true (Send gzip compressed Request Bodies, the PPM server has to accept them, default false)");
+        log("Optional JVM setting: -Dispmo.http.gzipRequestMinBytes=<n> (Minimum Request Body size to compress, default 1024)");
+        log("Optional JVM setting: -Dispmo.cache.enabled=false (Do not skip Features whose only change is the Milestone HTML already PUT, default true)");
+        log("Optional JVM setting: -Dispmo.cache.file=<path> (Feature Payload Cache file, default ispmo-feature-payload-cache.properties)");
+        log("Optional JVM setting: -Dispmo.cache.maxAgeHours=<n> (Feature Payload Cache entry maximum age, default 24)");
+        log("Optional JVM setting: -Dispmo.retry.maxAttempts=<n> (Attempts of a PPM call failing with a 5xx status code or a timeout, default 4)");
+        log("Optional JVM setting: -Dispmo.retry.baseDelayMillis=<n> (Retry backoff before the first retry, doubled for every next retry, default 250)");
+        log("Optional JVM setting: -Dispmo.retry.maxDelayMillis=<n> (Maximum retry backoff, default 8000)");
+        log("Optional JVM setting: -Dispmo.circuit.failureThreshold=<n> (Consecutive PPM call failures opening the circuit breaker, 0 disables it, default 10)");
+        log("Optional JVM setting: -Dispmo.circuit.openSeconds=<n> (Seconds the circuit breaker rejects PPM calls before a trial call, default 30)");
+        log("Optional JVM setting: -Dispmo.checkpoint.enabled=false (Do not keep a checkpoint journal to resume a failed run, default true)");
+        log("Optional JVM setting: -Dispmo.checkpoint.dir=<path> (Checkpoint journal directory, default ispmo-checkpoints)");
+        log("Optional JVM setting: -Dispmo.checkpoint.runId=<id> (Run ID to resume, default derived from the run arguments)");
+        log("Optional JVM setting: -Dispmo.checkpoint.maxAgeHours=<n> (Maximum age of a checkpoint journal to resume, default 24)");
+        log("Optional JVM setting: -Dispmo.metrics.enabled=false (Do not write the PPM REST API call metrics files, default true)");
+        log("Optional JVM setting: -Dispmo.metrics.file=<path> (Base name of the .json and .prom call metrics files, default ispmo-metrics)");
     }
 
     private static void measureMemoryUsage(String prefixMessage) {
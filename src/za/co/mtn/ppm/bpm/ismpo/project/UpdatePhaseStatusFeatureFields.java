@@ -1,6 +1,14 @@
 package za.co.mtn.ppm.bpm.ismpo.project;
 
+import okhttp3.RequestBody;
+
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is used for updating the IT Project Phase and Status from the IT Project workflow execution step commands to the
@@ -10,6 +18,8 @@ public class UpdatePhaseStatusFeatureFields {
     // Variable to set the REST API URL
     private static final String REQ_REST_URL = "rest2/dm/requests";
     private static final String SQL_REST_URL = "rest2/sqlRunner/runSqlQuery";
+    // Send the same Status and Phase payload to all the Features concurrently, skipping the Features already up to date (-Dispmo.statusPhase.batched=true)
+    protected static final boolean BATCHED_PROPAGATION = Boolean.getBoolean("ispmo.statusPhase.batched");
 
     /**
      * Main method to this class passing specific arguments
@@ -25,7 +35,7 @@ public class UpdatePhaseStatusFeatureFields {
      */
     public static void main(String[] args) {
         // Verify that all Command Line Arguments has been submitted
-        if (args.length < 5) {
+        if (args.length < 6) {
             log("The Class Command Line Arguments is incorrect!");
             printCommandLineArguments();
             System.exit(1);
@@ -50,14 +60,108 @@ public class UpdatePhaseStatusFeatureFields {
         final String requestId = args[3];
         final String itProjectStatus = args[4];
         final String itProjectPhase = args[5];
-        // Create new instances of IspmoItProjectProcessor class
-        IspmoItProjectProcessor stateProcessor = new IspmoItProjectProcessor();
+        // Create the shared PPM REST Client for this run and the IspmoItProjectProcessor class instance using it
+        PpmRestClient restClient = new PpmRestClient();
+        IspmoItProjectProcessor stateProcessor = new IspmoItProjectProcessor(restClient);
+        // The Features are updated one after the other, unless every update runs on its own virtual thread
+        FeatureUpdateEngine updateEngine = FeatureUpdateEngine.THREAD_PER_TASK ? new FeatureUpdateEngine() : null;
+
+        FeatureUpdateSummary updateSummary = null;
+        try {
+            try {
+                updateSummary = updatePhaseStatusFeatureFields(stateProcessor, updateEngine, ppmBaseUrl, username, password, requestId, itProjectStatus, itProjectPhase);
+                updateSummary.log();
+            } catch (RuntimeException e) {
+                // The Feature IDs query failed after the retries, the call metrics below are still saved
+                log("Update Status and Phase Feature Fields stopped for IT Project #" + requestId + ": " + e);
+            }
+            if (updateEngine != null) {
+                updateEngine.shutdown();
+            }
+            // Report the connection reuse of the shared PPM REST Client
+            restClient.logConnectionReuse();
+            // Write the call metrics of every PPM REST API operation
+            restClient.getCallResilience().log();
+            restClient.getCallMetrics().save();
+        } finally {
+            // Stop the OkHttp dispatcher threads and close the pooled connections, so the JVM exits at once
+            restClient.close();
+        }
+        // Exit with a failure only after all the Features were processed
+        if (updateSummary == null || updateSummary.hasFailures()) {
+            System.exit(1);
+        }
+    }
 
+    /**
+     * Method to update the IT Project Status and Phase on all the Features linked to one IT Project.
+     * Used by the main method and by the BulkProjectRunner, which reuses the processor for many IT Projects.
+     *
+     * @param stateProcessor  IT Project processor (with the shared PPM REST Client)
+     * @param updateEngine    Engine running the Feature Request updates (null to update the Features one after the other)
+     * @param ppmBaseUrl      PPM Base URL for identifying the PPM environment
+     * @param username        PPM User for access to the PPM entities.
+     * @param password        PPM User password
+     * @param requestId       IT Project Request ID
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return Summary with the outcome of every Feature Request update of the IT Project
+     */
+    protected static FeatureUpdateSummary updatePhaseStatusFeatureFields(IspmoItProjectProcessor stateProcessor, FeatureUpdateEngine updateEngine, String ppmBaseUrl,
+                                                                        String username, String password, String requestId, String itProjectStatus, String itProjectPhase) {
         log("<<-- Start Update ALL Feature Fields -->>");
         log("<<- Get All Feature IDs linked to the IT Project with SQL Query ->>");
-        ArrayList<String> allFeatureIds = stateProcessor.getFeatureIdsLinkedToItProject(ppmBaseUrl, username, password, SQL_REST_URL, requestId);
+        LinkedHashMap<String, String[]> linkedFeatures = stateProcessor.getFeatureIdsLinkedToItProject(ppmBaseUrl, username, password, SQL_REST_URL, requestId);
+        return updatePhaseStatusFeatureFields(stateProcessor, updateEngine, ppmBaseUrl, username, password, requestId, linkedFeatures, itProjectStatus, itProjectPhase);
+    }
+
+    /**
+     * Method to update the IT Project Status and Phase on the Features of one IT Project that were already queried.
+     * Used by the BulkProjectRunner, which queries the Feature IDs of many IT Projects with one query per chunk.
+     * The Features already having the IT Project Status and Phase (current values returned by the Feature IDs query)
+     * are recorded as SKIPPED without a PUT Request.
+     *
+     * @param stateProcessor  IT Project processor (with the shared PPM REST Client)
+     * @param updateEngine    Engine running the Feature Request updates (null to update the Features one after the other)
+     * @param ppmBaseUrl      PPM Base URL for identifying the PPM environment
+     * @param username        PPM User for access to the PPM entities.
+     * @param password        PPM User password
+     * @param requestId       IT Project Request ID
+     * @param linkedFeatures  PPM Feature IDs linked to the IT Project with their current IT Project Status and Phase
+     * @param itProjectStatus IT Project Status
+     * @param itProjectPhase  IT Project Phase
+     * @return Summary with the outcome of every Feature Request update of the IT Project
+     */
+    protected static FeatureUpdateSummary updatePhaseStatusFeatureFields(IspmoItProjectProcessor stateProcessor, FeatureUpdateEngine updateEngine, String ppmBaseUrl,
+                                                                        String username, String password, String requestId, Map<String, String[]> linkedFeatures,
+                                                                        String itProjectStatus, String itProjectPhase) {
+        final List<String> allFeatureIds = new ArrayList<>(linkedFeatures.keySet());
+        // Features already in the target state, no PUT Request is sent for them
+        final Set<String> upToDateFeatureIds = new HashSet<>();
+        for (Map.Entry<String, String[]> linkedFeature : linkedFeatures.entrySet()) {
+            if (IspmoItProjectProcessor.hasFeatureStatusPhase(linkedFeature.getValue(), itProjectStatus, itProjectPhase)) {
+                upToDateFeatureIds.add(linkedFeature.getKey());
+            }
+        }
+        if (!upToDateFeatureIds.isEmpty()) {
+            log("- " + upToDateFeatureIds.size() + " of " + allFeatureIds.size() + " Features already have the IT Project Status and Phase, their update is skipped");
+        }
+        if (BATCHED_PROPAGATION) {
+            return updatePhaseStatusFeatureFieldsBatched(stateProcessor, ppmBaseUrl, username, password, requestId, allFeatureIds, upToDateFeatureIds, itProjectStatus, itProjectPhase);
+        }
+        List<FeatureUpdateResult> results = new ArrayList<>();
+        // Journal of the Features processed by this run, a rerun after a failure resumes with the unprocessed Features
+        final FeatureUpdateCheckpoint checkpoint = FeatureUpdateCheckpoint.open(requestId, "PHASE_STATUS," + itProjectStatus + "," + itProjectPhase,
+                itProjectStatus + "," + itProjectPhase);
         if (allFeatureIds.isEmpty()) {
             log("- No IS PMO Feature Data linked to this IT Project");
+        } else if (updateEngine != null) {
+            log("<<- Update IT Project Status and IT Project Phase fields on " + allFeatureIds.size() + " Features concurrently ->>");
+            for (String allFeatureId : allFeatureIds) {
+                updateEngine.submit("PPM Feature", allFeatureId, () -> UpdateAllFeatureFields.updateFeature(checkpoint, allFeatureId,
+                        () -> updateFeatureStatusPhase(stateProcessor, ppmBaseUrl, username, password, allFeatureId, upToDateFeatureIds, itProjectStatus, itProjectPhase)));
+            }
+            results.addAll(updateEngine.awaitCompletion().getResults());
         } else {
             log("<<- Update IT Project Status and IT Project Phase fields ->>");
             int featureUpdateCounter = 1;
@@ -65,12 +169,95 @@ public class UpdatePhaseStatusFeatureFields {
                 // PPM Output
                 // Printing Keys(Request ID) for outer Map
                 log("<strong><<- PPM Feature ID: " + allFeatureId + "->></strong>");
-                // Process the update of the Request Type Fields//
-                stateProcessor.updateFeatureRequestStatusPhaseFields(ppmBaseUrl, username, password, REQ_REST_URL, allFeatureId, itProjectStatus, itProjectPhase);
+                // Process the update of the Request Type Fields
+                long start = System.nanoTime();
+                try {
+                    FeatureUpdateResult.Status status = UpdateAllFeatureFields.updateFeature(checkpoint, allFeatureId,
+                            () -> updateFeatureStatusPhase(stateProcessor, ppmBaseUrl, username, password, allFeatureId, upToDateFeatureIds, itProjectStatus, itProjectPhase));
+                    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                    results.add(new FeatureUpdateResult("PPM Feature", allFeatureId, status,
+                            status == FeatureUpdateResult.Status.FAILED ? "PPM rejected the Status and Phase update" : null, elapsedMillis));
+                } catch (RuntimeException e) {
+                    // Record the failure (IO failure or open circuit breaker) and continue with the next Feature
+                    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                    log("Status and Phase update failure for PPM Feature ID " + allFeatureId + ": " + e);
+                    results.add(new FeatureUpdateResult("PPM Feature", allFeatureId, FeatureUpdateResult.Status.FAILED, e.toString(), elapsedMillis));
+                }
                 log("<strong><<- End for IS PMO Feature Update process #" + featureUpdateCounter + " ->></strong>");
                 featureUpdateCounter++;
             }
         }
+        FeatureUpdateSummary updateSummary = new FeatureUpdateSummary(results);
+        checkpoint.finish(updateSummary);
+        return updateSummary;
+    }
+
+    /**
+     * Method to update the IT Project Status and Phase of one Feature, unless the Feature is already up to date
+     *
+     * @param stateProcessor     IT Project processor (with the shared PPM REST Client)
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param featureId          PPM Feature ID
+     * @param upToDateFeatureIds PPM Feature IDs already having the IT Project Status and Phase
+     * @param itProjectStatus    IT Project Status
+     * @param itProjectPhase     IT Project Phase
+     * @return Update Status (UPDATED, SKIPPED when already up to date or FAILED)
+     */
+    private static FeatureUpdateResult.Status updateFeatureStatusPhase(IspmoItProjectProcessor stateProcessor, String ppmBaseUrl, String username, String password,
+                                                                       String featureId, Set<String> upToDateFeatureIds, String itProjectStatus, String itProjectPhase) {
+        if (upToDateFeatureIds.contains(featureId)) {
+            return FeatureUpdateResult.Status.SKIPPED;
+        }
+        return stateProcessor.updateFeatureRequestStatusPhaseFields(ppmBaseUrl, username, password, REQ_REST_URL, featureId, itProjectStatus, itProjectPhase)
+                ? FeatureUpdateResult.Status.UPDATED : FeatureUpdateResult.Status.FAILED;
+    }
+
+    /**
+     * Method to propagate the IT Project Status and Phase to the Features of one IT Project in one batch.
+     * The payload is built and serialized once and the PUT Requests of the Features that are not up to date are enqueued
+     * together on the shared PPM REST Client (calls in flight bounded by -Dispmo.http.maxRequestsPerHost).
+     *
+     * @param stateProcessor     IT Project processor (with the shared PPM REST Client)
+     * @param ppmBaseUrl         PPM Base URL for identifying the PPM environment
+     * @param username           PPM User for access to the PPM entities.
+     * @param password           PPM User password
+     * @param requestId          IT Project Request ID
+     * @param allFeatureIds      PPM Feature IDs linked to the IT Project
+     * @param upToDateFeatureIds PPM Feature IDs already having the IT Project Status and Phase
+     * @param itProjectStatus    IT Project Status
+     * @param itProjectPhase     IT Project Phase
+     * @return Summary with the outcome of every Feature Request update of the IT Project
+     */
+    protected static FeatureUpdateSummary updatePhaseStatusFeatureFieldsBatched(IspmoItProjectProcessor stateProcessor, String ppmBaseUrl, String username, String password,
+                                                                               String requestId, List<String> allFeatureIds, Set<String> upToDateFeatureIds,
+                                                                               String itProjectStatus, String itProjectPhase) {
+        List<FeatureUpdateResult> results = new ArrayList<>(allFeatureIds.size());
+        // Journal of the Features processed by this run, a rerun after a failure resumes with the unprocessed Features
+        final FeatureUpdateCheckpoint checkpoint = FeatureUpdateCheckpoint.open(requestId, "PHASE_STATUS," + itProjectStatus + "," + itProjectPhase,
+                itProjectStatus + "," + itProjectPhase);
+        if (allFeatureIds.isEmpty()) {
+            log("- No IS PMO Feature Data linked to this IT Project");
+        } else {
+            log("<<- Update IT Project Status and IT Project Phase fields on " + (allFeatureIds.size() - upToDateFeatureIds.size()) + " Features in one batch ->>");
+            // The payload is the same for every Feature
+            final RequestBody payloadBody = stateProcessor.createFeatureRequestStatusPhaseBody(itProjectStatus, itProjectPhase);
+            List<CompletableFuture<FeatureUpdateResult>> pendingUpdates = new ArrayList<>(allFeatureIds.size());
+            for (String featureId : allFeatureIds) {
+                pendingUpdates.add(UpdateAllFeatureFields.updateFeatureAsync(checkpoint, "PPM Feature", featureId, () -> upToDateFeatureIds.contains(featureId)
+                        ? CompletableFuture.completedFuture(FeatureUpdateResult.Status.SKIPPED)
+                        : stateProcessor.updateFeatureRequestStatusPhaseFieldsAsync(ppmBaseUrl, username, password, REQ_REST_URL, featureId, payloadBody)
+                        .thenApply(updated -> updated ? FeatureUpdateResult.Status.UPDATED : FeatureUpdateResult.Status.FAILED)));
+            }
+            // Failures are recorded in the results, the futures complete normally
+            for (CompletableFuture<FeatureUpdateResult> pendingUpdate : pendingUpdates) {
+                results.add(pendingUpdate.join());
+            }
+        }
+        FeatureUpdateSummary updateSummary = new FeatureUpdateSummary(results);
+        checkpoint.finish(updateSummary);
+        return updateSummary;
     }
 
     /**
@@ -84,6 +271,20 @@ public class UpdatePhaseStatusFeatureFields {
         log("PRJ_REQUEST_ID: args[3] (IT Project ID/No)");
         log("PRJ_STATUS: args[4] (IT Project Status)");
         log("PRJ_PHASE: args[5] (IT Project Phase)");
+        log("Optional JVM setting: -Dispmo.feature.virtualThreads=true (Update every Feature on its own virtual thread on Java 21+, default false)");
+        log("Optional JVM setting: -Dispmo.feature.maxInFlight=<n> (Maximum Feature updates in flight with virtual threads, default 4)");
+        log("Optional JVM setting: -Dispmo.statusPhase.batched=true (Send the Status and Phase payload to all the Features concurrently, default false)");
+        log("Optional JVM setting: -Dispmo.json.codec=json-lib (Read the PPM responses and build the payloads with json-lib instead of the streaming codec, default streaming)");
+        log("Optional JVM setting: -Dispmo.http.gzipResponses=false (Do not ask the PPM server for gzip compressed responses, default true)");
+        log("Optional JVM setting: -Dispmo.http.gzipRequests=true (Send gzip compressed Request Bodies, the PPM server has to accept them, default false)");
+        log("Optional JVM setting: -Dispmo.http.gzipRequestMinBytes=<n> (Minimum Request Body size to compress, default 1024)");
+        log("Optional JVM setting: -Dispmo.statusPhaseColumns.ispmoFeature=<visible_parameterN,visible_parameterM> (IS PMO Feature Status and Phase columns read with the Feature IDs, skips up to date Features, without it all the Features are updated)");
+        log("Optional JVM setting: -Dispmo.statusPhaseColumns.ispmoTestingFeature=<visible_parameterN,visible_parameterM> (IS PMO Testing Feature Status and Phase columns)");
+        log("Optional JVM setting: -Dispmo.statusPhaseColumns.octaneInitiatedFeature=<visible_parameterN,visible_parameterM> (Octane Initiated Feature Status and Phase columns)");
+        log("Optional JVM setting: -Dispmo.checkpoint.enabled=false (Do not keep a checkpoint journal to resume a failed run, default true)");
+        log("Optional JVM setting: -Dispmo.checkpoint.runId=<id> (Run ID to resume, default derived from the run arguments)");
+        log("Optional JVM setting: -Dispmo.metrics.enabled=false (Do not write the PPM REST API call metrics files, default true)");
+        log("Optional JVM setting: -Dispmo.metrics.file=<path> (Base name of the .json and .prom call metrics files, default ispmo-metrics)");
     }
 
     /**
@@ -0,0 +1,116 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the FeaturePayloadWriter: payload layout, escapes, UTF-8 encoding and buffer reuse.
+ */
+class FeaturePayloadWriterTest {
+
+    @Test
+    void writesThePayloadLayout() {
+        FeaturePayloadWriter writer = new FeaturePayloadWriter().begin()
+                .addDateField("REQ.LAST_UPDATE_DATE", "2024-05-01T10:15:30")
+                .addEncodedField(FeaturePayloadWriter.encodeStringField("REQD.A", "x"))
+                .addStringField("REQD.B", null)
+                .end();
+        assertEquals("{\"fields\":{\"field\":[{\"token\":\"REQ.LAST_UPDATE_DATE\",\"dateValue\":\"2024-05-01T10:15:30\"},"
+                + "{\"token\":\"REQD.A\",\"stringValue\":[\"x\"]},{\"token\":\"REQD.B\",\"stringValue\":[null]}]}}", writer.toString());
+        assertEquals(writer.toString().length(), writer.size());
+    }
+
+    @Test
+    void writesAnEmptyPayload() {
+        assertEquals("{\"fields\":{\"field\":[]}}", new FeaturePayloadWriter().begin().end().toString());
+    }
+
+    @Test
+    void escapesTheJsonStringCharacters() {
+        assertEquals("\"a\\\"b\\\\c/d<\\/e\\bf\\fg\\nh\\ri\\tj\\u0001\\u001f \u007f\"", encodeValue("a\"b\\c/d</e\bf\fg\nh\ri\tj\u0001\u001f \u007f"));
+    }
+
+    @Test
+    void writesJsonLookingStringsAsStrings() {
+        assertEquals("\"null\"", encodeValue("null"));
+        assertEquals("\"[\\\"A\\\"]\"", encodeValue("[\"A\"]"));
+        assertEquals("\"{}\"", encodeValue("{}"));
+        assertEquals("\"function(){}\"", encodeValue("function(){}"));
+    }
+
+    @Test
+    void encodesUtf8LikeStringGetBytes() {
+        final String[] values = {"caf\u00e9", "\u20ac \u0800 \uffff", "\ud83d\ude00", "a\ud800b", "\udc00", "\ud83d", "x\ude00\ud83d"};
+        for (String value : values) {
+            assertArrayEquals(("\"" + value + "\"").getBytes(StandardCharsets.UTF_8), encodeValueBytes(value), value);
+        }
+    }
+
+    @Test
+    void writesUnpairedSurrogatesAsQuestionMarks() {
+        assertEquals("\"a?b?\"", encodeValue("a\ud800b\udc00"));
+    }
+
+    @Test
+    void growsTheBufferForLargeValues() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            value.append("\u00e9\u0001");
+        }
+        final String expected = "\"" + value.toString().replace("\u0001", "\\u0001") + "\"";
+        assertEquals(expected, encodeValue(value.toString()));
+    }
+
+    @Test
+    void reusesTheThreadWriter() {
+        FeaturePayloadWriter writer = FeaturePayloadWriter.get().addStringField("REQD.A", "first payload with a longer value").end();
+        final byte[] first = writer.toByteArray();
+        FeaturePayloadWriter reused = FeaturePayloadWriter.get().addStringField("REQD.B", "second").end();
+        assertSame(writer, reused);
+        assertEquals("{\"fields\":{\"field\":[{\"token\":\"REQD.A\",\"stringValue\":[\"first payload with a longer value\"]}]}}",
+                new String(first, StandardCharsets.UTF_8));
+        assertEquals("{\"fields\":{\"field\":[{\"token\":\"REQD.B\",\"stringValue\":[\"second\"]}]}}", reused.toString());
+    }
+
+    @Test
+    void encodesASingleStringMember() {
+        assertEquals("{\"querySql\":\"SELECT '<\\/p>' FROM dual\"}",
+                new String(FeaturePayloadWriter.encodeStringMember("querySql", "SELECT '</p>' FROM dual"), StandardCharsets.UTF_8));
+        assertEquals("{\"querySql\":\"\"}", new String(FeaturePayloadWriter.encodeStringMember("querySql", ""), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encodesASingleDateField() {
+        assertEquals("{\"token\":\"REQ.ENTITY_LAST_UPDATE_DATE\",\"dateValue\":\"2024-05-01T10:15:30\"}",
+                new String(FeaturePayloadWriter.encodeDateField("REQ.ENTITY_LAST_UPDATE_DATE", "2024-05-01T10:15:30"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method to encode a value as the stringValue of a field
+     *
+     * @param value String value
+     * @return JSON text of the value
+     */
+    private static String encodeValue(String value) {
+        return new String(encodeValueBytes(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method to encode a value as the stringValue of a field
+     *
+     * @param value String value
+     * @return UTF-8 bytes of the JSON value
+     */
+    private static byte[] encodeValueBytes(String value) {
+        final byte[] field = FeaturePayloadWriter.encodeStringField("T", value);
+        final int start = "{\"token\":\"T\",\"stringValue\":[".length();
+        final byte[] encodedValue = new byte[field.length - start - 2];
+        System.arraycopy(field, start, encodedValue, 0, encodedValue.length);
+        return encodedValue;
+    }
+}
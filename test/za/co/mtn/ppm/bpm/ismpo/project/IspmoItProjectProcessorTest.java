@@ -0,0 +1,40 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the Feature payloads of the IspmoItProjectProcessor: the changed Feature Fields and the deprecated json-lib
+ * payload methods.
+ */
+class IspmoItProjectProcessorTest {
+    private static final String[] IT_PROJECT_COLUMNS = {"ISPMO_PRJ_NUM", "DESCRIPTION", "EPMO_PROJECT_NUM", "ISPMO_PM", "ISPMO_PRJ_RAG", "ISPMO_EPMO_PM"};
+    private static final String[] FEATURE_COLUMNS = {"FEATURE_REQ_ID", "DESCRIPTION", "ISPMO_PM", "ISPMO_PRJ_RAG", "ISPMO_EPMO_PM"};
+    private final IspmoItProjectProcessor processor = new IspmoItProjectProcessor(new PpmRestClient(), null, new JsonLibCodec());
+
+    @Test
+    void sendsTheChangedAndClearedFeatureFields() {
+        final SqlRunnerRow itProjectFields = new SqlRunnerResult(IT_PROJECT_COLUMNS).addRow(new String[]{"1001", "New billing", "null", "", "Green", "null"});
+        final SqlRunnerRow featureFields = new SqlRunnerResult(FEATURE_COLUMNS).addRow(new String[]{"30001", "(IS 1001) New billing", "Jane", "GREEN", ""});
+        ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectFields, null, "IS PMO IT Project");
+        final String payload = new String(processor.writeFeatureRequestUpdatePayload(payloadTemplate, featureFields), StandardCharsets.UTF_8);
+        // Only the IT Project Manager cleared on the IT Project differs (the RAG compare ignores the case, the EPMO PM is blank on both)
+        assertEquals("{\"token\":\"REQD.ISPMO_PM\",\"stringValue\":[\"\"]}]}}", payload.substring(payload.indexOf("{\"token\":\"REQD.")));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void deprecatedJsonLibMethodsBuildTheCodecPayload() {
+        final SqlRunnerRow itProjectFields = new SqlRunnerResult(IT_PROJECT_COLUMNS).addRow(new String[]{"1001", "New billing", "77", "John", "Red", "Ann"});
+        final SqlRunnerRow featureFields = new SqlRunnerResult(FEATURE_COLUMNS).addRow(new String[]{"30001", "old", "Jane", "Red", "Ann"});
+        ProjectPayloadTemplate payloadTemplate = processor.createProjectPayloadTemplate(itProjectFields, null, "IS PMO IT-EPMO Project");
+        assertEquals(new String(processor.writeFeatureRequestUpdatePayload(payloadTemplate, featureFields), StandardCharsets.UTF_8),
+                processor.setJsonObjectUpdateFeatureRequestTypeFields(payloadTemplate, featureFields).toString());
+        assertEquals("{\"token\":\"REQ.DESCRIPTION\",\"stringValue\":[\"(IS 1001) New billing (EPMO 77)\"]}",
+                processor.setFeatureDescription("REQ.", "DESCRIPTION", "1001", "New billing", "77").toString());
+        assertEquals("{\"token\":\"REQD.ISPMO_PRJ_PHASE\",\"stringValue\":[\"Build\"]}", processor.setRequestFieldJsonObj("REQD.ISPMO_PRJ_PHASE", "Build").toString());
+    }
+}
@@ -0,0 +1,115 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests pinning the payload bytes written by the StreamingJsonCodec and the JsonLibCodec, including the string values
+ * that json-lib writes as raw JSON.
+ */
+class JsonCodecPayloadTest {
+    private static final String PROCESSING_DATE = "2024-05-01T10:15:30";
+    private static final String DATE_FIELDS = "{\"token\":\"REQ.LAST_UPDATE_DATE\",\"dateValue\":\"" + PROCESSING_DATE + "\"},"
+            + "{\"token\":\"REQ.ENTITY_LAST_UPDATE_DATE\",\"dateValue\":\"" + PROCESSING_DATE + "\"}";
+    private final PpmJsonCodec streamingCodec = new StreamingJsonCodec();
+    private final PpmJsonCodec jsonLibCodec = new JsonLibCodec();
+
+    @Test
+    void statusPhasePayloadIsTheSameForPlainValues() {
+        final String expected = "{\"fields\":{\"field\":[" + DATE_FIELDS + ","
+                + "{\"token\":\"REQD.ISPMO_PRJ_STATUS\",\"stringValue\":[\"Active\"]},"
+                + "{\"token\":\"REQD.ISPMO_PRJ_PHASE\",\"stringValue\":[\"Build & Test\"]}]}}";
+        assertEquals(expected, utf8(streamingCodec.writeStatusPhasePayload(PROCESSING_DATE, "Active", "Build & Test")));
+        assertEquals(expected, utf8(jsonLibCodec.writeStatusPhasePayload(PROCESSING_DATE, "Active", "Build & Test")));
+    }
+
+    @Test
+    void jsonLookingStringsAreQuotedByTheStreamingCodecOnly() {
+        assertStringValue("null", "[\"null\"]", "[null]");
+        assertStringValue("[1]", "[\"[1]\"]", "[[1]]");
+        assertStringValue("{}", "[\"{}\"]", "[{}]");
+        assertStringValue("[\"A\"]", "[\"[\\\"A\\\"]\"]", "[[\"A\"]]");
+        assertStringValue("function(){}", "[\"function(){}\"]", "[function(){}]");
+    }
+
+    @Test
+    void otherStringsAreTheSameForBothCodecs() {
+        assertStringValue("", "[\"\"]", "[\"\"]");
+        assertStringValue("true", "[\"true\"]", "[\"true\"]");
+        assertStringValue("12", "[\"12\"]", "[\"12\"]");
+        assertStringValue("[TBC]", "[\"[TBC]\"]", "[\"[TBC]\"]");
+        assertStringValue("<p>a</p>", "[\"<p>a<\\/p>\"]", "[\"<p>a<\\/p>\"]");
+        assertStringValue("say \"hi\"\\\n", "[\"say \\\"hi\\\"\\\\\\n\"]", "[\"say \\\"hi\\\"\\\\\\n\"]");
+        assertStringValue("caf\u00e9 \ud83d\ude00", "[\"caf\u00e9 \ud83d\ude00\"]", "[\"caf\u00e9 \ud83d\ude00\"]");
+    }
+
+    @Test
+    void featureUpdatePayloadHasTheTemplateAndChangedFields() {
+        final String expected = "{\"fields\":{\"field\":[" + DATE_FIELDS + ","
+                + "{\"token\":\"REQD.ISPMO_MILESTONES\",\"stringValue\":[\"<table><tr><td>Go Live<\\/td><\\/tr><\\/table>\"]},"
+                + "{\"token\":\"REQ.DESCRIPTION\",\"stringValue\":[\"PRJ-1 - New billing\"]},"
+                + "{\"token\":\"REQD.ISPMO_PM\",\"stringValue\":[\"\"]}]}}";
+        final String[] tokens = {"REQ.DESCRIPTION", "REQD.ISPMO_PM"};
+        final String[] values = {"PRJ-1 - New billing", ""};
+        for (PpmJsonCodec codec : new PpmJsonCodec[]{streamingCodec, jsonLibCodec}) {
+            ProjectPayloadTemplate payloadTemplate = new ProjectPayloadTemplate(null, null, PROCESSING_DATE, null,
+                    "REQD.ISPMO_MILESTONES", "<table><tr><td>Go Live</td></tr></table>", codec);
+            assertEquals(expected, utf8(codec.writeFeatureUpdatePayload(payloadTemplate, true, tokens, values)), codec.getName());
+        }
+    }
+
+    @Test
+    void featureUpdatePayloadWithTheOtherCodecTemplate() {
+        final String expected = "{\"fields\":{\"field\":[" + DATE_FIELDS + ","
+                + "{\"token\":\"REQD.ISPMO_PRJ_RAG\",\"stringValue\":[\"Green\"]}]}}";
+        ProjectPayloadTemplate streamingTemplate = new ProjectPayloadTemplate(null, null, PROCESSING_DATE, null, null, null, streamingCodec);
+        ProjectPayloadTemplate jsonLibTemplate = new ProjectPayloadTemplate(null, null, PROCESSING_DATE, null, null, null, jsonLibCodec);
+        assertEquals(expected, utf8(jsonLibCodec.writeFeatureUpdatePayload(streamingTemplate, false, new String[]{"REQD.ISPMO_PRJ_RAG"}, new String[]{"Green"})));
+        assertEquals(expected, utf8(streamingCodec.writeFeatureUpdatePayload(jsonLibTemplate, false, new String[]{"REQD.ISPMO_PRJ_RAG"}, new String[]{"Green"})));
+    }
+
+    @Test
+    void sqlQueryPayloadIsTheSameForBothCodecs() {
+        final String sql = "SELECT kr.request_id FROM kcrt_requests kr WHERE kr.description = 'a \"b\" </c>'\n";
+        final String expected = "{\"querySql\":\"SELECT kr.request_id FROM kcrt_requests kr WHERE kr.description = 'a \\\"b\\\" <\\/c>'\\n\"}";
+        assertEquals(expected, utf8(streamingCodec.writeSqlQuery(sql)));
+        assertEquals(expected, utf8(jsonLibCodec.writeSqlQuery(sql)));
+    }
+
+    /**
+     * Method to check the stringValue array written for the IT Project Status by both codecs
+     *
+     * @param status          IT Project Status
+     * @param streamingValues Expected stringValue array of the StreamingJsonCodec
+     * @param jsonLibValues   Expected stringValue array of the JsonLibCodec
+     */
+    private void assertStringValue(String status, String streamingValues, String jsonLibValues) {
+        assertEquals(statusPhasePayload(streamingValues), utf8(streamingCodec.writeStatusPhasePayload(PROCESSING_DATE, status, "Build")), "streaming " + status);
+        assertEquals(statusPhasePayload(jsonLibValues), utf8(jsonLibCodec.writeStatusPhasePayload(PROCESSING_DATE, status, "Build")), "json-lib " + status);
+    }
+
+    /**
+     * Method to build the expected Status and Phase payload
+     *
+     * @param statusValues stringValue array of the IT Project Status
+     * @return Payload string
+     */
+    private static String statusPhasePayload(String statusValues) {
+        return "{\"fields\":{\"field\":[" + DATE_FIELDS + ","
+                + "{\"token\":\"REQD.ISPMO_PRJ_STATUS\",\"stringValue\":" + statusValues + "},"
+                + "{\"token\":\"REQD.ISPMO_PRJ_PHASE\",\"stringValue\":[\"Build\"]}]}}";
+    }
+
+    /**
+     * Method to decode the payload bytes
+     *
+     * @param payload UTF-8 bytes of the payload
+     * @return Payload string
+     */
+    private static String utf8(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
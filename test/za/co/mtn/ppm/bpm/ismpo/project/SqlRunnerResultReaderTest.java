@@ -0,0 +1,193 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the SqlRunnerResultReader: SQL Runner rows, escapes, literals, key order and malformed responses.
+ */
+class SqlRunnerResultReaderTest {
+
+    @Test
+    void readsTheRowsInColumnHeaderOrder() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        SqlRunnerResultReader reader = new SqlRunnerResultReader(new StringReader(
+                "{\"queryId\":{\"id\":[1,2]},\"columnHeaders\":[\"ID\",\"NAME\"],\"results\":[{\"values\":[\"1\",\"A\"]},{\"rowNum\":2,\"values\":[\"2\",\"B\"]}]}"));
+        assertEquals(2, reader.read((columnHeaders, values) -> rows.add(values)));
+        assertArrayEquals(new String[]{"ID", "NAME"}, reader.getColumnHeaders());
+        assertArrayEquals(new String[]{"1", "A"}, rows.get(0));
+        assertArrayEquals(new String[]{"2", "B"}, rows.get(1));
+    }
+
+    @Test
+    void keepsTheRowsUntilTheColumnHeadersAfterTheResults() throws IOException {
+        List<String> rows = new ArrayList<>();
+        SqlRunnerResultReader reader = new SqlRunnerResultReader(new StringReader(
+                "{\"results\":[{\"values\":[\"1\",\"A\"]},{\"values\":[\"2\",\"B\"]}],\"columnHeaders\":[\"ID\",\"NAME\"]}"));
+        assertEquals(2, reader.read((columnHeaders, values) -> rows.add(columnHeaders[1] + "=" + values[1])));
+        assertEquals("[NAME=A, NAME=B]", rows.toString());
+    }
+
+    @Test
+    void readsTheRowsWithoutColumnHeaders() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        SqlRunnerResultReader reader = new SqlRunnerResultReader(new StringReader("{\"results\":[{\"values\":[\"1\"]}]}"));
+        assertEquals(1, reader.read((columnHeaders, values) -> rows.add(columnHeaders)));
+        assertEquals(0, rows.get(0).length);
+        assertEquals(0, reader.getColumnHeaders().length);
+    }
+
+    @Test
+    void readsEmptyResponses() throws IOException {
+        assertEquals(0, new SqlRunnerResultReader(new StringReader(" { } ")).read((columnHeaders, values) -> {
+        }));
+        assertEquals(0, new SqlRunnerResultReader(new StringReader("{\"columnHeaders\":[],\"results\":[{}]}")).read((columnHeaders, values) -> {
+        }));
+    }
+
+    @Test
+    void resolvesTheEscapeSequences() throws IOException {
+        assertEquals("a\"b\\c/d\be\ff\ng\rh\ti", readValue("\"a\\\"b\\\\c\\/d\\be\\ff\\ng\\rh\\ti\""));
+        assertEquals("caf\u00e9 \u20ac", readValue("\"caf\\u00E9 \\u20ac\""));
+        assertEquals("caf\u00e9 \u20ac", readValue("\"caf\u00e9 \u20ac\""));
+    }
+
+    @Test
+    void keepsSurrogatePairsAndUnpairedSurrogates() throws IOException {
+        assertEquals("\ud83d\ude00", readValue("\"\\ud83d\\ude00\""));
+        assertEquals("\ud83d\ude00", readValue("\"\ud83d\ude00\""));
+        assertEquals("a\ud800b", readValue("\"a\\ud800b\""));
+        assertEquals("\udc00", readValue("\"\\udc00\""));
+    }
+
+    @Test
+    void returnsTheLiteralsAsTheirText() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        new SqlRunnerResultReader(new StringReader("{\"columnHeaders\":[\"A\",\"B\",\"C\",\"D\",\"E\",\"F\",\"G\",\"H\"],"
+                + "\"results\":[{\"values\":[null, 12 ,-1.5e3,0,true,false,{\"x\":[1,{}]},[\"y\"]]}]}"))
+                .read((columnHeaders, values) -> rows.add(values));
+        assertArrayEquals(new String[]{"null", "12", "-1.5e3", "0", "true", "false", "null", "null"}, rows.get(0));
+    }
+
+    @Test
+    void readsTheObjectMembers() throws IOException {
+        LinkedHashMap<String, String> members = new SqlRunnerResultReader(new StringReader(
+                "{\"errorCode\":\"E-1\",\"status\":500,\"ok\":false,\"detail\":null,\"messages\":[ \"a\" , {\"b\" : 1} ],\"empty\":{}}"))
+                .readObjectMembers();
+        assertEquals("{errorCode=E-1, status=500, ok=false, detail=null, messages=[\"a\",{\"b\":1}], empty={}}", members.toString());
+    }
+
+    @Test
+    void readsTheCompactValueText() throws IOException {
+        assertEquals("{\"id\":\"1 2\",\"fields\":[1,true,null,{\"a\":\"\\\"\"}]}",
+                new SqlRunnerResultReader(new StringReader("{ \"id\" : \"1 2\",\n \"fields\" : [ 1 , true , null , { \"a\" : \"\\\"\" } ] }")).readValueText());
+    }
+
+    @Test
+    void readsAcrossBufferBoundaries() throws IOException {
+        StringBuilder response = new StringBuilder("{\"columnHeaders\":[\"ID\",\"TEXT\"],\"results\":[");
+        for (int i = 0; i < 2000; i++) {
+            response.append(i == 0 ? "" : ",").append("{\"values\":[").append(i).append(",\"caf\\u00e9 \\ud83d\\ude00 ").append(i).append("\"]}");
+        }
+        response.append("]}");
+        List<String[]> rows = new ArrayList<>();
+        // Small reads split the tokens and escape sequences across the buffer refills
+        assertEquals(2000, new SqlRunnerResultReader(new ChunkedReader(response.toString(), 7)).read((columnHeaders, values) -> rows.add(values)));
+        assertArrayEquals(new String[]{"1999", "caf\u00e9 \ud83d\ude00 1999"}, rows.get(1999));
+    }
+
+    @Test
+    void rejectsInvalidLiterals() {
+        assertSyntaxError("{\"results\":[{\"values\":[nul]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[tru]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[True]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[01]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[1.]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[abc]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[\"a\",]}]}");
+        assertSyntaxError("{\"skipped\":nulll,\"results\":[]}");
+    }
+
+    @Test
+    void rejectsInvalidEscapes() {
+        assertSyntaxError("{\"results\":[{\"values\":[\"a\\xb\"]}]}");
+        assertSyntaxError("{\"results\":[{\"values\":[\"\\u12G4\"]}]}");
+    }
+
+    @Test
+    void rejectsTruncatedAndMalformedResponses() {
+        assertSyntaxError("");
+        assertSyntaxError("[]");
+        assertSyntaxError("{\"columnHeaders\":[\"ID\"],\"results\":[{\"values\":[\"1\"");
+        assertSyntaxError("{\"columnHeaders\":[\"ID\"],\"results\":[{\"values\":[\"1");
+        assertSyntaxError("{\"columnHeaders\":[\"ID\"],\"results\":[{\"values\":[\"\\u00");
+        assertSyntaxError("{\"columnHeaders\" [\"ID\"]}");
+        assertSyntaxError("{\"columnHeaders\":[\"ID\"] \"results\":[]}");
+        assertSyntaxError("{columnHeaders:[]}");
+    }
+
+    /**
+     * Method to read the single value of a SQL Runner row
+     *
+     * @param jsonValue JSON text of the value
+     * @return Value read
+     * @throws IOException when the value cannot be read
+     */
+    private static String readValue(String jsonValue) throws IOException {
+        List<String> values = new ArrayList<>();
+        new SqlRunnerResultReader(new StringReader("{\"columnHeaders\":[\"V\"],\"results\":[{\"values\":[" + jsonValue + "]}]}"))
+                .read((columnHeaders, rowValues) -> values.add(rowValues[0]));
+        return values.get(0);
+    }
+
+    /**
+     * Method to check that the response is rejected with a syntax error
+     *
+     * @param response SQL Runner response
+     */
+    private static void assertSyntaxError(String response) {
+        IOException e = assertThrows(IOException.class, () -> new SqlRunnerResultReader(new StringReader(response)).read((columnHeaders, values) -> {
+        }), response);
+        assertTrue(e.getMessage().startsWith("SQL Runner response JSON syntax error"), e.getMessage());
+    }
+
+    /**
+     * Reader returning at most a few characters per read
+     */
+    private static final class ChunkedReader extends Reader {
+        private final StringReader reader;
+        private final int chunkSize;
+
+        /**
+         * Constructor method for the chunked reader
+         *
+         * @param text      Text to read
+         * @param chunkSize Maximum characters per read
+         */
+        private ChunkedReader(String text, int chunkSize) {
+            this.reader = new StringReader(text);
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return reader.read(buffer, offset, Math.min(length, chunkSize));
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package za.co.mtn.ppm.bpm.ismpo.project;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the StreamingJsonCodec responses, compared with the JsonLibCodec on the same responses.
+ */
+class StreamingJsonCodecTest {
+    private static final String SQL_RUNNER_RESPONSE = "{\"queryId\":\"q1\",\"columnHeaders\":[\"FEATURE_REQ_ID\",\"DESCRIPTION\",\"ISPMO_PM\",\"ROW_COUNT\",\"ACTIVE\"],"
+            + "\"results\":[{\"values\":[\"30001\",\"PRJ-1 - \\\"New\\\" billing <\\/p>\",null,7,true]},"
+            + "{\"values\":[\"30002\",\"caf\\u00e9 \\ud83d\\ude00\\n\",\"Jane\",0,false]}]}";
+    private final PpmJsonCodec streamingCodec = new StreamingJsonCodec();
+    private final PpmJsonCodec jsonLibCodec = new JsonLibCodec();
+
+    @Test
+    void readsTheSqlRunnerResult() throws IOException {
+        SqlRunnerResult result = streamingCodec.readSqlRunnerResult(new StringReader(SQL_RUNNER_RESPONSE));
+        assertEquals(2, result.getRowCount());
+        assertEquals(2, result.getColumnOrdinal("ISPMO_PM"));
+        assertArrayEquals(new String[]{"30001", "PRJ-1 - \"New\" billing </p>", "null", "7", "true"}, result.getRows().get(0).getValues());
+        assertEquals("caf\u00e9 \ud83d\ude00\n", result.getLastRow().get("DESCRIPTION"));
+    }
+
+    @Test
+    void readsTheSameRowsAsJsonLib() throws IOException {
+        assertEquals(readRows(jsonLibCodec, SQL_RUNNER_RESPONSE), readRows(streamingCodec, SQL_RUNNER_RESPONSE));
+        final String resultsFirst = "{\"results\":[{\"values\":[\"1\",null]}],\"columnHeaders\":[\"ID\",\"NAME\"]}";
+        assertEquals(readRows(jsonLibCodec, resultsFirst), readRows(streamingCodec, resultsFirst));
+    }
+
+    @Test
+    void readsTheSameObjectMembersAsJsonLib() throws IOException {
+        final String failure = "{\"exceptionType\":\"InvalidTokenException\",\"errorMessage\":\"Token \\\"REQD.X\\\" is invalid\",\"code\":400}";
+        Map<String, String> members = streamingCodec.readObjectMembers(new StringReader(failure));
+        assertEquals("{exceptionType=InvalidTokenException, errorMessage=Token \"REQD.X\" is invalid, code=400}", members.toString());
+        assertEquals(jsonLibCodec.readObjectMembers(new StringReader(failure)), members);
+    }
+
+    @Test
+    void readsTheCompactObjectText() throws IOException {
+        final String putResponse = "{ \"id\" : 30001,\n  \"fields\" : { \"field\" : [ { \"token\" : \"REQD.A\", \"stringValue\" : [ \"x\" ] } ] } }";
+        assertEquals("{\"id\":30001,\"fields\":{\"field\":[{\"token\":\"REQD.A\",\"stringValue\":[\"x\"]}]}}",
+                streamingCodec.readObjectText(new StringReader(putResponse)));
+        assertEquals(jsonLibCodec.readObjectText(new StringReader(putResponse)), streamingCodec.readObjectText(new StringReader(putResponse)));
+    }
+
+    @Test
+    void rejectsMalformedResponses() {
+        assertThrows(IOException.class, () -> streamingCodec.readSqlRunnerResult(new StringReader(SQL_RUNNER_RESPONSE.substring(0, 120))));
+        assertThrows(IOException.class, () -> streamingCodec.readSqlRunnerResult(new StringReader("{\"results\":[{\"values\":[nul]}]}")));
+        assertThrows(IOException.class, () -> streamingCodec.readObjectMembers(new StringReader("{\"code\":tru}")));
+        assertThrows(IOException.class, () -> streamingCodec.readObjectText(new StringReader("{\"id\":")));
+    }
+
+    /**
+     * Method to read the rows of a SQL Runner response with a codec
+     *
+     * @param codec    JSON codec
+     * @param response SQL Runner response
+     * @return Rows as column header and value pairs
+     * @throws IOException when the response cannot be read
+     */
+    private static List<String> readRows(PpmJsonCodec codec, String response) throws IOException {
+        List<String> rows = new ArrayList<>();
+        codec.readSqlRunnerRows(new StringReader(response), (columnHeaders, values) -> {
+            StringBuilder row = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                row.append(i < columnHeaders.length ? columnHeaders[i] : "?").append('=').append(values[i]).append(';');
+            }
+            rows.add(row.toString());
+        });
+        return rows;
+    }
+}